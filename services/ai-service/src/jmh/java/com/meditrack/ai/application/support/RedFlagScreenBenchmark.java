@@ -0,0 +1,79 @@
+package com.meditrack.ai.application.support;
+
+import com.meditrack.ai.infrastructure.config.RedFlagScreenProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the red-flag screen on symptom text of realistic lengths: a
+ * one-line patient complaint, a typical free-text description, a long
+ * clinician note with several negated red flags, and that note repeated to
+ * about 12 KB (the longest the triage endpoint sees).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedFlagScreenBenchmark {
+
+    private static final String ONE_LINE = "sore throat and a mild fever since yesterday";
+
+    private static final String TYPICAL = "I've had a headache on and off for about four days, mostly behind "
+            + "my eyes and worse in the evenings. Some nausea but no vomiting. Paracetamol helps a bit. "
+            + "No fever, no neck stiffness. I've been staring at screens a lot for work this week and "
+            + "not sleeping well. Yesterday I also felt a bit dizzy when I stood up quickly.";
+
+    private static final String CLINICIAN_NOTE = "58M presenting with 3/7 productive cough, green sputum, "
+            + "low-grade temps at home (max 38.1). Denies chest pain, denies haemoptysis, no shortness of "
+            + "breath at rest though mildly breathless on stairs. No rigors. PMH: T2DM on metformin, HTN on "
+            + "amlodipine, hx of stroke 2019 with no residual deficit, no history of seizures. No known drug "
+            + "allergies. Social: ex-smoker 20 pack years, quit 2015, lives with wife, independent ADLs. "
+            + "Wife reports he has been more tired than usual but eating and drinking, passing urine normally. "
+            + "No confusion. No recent travel. Abdomen soft, non-tender, not rigid. Reports some pleuritic "
+            + "discomfort on deep inspiration, left base, no radiation. Sats 95% on air at the GP surgery "
+            + "earlier today per referral letter. Would like advice on whether this needs same-day review.";
+
+    private RedFlagScreen screen;
+    private String longNote;
+
+    @Setup
+    public void setUp() {
+        screen = new RedFlagScreen(new RedFlagScreenProperties(true), new SimpleMeterRegistry());
+        longNote = String.join("\n", Collections.nCopies(12, CLINICIAN_NOTE));
+    }
+
+    @Benchmark
+    public List<String> oneLine() {
+        return screen.redFlagsIn(ONE_LINE);
+    }
+
+    @Benchmark
+    public List<String> typicalDescription() {
+        return screen.redFlagsIn(TYPICAL);
+    }
+
+    @Benchmark
+    public List<String> clinicianNoteWithNegations() {
+        return screen.redFlagsIn(CLINICIAN_NOTE);
+    }
+
+    @Benchmark
+    public List<String> longNote() {
+        return screen.redFlagsIn(longNote);
+    }
+}
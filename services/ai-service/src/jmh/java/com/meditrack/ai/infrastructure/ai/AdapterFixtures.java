@@ -0,0 +1,212 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.application.support.CommandFingerprinter;
+import com.meditrack.ai.domain.model.HistorySummaryCommand;
+import com.meditrack.ai.domain.model.IcdCodeSuggestionCommand;
+import com.meditrack.ai.domain.model.LabResultExplanationCommand;
+import com.meditrack.ai.domain.model.LabValue;
+import com.meditrack.ai.domain.model.Medication;
+import com.meditrack.ai.domain.model.SafetyCheckCommand;
+import com.meditrack.ai.domain.model.SoapNoteCommand;
+import com.meditrack.ai.domain.model.TriageCommand;
+import com.meditrack.ai.domain.model.VisitNote;
+import com.meditrack.ai.infrastructure.icd.IcdCodeGrounding;
+import com.meditrack.ai.infrastructure.icd.IcdIndexProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.web.client.RestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A TensorX adapter wired without Spring or a network, plus a realistic command
+ * and model answer per use case, shared by the adapter benchmarks.
+ */
+final class AdapterFixtures {
+
+    static final TensorXProperties PROPS =
+            new TensorXProperties("http://tensorx.invalid/v1", "key", "bench-model", 0.1, 30);
+
+    private AdapterFixtures() {
+    }
+
+    static TensorXClinicalReasoningAdapter adapter(ObjectMapper objectMapper) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        HistoryPromptProperties history = new HistoryPromptProperties(6000, null, 3.5, 8,
+                new HistoryPromptProperties.PreSummary(false, 100, Duration.ofHours(1), 3000));
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new InferenceLimiterProperties(false, 8, 1, 64, 500, 0.9, 0.5), PROPS, meterRegistry);
+        return new TensorXClinicalReasoningAdapter(
+                RestClient.create(PROPS.baseUrl()), PROPS, objectMapper,
+                new DrugInteractionMemo(new DrugInteractionMemoProperties(false, 1000, Duration.ofHours(1)),
+                        meterRegistry),
+                meterRegistry,
+                limiter,
+                new RequestHedger(new HedgingProperties(false, null, 0.95, 10, Duration.ofMillis(250), 20, 256),
+                        meterRegistry),
+                new HistoryPromptBudgeter(history,
+                        new VisitPreSummaries(history, new CommandFingerprinter(objectMapper), meterRegistry)),
+                icdGrounding(),
+                new CompletionReader(objectMapper),
+                new InferenceTelemetry(meterRegistry, PROPS),
+                new ModelRouter(new ModelRoutingProperties(null), PROPS, meterRegistry),
+                new ShadowEvaluator(new ShadowProperties(false, null, null, 0.05, 20, 2, 0.5), limiter, meterRegistry));
+    }
+
+    static IcdCodeGrounding icdGrounding() {
+        return new IcdCodeGrounding(new IcdIndexProperties(true, new ClassPathResource("icd10/icd10cm-common.txt"),
+                25, IcdIndexProperties.UnknownCodePolicy.DOWNRANK), new SimpleMeterRegistry());
+    }
+
+    /** A non-streamed chat completion body carrying {@code content}, as TensorX sends it. */
+    static byte[] completionBody(ObjectMapper objectMapper, String content) {
+        try {
+            return ("{\"id\":\"cmpl-bench\",\"object\":\"chat.completion\",\"created\":1760000000,"
+                    + "\"model\":\"bench-model\",\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\","
+                    + "\"content\":" + objectMapper.writeValueAsString(content) + "},\"finish_reason\":\"stop\"}],"
+                    + "\"usage\":{\"prompt_tokens\":812,\"completion_tokens\":406,\"total_tokens\":1218}}")
+                    .getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    static SafetyCheckCommand safetyCommand() {
+        return new SafetyCheckCommand(
+                List.of(new Medication("Clarithromycin", "500mg", "oral"), new Medication("Ibuprofen", "400mg", "oral")),
+                List.of("Warfarin", "Simvastatin", "Lisinopril", "Metformin", "Sertraline", "Omeprazole"),
+                List.of("penicillin - rash", "codeine"), 74, "FEMALE", UUID.randomUUID(), UUID.randomUUID());
+    }
+
+    static LabResultExplanationCommand labCommand() {
+        return new LabResultExplanationCommand(List.of(
+                new LabValue("Sodium", "138", "mmol/L", "135-145", null),
+                new LabValue("Potassium", "6.2", "mmol/L", "3.5-5.1", "H"),
+                new LabValue("Creatinine", "168", "umol/L", "60-110", "H"),
+                new LabValue("eGFR", "34", "mL/min/1.73m2", ">60", "L"),
+                new LabValue("Urea", "11.8", "mmol/L", "2.5-7.8", "H"),
+                new LabValue("Haemoglobin", "118", "g/L", "115-165", null),
+                new LabValue("WCC", "7.4", "x10^9/L", "4.0-11.0", null),
+                new LabValue("Platelets", "251", "x10^9/L", "150-400", null)),
+                71, "MALE", "on ramipril and spironolactone; routine monitoring");
+    }
+
+    static TriageCommand triageCommand() {
+        return new TriageCommand(34, "FEMALE",
+                "Headache for three days, worse in the mornings, with nausea and blurred vision when standing. "
+                        + "No fever. Paracetamol not helping. Recently started the combined pill.",
+                "3 days", List.of("migraine"), List.of("ethinylestradiol/levonorgestrel"), List.of());
+    }
+
+    static SoapNoteCommand soapCommand() {
+        Map<String, String> vitals = new LinkedHashMap<>();
+        vitals.put("temp", "38.4C");
+        vitals.put("hr", "104");
+        vitals.put("bp", "128/82");
+        vitals.put("spo2", "96%");
+        return new SoapNoteCommand(
+                "pt c/o productive cough 5 days, green sputum, fevers, pleuritic L sided chest pain on deep breath. "
+                        + "no haemoptysis. exam: reduced air entry L base, coarse crackles, dull to percussion. "
+                        + "plan CXR, amoxicillin 500mg tds 5/7, safety-net re worsening SOB, review 48h.",
+                58, "MALE", List.of("T2DM", "ex-smoker"), vitals);
+    }
+
+    static IcdCodeSuggestionCommand icdCommand() {
+        return new IcdCodeSuggestionCommand(
+                "Community-acquired pneumonia left lower lobe on background of type 2 diabetes with hyperglycaemia "
+                        + "and essential hypertension. Started oral amoxicillin.",
+                "pneumonia");
+    }
+
+    static HistorySummaryCommand historyCommand() {
+        List<VisitNote> visits = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            visits.add(new VisitNote("2026-0" + (i + 1) + "-14",
+                    "Diabetes review: HbA1c trending down, metformin increased, foot check normal, BP 138/84."));
+        }
+        return new HistorySummaryCommand(66, "FEMALE", List.of("T2DM", "hypertension", "CKD stage 3a"),
+                List.of("Metformin 1g bd", "Ramipril 5mg", "Atorvastatin 20mg"), List.of("penicillin"),
+                labCommand().results(), visits, null);
+    }
+
+    static final String ASSESS_ANSWER = """
+            {"overallRisk":"MAJOR","summary":"Clarithromycin strongly inhibits CYP3A4 and raises simvastatin and \
+            warfarin exposure; ibuprofen adds bleeding and renal risk.","recommendation":"Avoid clarithromycin \
+            with simvastatin; choose doxycycline or pause the statin. Avoid NSAIDs with warfarin.",
+             "requiresPharmacistReview":true,
+             "interactions":[
+              {"drugA":"Clarithromycin","drugB":"Simvastatin","severity":"CONTRAINDICATED","mechanism":"CYP3A4 \
+            inhibition","clinicalConsequence":"rhabdomyolysis","management":"withhold simvastatin during the course"},
+              {"drugA":"Clarithromycin","drugB":"Warfarin","severity":"MAJOR","mechanism":"CYP3A4/1A2 inhibition",\
+            "clinicalConsequence":"raised INR and bleeding","management":"check INR within 3-5 days"},
+              {"drugA":"Ibuprofen","drugB":"Warfarin","severity":"MAJOR","mechanism":"antiplatelet effect and GI \
+            mucosal injury","clinicalConsequence":"GI bleeding","management":"use paracetamol instead"},
+              {"drugA":"Ibuprofen","drugB":"Lisinopril","severity":"MODERATE","mechanism":"reduced renal \
+            prostaglandins","clinicalConsequence":"AKI and reduced antihypertensive effect","management":"avoid \
+            or monitor renal function"}],
+             "allergyConflicts":[]}""";
+
+    static final String LAB_ANSWER = """
+            {"overallSummary":"Hyperkalaemia (6.2) with worsening renal function (creatinine 168, eGFR 34) in a \
+            patient on ramipril and spironolactone.","patientFriendlySummary":"Your potassium level is high and \
+            your kidneys are working less well than before. This needs to be looked at today.",
+             "suggestedFollowUp":"Same-day repeat U&E and ECG; hold spironolactone and review ramipril.",
+             "urgency":"URGENT",
+             "results":[
+              {"testName":"Potassium","interpretation":"High","explanation":"Above the reference range.",\
+            "clinicalSignificance":"Risk of arrhythmia; likely drug-related."},
+              {"testName":"Creatinine","interpretation":"High","explanation":"Raised compared with normal.",\
+            "clinicalSignificance":"Reduced kidney function."},
+              {"testName":"eGFR","interpretation":"Low","explanation":"Consistent with CKD stage 3b.",\
+            "clinicalSignificance":"Dose-adjust renally cleared drugs."},
+              {"testName":"Urea","interpretation":"High","explanation":"Raised.","clinicalSignificance":"Supports \
+            reduced renal function or dehydration."},
+              {"testName":"Sodium","interpretation":"Normal","explanation":"Within range.","clinicalSignificance":"None."},
+              {"testName":"Haemoglobin","interpretation":"Normal","explanation":"Low-normal.",\
+            "clinicalSignificance":"None."}]}""";
+
+    static final String TRIAGE_ANSWER = """
+            {"urgency":"URGENT","recommendedSpecialty":"General Practice (same day)","redFlags":["new headache \
+            with visual disturbance on combined hormonal contraception"],"rationale":"A new, progressive headache \
+            with visual symptoms after starting the combined pill needs same-day assessment to exclude raised \
+            intracranial pressure or venous thrombosis.","selfCareAdvice":null}""";
+
+    static final String SOAP_ANSWER = """
+            ```json
+            {"subjective":"5 days productive cough with green sputum, fevers and left pleuritic chest pain. No \
+            haemoptysis.","objective":"T 38.4C, HR 104, BP 128/82, SpO2 96%. Reduced air entry, coarse crackles and \
+            dullness at the left base.","assessment":"Clinical picture consistent with left lower lobe \
+            community-acquired pneumonia.","plan":"CXR. Amoxicillin 500mg tds for 5 days. Safety-net advice about \
+            worsening breathlessness. Review in 48 hours.","assessmentProblems":["Community-acquired pneumonia",\
+            "Type 2 diabetes"],"followUp":"Review in 48 hours"}
+            ```""";
+
+    static final String ICD_ANSWER = """
+            {"suggestions":[
+              {"code":"J18.1","description":"Lobar pneumonia, unspecified organism","confidence":"HIGH",\
+            "rationale":"left lower lobe pneumonia"},
+              {"code":"E11.65","description":"Type 2 diabetes mellitus with hyperglycemia","confidence":"HIGH",\
+            "rationale":"documented hyperglycaemia"},
+              {"code":"I10","description":"Essential (primary) hypertension","confidence":"HIGH",\
+            "rationale":"documented"},
+              {"code":"J18.9","description":"Pneumonia, unspecified organism","confidence":"MODERATE",\
+            "rationale":"if lobar pattern not confirmed"}]}""";
+
+    static final String HISTORY_ANSWER = """
+            {"keyConditions":["Type 2 diabetes","Hypertension","CKD stage 3a with recent decline"],
+             "activeMedications":["Metformin 1g bd","Ramipril 5mg","Atorvastatin 20mg"],
+             "criticalAllergies":["Penicillin"],
+             "recentAbnormalFindings":["Potassium 6.2 mmol/L (H)","Creatinine 168 umol/L (H)","eGFR 34 (L)"],
+             "redFlags":["Hyperkalaemia on an ACE inhibitor","Metformin with eGFR below 45"],
+             "narrativeSummary":"66-year-old woman with T2DM, hypertension and CKD 3a, seen monthly for diabetes \
+            review with improving HbA1c. Latest bloods show hyperkalaemia and a fall in eGFR to 34.",
+             "suggestedFollowUps":["Repeat U&E","Review metformin dose for eGFR","Review ramipril"]}""";
+}
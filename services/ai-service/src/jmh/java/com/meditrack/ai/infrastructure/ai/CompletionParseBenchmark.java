@@ -0,0 +1,127 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.domain.model.HistoryCoverage;
+import com.meditrack.ai.domain.model.IcdCodeSuggestions;
+import com.meditrack.ai.domain.model.LabResultExplanation;
+import com.meditrack.ai.domain.model.PatientHistorySummary;
+import com.meditrack.ai.domain.model.SafetyAssessment;
+import com.meditrack.ai.domain.model.SoapNote;
+import com.meditrack.ai.domain.model.TriageAssessment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a TensorX completion body into each use case's domain
+ * result (parse + {@code to*}). {@code reader=streaming} is the production
+ * {@link CompletionReader}; {@code reader=tree} is the earlier path — bind the
+ * whole {@code ChatResponse}, copy out and fence-strip the content, then bind
+ * the payload from that string — kept here as the baseline. Compare
+ * {@code gc.alloc.rate.norm} (bytes per operation) under the default {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompletionParseBenchmark {
+
+    private static final String MODEL = AdapterFixtures.PROPS.model();
+
+    @Param({"streaming", "tree"})
+    public String reader;
+
+    private ObjectMapper objectMapper;
+    private CompletionReader completionReader;
+    private TensorXClinicalReasoningAdapter adapter;
+    private HistoryCoverage coverage;
+
+    private byte[] assessBody;
+    private byte[] labBody;
+    private byte[] triageBody;
+    private byte[] soapBody;
+    private byte[] icdBody;
+    private byte[] historyBody;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        completionReader = new CompletionReader(objectMapper);
+        adapter = AdapterFixtures.adapter(objectMapper);
+        coverage = adapter.budgetHistory(AdapterFixtures.historyCommand()).coverage();
+        assessBody = AdapterFixtures.completionBody(objectMapper, AdapterFixtures.ASSESS_ANSWER);
+        labBody = AdapterFixtures.completionBody(objectMapper, AdapterFixtures.LAB_ANSWER);
+        triageBody = AdapterFixtures.completionBody(objectMapper, AdapterFixtures.TRIAGE_ANSWER);
+        soapBody = AdapterFixtures.completionBody(objectMapper, AdapterFixtures.SOAP_ANSWER);
+        icdBody = AdapterFixtures.completionBody(objectMapper, AdapterFixtures.ICD_ANSWER);
+        historyBody = AdapterFixtures.completionBody(objectMapper, AdapterFixtures.HISTORY_ANSWER);
+    }
+
+    @Benchmark
+    public SafetyAssessment assess() throws IOException {
+        return adapter.toAssessment(read(assessBody, TensorXClinicalReasoningAdapter.AiPayload.class), MODEL);
+    }
+
+    @Benchmark
+    public LabResultExplanation lab() throws IOException {
+        return adapter.toExplanation(read(labBody, TensorXClinicalReasoningAdapter.AiLabPayload.class), MODEL);
+    }
+
+    @Benchmark
+    public TriageAssessment triage() throws IOException {
+        return adapter.toTriage(read(triageBody, TensorXClinicalReasoningAdapter.AiTriagePayload.class), MODEL);
+    }
+
+    @Benchmark
+    public SoapNote soap() throws IOException {
+        return adapter.toSoapNote(read(soapBody, TensorXClinicalReasoningAdapter.AiSoapPayload.class), MODEL);
+    }
+
+    @Benchmark
+    public IcdCodeSuggestions icd() throws IOException {
+        return adapter.toIcdSuggestions(read(icdBody, TensorXClinicalReasoningAdapter.AiIcdPayload.class), MODEL);
+    }
+
+    @Benchmark
+    public PatientHistorySummary history() throws IOException {
+        return adapter.toHistorySummary(
+                read(historyBody, TensorXClinicalReasoningAdapter.AiHistoryPayload.class), coverage, MODEL);
+    }
+
+    private <T> T read(byte[] body, Class<T> type) throws IOException {
+        if ("streaming".equals(reader)) {
+            return completionReader.readResponse(new ByteArrayInputStream(body), type, "benchmark payload").payload();
+        }
+        TensorXApi.ChatResponse response =
+                objectMapper.readValue(new ByteArrayInputStream(body), TensorXApi.ChatResponse.class);
+        return objectMapper.readValue(stripFences(response.choices().get(0).message().content()), type);
+    }
+
+    private static String stripFences(String raw) {
+        String s = raw.trim();
+        if (s.startsWith("```")) {
+            int firstNewline = s.indexOf('\n');
+            if (firstNewline > 0) {
+                s = s.substring(firstNewline + 1);
+            }
+            if (s.endsWith("```")) {
+                s = s.substring(0, s.length() - 3);
+            }
+        }
+        return s.trim();
+    }
+}
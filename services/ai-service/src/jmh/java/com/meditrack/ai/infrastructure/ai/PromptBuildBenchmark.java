@@ -0,0 +1,98 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.domain.model.HistorySummaryCommand;
+import com.meditrack.ai.domain.model.IcdCodeSuggestionCommand;
+import com.meditrack.ai.domain.model.LabResultExplanationCommand;
+import com.meditrack.ai.domain.model.SafetyCheckCommand;
+import com.meditrack.ai.domain.model.SoapNoteCommand;
+import com.meditrack.ai.domain.model.TriageCommand;
+import com.meditrack.ai.infrastructure.icd.IcdCodeIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building each use case's user prompt. Run with the default
+ * {@code -prof gc} to see bytes allocated per prompt ({@code gc.alloc.rate.norm}).
+ * Inputs computed elsewhere — the memo's residual pairs, the ICD shortlist
+ * ({@code IcdCodeIndexBenchmark}) and the history budget plan — are prepared
+ * once in setup, so only the prompt text itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromptBuildBenchmark {
+
+    private TensorXClinicalReasoningAdapter adapter;
+    private SafetyCheckCommand safety;
+    private List<MedicationPair> residualPairs;
+    private LabResultExplanationCommand lab;
+    private TriageCommand triage;
+    private SoapNoteCommand soap;
+    private IcdCodeSuggestionCommand icd;
+    private List<IcdCodeIndex.IcdCode> icdCandidates;
+    private HistorySummaryCommand history;
+    private HistoryPromptBudgeter.BudgetedHistory historyPlan;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        adapter = AdapterFixtures.adapter(objectMapper);
+        safety = AdapterFixtures.safetyCommand();
+        residualPairs = new DrugInteractionMemo(new DrugInteractionMemoProperties(false, 1, Duration.ofMinutes(1)),
+                new SimpleMeterRegistry()).plan(safety).residualPairs();
+        lab = AdapterFixtures.labCommand();
+        triage = AdapterFixtures.triageCommand();
+        soap = AdapterFixtures.soapCommand();
+        icd = AdapterFixtures.icdCommand();
+        icdCandidates = AdapterFixtures.icdGrounding().shortlist(icd);
+        history = AdapterFixtures.historyCommand();
+        historyPlan = adapter.budgetHistory(history);
+    }
+
+    @Benchmark
+    public String assess() {
+        return adapter.buildUserPrompt(safety, residualPairs);
+    }
+
+    @Benchmark
+    public String lab() {
+        return adapter.buildLabPrompt(lab);
+    }
+
+    @Benchmark
+    public String triage() {
+        return adapter.buildTriagePrompt(triage);
+    }
+
+    @Benchmark
+    public String soap() {
+        return adapter.buildSoapPrompt(soap);
+    }
+
+    @Benchmark
+    public String icd() {
+        return adapter.buildIcdPrompt(icd, icdCandidates);
+    }
+
+    @Benchmark
+    public String history() {
+        return adapter.buildHistoryPrompt(history, historyPlan);
+    }
+}
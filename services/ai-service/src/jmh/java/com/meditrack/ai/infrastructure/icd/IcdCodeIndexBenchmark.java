@@ -0,0 +1,63 @@
+package com.meditrack.ai.infrastructure.icd;
+
+import com.meditrack.ai.domain.model.IcdCodeSuggestion;
+import com.meditrack.ai.domain.model.IcdCodeSuggestionCommand;
+import com.meditrack.ai.domain.model.IcdConfidence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of grounding one ICD request: validating a typical model answer
+ * (8 suggestions, some needing normalisation, one unknown) and shortlisting
+ * candidates for a short consultation note.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IcdCodeIndexBenchmark {
+
+    private IcdCodeGrounding grounding;
+    private List<IcdCodeSuggestion> modelAnswer;
+    private IcdCodeSuggestionCommand note;
+
+    @Setup
+    public void setUp() {
+        grounding = new IcdCodeGrounding(new IcdIndexProperties(true,
+                new ClassPathResource("icd10/icd10cm-common.txt"), 25, IcdIndexProperties.UnknownCodePolicy.DOWNRANK),
+                new SimpleMeterRegistry());
+        modelAnswer = List.of("E11.9", "e1165", "I10", "N39.0", "R30.0", "E78.5", "N1830", "Z79.84").stream()
+                .map(code -> new IcdCodeSuggestion(code, "model wording", IcdConfidence.MODERATE, "documented"))
+                .toList();
+        note = new IcdCodeSuggestionCommand(
+                "67F, known T2DM on metformin, HTN and CKD stage 3. Two days of dysuria and urinary frequency, "
+                        + "no fever or loin pain. Urine dipstick nitrite and leucocyte positive. Impression: "
+                        + "uncomplicated lower UTI. BP 148/90, sugars running high.",
+                "UTI");
+    }
+
+    @Benchmark
+    public List<IcdCodeSuggestion> validate() {
+        return grounding.validate(modelAnswer);
+    }
+
+    @Benchmark
+    public List<IcdCodeIndex.IcdCode> shortlist() {
+        return grounding.shortlist(note);
+    }
+}
@@ -0,0 +1,124 @@
+package com.meditrack.ai.infrastructure.rules;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.domain.model.HistorySummaryCommand;
+import com.meditrack.ai.domain.model.IcdCodeSuggestionCommand;
+import com.meditrack.ai.domain.model.IcdCodeSuggestions;
+import com.meditrack.ai.domain.model.LabResultExplanation;
+import com.meditrack.ai.domain.model.LabResultExplanationCommand;
+import com.meditrack.ai.domain.model.PatientHistorySummary;
+import com.meditrack.ai.domain.model.SafetyAssessment;
+import com.meditrack.ai.domain.model.SafetyCheckCommand;
+import com.meditrack.ai.domain.model.Severity;
+import com.meditrack.ai.domain.model.SoapNote;
+import com.meditrack.ai.domain.model.SoapNoteCommand;
+import com.meditrack.ai.domain.model.TriageAssessment;
+import com.meditrack.ai.domain.model.TriageCommand;
+import com.meditrack.ai.domain.port.ClinicalReasoningPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead the rules-first composite adds in front of the model. The delegate
+ * is a constant stub, so {@code direct} is the floor and the difference to
+ * {@code deferred} is what every screen the rules cannot decide pays;
+ * {@code decided} is the whole cost of a screen the rules settle.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RulesFirstPortBenchmark {
+
+    private static final SafetyAssessment CLEAR = new SafetyAssessment(
+            Severity.NONE, "No interactions found.", "Proceed.", false, List.of(), List.of(), "bench-model");
+
+    private ClinicalReasoningPort model;
+    private RulesFirstClinicalReasoningPort composite;
+    private SafetyCheckCommand undecidable;
+    private SafetyCheckCommand mergeable;
+    private SafetyCheckCommand contraindicated;
+
+    @Setup
+    public void setUp() {
+        model = new ConstantModel();
+        SafetyRuleTable table = SafetyRuleTable.load(
+                new ClassPathResource("clinical-rules/safety-rules.json"), new ObjectMapper());
+        composite = new RulesFirstClinicalReasoningPort(model, table, Severity.CONTRAINDICATED,
+                new SimpleMeterRegistry());
+        undecidable = SafetyRuleTableBenchmark.command(
+                List.of("Metformin 500mg"), List.of("Atorvastatin", "Levothyroxine"), List.of("latex"));
+        mergeable = SafetyRuleTableBenchmark.command(List.of("Ibuprofen 400mg"), List.of("Warfarin"), List.of());
+        contraindicated = SafetyRuleTableBenchmark.command(
+                List.of("Amoxicillin 500 mg capsules"), List.of(), List.of("penicillin"));
+    }
+
+    @Benchmark
+    public SafetyAssessment direct() {
+        return model.assess(undecidable);
+    }
+
+    @Benchmark
+    public SafetyAssessment deferred() {
+        return composite.assess(undecidable);
+    }
+
+    @Benchmark
+    public SafetyAssessment merged() {
+        return composite.assess(mergeable);
+    }
+
+    @Benchmark
+    public SafetyAssessment decided() {
+        return composite.assess(contraindicated);
+    }
+
+    /** Stands in for the cached TensorX port; only {@code assess} is exercised. */
+    private static final class ConstantModel implements ClinicalReasoningPort {
+
+        @Override
+        public SafetyAssessment assess(SafetyCheckCommand command) {
+            return CLEAR;
+        }
+
+        @Override
+        public LabResultExplanation explainLabResult(LabResultExplanationCommand command) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TriageAssessment triage(TriageCommand command) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SoapNote generateSoapNote(SoapNoteCommand command) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public IcdCodeSuggestions suggestIcdCodes(IcdCodeSuggestionCommand command) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PatientHistorySummary summarizeHistory(HistorySummaryCommand command) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
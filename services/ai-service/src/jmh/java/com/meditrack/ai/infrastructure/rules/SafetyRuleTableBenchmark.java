@@ -0,0 +1,77 @@
+package com.meditrack.ai.infrastructure.rules;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.domain.model.Medication;
+import com.meditrack.ai.domain.model.SafetyCheckCommand;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a rule-table screen against the shipped table: a direct allergy-class
+ * hit, an interaction found through drug classes, a regimen the table knows
+ * nothing about, and a polypharmacy regimen (3 new against 10 current).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SafetyRuleTableBenchmark {
+
+    private SafetyRuleTable table;
+    private SafetyCheckCommand allergyHit;
+    private SafetyCheckCommand classInteraction;
+    private SafetyCheckCommand unknownRegimen;
+    private SafetyCheckCommand polypharmacy;
+
+    @Setup
+    public void setUp() {
+        table = SafetyRuleTable.load(new ClassPathResource("clinical-rules/safety-rules.json"), new ObjectMapper());
+        allergyHit = command(List.of("Amoxicillin 500 mg capsules"), List.of(), List.of("penicillin - rash"));
+        classInteraction = command(List.of("Sildenafil 50mg"), List.of("Isosorbide mononitrate 30mg"), List.of());
+        unknownRegimen = command(List.of("Metformin 500mg"), List.of("Atorvastatin", "Levothyroxine"), List.of("latex"));
+        polypharmacy = command(
+                List.of("Ibuprofen 400mg", "Clarithromycin 500mg", "Tramadol 50mg"),
+                List.of("Warfarin", "Simvastatin", "Lisinopril", "Spironolactone", "Metformin", "Sertraline",
+                        "Omeprazole", "Amlodipine", "Levothyroxine", "Furosemide"),
+                List.of("sulfa", "codeine"));
+    }
+
+    @Benchmark
+    public RuleScreen allergyHit() {
+        return table.screen(allergyHit);
+    }
+
+    @Benchmark
+    public RuleScreen classInteraction() {
+        return table.screen(classInteraction);
+    }
+
+    @Benchmark
+    public RuleScreen unknownRegimen() {
+        return table.screen(unknownRegimen);
+    }
+
+    @Benchmark
+    public RuleScreen polypharmacy() {
+        return table.screen(polypharmacy);
+    }
+
+    static SafetyCheckCommand command(List<String> proposed, List<String> current, List<String> allergies) {
+        return new SafetyCheckCommand(proposed.stream().map(n -> new Medication(n, null, "oral")).toList(),
+                current, allergies, 70, "MALE", null, null);
+    }
+}
@@ -0,0 +1,14 @@
+package com.meditrack.ai.application.exception;
+
+/**
+ * Raised when an inference is shed before reaching the model: the TensorX
+ * concurrency limit is saturated and the request could not have started in
+ * time to finish within its deadline. Surfaced as 503 Service Unavailable with
+ * {@code Retry-After} — unlike a 502, retrying shortly is expected to succeed.
+ */
+public class InferenceOverloadedException extends ClinicalReasoningException {
+
+    public InferenceOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,170 @@
+package com.meditrack.ai.application.service;
+
+import com.meditrack.ai.application.exception.InferenceOverloadedException;
+import com.meditrack.ai.application.support.PreparedBriefs;
+import com.meditrack.ai.application.support.SingleFlight;
+import com.meditrack.ai.application.usecase.PrepareAppointmentBriefUseCase;
+import com.meditrack.ai.domain.model.HistorySummaryCommand;
+import com.meditrack.ai.domain.model.PatientHistorySummary;
+import com.meditrack.ai.domain.port.BackgroundCapacityPort;
+import com.meditrack.ai.domain.port.ClinicalReasoningPort;
+import com.meditrack.ai.domain.port.PatientRecordPort;
+import com.meditrack.ai.domain.port.ReasoningUseCase;
+import com.meditrack.ai.infrastructure.config.PreparedBriefProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prepares history briefs before booked appointments, so the brief a doctor
+ * opens at the start of the visit is already written.
+ *
+ * <p>Preparation starts {@code lead-time} before the appointment, reads the
+ * record from its owning service ({@link PatientRecordPort}) and summarises it
+ * through the usual reasoning port, then keeps the brief in
+ * {@link PreparedBriefs}. It runs one brief at a time and only when
+ * {@link BackgroundCapacityPort} admits it; while TensorX is busy it retries
+ * every {@code retry-every} until the appointment starts, then gives up —
+ * the brief is simply written on demand as before.
+ *
+ * <p>Schedules live in memory: a restart forgets them, which again only means
+ * briefs written on demand.
+ *
+ * <p>Metrics: {@code ai.briefs.scheduled} (pending) and
+ * {@code ai.briefs.preparations{outcome=prepared|failed|missed|no_record}}.
+ */
+@Slf4j
+@Service
+public class AppointmentBriefService implements PrepareAppointmentBriefUseCase, DisposableBean {
+
+    private final PreparedBriefProperties props;
+    private final PatientRecordPort patientRecords;
+    private final ClinicalReasoningPort reasoningPort;
+    private final BackgroundCapacityPort capacity;
+    private final SingleFlight singleFlight;
+    private final PreparedBriefs briefs;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("brief-preparer").factory());
+    private final ConcurrentMap<UUID, Job> pending = new ConcurrentHashMap<>();
+
+    public AppointmentBriefService(PreparedBriefProperties props, PatientRecordPort patientRecords,
+                                   ClinicalReasoningPort reasoningPort, BackgroundCapacityPort capacity,
+                                   SingleFlight singleFlight, PreparedBriefs briefs, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.patientRecords = patientRecords;
+        this.reasoningPort = reasoningPort;
+        this.capacity = capacity;
+        this.singleFlight = singleFlight;
+        this.briefs = briefs;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("ai.briefs.scheduled", pending, ConcurrentMap::size)
+                .description("Appointments with a brief preparation still pending")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void schedule(UUID appointmentId, UUID patientId, LocalDateTime scheduledAt) {
+        Instant startsAt = scheduledAt.atZone(props.zone()).toInstant();
+        Instant now = Instant.now();
+        if (!now.isBefore(startsAt)) {
+            log.debug("Appointment {} has already started; no brief prepared", appointmentId);
+            return;
+        }
+        Job job = new Job(appointmentId, patientId, startsAt);
+        Job previous = pending.put(appointmentId, job);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        Duration delay = Duration.between(now, startsAt.minus(props.leadTime()));
+        submit(job, delay.isNegative() ? Duration.ZERO : delay);
+        log.debug("Brief for appointment {} scheduled in {}", appointmentId, delay);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private void submit(Job job, Duration delay) {
+        scheduler.schedule(() -> prepare(job), delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void prepare(Job job) {
+        if (job.cancelled) {
+            return;
+        }
+        if (!Instant.now().isBefore(job.startsAt)) {
+            finish(job, "missed");
+            return;
+        }
+        if (!capacity.tryAcquire()) {
+            retryLater(job);
+            return;
+        }
+        Optional<HistorySummaryCommand> record = patientRecords.historyRecord(job.patientId);
+        if (record.isEmpty()) {
+            finish(job, "no_record");
+            return;
+        }
+        try {
+            HistorySummaryCommand command = record.get();
+            PatientHistorySummary brief = singleFlight.execute(ReasoningUseCase.HISTORY, command,
+                    () -> reasoningPort.summarizeHistory(command));
+            if (!job.cancelled) {
+                briefs.put(job.appointmentId, command, brief, job.startsAt.plus(props.retention()));
+            }
+            finish(job, "prepared");
+        } catch (InferenceOverloadedException ex) {
+            retryLater(job);
+        } catch (RuntimeException ex) {
+            log.warn("Preparing the brief for appointment {} failed: {}", job.appointmentId, ex.getMessage());
+            finish(job, "failed");
+        }
+    }
+
+    private void retryLater(Job job) {
+        if (Instant.now().plus(props.retryEvery()).isBefore(job.startsAt)) {
+            submit(job, props.retryEvery());
+        } else {
+            finish(job, "missed");
+        }
+    }
+
+    private void finish(Job job, String outcome) {
+        pending.remove(job.appointmentId, job);
+        Counter.builder("ai.briefs.preparations")
+                .description("Brief preparations ahead of appointments, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /** One appointment's preparation; superseded when the appointment is booked again. */
+    private static final class Job {
+        private final UUID appointmentId;
+        private final UUID patientId;
+        private final Instant startsAt;
+        private volatile boolean cancelled;
+
+        Job(UUID appointmentId, UUID patientId, Instant startsAt) {
+            this.appointmentId = appointmentId;
+            this.patientId = patientId;
+            this.startsAt = startsAt;
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.meditrack.ai.application.service;
 
+import com.meditrack.ai.application.support.SingleFlight;
 import com.meditrack.ai.application.usecase.SuggestIcdCodesUseCase;
 import com.meditrack.ai.domain.model.IcdCodeSuggestionCommand;
 import com.meditrack.ai.domain.model.IcdCodeSuggestions;
 import com.meditrack.ai.domain.port.ClinicalReasoningPort;
+import com.meditrack.ai.domain.port.ReasoningUseCase;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -23,10 +25,12 @@ public class IcdCodeSuggestionService implements SuggestIcdCodesUseCase {
     static final int MAX_SUGGESTIONS = 8;
 
     private final ClinicalReasoningPort reasoningPort;
+    private final SingleFlight singleFlight;
 
     @Override
     public IcdCodeSuggestions suggest(IcdCodeSuggestionCommand command) {
-        IcdCodeSuggestions result = reasoningPort.suggestIcdCodes(command);
+        IcdCodeSuggestions result = singleFlight.execute(ReasoningUseCase.ICD, command,
+                () -> reasoningPort.suggestIcdCodes(command));
 
         IcdCodeSuggestions capped = result.suggestions().size() <= MAX_SUGGESTIONS
                 ? result
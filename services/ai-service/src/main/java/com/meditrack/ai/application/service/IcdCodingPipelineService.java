@@ -0,0 +1,231 @@
+package com.meditrack.ai.application.service;
+
+import com.meditrack.ai.application.exception.ClinicalReasoningException;
+import com.meditrack.ai.application.exception.InferenceOverloadedException;
+import com.meditrack.ai.application.usecase.QueueIcdCodingUseCase;
+import com.meditrack.ai.application.usecase.SuggestIcdCodesUseCase;
+import com.meditrack.ai.domain.model.IcdCodeSuggestions;
+import com.meditrack.ai.domain.model.IcdCodingJob;
+import com.meditrack.ai.infrastructure.config.IcdCodingProperties;
+import com.meditrack.ai.infrastructure.messaging.IcdCodingEventProducer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Codes completed visits in the background, for coders who work through them
+ * in bulk rather than one note at a time.
+ *
+ * <p>Events land in a bounded in-memory backlog; when it is full the Kafka
+ * consumers block, so the rest waits in Kafka. One worker takes up to
+ * {@code batch-size} events at a time, waiting up to {@code max-wait} for a
+ * batch to fill, and folds events about the same appointment (the completed
+ * appointment and the prescription issued during it) into one coding call. A
+ * batch's visits are coded in parallel, at most {@code max-concurrency} at
+ * once, through the interactive use case — so capping, single-flight and the
+ * inference cache all apply — and at the adapter's low ICD priority. Results go
+ * out together on {@code ai.icd.suggested.v1}.
+ *
+ * <p>A visit TensorX sheds goes back on the backlog and the worker pauses for
+ * {@code retry-backoff}; any other failure is counted and dropped. A restart
+ * forgets the in-memory backlog.
+ *
+ * <p>Metrics: {@code ai.icd.coding.backlog}, {@code ai.icd.coding.visits{outcome=coded|failed|deferred}}
+ * (throughput) and {@code ai.icd.coding.lag} (visit event to published suggestions).
+ */
+@Slf4j
+@Service
+public class IcdCodingPipelineService implements QueueIcdCodingUseCase, DisposableBean {
+
+    private final IcdCodingProperties props;
+    private final SuggestIcdCodesUseCase suggestIcdCodes;
+    private final IcdCodingEventProducer eventProducer;
+    private final MeterRegistry meterRegistry;
+    private final BlockingQueue<IcdCodingJob> backlog;
+    private final Timer lag;
+    private final Thread worker;
+
+    public IcdCodingPipelineService(IcdCodingProperties props, SuggestIcdCodesUseCase suggestIcdCodes,
+                                    IcdCodingEventProducer eventProducer, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.suggestIcdCodes = suggestIcdCodes;
+        this.eventProducer = eventProducer;
+        this.meterRegistry = meterRegistry;
+        this.backlog = new LinkedBlockingQueue<>(props.maxBacklog());
+        this.lag = Timer.builder("ai.icd.coding.lag")
+                .description("Time from a visit event to its published ICD-10 suggestions")
+                .publishPercentiles(0.5, 0.95)
+                .register(meterRegistry);
+        Gauge.builder("ai.icd.coding.backlog", backlog, BlockingQueue::size)
+                .description("Visit events waiting for background ICD-10 coding")
+                .register(meterRegistry);
+        this.worker = props.enabled()
+                ? Thread.ofVirtual().name("icd-coding").start(this::run)
+                : null;
+    }
+
+    @Override
+    public void enqueue(IcdCodingJob job) {
+        try {
+            backlog.put(job);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ClinicalReasoningException("Interrupted while queueing a visit for ICD-10 coding", ex);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                int deferred = codeBatch(nextBatch());
+                if (deferred > 0) {
+                    Thread.sleep(props.retryBackoff().toMillis());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException ex) {
+                log.error("ICD-10 coding batch failed", ex);
+            }
+        }
+    }
+
+    /** Blocks for the first event, then gathers more until the batch is full or {@code max-wait} has passed. */
+    private List<IcdCodingJob> nextBatch() throws InterruptedException {
+        List<IcdCodingJob> batch = new ArrayList<>(props.batchSize());
+        batch.add(backlog.take());
+        long deadline = System.nanoTime() + props.maxWait().toNanos();
+        while (batch.size() < props.batchSize()) {
+            IcdCodingJob next = backlog.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    /**
+     * Codes one batch and publishes its results.
+     *
+     * @return how many visits were shed by TensorX and put back on the backlog
+     */
+    int codeBatch(List<IcdCodingJob> jobs) {
+        List<IcdCodingJob> visits = coalesce(jobs);
+        Semaphore permits = new Semaphore(props.maxConcurrency());
+        List<Future<Attempt>> pending = new ArrayList<>(visits.size());
+        // close() waits for every visit, so all futures are done after the block.
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (IcdCodingJob visit : visits) {
+                pending.add(executor.submit(() -> code(visit, permits)));
+            }
+        }
+
+        List<IcdCodingEventProducer.CodedVisit> coded = new ArrayList<>();
+        int deferred = 0;
+        for (int i = 0; i < visits.size(); i++) {
+            IcdCodingJob visit = visits.get(i);
+            Attempt attempt = resultOf(pending.get(i));
+            if (attempt.suggestions() != null) {
+                coded.add(new IcdCodingEventProducer.CodedVisit(visit, attempt.suggestions()));
+                outcome("coded");
+            } else if (attempt.shed() && backlog.offer(visit)) {
+                deferred++;
+                outcome("deferred");
+            } else {
+                outcome("failed");
+            }
+        }
+
+        if (!coded.isEmpty()) {
+            eventProducer.publishCoded(coded);
+            Instant now = Instant.now();
+            for (IcdCodingEventProducer.CodedVisit visit : coded) {
+                if (visit.job().occurredAt() != null) {
+                    lag.record(Duration.between(visit.job().occurredAt(), now));
+                }
+            }
+        }
+        log.info("ICD-10 coding batch complete: events={}, visits={}, coded={}, deferred={}",
+                jobs.size(), visits.size(), coded.size(), deferred);
+        return deferred;
+    }
+
+    /** Folds events about the same appointment into one visit, keeping arrival order. */
+    static List<IcdCodingJob> coalesce(List<IcdCodingJob> jobs) {
+        Map<UUID, IcdCodingJob> byAppointment = new LinkedHashMap<>();
+        for (IcdCodingJob job : jobs) {
+            UUID key = job.appointmentId() != null ? job.appointmentId() : UUID.randomUUID();
+            byAppointment.merge(key, job, IcdCodingJob::merge);
+        }
+        return List.copyOf(byAppointment.values());
+    }
+
+    private Attempt code(IcdCodingJob visit, Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return new Attempt(null, false);
+        }
+        try {
+            return new Attempt(suggestIcdCodes.suggest(visit.toCommand()), false);
+        } catch (InferenceOverloadedException ex) {
+            return new Attempt(null, true);
+        } catch (Exception ex) {
+            log.warn("Background ICD-10 coding failed for appointment {}: {}", visit.appointmentId(), ex.getMessage());
+            return new Attempt(null, false);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static Attempt resultOf(Future<Attempt> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return new Attempt(null, false);
+        } catch (ExecutionException ex) {
+            // code() already converts failures to attempts; this is belt and braces.
+            return new Attempt(null, false);
+        }
+    }
+
+    private void outcome(String outcome) {
+        Counter.builder("ai.icd.coding.visits")
+                .description("Visits through background ICD-10 coding, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private record Attempt(IcdCodeSuggestions suggestions, boolean shed) {
+    }
+}
@@ -0,0 +1,165 @@
+package com.meditrack.ai.application.service;
+
+import com.meditrack.ai.application.exception.InferenceOverloadedException;
+import com.meditrack.ai.application.support.PreparedLabExplanations;
+import com.meditrack.ai.application.usecase.ExplainLabResultUseCase;
+import com.meditrack.ai.application.usecase.PrepareLabExplanationUseCase;
+import com.meditrack.ai.domain.model.LabResultExplanation;
+import com.meditrack.ai.domain.model.LabResultExplanationCommand;
+import com.meditrack.ai.domain.port.BackgroundCapacityPort;
+import com.meditrack.ai.infrastructure.config.PreparedLabExplanationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prepares lab explanations as soon as results are published, so the
+ * explanation a clinician or patient opens later is a read, not a model call.
+ *
+ * <p>Panels wait in a priority backlog: a panel with a critical value is
+ * always taken before any routine one, and at most {@code max-concurrency} are
+ * prepared at once. Each goes through the interactive use case, so all-normal
+ * panels are still answered from reference ranges without TensorX, and a
+ * critical panel reaches the adapter at its raised priority. Routine panels
+ * start only when {@link BackgroundCapacityPort} admits them and otherwise
+ * retry every {@code retry-every} for up to {@code max-delay}; critical panels
+ * skip that gate. The result is kept in {@link PreparedLabExplanations}.
+ *
+ * <p>The backlog lives in memory: a restart forgets it, which only means
+ * explanations written on demand.
+ *
+ * <p>Metrics: {@code ai.lab.preparations.backlog} and
+ * {@code ai.lab.preparations{outcome=prepared|failed|missed|dropped,priority=critical|routine}}.
+ */
+@Slf4j
+@Service
+public class LabExplanationPreparationService implements PrepareLabExplanationUseCase, DisposableBean {
+
+    private final PreparedLabExplanationProperties props;
+    private final ExplainLabResultUseCase explainLabResult;
+    private final BackgroundCapacityPort capacity;
+    private final PreparedLabExplanations prepared;
+    private final MeterRegistry meterRegistry;
+    private final PriorityBlockingQueue<Job> backlog = new PriorityBlockingQueue<>(64,
+            Comparator.comparing((Job job) -> !job.critical()).thenComparingLong(Job::sequence));
+    private final AtomicLong sequence = new AtomicLong();
+    private final Semaphore permits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService retries =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("lab-explanation-retry").factory());
+    private final Thread worker;
+
+    public LabExplanationPreparationService(PreparedLabExplanationProperties props,
+                                            ExplainLabResultUseCase explainLabResult,
+                                            BackgroundCapacityPort capacity, PreparedLabExplanations prepared,
+                                            MeterRegistry meterRegistry) {
+        this.props = props;
+        this.explainLabResult = explainLabResult;
+        this.capacity = capacity;
+        this.prepared = prepared;
+        this.meterRegistry = meterRegistry;
+        this.permits = new Semaphore(props.maxConcurrency());
+        Gauge.builder("ai.lab.preparations.backlog", backlog, PriorityBlockingQueue::size)
+                .description("Lab panels waiting for their explanation to be prepared")
+                .register(meterRegistry);
+        this.worker = props.enabled()
+                ? Thread.ofVirtual().name("lab-explanation-preparer").start(this::run)
+                : null;
+    }
+
+    @Override
+    public void prepare(UUID orderId, LabResultExplanationCommand command, boolean critical) {
+        Job job = new Job(orderId, command, critical, Instant.now(), sequence.getAndIncrement());
+        if (!critical && backlog.size() >= props.maxBacklog()) {
+            finish(job, "dropped");
+            return;
+        }
+        backlog.add(job);
+    }
+
+    @Override
+    public void destroy() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+        retries.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                // Take a permit first, so the panel chosen is the most urgent one when a slot frees.
+                permits.acquire();
+                Job job;
+                try {
+                    job = backlog.take();
+                } catch (InterruptedException ex) {
+                    permits.release();
+                    throw ex;
+                }
+                executor.execute(() -> {
+                    try {
+                        prepare(job);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void prepare(Job job) {
+        if (!job.critical() && !capacity.tryAcquire()) {
+            retryLater(job);
+            return;
+        }
+        try {
+            LabResultExplanation explanation = explainLabResult.explain(job.command());
+            prepared.put(job.orderId(), job.command(), explanation);
+            finish(job, "prepared");
+        } catch (InferenceOverloadedException ex) {
+            retryLater(job);
+        } catch (RuntimeException ex) {
+            log.warn("Preparing the lab explanation for order {} failed: {}", job.orderId(), ex.getMessage());
+            finish(job, "failed");
+        }
+    }
+
+    private void retryLater(Job job) {
+        if (Instant.now().plus(props.retryEvery()).isBefore(job.receivedAt().plus(props.maxDelay()))) {
+            retries.schedule(() -> backlog.add(job), props.retryEvery().toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            finish(job, "missed");
+        }
+    }
+
+    private void finish(Job job, String outcome) {
+        Counter.builder("ai.lab.preparations")
+                .description("Lab explanations prepared ahead of request, by outcome")
+                .tag("outcome", outcome)
+                .tag("priority", job.critical() ? "critical" : "routine")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private record Job(UUID orderId, LabResultExplanationCommand command, boolean critical, Instant receivedAt,
+                       long sequence) {
+    }
+}
@@ -1,17 +1,26 @@
 package com.meditrack.ai.application.service;
 
+import com.meditrack.ai.application.support.LabReferencePrepass;
+import com.meditrack.ai.application.support.PreparedLabExplanations;
+import com.meditrack.ai.application.support.SingleFlight;
 import com.meditrack.ai.application.usecase.ExplainLabResultUseCase;
 import com.meditrack.ai.domain.model.LabResultExplanation;
 import com.meditrack.ai.domain.model.LabResultExplanationCommand;
 import com.meditrack.ai.domain.port.ClinicalReasoningPort;
+import com.meditrack.ai.domain.port.ReasoningUseCase;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.UUID;
+
 /**
- * Explains a lab panel by delegating to the clinical reasoning port. Read-only:
- * no events, no state — the explanation is returned to the caller and nothing
- * is persisted.
+ * Explains a lab panel by delegating to the clinical reasoning port, unless the
+ * {@link LabReferencePrepass} finds every value in range and answers locally.
+ * Read-only: no events, no state — the explanation is returned to the caller
+ * and nothing is persisted. A request naming its lab order is answered from
+ * the explanation prepared when the results were published, if the panel is
+ * unchanged ({@link PreparedLabExplanations}).
  */
 @Slf4j
 @Service
@@ -19,12 +28,25 @@ import org.springframework.stereotype.Service;
 public class LabResultExplanationService implements ExplainLabResultUseCase {
 
     private final ClinicalReasoningPort reasoningPort;
+    private final SingleFlight singleFlight;
+    private final LabReferencePrepass prepass;
+    private final PreparedLabExplanations preparedExplanations;
 
     @Override
     public LabResultExplanation explain(LabResultExplanationCommand command) {
         int count = command.results() == null ? 0 : command.results().size();
-        LabResultExplanation explanation = reasoningPort.explainLabResult(command);
+        LabResultExplanation explanation = prepass.explain(command).orElseGet(() -> {
+            LabResultExplanation fromModel = singleFlight.execute(ReasoningUseCase.LAB, command,
+                    () -> reasoningPort.explainLabResult(command));
+            prepass.learn(command, fromModel);
+            return fromModel;
+        });
         log.info("Lab-result explanation complete: {} result(s), urgency={}", count, explanation.urgency());
         return explanation;
     }
+
+    @Override
+    public LabResultExplanation explain(UUID orderId, LabResultExplanationCommand command) {
+        return preparedExplanations.find(orderId, command).orElseGet(() -> explain(command));
+    }
 }
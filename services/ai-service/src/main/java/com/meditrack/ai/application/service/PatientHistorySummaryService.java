@@ -1,17 +1,25 @@
 package com.meditrack.ai.application.service;
 
+import com.meditrack.ai.application.support.PreparedBriefs;
+import com.meditrack.ai.application.support.SingleFlight;
 import com.meditrack.ai.application.usecase.SummarizePatientHistoryUseCase;
 import com.meditrack.ai.domain.model.HistorySummaryCommand;
 import com.meditrack.ai.domain.model.PatientHistorySummary;
 import com.meditrack.ai.domain.port.ClinicalReasoningPort;
+import com.meditrack.ai.domain.port.ReasoningStreamListener;
+import com.meditrack.ai.domain.port.ReasoningUseCase;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.UUID;
+
 /**
  * Distils a patient record into a pre-consultation brief by delegating to the
  * clinical reasoning port. Read-only: the caller supplies the record, the brief
- * is returned, and nothing is persisted.
+ * is returned, and nothing is persisted. A request naming an appointment is
+ * answered from the brief prepared ahead of it ({@link AppointmentBriefService})
+ * when that brief was written from the same record.
  */
 @Slf4j
 @Service
@@ -19,10 +27,34 @@ import org.springframework.stereotype.Service;
 public class PatientHistorySummaryService implements SummarizePatientHistoryUseCase {
 
     private final ClinicalReasoningPort reasoningPort;
+    private final SingleFlight singleFlight;
+    private final PreparedBriefs preparedBriefs;
 
     @Override
     public PatientHistorySummary summarize(HistorySummaryCommand command) {
-        PatientHistorySummary summary = reasoningPort.summarizeHistory(command);
+        return logged(singleFlight.execute(ReasoningUseCase.HISTORY, command,
+                () -> reasoningPort.summarizeHistory(command)));
+    }
+
+    @Override
+    public PatientHistorySummary summarize(HistorySummaryCommand command, ReasoningStreamListener listener) {
+        return logged(reasoningPort.summarizeHistory(command, listener));
+    }
+
+    @Override
+    public PatientHistorySummary summarize(UUID appointmentId, HistorySummaryCommand command) {
+        return preparedBriefs.find(appointmentId, command)
+                .orElseGet(() -> summarize(command));
+    }
+
+    @Override
+    public PatientHistorySummary summarize(UUID appointmentId, HistorySummaryCommand command,
+                                           ReasoningStreamListener listener) {
+        return preparedBriefs.find(appointmentId, command)
+                .orElseGet(() -> summarize(command, listener));
+    }
+
+    private PatientHistorySummary logged(PatientHistorySummary summary) {
         log.info("Patient history summary complete: keyConditions={}, redFlags={}",
                 summary.keyConditions().size(), summary.redFlags().size());
         return summary;
@@ -0,0 +1,104 @@
+package com.meditrack.ai.application.service;
+
+import com.meditrack.ai.application.exception.ClinicalReasoningException;
+import com.meditrack.ai.application.usecase.CheckPrescriptionSafetyBatchUseCase;
+import com.meditrack.ai.domain.model.SafetyAssessment;
+import com.meditrack.ai.domain.model.SafetyCheckCommand;
+import com.meditrack.ai.domain.model.SafetyScreenOutcome;
+import com.meditrack.ai.domain.port.ClinicalReasoningPort;
+import com.meditrack.ai.infrastructure.config.SafetyBatchProperties;
+import com.meditrack.ai.infrastructure.messaging.PrescriptionSafetyEventProducer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Screens a batch of prescriptions (e.g. pharmacy's overnight reconciliation)
+ * in parallel. Each item runs on its own virtual thread, but at most
+ * {@code meditrack.safety-batch.max-concurrency} are inside the reasoning port
+ * at once — the rest park cheaply on the semaphore.
+ *
+ * <p>Outcomes come back in input order. An item that fails is reported as such
+ * and never fails its neighbours. Flagged results are announced together in a
+ * single batched send once the whole batch has been screened.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PrescriptionSafetyBatchService implements CheckPrescriptionSafetyBatchUseCase {
+
+    private final ClinicalReasoningPort reasoningPort;
+    private final PrescriptionSafetyEventProducer eventProducer;
+    private final SafetyBatchProperties props;
+
+    @Override
+    public List<SafetyScreenOutcome> checkAll(List<SafetyCheckCommand> commands) {
+        Semaphore permits = new Semaphore(props.maxConcurrency());
+        List<Future<SafetyScreenOutcome>> pending = new ArrayList<>(commands.size());
+        // close() waits for every item, so all futures are done after the block.
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (SafetyCheckCommand command : commands) {
+                pending.add(executor.submit(() -> screen(command, permits)));
+            }
+        }
+
+        List<SafetyScreenOutcome> outcomes = new ArrayList<>(commands.size());
+        List<PrescriptionSafetyEventProducer.FlaggedScreen> flagged = new ArrayList<>();
+        for (int i = 0; i < commands.size(); i++) {
+            SafetyScreenOutcome outcome = resultOf(pending.get(i));
+            outcomes.add(outcome);
+            if (outcome.succeeded() && outcome.assessment().isFlagged()) {
+                flagged.add(new PrescriptionSafetyEventProducer.FlaggedScreen(commands.get(i), outcome.assessment()));
+            }
+        }
+
+        long failed = outcomes.stream().filter(o -> !o.succeeded()).count();
+        log.info("Batch prescription safety screen complete: items={}, flagged={}, failed={}",
+                commands.size(), flagged.size(), failed);
+
+        if (!flagged.isEmpty()) {
+            eventProducer.publishFlagged(flagged);
+        }
+        return outcomes;
+    }
+
+    private SafetyScreenOutcome screen(SafetyCheckCommand command, Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return SafetyScreenOutcome.failed("Batch screening was interrupted");
+        }
+        try {
+            SafetyAssessment assessment = reasoningPort.assess(command);
+            return SafetyScreenOutcome.screened(assessment);
+        } catch (ClinicalReasoningException ex) {
+            return SafetyScreenOutcome.failed(ex.getMessage());
+        } catch (Exception ex) {
+            log.warn("Batch safety screen failed for prescription {}", command.prescriptionId(), ex);
+            return SafetyScreenOutcome.failed("Internal error while screening this item");
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static SafetyScreenOutcome resultOf(Future<SafetyScreenOutcome> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return SafetyScreenOutcome.failed("Batch screening was interrupted");
+        } catch (ExecutionException ex) {
+            // screen() already converts failures to outcomes; this is belt and braces.
+            return SafetyScreenOutcome.failed("Internal error while screening this item");
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.meditrack.ai.application.service;
 
+import com.meditrack.ai.application.support.SingleFlight;
 import com.meditrack.ai.application.usecase.CheckPrescriptionSafetyUseCase;
 import com.meditrack.ai.domain.model.SafetyAssessment;
 import com.meditrack.ai.domain.model.SafetyCheckCommand;
 import com.meditrack.ai.domain.port.ClinicalReasoningPort;
+import com.meditrack.ai.domain.port.ReasoningUseCase;
 import com.meditrack.ai.infrastructure.messaging.PrescriptionSafetyEventProducer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,6 +18,9 @@ import org.springframework.stereotype.Service;
  *
  * <p>Event publication is best-effort and never blocks the caller's answer —
  * a broker outage must not prevent a clinician from seeing the assessment.
+ *
+ * <p>Concurrent screens of the same prescription are coalesced into one: the
+ * screen, and any flagged event, happen once and every caller gets the result.
  */
 @Slf4j
 @Service
@@ -24,9 +29,14 @@ public class PrescriptionSafetyService implements CheckPrescriptionSafetyUseCase
 
     private final ClinicalReasoningPort reasoningPort;
     private final PrescriptionSafetyEventProducer eventProducer;
+    private final SingleFlight singleFlight;
 
     @Override
     public SafetyAssessment check(SafetyCheckCommand command) {
+        return singleFlight.execute(ReasoningUseCase.ASSESS, command, () -> screen(command));
+    }
+
+    private SafetyAssessment screen(SafetyCheckCommand command) {
         SafetyAssessment assessment = reasoningPort.assess(command);
 
         log.info("Prescription safety screen complete: risk={}, interactions={}, allergyConflicts={}",
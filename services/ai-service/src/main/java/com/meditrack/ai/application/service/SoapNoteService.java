@@ -1,9 +1,12 @@
 package com.meditrack.ai.application.service;
 
+import com.meditrack.ai.application.support.SingleFlight;
 import com.meditrack.ai.application.usecase.GenerateSoapNoteUseCase;
 import com.meditrack.ai.domain.model.SoapNote;
 import com.meditrack.ai.domain.model.SoapNoteCommand;
 import com.meditrack.ai.domain.port.ClinicalReasoningPort;
+import com.meditrack.ai.domain.port.ReasoningStreamListener;
+import com.meditrack.ai.domain.port.ReasoningUseCase;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -19,10 +22,20 @@ import org.springframework.stereotype.Service;
 public class SoapNoteService implements GenerateSoapNoteUseCase {
 
     private final ClinicalReasoningPort reasoningPort;
+    private final SingleFlight singleFlight;
 
     @Override
     public SoapNote generate(SoapNoteCommand command) {
-        SoapNote note = reasoningPort.generateSoapNote(command);
+        return logged(singleFlight.execute(ReasoningUseCase.SOAP, command,
+                () -> reasoningPort.generateSoapNote(command)));
+    }
+
+    @Override
+    public SoapNote generate(SoapNoteCommand command, ReasoningStreamListener listener) {
+        return logged(reasoningPort.generateSoapNote(command, listener));
+    }
+
+    private SoapNote logged(SoapNote note) {
         log.info("SOAP note generation complete: problems={}, followUp={}",
                 note.assessmentProblems().size(), note.followUp() != null);
         return note;
@@ -1,15 +1,19 @@
 package com.meditrack.ai.application.service;
 
+import com.meditrack.ai.application.support.RedFlagScreen;
+import com.meditrack.ai.application.support.SingleFlight;
 import com.meditrack.ai.application.usecase.TriageSymptomsUseCase;
 import com.meditrack.ai.domain.model.TriageAssessment;
 import com.meditrack.ai.domain.model.TriageCommand;
 import com.meditrack.ai.domain.port.ClinicalReasoningPort;
+import com.meditrack.ai.domain.port.ReasoningUseCase;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 /**
- * Triages a symptom presentation by delegating to the clinical reasoning port.
+ * Triages a symptom presentation by delegating to the clinical reasoning port,
+ * unless the {@link RedFlagScreen} already finds an unambiguous emergency.
  * Read-only: no events, no state — the assessment is returned to the caller and
  * nothing is persisted.
  */
@@ -19,10 +23,14 @@ import org.springframework.stereotype.Service;
 public class SymptomTriageService implements TriageSymptomsUseCase {
 
     private final ClinicalReasoningPort reasoningPort;
+    private final SingleFlight singleFlight;
+    private final RedFlagScreen redFlagScreen;
 
     @Override
     public TriageAssessment triage(TriageCommand command) {
-        TriageAssessment assessment = reasoningPort.triage(command);
+        TriageAssessment assessment = redFlagScreen.screen(command)
+                .orElseGet(() -> singleFlight.execute(ReasoningUseCase.TRIAGE, command,
+                        () -> reasoningPort.triage(command)));
         log.info("Symptom triage complete: urgency={}, redFlags={}",
                 assessment.urgency(), assessment.redFlags().size());
         return assessment;
@@ -0,0 +1,79 @@
+package com.meditrack.ai.application.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Content-addresses a command record: serialises it to JSON with object keys
+ * sorted and every array order-normalised, then SHA-256 hashes the result.
+ * Two commands that carry the same clinical content in a different list order
+ * get the same fingerprint.
+ *
+ * <p>The fingerprint is a one-way hex digest, so it is safe to use as a cache or
+ * log key — it never carries the patient data it was derived from.
+ */
+@Component
+public class CommandFingerprinter {
+
+    private final ObjectMapper canonicalMapper;
+
+    public CommandFingerprinter(ObjectMapper objectMapper) {
+        this.canonicalMapper = objectMapper.copy()
+                .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    }
+
+    /**
+     * @param namespace distinguishes otherwise-equal payloads (use case, model, ...);
+     *                  hashed alongside the command, never exposed
+     */
+    public String fingerprint(String namespace, Object command) {
+        JsonNode canonical = canonicalise(canonicalMapper.valueToTree(command));
+        return sha256(namespace + '\n' + canonical);
+    }
+
+    private static JsonNode canonicalise(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            List<Map.Entry<String, JsonNode>> fields = new ArrayList<>();
+            object.fields().forEachRemaining(fields::add);
+            fields.sort(Map.Entry.comparingByKey());
+            ObjectNode sorted = object.objectNode();
+            fields.forEach(e -> sorted.set(e.getKey(), canonicalise(e.getValue())));
+            return sorted;
+        }
+        if (node instanceof ArrayNode array) {
+            List<JsonNode> elements = new ArrayList<>(array.size());
+            for (Iterator<JsonNode> it = array.elements(); it.hasNext(); ) {
+                elements.add(canonicalise(it.next()));
+            }
+            elements.sort(Comparator.comparing(JsonNode::toString));
+            ArrayNode sorted = array.arrayNode();
+            sorted.addAll(elements);
+            return sorted;
+        }
+        return node;
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            // Every JRE is required to ship SHA-256.
+            throw new IllegalStateException(ex);
+        }
+    }
+}
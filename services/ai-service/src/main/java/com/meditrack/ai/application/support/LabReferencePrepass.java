@@ -0,0 +1,210 @@
+package com.meditrack.ai.application.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.meditrack.ai.domain.model.ClinicalUrgency;
+import com.meditrack.ai.domain.model.LabResultDetail;
+import com.meditrack.ai.domain.model.LabResultExplanation;
+import com.meditrack.ai.domain.model.LabResultExplanationCommand;
+import com.meditrack.ai.domain.model.LabValue;
+import com.meditrack.ai.infrastructure.config.LabPrepassProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Answers routine lab panels without the model. Every value is checked against
+ * its reported reference range ({@link ReferenceRange}); when all of them are
+ * unambiguously in range the panel is explained locally as ROUTINE, and only
+ * panels with an abnormal, flagged or unreadable value go to TensorX.
+ *
+ * <p>Per-test wording comes from explanation fragments keyed by
+ * (test, value band, age band, sex). Fragments are learned from the model's own
+ * explanations of in-range values on panels it did see, and a plain template is
+ * used until one is learned. A fragment is only kept when it could stand for the
+ * next patient in the same band: nothing is learned from a panel sent with
+ * clinician context, and wording that quotes the measured value or names another
+ * test on the panel is dropped.
+ *
+ * <p>Metrics: {@code ai.lab.prepass{outcome=bypassed|model}},
+ * {@code ai.lab.prepass.bypass_ratio} (bypassed share since start) and
+ * {@code ai.lab.fragments{source=learned|template}}.
+ */
+@Component
+public class LabReferencePrepass {
+
+    public static final String MODEL_USED = "reference-ranges";
+
+    static final String OVERALL_SUMMARY = "All %d result(s) are within their reported reference ranges.";
+    static final String PATIENT_SUMMARY = "All of your results are within the normal range for the laboratory.";
+    static final String FOLLOW_UP = "No action needed on these results; review at the next routine visit.";
+
+    private static final Pattern IN_RANGE_WORDING = Pattern.compile("\\b(normal|within|in range|unremarkable)\\b");
+
+    private final LabPrepassProperties props;
+    private final Cache<FragmentKey, Fragment> fragments;
+    private final Counter bypassed;
+    private final Counter model;
+    private final Counter learnedFragments;
+    private final Counter templateFragments;
+
+    public LabReferencePrepass(LabPrepassProperties props, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.fragments = Caffeine.newBuilder()
+                .maximumSize(props.maxFragments())
+                .expireAfterWrite(props.fragmentTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, fragments, "lab-fragments");
+        this.bypassed = panels(meterRegistry, "bypassed");
+        this.model = panels(meterRegistry, "model");
+        this.learnedFragments = fragmentSource(meterRegistry, "learned");
+        this.templateFragments = fragmentSource(meterRegistry, "template");
+        Gauge.builder("ai.lab.prepass.bypass_ratio", this, LabReferencePrepass::bypassRatio)
+                .description("Share of lab panels explained without a model call since start")
+                .register(meterRegistry);
+    }
+
+    /** A local explanation when every value is in range, otherwise empty and the model must be asked. */
+    public Optional<LabResultExplanation> explain(LabResultExplanationCommand command) {
+        List<LabValue> results = command.results() == null ? List.of() : command.results();
+        if (!props.enabled() || results.isEmpty()) {
+            model.increment();
+            return Optional.empty();
+        }
+
+        List<LabResultDetail> details = new ArrayList<>(results.size());
+        for (LabValue lab : results) {
+            ReferenceRange.Evaluation evaluation = ReferenceRange.evaluate(lab);
+            if (evaluation.status() != ReferenceRange.Status.IN_RANGE) {
+                model.increment();
+                return Optional.empty();
+            }
+            details.add(detail(lab, key(lab, evaluation, command)));
+        }
+        bypassed.increment();
+        return Optional.of(new LabResultExplanation(
+                OVERALL_SUMMARY.formatted(results.size()), PATIENT_SUMMARY, FOLLOW_UP,
+                ClinicalUrgency.ROUTINE, details, MODEL_USED));
+    }
+
+    /**
+     * Keeps the model's wording for in-range values of a panel it explained, for reuse on later panels.
+     * Panels sent with clinician context are skipped, since the wording may carry that patient's details.
+     */
+    public void learn(LabResultExplanationCommand command, LabResultExplanation explanation) {
+        if (!props.enabled() || command.results() == null || explanation.results() == null
+                || (command.context() != null && !command.context().isBlank())) {
+            return;
+        }
+        List<String> panelTests = command.results().stream().map(l -> normaliseTest(l.testName())).toList();
+        for (LabValue lab : command.results()) {
+            ReferenceRange.Evaluation evaluation = ReferenceRange.evaluate(lab);
+            if (evaluation.status() != ReferenceRange.Status.IN_RANGE) {
+                continue;
+            }
+            explanation.results().stream()
+                    .filter(d -> d.testName() != null && normaliseTest(d.testName()).equals(normaliseTest(lab.testName())))
+                    .findFirst()
+                    .filter(d -> reusable(d, lab, panelTests))
+                    .ifPresent(d -> fragments.put(key(lab, evaluation, command),
+                            new Fragment(d.interpretation(), d.explanation(), d.clinicalSignificance())));
+        }
+    }
+
+    double bypassRatio() {
+        double total = bypassed.count() + model.count();
+        return total == 0 ? 0 : bypassed.count() / total;
+    }
+
+    private LabResultDetail detail(LabValue lab, FragmentKey key) {
+        Fragment fragment = fragments.getIfPresent(key);
+        if (fragment != null) {
+            learnedFragments.increment();
+            return new LabResultDetail(lab.testName(), fragment.interpretation(),
+                    fragment.explanation(), fragment.clinicalSignificance());
+        }
+        templateFragments.increment();
+        String unit = lab.unit() == null || lab.unit().isBlank() ? "" : " " + lab.unit().trim();
+        return new LabResultDetail(lab.testName(), "Normal",
+                "%s is %s%s, within the reference range of %s.".formatted(
+                        lab.testName(), lab.value().trim(), unit, lab.referenceRange().trim()),
+                "No action needed for this result.");
+    }
+
+    /**
+     * Only in-range wording that says nothing about the exact value, or about the rest of the panel,
+     * can stand for the whole band.
+     */
+    private static boolean reusable(LabResultDetail detail, LabValue lab, List<String> panelTests) {
+        if (detail.interpretation() == null || detail.explanation() == null) {
+            return false;
+        }
+        String interpretation = detail.interpretation().toLowerCase(Locale.ROOT);
+        if (interpretation.contains("abnormal") || !IN_RANGE_WORDING.matcher(interpretation).find()) {
+            return false;
+        }
+        String value = lab.value().trim();
+        if (detail.explanation().contains(value)
+                || (detail.clinicalSignificance() != null && detail.clinicalSignificance().contains(value))) {
+            return false;
+        }
+        String wording = (interpretation + " " + detail.explanation() + " "
+                + (detail.clinicalSignificance() == null ? "" : detail.clinicalSignificance())).toLowerCase(Locale.ROOT);
+        String test = normaliseTest(lab.testName());
+        return panelTests.stream().filter(t -> !t.isEmpty() && !t.equals(test)).noneMatch(wording::contains);
+    }
+
+    private static FragmentKey key(LabValue lab, ReferenceRange.Evaluation evaluation,
+                                   LabResultExplanationCommand command) {
+        return new FragmentKey(normaliseTest(lab.testName()), evaluation.band(),
+                ageBand(command.patientAgeYears()), sex(command.patientSex()));
+    }
+
+    private static String normaliseTest(String testName) {
+        return testName == null ? "" : testName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String ageBand(Integer ageYears) {
+        if (ageYears == null) {
+            return "unknown";
+        }
+        return ageYears < 18 ? "child" : ageYears < 65 ? "adult" : "older";
+    }
+
+    private static String sex(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return "U";
+        }
+        char c = Character.toUpperCase(raw.trim().charAt(0));
+        return c == 'M' || c == 'F' ? String.valueOf(c) : "U";
+    }
+
+    private static Counter panels(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("ai.lab.prepass")
+                .description("Lab panels explained locally from reference ranges vs sent to the model")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Counter fragmentSource(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("ai.lab.fragments")
+                .description("Per-test explanations in locally answered panels, by where the wording came from")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    private record FragmentKey(String test, String band, String ageBand, String sex) {
+    }
+
+    private record Fragment(String interpretation, String explanation, String clinicalSignificance) {
+    }
+}
@@ -0,0 +1,168 @@
+package com.meditrack.ai.application.support;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick matcher over a fixed phrase list: one left-to-right pass over
+ * the text finds every occurrence of every phrase, however many phrases there
+ * are. Matching is on whole words of {@link #normalise(String) normalised} text.
+ *
+ * <p>The automaton is compiled once into a dense transition table, so a scan
+ * is one array lookup per character and allocates only for matches.
+ *
+ * @param <T> what each phrase stands for
+ */
+final class PhraseMatcher<T> {
+
+    /** Normalised text alphabet: a-z, 0-9, apostrophe, space and the clause break '.'. */
+    private static final int ALPHABET = 39;
+    private static final char CLAUSE_BREAK = '.';
+
+    private final int[][] transitions;
+    /** Per state, ids of every phrase ending there (including via failure links). */
+    private final int[][] outputs;
+    private final int[] phraseLengths;
+    private final List<T> values;
+
+    PhraseMatcher(Map<String, T> phrases) {
+        List<int[]> gotos = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        gotos.add(emptyRow());
+        ends.add(new ArrayList<>());
+        this.phraseLengths = new int[phrases.size()];
+        this.values = new ArrayList<>(phrases.size());
+
+        int id = 0;
+        for (Map.Entry<String, T> phrase : phrases.entrySet()) {
+            String normalised = normalise(phrase.getKey());
+            int state = 0;
+            for (int i = 0; i < normalised.length(); i++) {
+                int symbol = symbol(normalised.charAt(i));
+                if (gotos.get(state)[symbol] < 0) {
+                    gotos.get(state)[symbol] = gotos.size();
+                    gotos.add(emptyRow());
+                    ends.add(new ArrayList<>());
+                }
+                state = gotos.get(state)[symbol];
+            }
+            ends.get(state).add(id);
+            phraseLengths[id] = normalised.length();
+            values.add(phrase.getValue());
+            id++;
+        }
+
+        // Breadth-first: fill failure links, then turn missing edges into failure transitions (a DFA).
+        int[] fail = new int[gotos.size()];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < ALPHABET; symbol++) {
+            int child = gotos.get(0)[symbol];
+            if (child < 0) {
+                gotos.get(0)[symbol] = 0;
+            } else {
+                fail[child] = 0;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            ends.get(state).addAll(ends.get(fail[state]));
+            for (int symbol = 0; symbol < ALPHABET; symbol++) {
+                int child = gotos.get(state)[symbol];
+                if (child < 0) {
+                    gotos.get(state)[symbol] = gotos.get(fail[state])[symbol];
+                } else {
+                    fail[child] = gotos.get(fail[state])[symbol];
+                    queue.add(child);
+                }
+            }
+        }
+
+        this.transitions = gotos.toArray(int[][]::new);
+        this.outputs = ends.stream()
+                .map(list -> list.stream().mapToInt(Integer::intValue).toArray())
+                .toArray(int[][]::new);
+    }
+
+    /**
+     * Every whole-word phrase occurrence in {@code text}, which must already be
+     * {@link #normalise(String) normalised}, in order of where each match ends.
+     */
+    List<Match<T>> findAll(String text) {
+        List<Match<T>> matches = new ArrayList<>();
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = transitions[state][symbol(text.charAt(i))];
+            for (int phrase : outputs[state]) {
+                int start = i - phraseLengths[phrase] + 1;
+                if (isBoundary(text, start - 1) && isBoundary(text, i + 1)) {
+                    matches.add(new Match<>(start, i + 1, values.get(phrase)));
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Lower-cases, keeps letters, digits and apostrophes, turns sentence
+     * punctuation into a standalone {@code '.'} clause break and every other run
+     * of characters into a single space.
+     */
+    static String normalise(String text) {
+        StringBuilder sb = new StringBuilder(text.length() + 8);
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (c == '’') {
+                c = '\'';
+            }
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '\'') {
+                if (pendingSpace && !sb.isEmpty()) {
+                    sb.append(' ');
+                }
+                pendingSpace = false;
+                sb.append(c);
+            } else if (c == '.' || c == ';' || c == '!' || c == '?' || c == '\n') {
+                if (!sb.isEmpty() && sb.charAt(sb.length() - 1) != CLAUSE_BREAK) {
+                    sb.append(' ').append(CLAUSE_BREAK);
+                }
+                pendingSpace = true;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isBoundary(String text, int index) {
+        return index < 0 || index >= text.length() || text.charAt(index) == ' ';
+    }
+
+    private static int symbol(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        if (c >= '0' && c <= '9') {
+            return 26 + c - '0';
+        }
+        return switch (c) {
+            case '\'' -> 36;
+            case ' ' -> 37;
+            default -> 38;
+        };
+    }
+
+    private static int[] emptyRow() {
+        int[] row = new int[ALPHABET];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    /** A phrase found at {@code [start, end)} of the normalised text. */
+    record Match<T>(int start, int end, T value) {
+    }
+}
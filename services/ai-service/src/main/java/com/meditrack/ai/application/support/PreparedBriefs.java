@@ -0,0 +1,98 @@
+package com.meditrack.ai.application.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.meditrack.ai.domain.model.HistorySummaryCommand;
+import com.meditrack.ai.domain.model.PatientHistorySummary;
+import com.meditrack.ai.domain.port.ReasoningUseCase;
+import com.meditrack.ai.infrastructure.config.PreparedBriefProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * History briefs prepared ahead of an appointment, keyed by appointment and
+ * held in memory only until shortly after it starts. A brief is served only
+ * for the exact record it was written from: the caller's record is
+ * fingerprinted and compared, so an edit made since preparation means a fresh
+ * brief.
+ *
+ * <p>Metrics: {@code ai.briefs.prepared.lookups{result=hit|stale|miss}}.
+ */
+@Component
+public class PreparedBriefs {
+
+    private final CommandFingerprinter fingerprinter;
+    private final Cache<UUID, PreparedBrief> briefs;
+    private final MeterRegistry meterRegistry;
+
+    public PreparedBriefs(PreparedBriefProperties props, CommandFingerprinter fingerprinter,
+                          MeterRegistry meterRegistry) {
+        this.fingerprinter = fingerprinter;
+        this.meterRegistry = meterRegistry;
+        this.briefs = Caffeine.newBuilder()
+                .maximumSize(props.maxBriefs())
+                .expireAfter(new UntilExpiry())
+                .build();
+    }
+
+    /** Stores a brief written from {@code record}, to be dropped at {@code expiresAt}. */
+    public void put(UUID appointmentId, HistorySummaryCommand record, PatientHistorySummary brief, Instant expiresAt) {
+        briefs.put(appointmentId, new PreparedBrief(fingerprint(record), brief, expiresAt));
+    }
+
+    /** The brief prepared for {@code appointmentId}, if it was written from exactly {@code record}. */
+    public Optional<PatientHistorySummary> find(UUID appointmentId, HistorySummaryCommand record) {
+        PreparedBrief prepared = briefs.getIfPresent(appointmentId);
+        if (prepared == null) {
+            lookup("miss");
+            return Optional.empty();
+        }
+        if (!prepared.fingerprint().equals(fingerprint(record))) {
+            lookup("stale");
+            return Optional.empty();
+        }
+        lookup("hit");
+        return Optional.of(prepared.brief());
+    }
+
+    private String fingerprint(HistorySummaryCommand record) {
+        return fingerprinter.fingerprint(ReasoningUseCase.HISTORY.tag(), record);
+    }
+
+    private void lookup(String result) {
+        Counter.builder("ai.briefs.prepared.lookups")
+                .description("History-summary requests that named an appointment, by prepared-brief outcome")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private record PreparedBrief(String fingerprint, PatientHistorySummary brief, Instant expiresAt) {
+    }
+
+    /** Each brief lives until its own appointment-relative expiry. */
+    private static final class UntilExpiry implements Expiry<UUID, PreparedBrief> {
+
+        @Override
+        public long expireAfterCreate(UUID key, PreparedBrief value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID key, PreparedBrief value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(UUID key, PreparedBrief value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
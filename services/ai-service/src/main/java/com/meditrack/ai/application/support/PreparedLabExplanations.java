@@ -0,0 +1,78 @@
+package com.meditrack.ai.application.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.meditrack.ai.domain.model.LabResultExplanation;
+import com.meditrack.ai.domain.model.LabResultExplanationCommand;
+import com.meditrack.ai.domain.port.ReasoningUseCase;
+import com.meditrack.ai.infrastructure.config.PreparedLabExplanationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Lab explanations prepared when results were published, keyed by lab order
+ * and held in memory for {@code retention}. An explanation is served only for
+ * the exact panel it was written from, and only to a request that adds no
+ * free-text context of its own: the caller's results are fingerprinted and
+ * compared, so a corrected value means a fresh explanation. Patient age and
+ * sex are not compared — the lab's own reference range already reflects them.
+ *
+ * <p>Metrics: {@code ai.lab.prepared.lookups{result=hit|stale|miss}}.
+ */
+@Component
+public class PreparedLabExplanations {
+
+    private final CommandFingerprinter fingerprinter;
+    private final Cache<UUID, PreparedExplanation> explanations;
+    private final MeterRegistry meterRegistry;
+
+    public PreparedLabExplanations(PreparedLabExplanationProperties props, CommandFingerprinter fingerprinter,
+                                   MeterRegistry meterRegistry) {
+        this.fingerprinter = fingerprinter;
+        this.meterRegistry = meterRegistry;
+        this.explanations = Caffeine.newBuilder()
+                .maximumSize(props.maxExplanations())
+                .expireAfterWrite(props.retention())
+                .build();
+    }
+
+    /** Stores an explanation written for {@code command}'s panel. */
+    public void put(UUID orderId, LabResultExplanationCommand command, LabResultExplanation explanation) {
+        explanations.put(orderId, new PreparedExplanation(fingerprint(command), explanation));
+    }
+
+    /** The explanation prepared for {@code orderId}, if it was written from exactly {@code command}'s panel. */
+    public Optional<LabResultExplanation> find(UUID orderId, LabResultExplanationCommand command) {
+        PreparedExplanation prepared = explanations.getIfPresent(orderId);
+        if (prepared == null) {
+            lookup("miss");
+            return Optional.empty();
+        }
+        boolean addsContext = command.context() != null && !command.context().isBlank();
+        if (addsContext || !prepared.fingerprint().equals(fingerprint(command))) {
+            lookup("stale");
+            return Optional.empty();
+        }
+        lookup("hit");
+        return Optional.of(prepared.explanation());
+    }
+
+    private String fingerprint(LabResultExplanationCommand command) {
+        return fingerprinter.fingerprint(ReasoningUseCase.LAB.tag(), command.results());
+    }
+
+    private void lookup(String result) {
+        Counter.builder("ai.lab.prepared.lookups")
+                .description("Lab-explanation requests that named an order, by prepared-explanation outcome")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private record PreparedExplanation(String fingerprint, LabResultExplanation explanation) {
+    }
+}
@@ -0,0 +1,174 @@
+package com.meditrack.ai.application.support;
+
+import com.meditrack.ai.domain.model.TriageAssessment;
+import com.meditrack.ai.domain.model.TriageCommand;
+import com.meditrack.ai.domain.model.TriageUrgency;
+import com.meditrack.ai.infrastructure.config.RedFlagScreenProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Deterministic red-flag screen run before a triage request reaches the model.
+ * A presentation naming an unambiguous emergency — crushing chest pain, a
+ * seizure, stroke signs — gets an EMERGENCY assessment immediately instead of
+ * waiting seconds for TensorX to say the same thing.
+ *
+ * <p>All phrases are matched in one pass ({@link PhraseMatcher}) over the
+ * normalised symptom text. A match is dropped when a negation cue ("no",
+ * "denies", "without", "history of", ...) precedes it within
+ * {@value #NEGATION_WINDOW} words of the same clause, so "denies chest pain"
+ * still goes to the model. Deliberately conservative: anything that needs
+ * judgement (plain shortness of breath, "headache") is left to the model.
+ *
+ * <p>Metric: {@code ai.triage.red_flag_screen{outcome=emergency|passed}}.
+ */
+@Component
+public class RedFlagScreen {
+
+    public static final String MODEL_USED = "red-flag-screen";
+
+    static final String RATIONALE = "The symptoms described include a red-flag feature that needs "
+            + "emergency assessment. Call emergency services or go to the nearest emergency department "
+            + "now. This is an automatic safety screen; it has not weighed the rest of the presentation.";
+
+    /** How many words before a match a negation cue may sit. */
+    private static final int NEGATION_WINDOW = 6;
+
+    private static final Set<String> NEGATION_CUES = Set.of(
+            "no", "not", "denies", "denied", "deny", "denying", "without", "nil", "never",
+            "absent", "negative", "none");
+    private static final Set<String> NEGATION_CUE_PAIRS = Set.of("history of", "hx of", "free of");
+    /** Words that end a negation's scope: "no fever but crushing chest pain". */
+    private static final Set<String> SCOPE_BREAKS = Set.of("but", "however", "although", "though", "except");
+    /** "no improvement in chest pain" does not deny the chest pain. */
+    private static final Set<String> PSEUDO_NEGATED = Set.of(
+            "improvement", "change", "better", "relief", "response");
+
+    /** Canonical red flag (as reported in {@code redFlags}) to the phrases that evidence it. */
+    private static final Map<String, List<String>> RED_FLAGS = redFlags();
+
+    private final RedFlagScreenProperties props;
+    private final PhraseMatcher<String> matcher;
+    private final Counter emergency;
+    private final Counter passed;
+
+    public RedFlagScreen(RedFlagScreenProperties props, MeterRegistry meterRegistry) {
+        this.props = props;
+        Map<String, String> phrases = new LinkedHashMap<>();
+        RED_FLAGS.forEach((label, list) -> list.forEach(phrase -> phrases.put(phrase, label)));
+        this.matcher = new PhraseMatcher<>(phrases);
+        this.emergency = outcome(meterRegistry, "emergency");
+        this.passed = outcome(meterRegistry, "passed");
+    }
+
+    /** An immediate EMERGENCY assessment, or empty when the model should triage. */
+    public Optional<TriageAssessment> screen(TriageCommand command) {
+        if (!props.enabled()) {
+            return Optional.empty();
+        }
+        List<String> flags = redFlagsIn(command.symptoms());
+        if (flags.isEmpty()) {
+            passed.increment();
+            return Optional.empty();
+        }
+        emergency.increment();
+        return Optional.of(new TriageAssessment(
+                TriageUrgency.EMERGENCY, "Emergency Medicine", flags, RATIONALE, null, MODEL_USED));
+    }
+
+    /** Distinct canonical red flags asserted (not negated) in {@code symptoms}, in order of appearance. */
+    List<String> redFlagsIn(String symptoms) {
+        if (symptoms == null || symptoms.isBlank()) {
+            return List.of();
+        }
+        String text = PhraseMatcher.normalise(symptoms);
+        Set<String> flags = new LinkedHashSet<>();
+        for (PhraseMatcher.Match<String> match : matcher.findAll(text)) {
+            if (!flags.contains(match.value()) && !isNegated(text, match.start())) {
+                flags.add(match.value());
+            }
+        }
+        return List.copyOf(flags);
+    }
+
+    /** Walks back word by word from {@code start} looking for a negation cue in the same clause. */
+    private static boolean isNegated(String text, int start) {
+        int end = start - 1;            // the space before the match
+        String following = null;        // the word after the one being examined
+        for (int words = 0; words < NEGATION_WINDOW && end > 0; words++) {
+            int begin = text.lastIndexOf(' ', end - 1) + 1;
+            String word = text.substring(begin, end);
+            if (word.equals(".") || SCOPE_BREAKS.contains(word)) {
+                return false;
+            }
+            if (NEGATION_CUES.contains(word) && (following == null || !PSEUDO_NEGATED.contains(following))) {
+                return true;
+            }
+            if ("of".equals(following) && NEGATION_CUE_PAIRS.contains(word + " of")) {
+                return true;
+            }
+            following = word;
+            end = begin - 1;
+        }
+        return false;
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("ai.triage.red_flag_screen")
+                .description("Triage requests answered by the red-flag screen vs passed to the model")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Map<String, List<String>> redFlags() {
+        Map<String, List<String>> flags = new LinkedHashMap<>();
+        flags.put("chest pain or pressure", List.of(
+                "crushing chest pain", "chest pain radiating", "chest pain spreading",
+                "chest pain with sweating", "chest pain and sweating", "chest pressure", "chest tightness",
+                "pressure in my chest", "pressure in the chest", "tightness in my chest",
+                "tightness in the chest", "elephant on my chest", "heart attack"));
+        flags.put("signs of stroke", List.of(
+                "facial droop", "face drooping", "face is drooping", "drooping face", "slurred speech",
+                "slurring", "sudden weakness", "one sided weakness", "weakness on one side",
+                "numbness on one side", "sudden confusion", "can't speak", "cannot speak",
+                "unable to speak", "stroke"));
+        flags.put("anaphylaxis or severe allergic reaction", List.of(
+                "anaphylaxis", "anaphylactic", "throat swelling", "throat is swelling",
+                "throat closing", "throat is closing", "swollen tongue", "tongue swelling",
+                "lips swelling", "swelling of the lips"));
+        flags.put("difficulty breathing", List.of(
+                "can't breathe", "cannot breathe", "unable to breathe", "difficulty breathing",
+                "struggling to breathe", "gasping for air", "severe shortness of breath",
+                "short of breath at rest", "shortness of breath at rest", "breathless at rest",
+                "lips turning blue", "blue lips"));
+        flags.put("severe uncontrolled bleeding", List.of(
+                "severe bleeding", "heavy bleeding", "uncontrolled bleeding", "bleeding won't stop",
+                "bleeding will not stop", "bleeding that won't stop", "vomiting blood",
+                "coughing up blood", "haemorrhage", "hemorrhage"));
+        flags.put("thunderclap headache", List.of(
+                "thunderclap", "worst headache of my life", "worst headache of his life",
+                "worst headache of her life", "worst headache ever", "sudden severe headache"));
+        flags.put("loss of consciousness", List.of(
+                "unconscious", "unresponsive", "passed out", "fainted", "loss of consciousness",
+                "lost consciousness", "collapsed"));
+        flags.put("seizure", List.of("seizure", "seizures", "seizing", "convulsion", "convulsions"));
+        flags.put("suicidal ideation", List.of(
+                "suicidal", "suicide", "kill myself", "end my life", "want to die", "overdose",
+                "overdosed"));
+        flags.put("signs of sepsis", List.of(
+                "sepsis", "septic", "mottled skin", "fever and confusion", "fever with confusion",
+                "fever and rigors"));
+        flags.put("severe abdominal pain with rigidity", List.of(
+                "rigid abdomen", "abdominal rigidity", "board like abdomen", "abdomen is rigid",
+                "rigid stomach"));
+        return flags;
+    }
+}
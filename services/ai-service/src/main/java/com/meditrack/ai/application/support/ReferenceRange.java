@@ -0,0 +1,108 @@
+package com.meditrack.ai.application.support;
+
+import com.meditrack.ai.domain.model.LabValue;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses a lab value against its reported reference range. Only shapes that
+ * can be read without judgement are understood — {@code "3.5-5.1"},
+ * {@code "3.5 to 5.1"}, {@code "<5.0"}, {@code ">=60"}, and qualitative
+ * ranges such as {@code "Negative"}; anything else is {@link Status#AMBIGUOUS}.
+ * A lab flag other than normal always wins over the numbers.
+ */
+final class ReferenceRange {
+
+    enum Status { IN_RANGE, ABNORMAL, AMBIGUOUS }
+
+    /**
+     * @param band where an in-range value sits ({@code low-normal}, {@code mid-normal},
+     *             {@code high-normal}, {@code within-limit} or {@code expected}); null otherwise
+     */
+    record Evaluation(Status status, String band) {
+
+        static final Evaluation ABNORMAL = new Evaluation(Status.ABNORMAL, null);
+        static final Evaluation AMBIGUOUS = new Evaluation(Status.AMBIGUOUS, null);
+    }
+
+    private static final String NUMBER = "(-?\\d+(?:\\.\\d+)?)";
+    private static final Pattern VALUE = Pattern.compile("^(<=|>=|<|>)?\\s*" + NUMBER + "$");
+    private static final Pattern INTERVAL = Pattern.compile("^" + NUMBER + "\\s*(?:-|to)\\s*" + NUMBER + "$");
+    private static final Pattern LIMIT = Pattern.compile("^(<=|>=|<|>)\\s*" + NUMBER + "$");
+    private static final Pattern QUALITATIVE = Pattern.compile("^[a-z][a-z ]*$");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Set<String> NORMAL_FLAGS = Set.of("N", "NORMAL", "WNL");
+
+    private ReferenceRange() {
+    }
+
+    static Evaluation evaluate(LabValue lab) {
+        String flag = lab.flag() == null ? "" : lab.flag().trim().toUpperCase(Locale.ROOT);
+        if (!flag.isEmpty() && !NORMAL_FLAGS.contains(flag)) {
+            return Evaluation.ABNORMAL;
+        }
+        String value = normalise(lab.value());
+        String range = normalise(lab.referenceRange());
+        if (value.isEmpty() || range.isEmpty()) {
+            return Evaluation.AMBIGUOUS;
+        }
+
+        if (QUALITATIVE.matcher(range).matches()) {
+            return value.equals(range) ? new Evaluation(Status.IN_RANGE, "expected") : Evaluation.AMBIGUOUS;
+        }
+        Matcher v = VALUE.matcher(value);
+        if (!v.matches()) {
+            return Evaluation.AMBIGUOUS;
+        }
+        String censor = v.group(1);
+        double x = Double.parseDouble(v.group(2));
+
+        Matcher interval = INTERVAL.matcher(range);
+        if (interval.matches()) {
+            double low = Double.parseDouble(interval.group(1));
+            double high = Double.parseDouble(interval.group(2));
+            if (censor != null || high <= low) {
+                return Evaluation.AMBIGUOUS;
+            }
+            if (x < low || x > high) {
+                return Evaluation.ABNORMAL;
+            }
+            double position = (x - low) / (high - low);
+            String band = position < 1.0 / 3 ? "low-normal" : position < 2.0 / 3 ? "mid-normal" : "high-normal";
+            return new Evaluation(Status.IN_RANGE, band);
+        }
+
+        Matcher limit = LIMIT.matcher(range);
+        if (limit.matches()) {
+            String op = limit.group(1);
+            double bound = Double.parseDouble(limit.group(2));
+            boolean upper = op.startsWith("<");
+            // A censored result ("<0.01") is only readable against an upper limit it sits under.
+            if (censor != null && !(upper && censor.startsWith("<") && x <= bound)) {
+                return Evaluation.AMBIGUOUS;
+            }
+            boolean within = switch (op) {
+                case "<" -> x < bound || (censor != null && x == bound);
+                case "<=" -> x <= bound;
+                case ">" -> x > bound;
+                default -> x >= bound;
+            };
+            return within ? new Evaluation(Status.IN_RANGE, "within-limit") : Evaluation.ABNORMAL;
+        }
+        return Evaluation.AMBIGUOUS;
+    }
+
+    private static String normalise(String raw) {
+        if (raw == null) {
+            return "";
+        }
+        String text = raw.trim().toLowerCase(Locale.ROOT)
+                .replace('–', '-').replace('—', '-')
+                .replace("≤", "<=").replace("≥", ">=")
+                .replace(",", "");
+        return WHITESPACE.matcher(text).replaceAll(" ");
+    }
+}
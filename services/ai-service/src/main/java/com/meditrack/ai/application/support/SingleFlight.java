@@ -0,0 +1,91 @@
+package com.meditrack.ai.application.support;
+
+import com.meditrack.ai.domain.port.ReasoningUseCase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical requests: while a call for a given command
+ * fingerprint is in flight, later callers with the same fingerprint wait on the
+ * leader's result instead of issuing their own inference. A prescription opened
+ * by a doctor, a pharmacist and a nurse at once costs one TensorX call.
+ *
+ * <p>Only overlap is shared — the entry is dropped as soon as the leader
+ * finishes, so this never serves a stale answer (that is the inference cache's
+ * job). A failure reaches every waiter as the same exception the leader saw.
+ * Waiters joining an existing call are counted as
+ * {@code ai.inference.coalesced{use_case}}; {@code ai.inference.in_flight}
+ * gauges distinct calls currently running.
+ */
+@Component
+public class SingleFlight {
+
+    private final CommandFingerprinter fingerprinter;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public SingleFlight(CommandFingerprinter fingerprinter, MeterRegistry meterRegistry) {
+        this.fingerprinter = fingerprinter;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("ai.inference.in_flight", inFlight, ConcurrentMap::size)
+                .description("Distinct inference calls currently in flight after coalescing")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code call}, or joins an identical call already running.
+     *
+     * @param command the use case's command; its fingerprint is the coalescing key
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(ReasoningUseCase useCase, Object command, Supplier<T> call) {
+        String key = fingerprinter.fingerprint(useCase.tag(), command);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            coalesced(useCase).increment();
+            return (T) await(leader);
+        }
+
+        try {
+            T result = call.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException ex) {
+            // Rethrow the leader's own exception so every waiter maps to the same HTTP status.
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    private Counter coalesced(ReasoningUseCase useCase) {
+        return Counter.builder("ai.inference.coalesced")
+                .description("Requests that joined an identical in-flight inference instead of calling the model")
+                .tag("use_case", useCase.tag())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,12 @@
+package com.meditrack.ai.application.usecase;
+
+import com.meditrack.ai.domain.model.SafetyCheckCommand;
+import com.meditrack.ai.domain.model.SafetyScreenOutcome;
+
+import java.util.List;
+
+/** Screen many prescriptions at once; one outcome per command, in input order. */
+public interface CheckPrescriptionSafetyBatchUseCase {
+
+    List<SafetyScreenOutcome> checkAll(List<SafetyCheckCommand> commands);
+}
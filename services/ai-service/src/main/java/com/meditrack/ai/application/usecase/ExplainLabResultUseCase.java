@@ -3,8 +3,16 @@ package com.meditrack.ai.application.usecase;
 import com.meditrack.ai.domain.model.LabResultExplanation;
 import com.meditrack.ai.domain.model.LabResultExplanationCommand;
 
+import java.util.UUID;
+
 /** Produce a clinician- and patient-facing explanation of a lab panel. */
 public interface ExplainLabResultUseCase {
 
     LabResultExplanation explain(LabResultExplanationCommand command);
+
+    /**
+     * As {@link #explain(LabResultExplanationCommand)}, answered at once from the
+     * explanation prepared for {@code orderId} if it was written from this panel.
+     */
+    LabResultExplanation explain(UUID orderId, LabResultExplanationCommand command);
 }
@@ -2,9 +2,13 @@ package com.meditrack.ai.application.usecase;
 
 import com.meditrack.ai.domain.model.SoapNote;
 import com.meditrack.ai.domain.model.SoapNoteCommand;
+import com.meditrack.ai.domain.port.ReasoningStreamListener;
 
 /** Structure free-text consultation notes into a SOAP note. */
 public interface GenerateSoapNoteUseCase {
 
     SoapNote generate(SoapNoteCommand command);
+
+    /** Same, streaming partial sections to {@code listener} as they are produced. */
+    SoapNote generate(SoapNoteCommand command, ReasoningStreamListener listener);
 }
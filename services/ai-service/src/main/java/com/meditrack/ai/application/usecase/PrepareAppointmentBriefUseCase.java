@@ -0,0 +1,14 @@
+package com.meditrack.ai.application.usecase;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** Prepare a patient's pre-consultation brief ahead of a booked appointment. */
+public interface PrepareAppointmentBriefUseCase {
+
+    /**
+     * Schedules preparation shortly before {@code scheduledAt}. Booking the same
+     * appointment again replaces the earlier schedule.
+     */
+    void schedule(UUID appointmentId, UUID patientId, LocalDateTime scheduledAt);
+}
@@ -0,0 +1,15 @@
+package com.meditrack.ai.application.usecase;
+
+import com.meditrack.ai.domain.model.LabResultExplanationCommand;
+
+import java.util.UUID;
+
+/** Prepare the explanation of a lab order's results as soon as they are published. */
+public interface PrepareLabExplanationUseCase {
+
+    /**
+     * Queues preparation. A {@code critical} panel is prepared ahead of every
+     * routine one and without waiting for idle capacity.
+     */
+    void prepare(UUID orderId, LabResultExplanationCommand command, boolean critical);
+}
@@ -0,0 +1,10 @@
+package com.meditrack.ai.application.usecase;
+
+import com.meditrack.ai.domain.model.IcdCodingJob;
+
+/** Queue a completed visit's notes for background ICD-10 coding. */
+public interface QueueIcdCodingUseCase {
+
+    /** Adds the job to the backlog, blocking while the backlog is full. */
+    void enqueue(IcdCodingJob job);
+}
@@ -2,9 +2,25 @@ package com.meditrack.ai.application.usecase;
 
 import com.meditrack.ai.domain.model.HistorySummaryCommand;
 import com.meditrack.ai.domain.model.PatientHistorySummary;
+import com.meditrack.ai.domain.port.ReasoningStreamListener;
+
+import java.util.UUID;
 
 /** Distil a patient's record into a pre-consultation brief. */
 public interface SummarizePatientHistoryUseCase {
 
     PatientHistorySummary summarize(HistorySummaryCommand command);
+
+    /** Same, streaming partial sections to {@code listener} as they are produced. */
+    PatientHistorySummary summarize(HistorySummaryCommand command, ReasoningStreamListener listener);
+
+    /**
+     * As {@link #summarize(HistorySummaryCommand)}, answered at once from the
+     * brief prepared for {@code appointmentId} if it was written from this record.
+     */
+    PatientHistorySummary summarize(UUID appointmentId, HistorySummaryCommand command);
+
+    /** As above, streaming when no prepared brief applies. */
+    PatientHistorySummary summarize(UUID appointmentId, HistorySummaryCommand command,
+                                    ReasoningStreamListener listener);
 }
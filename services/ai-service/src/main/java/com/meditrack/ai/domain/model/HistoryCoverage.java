@@ -0,0 +1,32 @@
+package com.meditrack.ai.domain.model;
+
+/**
+ * How much of the supplied record actually reached the model when a history
+ * summary had to fit a token budget. Anything counted as dropped was not seen
+ * by the model, so the brief cannot speak to it.
+ *
+ * @param labsIncluded          distinct lab results placed in the prompt
+ * @param labsDeduplicated      repeated identical lab results folded into one line
+ * @param labsDropped           distinct lab results left out for length
+ * @param visitsIncluded        visit notes placed in the prompt verbatim
+ * @param visitsPreSummarized   older visit notes represented by a condensed pre-summary
+ * @param visitsDropped         visit notes left out entirely
+ * @param estimatedPromptTokens estimated size of the prompt that was sent
+ * @param tokenBudget           the budget it had to fit
+ */
+public record HistoryCoverage(
+        int labsIncluded,
+        int labsDeduplicated,
+        int labsDropped,
+        int visitsIncluded,
+        int visitsPreSummarized,
+        int visitsDropped,
+        int estimatedPromptTokens,
+        int tokenBudget
+) {
+
+    /** True when anything supplied is missing from, or condensed in, the prompt. */
+    public boolean truncated() {
+        return labsDropped > 0 || visitsDropped > 0 || visitsPreSummarized > 0;
+    }
+}
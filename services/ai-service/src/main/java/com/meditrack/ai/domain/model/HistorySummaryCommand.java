@@ -1,11 +1,16 @@
 package com.meditrack.ai.domain.model;
 
 import java.util.List;
+import java.util.UUID;
 
 /**
  * The full picture supplied for a patient-history summary: demographics,
  * problem/medication/allergy lists, recent lab results and past visit notes.
  * Self-contained: the AI service persists none of it.
+ *
+ * <p>{@code patientId} is optional; when present, a condensed summary of the
+ * patient's older visits is kept in memory for a bounded time and rolled
+ * forward on later calls instead of being rebuilt from scratch.
  */
 public record HistorySummaryCommand(
         Integer patientAgeYears,
@@ -14,6 +19,7 @@ public record HistorySummaryCommand(
         List<String> medications,
         List<String> allergies,
         List<LabValue> recentLabResults,
-        List<VisitNote> pastVisits
+        List<VisitNote> pastVisits,
+        UUID patientId
 ) {
 }
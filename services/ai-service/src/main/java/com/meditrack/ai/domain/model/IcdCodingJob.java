@@ -0,0 +1,55 @@
+package com.meditrack.ai.domain.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A visit's notes waiting to be ICD-10 coded in the background, from one or
+ * more events about the same appointment.
+ *
+ * @param sources    the events the notes came from (e.g. {@code appointment.completed})
+ * @param occurredAt when the earliest of those events happened; coding lag is measured from here
+ */
+public record IcdCodingJob(
+        UUID appointmentId,
+        UUID patientId,
+        UUID doctorId,
+        List<String> sources,
+        String clinicalNotes,
+        String existingDiagnosis,
+        Instant occurredAt
+) {
+
+    /** One job covering this and {@code other}: notes and diagnoses are kept in order, without repeats. */
+    public IcdCodingJob merge(IcdCodingJob other) {
+        return new IcdCodingJob(
+                appointmentId != null ? appointmentId : other.appointmentId,
+                patientId != null ? patientId : other.patientId,
+                doctorId != null ? doctorId : other.doctorId,
+                union(sources, other.sources),
+                join(clinicalNotes, other.clinicalNotes, "\n\n"),
+                join(existingDiagnosis, other.existingDiagnosis, "; "),
+                occurredAt == null || (other.occurredAt != null && other.occurredAt.isBefore(occurredAt))
+                        ? other.occurredAt
+                        : occurredAt);
+    }
+
+    public IcdCodeSuggestionCommand toCommand() {
+        return new IcdCodeSuggestionCommand(clinicalNotes, existingDiagnosis);
+    }
+
+    private static List<String> union(List<String> a, List<String> b) {
+        List<String> merged = new ArrayList<>(a);
+        b.stream().filter(s -> !merged.contains(s)).forEach(merged::add);
+        return List.copyOf(merged);
+    }
+
+    private static String join(String a, String b, String separator) {
+        if (a == null || a.isBlank() || a.equals(b)) {
+            return b == null || b.isBlank() ? a : b;
+        }
+        return b == null || b.isBlank() ? a : a + separator + b;
+    }
+}
@@ -13,6 +13,7 @@ import java.util.List;
  * @param narrativeSummary       a short clinician-facing narrative
  * @param suggestedFollowUps     advisory follow-up actions
  * @param modelUsed              the open-weight model that produced this
+ * @param coverage               how much of the supplied record fit the prompt budget
  */
 public record PatientHistorySummary(
         List<String> keyConditions,
@@ -22,6 +23,7 @@ public record PatientHistorySummary(
         List<String> redFlags,
         String narrativeSummary,
         List<String> suggestedFollowUps,
-        String modelUsed
+        String modelUsed,
+        HistoryCoverage coverage
 ) {
 }
@@ -25,4 +25,13 @@ public record SafetyCheckCommand(
         UUID prescriptionId,
         UUID patientId
 ) {
+    /**
+     * The same screen with the correlation ids cleared. The ids are echoed onto
+     * events but never reach the model, so two screens that differ only in ids
+     * must produce the same assessment.
+     */
+    public SafetyCheckCommand clinicalContent() {
+        return new SafetyCheckCommand(newMedications, currentMedications, knownAllergies,
+                patientAgeYears, patientSex, null, null);
+    }
 }
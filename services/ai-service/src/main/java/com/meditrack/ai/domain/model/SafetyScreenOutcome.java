@@ -0,0 +1,23 @@
+package com.meditrack.ai.domain.model;
+
+/**
+ * One item of a batch safety screen: either an assessment or the reason the
+ * item could not be screened. A failed item never fails the batch.
+ *
+ * @param assessment the screen result; null when {@code error} is set
+ * @param error      why the item was not screened; null on success
+ */
+public record SafetyScreenOutcome(SafetyAssessment assessment, String error) {
+
+    public static SafetyScreenOutcome screened(SafetyAssessment assessment) {
+        return new SafetyScreenOutcome(assessment, null);
+    }
+
+    public static SafetyScreenOutcome failed(String error) {
+        return new SafetyScreenOutcome(null, error);
+    }
+
+    public boolean succeeded() {
+        return assessment != null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.meditrack.ai.domain.port;
+
+/**
+ * Admission for inference work nobody is waiting on, such as briefs prepared
+ * ahead of an appointment. Such work may only use capacity that interactive
+ * requests are leaving idle.
+ */
+public interface BackgroundCapacityPort {
+
+    /**
+     * Whether one background call may start now; a {@code true} answer counts
+     * against the background rate.
+     */
+    boolean tryAcquire();
+}
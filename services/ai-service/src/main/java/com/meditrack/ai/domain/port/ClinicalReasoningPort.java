@@ -33,9 +33,23 @@ public interface ClinicalReasoningPort {
     /** Structure free-text consultation notes into a SOAP note, without inventing findings. */
     SoapNote generateSoapNote(SoapNoteCommand command);
 
+    /**
+     * As {@link #generateSoapNote(SoapNoteCommand)}, pushing partial output to
+     * {@code listener} while the model writes. Implementations that cannot
+     * stream simply return the finished note.
+     */
+    default SoapNote generateSoapNote(SoapNoteCommand command, ReasoningStreamListener listener) {
+        return generateSoapNote(command);
+    }
+
     /** Suggest ICD-10 codes supported by a clinical note. */
     IcdCodeSuggestions suggestIcdCodes(IcdCodeSuggestionCommand command);
 
     /** Distil a patient's record into a pre-consultation brief. */
     PatientHistorySummary summarizeHistory(HistorySummaryCommand command);
+
+    /** As {@link #summarizeHistory(HistorySummaryCommand)}, pushing partial output to {@code listener}. */
+    default PatientHistorySummary summarizeHistory(HistorySummaryCommand command, ReasoningStreamListener listener) {
+        return summarizeHistory(command);
+    }
 }
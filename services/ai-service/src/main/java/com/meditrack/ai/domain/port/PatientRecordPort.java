@@ -0,0 +1,20 @@
+package com.meditrack.ai.domain.port;
+
+import com.meditrack.ai.domain.model.HistorySummaryCommand;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Outbound port for reading a patient's record from the service that owns it,
+ * for work started by an event rather than by a request carrying the record.
+ * Nothing read through it is persisted here.
+ */
+public interface PatientRecordPort {
+
+    /**
+     * The record as a history-summary command, or empty when the patient is
+     * unknown or the record cannot be read right now.
+     */
+    Optional<HistorySummaryCommand> historyRecord(UUID patientId);
+}
@@ -0,0 +1,33 @@
+package com.meditrack.ai.domain.port;
+
+/**
+ * Receives a long-running completion as the model produces it, so a clinician
+ * sees the note being written instead of a spinner. Called on the inference
+ * thread: implementations must be quick and must not throw.
+ *
+ * <p>Everything pushed here is provisional — only the record returned by the
+ * port at the end has been parsed and validated.
+ */
+public interface ReasoningStreamListener {
+
+    /** Discards everything; used when a streaming path runs without a subscriber. */
+    ReasoningStreamListener NONE = new ReasoningStreamListener() {
+        @Override
+        public void onToken(String delta) {
+        }
+
+        @Override
+        public void onSection(String name, Object value) {
+        }
+    };
+
+    /** The next raw fragment of the model's output, in order. */
+    void onToken(String delta);
+
+    /**
+     * A top-level field of the JSON answer has been received in full.
+     *
+     * @param value a {@code String}, a {@code List<String>} or {@code null}
+     */
+    void onSection(String name, Object value);
+}
@@ -0,0 +1,25 @@
+package com.meditrack.ai.domain.port;
+
+/**
+ * The six operations of {@link ClinicalReasoningPort}. Used wherever a
+ * cross-cutting concern (caching, metrics, scheduling) needs to tell the
+ * use cases apart; {@link #tag()} is the stable, lower-case metric/config name.
+ */
+public enum ReasoningUseCase {
+    ASSESS("assess"),
+    LAB("lab"),
+    TRIAGE("triage"),
+    SOAP("soap"),
+    ICD("icd"),
+    HISTORY("history");
+
+    private final String tag;
+
+    ReasoningUseCase(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
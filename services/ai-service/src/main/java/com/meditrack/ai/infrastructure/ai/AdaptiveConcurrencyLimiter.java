@@ -0,0 +1,299 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.meditrack.ai.application.exception.ClinicalReasoningException;
+import com.meditrack.ai.application.exception.InferenceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD concurrency limit with a priority queue in front of TensorX.
+ *
+ * <p>The limit is discovered, not configured: every call that completes quickly
+ * while the limit was actually in use grows it by {@code 1/limit} (about +1 per
+ * full window), and every congestion signal — a timeout, a 429/5xx, or a call
+ * slower than {@code slow-call-ratio} of the read timeout — shrinks it by
+ * {@code backoff-ratio}. TensorX therefore sees roughly as many concurrent
+ * calls as it can answer promptly, rather than all of them timing out together.
+ *
+ * <p>Calls over the limit wait in priority order ({@link InferencePriority}),
+ * FIFO within a priority. A call is shed with {@link InferenceOverloadedException}
+ * (503) as soon as it is clear it could not start in time to finish before its
+ * deadline — at enqueue if the estimated wait is already too long, or later if
+ * it is still queued when its latest useful start time passes.
+ *
+ * <p>Metrics: {@code ai.inference.limiter.limit}, {@code ai.inference.limiter.in_flight},
+ * {@code ai.inference.limiter.queue{priority}} and
+ * {@code ai.inference.limiter.shed{priority,reason}}.
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    /** Weight of the newest sample in the latency moving average. */
+    private static final double LATENCY_SMOOTHING = 0.1;
+
+    private final InferenceLimiterProperties props;
+    private final long slowCallNanos;
+    private final MeterRegistry meterRegistry;
+
+    /** Package-private so tests can hold it to stage a grant racing an interrupt. */
+    final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<Waiter> queue = new PriorityQueue<>(
+            Comparator.comparing(Waiter::priority).thenComparingLong(Waiter::sequence));
+    private final Map<InferencePriority, AtomicInteger> queued = new EnumMap<>(InferencePriority.class);
+    private long sequence;
+    private int inFlight;
+    private volatile double limit;
+    /** Moving average of successful call latency; 0 until the first sample. */
+    private double avgLatencyNanos;
+
+    public AdaptiveConcurrencyLimiter(InferenceLimiterProperties props, TensorXProperties tensorx,
+                                      MeterRegistry meterRegistry) {
+        this.props = props;
+        this.slowCallNanos = (long) (Duration.ofSeconds(tensorx.timeoutSeconds()).toNanos() * props.slowCallRatio());
+        this.meterRegistry = meterRegistry;
+        this.limit = props.initialLimit();
+
+        Gauge.builder("ai.inference.limiter.limit", this, l -> l.limit)
+                .description("Current adaptive concurrency limit for TensorX calls")
+                .register(meterRegistry);
+        Gauge.builder("ai.inference.limiter.in_flight", this, AdaptiveConcurrencyLimiter::inFlight)
+                .description("TensorX calls currently holding a permit")
+                .register(meterRegistry);
+        for (InferencePriority priority : InferencePriority.values()) {
+            AtomicInteger depth = new AtomicInteger();
+            queued.put(priority, depth);
+            Gauge.builder("ai.inference.limiter.queue", depth, AtomicInteger::get)
+                    .description("TensorX calls waiting for a permit")
+                    .tag("priority", priority.tag())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Blocks until a permit is available for {@code priority}, or sheds.
+     *
+     * @param timeout the call's overall budget; it is shed once it could no longer finish within it
+     * @throws InferenceOverloadedException when shed
+     */
+    public Permit acquire(InferencePriority priority, Duration timeout) {
+        if (!props.enabled()) {
+            return new Permit(this, System.nanoTime(), false);
+        }
+        long now = System.nanoTime();
+        long deadline = now + timeout.toNanos();
+
+        lock.lock();
+        try {
+            if (queue.isEmpty() && inFlight < currentLimit()) {
+                inFlight++;
+                return new Permit(this, now, true);
+            }
+            if (queue.size() >= props.maxQueue()) {
+                throw shed(priority, "queue_full");
+            }
+            long expectedLatency = (long) avgLatencyNanos;
+            if (expectedLatency > 0 && now + expectedWaitNanos(priority) + expectedLatency > deadline) {
+                throw shed(priority, "deadline");
+            }
+
+            Waiter waiter = new Waiter(priority, sequence++, lock.newCondition());
+            queue.add(waiter);
+            queued.get(priority).incrementAndGet();
+            long latestStart = deadline - expectedLatency;
+            try {
+                while (!waiter.granted) {
+                    long remaining = latestStart - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw shed(priority, "deadline");
+                    }
+                    waiter.signal.awaitNanos(remaining);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                if (waiter.granted) {
+                    // Granted while the interrupt was landing (e.g. a hedge cancelling its loser):
+                    // no Permit will ever be returned, so hand the slot straight on.
+                    inFlight--;
+                    dispatch();
+                }
+                throw new ClinicalReasoningException("Interrupted while waiting for TensorX capacity", ex);
+            } finally {
+                if (!waiter.granted) {
+                    queue.remove(waiter);
+                    queued.get(priority).decrementAndGet();
+                }
+            }
+            return new Permit(this, System.nanoTime(), true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Nobody is queued and fewer than {@code maxUtilisation} of the current
+     * limit's permits are held, so a call nobody is waiting on may start.
+     */
+    public boolean idle(double maxUtilisation) {
+        if (!props.enabled()) {
+            return true;
+        }
+        lock.lock();
+        try {
+            return queue.isEmpty() && inFlight < currentLimit() * maxUtilisation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    double limit() {
+        return limit;
+    }
+
+    int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(Permit permit, Outcome outcome) {
+        long latency = System.nanoTime() - permit.startedAt;
+        lock.lock();
+        try {
+            boolean saturated = inFlight >= currentLimit();
+            inFlight--;
+            boolean congested = outcome == Outcome.DROPPED || (outcome == Outcome.SUCCESS && latency > slowCallNanos);
+            if (congested) {
+                limit = Math.max(props.minLimit(), limit * props.backoffRatio());
+            } else if (outcome == Outcome.SUCCESS) {
+                avgLatencyNanos = avgLatencyNanos == 0
+                        ? latency
+                        : avgLatencyNanos * (1 - LATENCY_SMOOTHING) + latency * LATENCY_SMOOTHING;
+                // Only grow a limit that is actually being used; idle headroom proves nothing.
+                if (saturated) {
+                    limit = Math.min(props.maxLimit(), limit + 1.0 / limit);
+                }
+            }
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Hands free permits to the highest-priority waiters. Caller holds the lock. */
+    private void dispatch() {
+        while (!queue.isEmpty() && inFlight < currentLimit()) {
+            Waiter next = queue.poll();
+            queued.get(next.priority).decrementAndGet();
+            next.granted = true;
+            inFlight++;
+            next.signal.signal();
+        }
+    }
+
+    /** Time until a new {@code priority} waiter would reach the front, in whole service waves. */
+    private long expectedWaitNanos(InferencePriority priority) {
+        int ahead = 0;
+        for (InferencePriority p : InferencePriority.values()) {
+            if (p.compareTo(priority) <= 0) {
+                ahead += queued.get(p).get();
+            }
+        }
+        long waves = (ahead / currentLimit()) + 1;
+        return (long) (waves * avgLatencyNanos);
+    }
+
+    private int currentLimit() {
+        return (int) limit;
+    }
+
+    private InferenceOverloadedException shed(InferencePriority priority, String reason) {
+        Counter.builder("ai.inference.limiter.shed")
+                .description("TensorX calls rejected before reaching the model")
+                .tag("priority", priority.tag())
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        log.warn("Shedding {} inference ({}): limit={}, inFlight={}, queued={}",
+                priority.tag(), reason, currentLimit(), inFlight, queue.size());
+        return new InferenceOverloadedException(
+                "Clinical reasoning capacity is saturated; retry shortly");
+    }
+
+    private enum Outcome { SUCCESS, DROPPED, IGNORED }
+
+    private static final class Waiter {
+        private final InferencePriority priority;
+        private final long sequence;
+        private final Condition signal;
+        private boolean granted;
+
+        Waiter(InferencePriority priority, long sequence, Condition signal) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.signal = signal;
+        }
+
+        InferencePriority priority() {
+            return priority;
+        }
+
+        long sequence() {
+            return sequence;
+        }
+    }
+
+    /**
+     * A granted slot. Exactly one of the release methods should be called; any
+     * later call is ignored.
+     */
+    public static final class Permit {
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final long startedAt;
+        private boolean held;
+
+        private Permit(AdaptiveConcurrencyLimiter limiter, long startedAt, boolean held) {
+            this.limiter = limiter;
+            this.startedAt = startedAt;
+            this.held = held;
+        }
+
+        /** The call completed; its latency feeds the limit. */
+        public void success() {
+            release(Outcome.SUCCESS);
+        }
+
+        /** The call hit a congestion signal (timeout, 429, 5xx); the limit backs off. */
+        public void dropped() {
+            release(Outcome.DROPPED);
+        }
+
+        /** The call ended in a way that says nothing about TensorX capacity. */
+        public void ignore() {
+            release(Outcome.IGNORED);
+        }
+
+        private void release(Outcome outcome) {
+            if (held) {
+                held = false;
+                limiter.release(this, outcome);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * How much TensorX capacity background work (e.g. prepared briefs) may use.
+ *
+ * @param maxUtilisation  background calls start only while nothing is queued and fewer than this
+ *                        share of the adaptive concurrency limit is in use
+ * @param callsPerMinute  hard cap on background calls started per minute, however idle TensorX is
+ */
+@ConfigurationProperties(prefix = "meditrack.background-inference")
+public record BackgroundInferenceProperties(
+        @DefaultValue("0.5") double maxUtilisation,
+        @DefaultValue("30") int callsPerMinute
+) {
+
+    public BackgroundInferenceProperties {
+        if (maxUtilisation <= 0 || maxUtilisation > 1) {
+            throw new IllegalArgumentException("meditrack.background-inference.max-utilisation must be in (0, 1]");
+        }
+    }
+}
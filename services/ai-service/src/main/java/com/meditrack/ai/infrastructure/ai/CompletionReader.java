@@ -0,0 +1,198 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Turns a TensorX chat completion into a use-case payload in one streaming
+ * pass. The envelope is walked token by token straight off the response body
+ * to {@code choices[0].message.content} — no {@code ChatResponse} tree — and
+ * the payload is bound from the parser's own character buffer for that string,
+ * with any {@code ```json} fence line and closing fence left out by adjusting
+ * the bounds rather than copying. The {@code usage} block is read on the same
+ * pass, wherever it sits in the envelope, and returned with the payload.
+ *
+ * <p>Malformed JSON, in the envelope or the payload, is a
+ * {@link MalformedCompletionException} ("unparseable ..."), never an
+ * {@link IOException}, so a bad answer is not mistaken for a transport failure.
+ */
+@Slf4j
+@Component
+public class CompletionReader {
+
+    private static final char[] FENCE = {'`', '`', '`'};
+
+    private final ObjectMapper objectMapper;
+
+    public CompletionReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads a non-streamed completion body.
+     *
+     * @param description what the payload is, for error messages ("triage assessment")
+     * @throws IOException only when reading the body itself fails
+     */
+    <T> Completion<T> readResponse(InputStream body, Class<T> type, String description) throws IOException {
+        try (JsonParser envelope = objectMapper.getFactory().createParser(body)) {
+            if (envelope.nextToken() != JsonToken.START_OBJECT) {
+                throw MalformedCompletionException.empty();
+            }
+            JsonStreamContext top = envelope.getParsingContext();
+            Completion<T> content = null;
+            Usage usage = null;
+            while (envelope.nextToken() == JsonToken.FIELD_NAME) {
+                String field = envelope.currentName();
+                envelope.nextToken();
+                if ("choices".equals(field) && content == null) {
+                    content = readFirstChoice(envelope, type, description);
+                    // Resume at the envelope's own fields, past the rest of choices.
+                    while (envelope.getParsingContext() != top && envelope.nextToken() != null) {
+                        envelope.skipChildren();
+                    }
+                } else if ("usage".equals(field)) {
+                    usage = readUsage(envelope);
+                } else {
+                    envelope.skipChildren();
+                }
+            }
+            if (content == null) {
+                throw MalformedCompletionException.empty();
+            }
+            return new Completion<>(content.payload(), usage, content.fenced());
+        } catch (JsonProcessingException ex) {
+            throw unparseable(description, ex);
+        }
+    }
+
+    /** Binds a payload from completion content held in {@code chars[offset, offset + length)}. */
+    <T> Completion<T> readContent(char[] chars, int offset, int length, Class<T> type, String description) {
+        int start = skipWhitespace(chars, offset, offset + length);
+        int end = trimTrailingWhitespace(chars, start, offset + length);
+        boolean fenced = startsWithFence(chars, start, end);
+        if (fenced) {
+            start += FENCE.length;
+            while (start < end && chars[start] != '\n' && chars[start] != '{') {
+                start++;
+            }
+            start = skipWhitespace(chars, start, end);
+            if (end - start >= FENCE.length && startsWithFence(chars, end - FENCE.length, end)) {
+                end = trimTrailingWhitespace(chars, start, end - FENCE.length);
+            }
+        }
+        if (start >= end) {
+            throw MalformedCompletionException.empty();
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(chars, start, end - start)) {
+            T payload = objectMapper.readValue(parser, type);
+            if (payload == null) {
+                throw new MalformedCompletionException(false, "TensorX returned an unparseable " + description, null);
+            }
+            return new Completion<>(payload, null, fenced);
+        } catch (IOException ex) {
+            throw unparseable(description, ex);
+        }
+    }
+
+    /** With the parser on {@code choices}' START_ARRAY, binds {@code choices[0].message.content}. */
+    private <T> Completion<T> readFirstChoice(JsonParser envelope, Class<T> type, String description)
+            throws IOException {
+        boolean found = envelope.currentToken() == JsonToken.START_ARRAY
+                && envelope.nextToken() == JsonToken.START_OBJECT
+                && toField(envelope, "message") && envelope.nextToken() == JsonToken.START_OBJECT
+                && toField(envelope, "content") && envelope.nextToken() == JsonToken.VALUE_STRING;
+        if (!found) {
+            throw MalformedCompletionException.empty();
+        }
+        return readContent(envelope.getTextCharacters(), envelope.getTextOffset(), envelope.getTextLength(),
+                type, description);
+    }
+
+    /** Token counts from {@code usage}; a count TensorX left out is -1. */
+    private static Usage readUsage(JsonParser envelope) throws IOException {
+        if (envelope.currentToken() != JsonToken.START_OBJECT) {
+            envelope.skipChildren();
+            return null;
+        }
+        int prompt = -1;
+        int completion = -1;
+        while (envelope.nextToken() == JsonToken.FIELD_NAME) {
+            String field = envelope.currentName();
+            JsonToken value = envelope.nextToken();
+            if (value == JsonToken.VALUE_NUMBER_INT && "prompt_tokens".equals(field)) {
+                prompt = envelope.getIntValue();
+            } else if (value == JsonToken.VALUE_NUMBER_INT && "completion_tokens".equals(field)) {
+                completion = envelope.getIntValue();
+            } else {
+                envelope.skipChildren();
+            }
+        }
+        return new Usage(prompt, completion);
+    }
+
+    /** Advances to the named field of the current object, skipping others; false if the object ends first. */
+    private static boolean toField(JsonParser parser, String name) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if (name.equals(parser.currentName())) {
+                return true;
+            }
+            parser.nextToken();
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private static int skipWhitespace(char[] chars, int from, int end) {
+        int i = from;
+        while (i < end && Character.isWhitespace(chars[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int trimTrailingWhitespace(char[] chars, int start, int end) {
+        int i = end;
+        while (i > start && Character.isWhitespace(chars[i - 1])) {
+            i--;
+        }
+        return i;
+    }
+
+    private static boolean startsWithFence(char[] chars, int from, int end) {
+        if (end - from < FENCE.length) {
+            return false;
+        }
+        for (int i = 0; i < FENCE.length; i++) {
+            if (chars[from + i] != FENCE[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static MalformedCompletionException unparseable(String description, IOException ex) {
+        log.warn("Could not parse TensorX {} as JSON: {}", description, ex.getMessage());
+        return new MalformedCompletionException(false, "TensorX returned an unparseable " + description, ex);
+    }
+
+    /**
+     * A bound payload and what was learned reading it.
+     *
+     * @param usage  the completion's token counts, or null when TensorX sent none (always, when streamed)
+     * @param fenced the content was wrapped in a Markdown code fence despite JSON mode
+     */
+    record Completion<T>(T payload, Usage usage, boolean fenced) {
+    }
+
+    record Usage(int promptTokens, int completionTokens) {
+    }
+}
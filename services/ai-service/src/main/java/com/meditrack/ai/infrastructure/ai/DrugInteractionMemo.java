@@ -0,0 +1,149 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.meditrack.ai.domain.model.DrugInteraction;
+import com.meditrack.ai.domain.model.Medication;
+import com.meditrack.ai.domain.model.SafetyCheckCommand;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Remembers, per normalised medication pair, what the model said the last time
+ * it screened that pair — either the interaction it reported or that it found
+ * none. Most pairs (warfarin + aspirin, metformin + lisinopril, ...) recur all
+ * day, so a safety screen only has to ask the model about pairs it has not seen.
+ *
+ * <p>Filled only from the model's own answers. A "no interaction" verdict is
+ * recorded only when every interaction in the reply could be mapped back to a
+ * requested pair — if the model renamed a drug (brand for generic, say) we
+ * cannot tell which pair it meant, so nothing negative is learned from it.
+ */
+@Slf4j
+@Component
+public class DrugInteractionMemo {
+
+    private final DrugInteractionMemoProperties props;
+    private final Cache<MedicationPair, Verdict> verdicts;
+    private final Counter memoPairs;
+    private final Counter modelPairs;
+
+    public DrugInteractionMemo(DrugInteractionMemoProperties props, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.verdicts = Caffeine.newBuilder()
+                .maximumSize(props.maxPairs())
+                .expireAfterWrite(props.ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verdicts, "interaction-memo");
+        this.memoPairs = Counter.builder("ai.safety.interaction.pairs")
+                .description("Medication pairs screened, by where the answer came from")
+                .tag("source", "memo")
+                .register(meterRegistry);
+        this.modelPairs = Counter.builder("ai.safety.interaction.pairs")
+                .description("Medication pairs screened, by where the answer came from")
+                .tag("source", "model")
+                .register(meterRegistry);
+    }
+
+    /** Splits the regimen into pairs answered from the memo and pairs the model still has to screen. */
+    ScreeningPlan plan(SafetyCheckCommand command) {
+        Set<MedicationPair> pairs = pairsToScreen(command);
+        if (!props.enabled()) {
+            modelPairs.increment(pairs.size());
+            return new ScreeningPlan(List.of(), List.copyOf(pairs));
+        }
+
+        List<DrugInteraction> known = new ArrayList<>();
+        List<MedicationPair> residual = new ArrayList<>();
+        for (MedicationPair pair : pairs) {
+            Verdict verdict = verdicts.getIfPresent(pair);
+            if (verdict == null) {
+                residual.add(pair);
+            } else if (verdict.interaction() != null) {
+                known.add(verdict.interaction());
+            }
+        }
+        memoPairs.increment(pairs.size() - residual.size());
+        modelPairs.increment(residual.size());
+        return new ScreeningPlan(known, residual);
+    }
+
+    /** Learns from the model's answer to a screen of {@code requested} pairs. */
+    void record(List<MedicationPair> requested, List<DrugInteraction> reported) {
+        if (!props.enabled()) {
+            return;
+        }
+        Map<MedicationPair, DrugInteraction> byPair = new HashMap<>();
+        for (DrugInteraction interaction : reported) {
+            byPair.put(MedicationPair.of(interaction.drugA(), interaction.drugB()), interaction);
+        }
+        byPair.forEach((pair, interaction) -> {
+            if (!pair.isSelfPair()) {
+                verdicts.put(pair, new Verdict(interaction));
+            }
+        });
+
+        if (!requested.containsAll(byPair.keySet())) {
+            log.debug("Model reported interactions outside the requested pairs; not recording negative verdicts");
+            return;
+        }
+        for (MedicationPair pair : requested) {
+            if (!byPair.containsKey(pair)) {
+                verdicts.put(pair, Verdict.NO_INTERACTION);
+            }
+        }
+    }
+
+    /**
+     * Every pair the screen covers: new medications against each other and
+     * against the patient's current medications.
+     */
+    static Set<MedicationPair> pairsToScreen(SafetyCheckCommand command) {
+        List<String> newNames = new ArrayList<>();
+        if (command.newMedications() != null) {
+            for (Medication m : command.newMedications()) {
+                if (m.name() != null && !m.name().isBlank()) {
+                    newNames.add(m.name());
+                }
+            }
+        }
+        List<String> current = command.currentMedications() == null ? List.of() : command.currentMedications();
+
+        Set<MedicationPair> pairs = new LinkedHashSet<>();
+        for (int i = 0; i < newNames.size(); i++) {
+            for (int j = i + 1; j < newNames.size(); j++) {
+                pairs.add(MedicationPair.of(newNames.get(i), newNames.get(j)));
+            }
+            for (String c : current) {
+                if (c != null && !c.isBlank()) {
+                    pairs.add(MedicationPair.of(newNames.get(i), c));
+                }
+            }
+        }
+        pairs.removeIf(MedicationPair::isSelfPair);
+        return pairs;
+    }
+
+    /** A remembered answer for one pair; {@code interaction == null} means the model found none. */
+    private record Verdict(DrugInteraction interaction) {
+        static final Verdict NO_INTERACTION = new Verdict(null);
+    }
+
+    /**
+     * @param knownInteractions interactions answered from the memo
+     * @param residualPairs     pairs the model has not screened yet
+     */
+    record ScreeningPlan(List<DrugInteraction> knownInteractions, List<MedicationPair> residualPairs) {
+    }
+}
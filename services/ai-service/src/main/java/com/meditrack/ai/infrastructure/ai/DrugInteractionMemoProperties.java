@@ -0,0 +1,21 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the pair-level drug-interaction memo.
+ *
+ * @param enabled  when false every safety screen sends the whole regimen to the model
+ * @param maxPairs bound on remembered pairs (least-recently used evicted first)
+ * @param ttl      how long a screened pair is trusted before the model is asked again
+ */
+@ConfigurationProperties(prefix = "meditrack.interaction-memo")
+public record DrugInteractionMemoProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("50000") int maxPairs,
+        @DefaultValue("7d") Duration ttl
+) {
+}
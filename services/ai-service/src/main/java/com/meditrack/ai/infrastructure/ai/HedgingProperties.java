@@ -0,0 +1,45 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.meditrack.ai.domain.port.ReasoningUseCase;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Opt-in hedging of slow TensorX calls.
+ *
+ * @param enabled       master switch; off by default because every hedge is a paid inference
+ * @param useCases      latency-critical use cases that may be hedged
+ * @param percentile    a call still unanswered at this percentile of recent latency is hedged
+ * @param budgetPercent hedges may add at most this share of a use case's calls
+ * @param minDelay      never hedge sooner than this, however fast recent calls were
+ * @param minSamples    latency samples needed before the percentile is trusted
+ * @param window        recent successful calls the percentile is computed over
+ */
+@ConfigurationProperties(prefix = "meditrack.hedging")
+public record HedgingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue({"assess", "triage"}) Set<ReasoningUseCase> useCases,
+        @DefaultValue("0.95") double percentile,
+        @DefaultValue("10") double budgetPercent,
+        @DefaultValue("250ms") Duration minDelay,
+        @DefaultValue("20") int minSamples,
+        @DefaultValue("256") int window
+) {
+
+    public HedgingProperties {
+        useCases = useCases == null || useCases.isEmpty()
+                ? Set.of()
+                : Set.copyOf(EnumSet.copyOf(useCases));
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("meditrack.hedging.percentile must be in (0, 1)");
+        }
+    }
+
+    public boolean hedges(ReasoningUseCase useCase) {
+        return enabled && useCases.contains(useCase);
+    }
+}
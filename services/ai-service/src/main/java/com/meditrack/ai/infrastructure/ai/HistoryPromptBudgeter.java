@@ -0,0 +1,302 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.meditrack.ai.application.exception.ClinicalReasoningException;
+import com.meditrack.ai.domain.model.HistoryCoverage;
+import com.meditrack.ai.domain.model.HistorySummaryCommand;
+import com.meditrack.ai.domain.model.LabValue;
+import com.meditrack.ai.domain.model.VisitNote;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Fits a patient record into the model's prompt budget by clinical priority
+ * rather than by truncating the tail.
+ *
+ * <p>Identical lab results are folded into one line with a repeat count. When
+ * the whole record does not fit, the budget is filled greedily in this order:
+ * critical then other abnormal labs (most recent first), the most recent
+ * {@code verbatim-visits} visit notes, a condensed pre-summary of the older
+ * visits ({@link VisitPreSummaries}), and finally normal labs. Whatever is left
+ * out is counted in the returned {@link HistoryCoverage} and named in a note to
+ * the model, so the brief does not read an omission as a normal result.
+ *
+ * <p>Lab results carry no date, so the supplied order is taken as
+ * chronological (last entry most recent). Visits are ordered by their ISO date;
+ * visits with an unparseable date rank as oldest.
+ */
+@Slf4j
+@Component
+public class HistoryPromptBudgeter {
+
+    /** Reserved for the omission note, which is only known once the fill is done. */
+    private static final int OMISSION_NOTE_RESERVE = 60;
+
+    private final HistoryPromptProperties props;
+    private final VisitPreSummaries preSummaries;
+    private final TokenEstimator estimator;
+
+    public HistoryPromptBudgeter(HistoryPromptProperties props, VisitPreSummaries preSummaries) {
+        this.props = props;
+        this.preSummaries = preSummaries;
+        this.estimator = new TokenEstimator(props.charsPerToken());
+    }
+
+    /**
+     * @param model       the model the prompt is for; selects the token budget
+     * @param fixedTokens estimated size of everything in the prompt besides labs and visits
+     * @param folder      model call used to build or extend the older-visit pre-summary
+     */
+    BudgetedHistory plan(HistorySummaryCommand cmd, String model, int fixedTokens, VisitPreSummaries.Folder folder) {
+        int budget = props.tokenBudgetFor(model);
+        List<LabLine> labs = dedupeLabs(cmd.recentLabResults());
+        int duplicates = size(cmd.recentLabResults()) - labs.size();
+        List<DatedVisit> visits = newestFirst(cmd.pastVisits());
+
+        int everything = fixedTokens + labs.stream().mapToInt(LabLine::tokens).sum()
+                + visits.stream().mapToInt(DatedVisit::tokens).sum();
+        if (everything <= budget) {
+            HistoryCoverage coverage = new HistoryCoverage(labs.size(), duplicates, 0,
+                    visits.size(), 0, 0, everything, budget);
+            return new BudgetedHistory(labTexts(labs), visitTexts(visits), null, null, coverage);
+        }
+
+        Fill fill = new Fill(budget - fixedTokens - OMISSION_NOTE_RESERVE);
+        List<LabLine> ranked = labs.stream().sorted(LabLine.BY_PRIORITY).toList();
+        List<LabLine> abnormal = ranked.stream().filter(l -> l.tier() < LabLine.NORMAL).toList();
+        List<LabLine> normal = ranked.stream().filter(l -> l.tier() == LabLine.NORMAL).toList();
+
+        List<LabLine> includedLabs = new ArrayList<>(fill.take(abnormal, LabLine::tokens));
+
+        int recentCount = Math.min(props.verbatimVisits(), visits.size());
+        List<DatedVisit> includedVisits = new ArrayList<>(fill.take(visits.subList(0, recentCount), DatedVisit::tokens));
+        List<DatedVisit> older = visits.subList(recentCount, visits.size());
+
+        String olderSummary = null;
+        int preSummarized = 0;
+        if (!older.isEmpty()) {
+            olderSummary = preSummarize(cmd, older, folder);
+            if (olderSummary != null && fill.fits(estimator.estimate(olderSummary))) {
+                preSummarized = older.size();
+            } else {
+                olderSummary = null;
+                includedVisits.addAll(fill.take(older, DatedVisit::tokens));
+            }
+        }
+
+        includedLabs.addAll(fill.take(normal, LabLine::tokens));
+
+        int labsDropped = labs.size() - includedLabs.size();
+        int visitsDropped = visits.size() - includedVisits.size() - preSummarized;
+        String omissionNote = omissionNote(labsDropped, visitsDropped);
+        HistoryCoverage coverage = new HistoryCoverage(includedLabs.size(), duplicates, labsDropped,
+                includedVisits.size(), preSummarized, visitsDropped,
+                fixedTokens + fill.used() + estimator.estimate(omissionNote), budget);
+        return new BudgetedHistory(labTexts(includedLabs), visitTexts(includedVisits), olderSummary,
+                omissionNote, coverage);
+    }
+
+    int estimate(CharSequence text) {
+        return estimator.estimate(text);
+    }
+
+    /** The pre-summary of {@code older} (newest first), or null when disabled or the model call failed. */
+    private String preSummarize(HistorySummaryCommand cmd, List<DatedVisit> older, VisitPreSummaries.Folder folder) {
+        if (!props.preSummary().enabled()) {
+            return null;
+        }
+        List<VisitNote> chronological = older.stream()
+                .sorted(DatedVisit.NEWEST_FIRST.reversed())
+                .map(DatedVisit::visit)
+                .toList();
+        try {
+            String summary = preSummaries.summarize(cmd.patientId(), chronological, folder);
+            return summary == null || summary.isBlank()
+                    ? null
+                    : "Condensed summary of " + older.size() + " earlier visit(s): " + summary.strip();
+        } catch (ClinicalReasoningException ex) {
+            log.warn("Older-visit pre-summary failed, falling back to verbatim visits: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    private List<LabLine> dedupeLabs(List<LabValue> labs) {
+        Map<String, LabLine> byResult = new LinkedHashMap<>();
+        if (labs == null) {
+            return List.of();
+        }
+        for (int i = 0; i < labs.size(); i++) {
+            LabValue lab = labs.get(i);
+            String key = normalize(lab.testName()) + '|' + normalize(lab.value()) + '|' + normalize(lab.flag());
+            LabLine previous = byResult.remove(key);
+            int count = previous == null ? 1 : previous.count() + 1;
+            // Re-inserted so the map stays in order of each result's latest occurrence.
+            byResult.put(key, labLine(lab, i, count));
+        }
+        return List.copyOf(byResult.values());
+    }
+
+    private LabLine labLine(LabValue lab, int position, int count) {
+        StringBuilder sb = new StringBuilder("- ").append(orUnknown(lab.testName()))
+                .append(": ").append(orUnknown(lab.value()));
+        if (lab.flag() != null && !lab.flag().isBlank()) {
+            sb.append(" flag=").append(lab.flag());
+        }
+        if (count > 1) {
+            sb.append(" (same result x").append(count).append(')');
+        }
+        String text = sb.toString();
+        return new LabLine(text, tierOf(lab.flag()), position, count, estimator.estimate(text) + 1);
+    }
+
+    private List<DatedVisit> newestFirst(List<VisitNote> visits) {
+        if (visits == null) {
+            return List.of();
+        }
+        List<DatedVisit> dated = new ArrayList<>(visits.size());
+        for (int i = 0; i < visits.size(); i++) {
+            VisitNote visit = visits.get(i);
+            String text = "- " + orUnknown(visit.date()) + ": " + orUnknown(visit.note());
+            dated.add(new DatedVisit(visit, parseDate(visit.date()), i, text, estimator.estimate(text) + 1));
+        }
+        dated.sort(DatedVisit.NEWEST_FIRST);
+        return dated;
+    }
+
+    /** Lines in the order the model should read them: labs as supplied. */
+    private static List<String> labTexts(List<LabLine> labs) {
+        return labs.stream().sorted(Comparator.comparingInt(LabLine::position)).map(LabLine::text).toList();
+    }
+
+    /** Lines in the order the model should read them: visits oldest first. */
+    private static List<String> visitTexts(List<DatedVisit> visits) {
+        return visits.stream().sorted(DatedVisit.NEWEST_FIRST.reversed()).map(DatedVisit::text).toList();
+    }
+
+    private static String omissionNote(int labsDropped, int visitsDropped) {
+        if (labsDropped == 0 && visitsDropped == 0) {
+            return null;
+        }
+        return "Note: to fit the prompt, " + labsDropped + " lab result(s) and " + visitsDropped
+                + " visit note(s) were left out. Do not assume omitted results were normal"
+                + " or that nothing happened at omitted visits.";
+    }
+
+    private static int tierOf(String flag) {
+        if (flag == null || flag.isBlank() || "N".equalsIgnoreCase(flag.strip())) {
+            return LabLine.NORMAL;
+        }
+        String upper = flag.strip().toUpperCase(Locale.ROOT);
+        return upper.contains("CRIT") || upper.contains("HH") || upper.contains("LL") || upper.contains("PANIC")
+                ? LabLine.CRITICAL
+                : LabLine.ABNORMAL;
+    }
+
+    /** Epoch day of an ISO date or date-time, or {@link Long#MIN_VALUE} when unparseable. */
+    private static long parseDate(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return Long.MIN_VALUE;
+        }
+        String s = raw.strip();
+        try {
+            return LocalDate.parse(s.length() > 10 ? s.substring(0, 10) : s).toEpochDay();
+        } catch (DateTimeParseException ex) {
+            try {
+                return OffsetDateTime.parse(s).toLocalDate().toEpochDay();
+            } catch (DateTimeParseException ignored) {
+                return Long.MIN_VALUE;
+            }
+        }
+    }
+
+    private static String normalize(String s) {
+        return s == null ? "" : s.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static String orUnknown(String s) {
+        return (s == null || s.isBlank()) ? "unknown" : s;
+    }
+
+    private static int size(List<?> list) {
+        return list == null ? 0 : list.size();
+    }
+
+    /**
+     * What goes into the history prompt. Lab and visit lines are pre-rendered
+     * so the estimate matches what is sent.
+     *
+     * @param olderVisitsSummary condensed older visits, or null
+     * @param omissionNote       tells the model what was left out, or null when nothing was
+     */
+    record BudgetedHistory(
+            List<String> labLines,
+            List<String> visitLines,
+            String olderVisitsSummary,
+            String omissionNote,
+            HistoryCoverage coverage
+    ) {
+
+        static final BudgetedHistory EMPTY = new BudgetedHistory(List.of(), List.of(), null, null, null);
+    }
+
+    private record LabLine(String text, int tier, int position, int count, int tokens) {
+
+        static final int CRITICAL = 0;
+        static final int ABNORMAL = 1;
+        static final int NORMAL = 2;
+
+        static final Comparator<LabLine> BY_PRIORITY = Comparator.comparingInt(LabLine::tier)
+                .thenComparing(Comparator.comparingInt(LabLine::position).reversed());
+    }
+
+    private record DatedVisit(VisitNote visit, long epochDay, int position, String text, int tokens) {
+
+        static final Comparator<DatedVisit> NEWEST_FIRST = Comparator.comparingLong(DatedVisit::epochDay)
+                .thenComparingInt(DatedVisit::position)
+                .reversed();
+    }
+
+    /** Greedy fill of the remaining budget; an item that does not fit is skipped, smaller later ones may still fit. */
+    private static final class Fill {
+
+        private int remaining;
+        private int used;
+
+        Fill(int remaining) {
+            this.remaining = remaining;
+        }
+
+        boolean fits(int tokens) {
+            if (tokens > remaining) {
+                return false;
+            }
+            remaining -= tokens;
+            used += tokens;
+            return true;
+        }
+
+        <T> List<T> take(List<T> candidates, ToIntFunction<T> tokens) {
+            List<T> taken = new ArrayList<>();
+            for (T candidate : candidates) {
+                if (fits(tokens.applyAsInt(candidate))) {
+                    taken.add(candidate);
+                }
+            }
+            return taken;
+        }
+
+        int used() {
+            return used;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Prompt budgeting for patient-history summaries.
+ *
+ * @param defaultTokenBudget   prompt budget for models not listed in {@code tokenBudgetPerModel}
+ * @param tokenBudgetPerModel  per-model prompt budget keyed by model id,
+ *                             e.g. {@code "[deepseek/deepseek-chat-v3.1]": 12000}
+ * @param charsPerToken        characters per token assumed by the estimator; lower is more conservative
+ * @param verbatimVisits       the most recent visits are always candidates for verbatim inclusion;
+ *                             older ones are condensed into a pre-summary when the budget is tight
+ * @param preSummary           rolling per-patient pre-summary of older visits
+ */
+@ConfigurationProperties(prefix = "meditrack.history-prompt")
+public record HistoryPromptProperties(
+        @DefaultValue("6000") int defaultTokenBudget,
+        Map<String, Integer> tokenBudgetPerModel,
+        @DefaultValue("3.5") double charsPerToken,
+        @DefaultValue("8") int verbatimVisits,
+        @DefaultValue PreSummary preSummary
+) {
+
+    public HistoryPromptProperties {
+        tokenBudgetPerModel = tokenBudgetPerModel == null ? Map.of() : Map.copyOf(tokenBudgetPerModel);
+    }
+
+    public int tokenBudgetFor(String model) {
+        return tokenBudgetPerModel.getOrDefault(model, defaultTokenBudget);
+    }
+
+    /**
+     * @param enabled     when false, older visits compete for the budget verbatim and are dropped if they do not fit
+     * @param maxPatients bound on remembered pre-summaries (least-recently used evicted first)
+     * @param ttl         how long a pre-summary is kept for reuse
+     * @param chunkTokens older visits are folded into the pre-summary at most this many tokens per model call
+     */
+    public record PreSummary(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("10000") int maxPatients,
+            @DefaultValue("24h") Duration ttl,
+            @DefaultValue("3000") int chunkTokens
+    ) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.meditrack.ai.domain.port.BackgroundCapacityPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits background calls only into idle TensorX capacity: the
+ * {@link AdaptiveConcurrencyLimiter} must have no queue and be below
+ * {@code max-utilisation}, and a token bucket caps background starts at
+ * {@code calls-per-minute}. The call itself still takes a limiter permit like
+ * any other, so this decides only whether to start.
+ *
+ * <p>Metrics: {@code ai.inference.background.admitted} and
+ * {@code ai.inference.background.deferred{reason=busy|rate}}.
+ */
+@Component
+public class IdleCapacityGate implements BackgroundCapacityPort {
+
+    private final BackgroundInferenceProperties props;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Counter admitted;
+    private final Counter deferredBusy;
+    private final Counter deferredRate;
+    private final long nanosPerToken;
+    private double tokens;
+    private long refilledAt = System.nanoTime();
+
+    public IdleCapacityGate(BackgroundInferenceProperties props, AdaptiveConcurrencyLimiter limiter,
+                            MeterRegistry meterRegistry) {
+        this.props = props;
+        this.limiter = limiter;
+        this.nanosPerToken = TimeUnit.MINUTES.toNanos(1) / Math.max(1, props.callsPerMinute());
+        this.tokens = Math.max(1, props.callsPerMinute());
+        this.admitted = Counter.builder("ai.inference.background.admitted")
+                .description("Background TensorX calls allowed to start")
+                .register(meterRegistry);
+        this.deferredBusy = deferred(meterRegistry, "busy");
+        this.deferredRate = deferred(meterRegistry, "rate");
+    }
+
+    @Override
+    public synchronized boolean tryAcquire() {
+        if (props.callsPerMinute() <= 0) {
+            deferredRate.increment();
+            return false;
+        }
+        if (!limiter.idle(props.maxUtilisation())) {
+            deferredBusy.increment();
+            return false;
+        }
+        long now = System.nanoTime();
+        tokens = Math.min(props.callsPerMinute(), tokens + (double) (now - refilledAt) / nanosPerToken);
+        refilledAt = now;
+        if (tokens < 1) {
+            deferredRate.increment();
+            return false;
+        }
+        tokens -= 1;
+        admitted.increment();
+        return true;
+    }
+
+    private static Counter deferred(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("ai.inference.background.deferred")
+                .description("Background TensorX calls held back, by reason")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,38 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the adaptive TensorX concurrency limit.
+ *
+ * @param enabled       when false every call goes straight to TensorX, unqueued
+ * @param initialLimit  concurrent calls allowed before any feedback has been observed
+ * @param minLimit      floor the limit never backs off below
+ * @param maxLimit      ceiling the limit never grows above
+ * @param maxQueue      waiting calls beyond this are shed at once
+ * @param backoffRatio  multiplicative decrease applied on each congestion signal
+ * @param slowCallRatio a call slower than this fraction of {@code tensorx.timeout-seconds}
+ *                      counts as a congestion signal even though it succeeded
+ */
+@ConfigurationProperties(prefix = "meditrack.inference-limiter")
+public record InferenceLimiterProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("8") int initialLimit,
+        @DefaultValue("1") int minLimit,
+        @DefaultValue("64") int maxLimit,
+        @DefaultValue("500") int maxQueue,
+        @DefaultValue("0.9") double backoffRatio,
+        @DefaultValue("0.5") double slowCallRatio
+) {
+
+    public InferenceLimiterProperties {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException(
+                    "meditrack.inference-limiter requires 1 <= min-limit <= initial-limit <= max-limit");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("meditrack.inference-limiter.backoff-ratio must be in (0, 1)");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.meditrack.ai.infrastructure.ai;
+
+/**
+ * Scheduling class of a TensorX call when the concurrency limit is saturated.
+ * Declaration order is dispatch order: a queued {@code CRITICAL} call always
+ * starts before any queued {@code HIGH} one, and so on.
+ */
+public enum InferencePriority {
+
+    /** Triage of a presentation that looks like an emergency. */
+    CRITICAL,
+    /** Prescription safety screens — a prescriber or pharmacist is waiting to proceed — and critical lab panels. */
+    HIGH,
+    /** Other interactive reads: routine triage, lab explanations, history briefs. */
+    NORMAL,
+    /** Documentation aids — SOAP notes and ICD-10 suggestions. */
+    LOW;
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,145 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.meditrack.ai.domain.port.ReasoningUseCase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call TensorX telemetry, tagged by {@code use_case} and {@code model}:
+ *
+ * <ul>
+ *   <li>{@code ai.inference.upstream.latency{outcome}} — request to parsed answer, as a histogram;</li>
+ *   <li>{@code ai.inference.tokens{type=prompt|completion}} — from the completion's usage block;</li>
+ *   <li>{@code ai.inference.prompt.chars} — system plus user prompt size, known before the call;</li>
+ *   <li>{@code ai.inference.parse.failures} and {@code ai.inference.fence.stripped} — answer quality;</li>
+ *   <li>{@code ai.inference.failures{cause}} — why a call ended in a {@code ClinicalReasoningException}.</li>
+ * </ul>
+ *
+ * The adapter calls this once per attempt, so a hedged call is two samples.
+ */
+@Component
+public class InferenceTelemetry {
+
+    private final Meter.MeterProvider<Timer> latency;
+    private final Meter.MeterProvider<DistributionSummary> tokens;
+    private final Meter.MeterProvider<DistributionSummary> promptChars;
+    private final Meter.MeterProvider<Counter> parseFailures;
+    private final Meter.MeterProvider<Counter> fenceStripped;
+    private final Meter.MeterProvider<Counter> failures;
+
+    public InferenceTelemetry(MeterRegistry meterRegistry, TensorXProperties tensorx) {
+        this.latency = Timer.builder("ai.inference.upstream.latency")
+                .description("TensorX call duration, from request to parsed answer")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+        this.tokens = DistributionSummary.builder("ai.inference.tokens")
+                .description("Tokens per TensorX completion, as reported in its usage block")
+                .baseUnit("tokens")
+                .withRegistry(meterRegistry);
+        this.promptChars = DistributionSummary.builder("ai.inference.prompt.chars")
+                .description("Characters of system and user prompt sent to TensorX")
+                .baseUnit("chars")
+                .withRegistry(meterRegistry);
+        this.parseFailures = Counter.builder("ai.inference.parse.failures")
+                .description("TensorX answers that were not the requested JSON")
+                .withRegistry(meterRegistry);
+        this.fenceStripped = Counter.builder("ai.inference.fence.stripped")
+                .description("TensorX answers wrapped in a Markdown code fence despite JSON mode")
+                .withRegistry(meterRegistry);
+        this.failures = Counter.builder("ai.inference.failures")
+                .description("TensorX calls that failed, by cause")
+                .withRegistry(meterRegistry);
+
+        // Quality counters exist from startup, so their rate reads 0 rather than "no data".
+        for (ReasoningUseCase useCase : ReasoningUseCase.values()) {
+            Tags tags = tags(useCase, tensorx.model());
+            parseFailures.withTags(tags);
+            fenceStripped.withTags(tags);
+        }
+    }
+
+    /** Records prompt size; call before sending. */
+    public void prompt(ReasoningUseCase useCase, String model, String systemPrompt, String userPrompt) {
+        promptChars.withTags(tags(useCase, model)).record(systemPrompt.length() + userPrompt.length());
+    }
+
+    /** Records a call that produced a payload. */
+    public void success(ReasoningUseCase useCase, String model, long nanos, CompletionReader.Completion<?> completion) {
+        Tags tags = tags(useCase, model);
+        latency.withTags(tags.and("outcome", "success")).record(nanos, TimeUnit.NANOSECONDS);
+        completed(tags, completion);
+    }
+
+    /** Records a streamed call that produced a payload; stream timing has its own timers. */
+    public void streamed(ReasoningUseCase useCase, String model, CompletionReader.Completion<?> completion) {
+        completed(tags(useCase, model), completion);
+    }
+
+    /**
+     * Records a failed call.
+     *
+     * @param nanos how long it ran, or a negative value when it was not timed
+     */
+    public void failure(ReasoningUseCase useCase, String model, long nanos, RuntimeException ex) {
+        failure(useCase, model, nanos, causeOf(ex));
+    }
+
+    /** Records a failed call whose cause the caller already knows, e.g. {@code not_configured}. */
+    public void failure(ReasoningUseCase useCase, String model, long nanos, String cause) {
+        Tags tags = tags(useCase, model);
+        if (nanos >= 0) {
+            latency.withTags(tags.and("outcome", "failure")).record(nanos, TimeUnit.NANOSECONDS);
+        }
+        if ("unparseable".equals(cause)) {
+            parseFailures.withTags(tags).increment();
+        }
+        failures.withTags(tags.and("cause", cause)).increment();
+    }
+
+    private void completed(Tags tags, CompletionReader.Completion<?> completion) {
+        if (completion.fenced()) {
+            fenceStripped.withTags(tags).increment();
+        }
+        CompletionReader.Usage usage = completion.usage();
+        if (usage != null) {
+            if (usage.promptTokens() >= 0) {
+                tokens.withTags(tags.and("type", "prompt")).record(usage.promptTokens());
+            }
+            if (usage.completionTokens() >= 0) {
+                tokens.withTags(tags.and("type", "completion")).record(usage.completionTokens());
+            }
+        }
+    }
+
+    /** A short, bounded label for why a call failed. */
+    static String causeOf(RuntimeException ex) {
+        if (ex instanceof MalformedCompletionException malformed) {
+            return malformed.isEmpty() ? "empty" : "unparseable";
+        }
+        if (ex instanceof RestClientResponseException response) {
+            int status = response.getStatusCode().value();
+            return status == 429 ? "rate_limited" : status >= 500 ? "upstream_5xx" : "upstream_4xx";
+        }
+        if (ex instanceof ResourceAccessException) {
+            Throwable cause = ex.getCause();
+            return cause instanceof SocketTimeoutException || cause instanceof HttpTimeoutException
+                    ? "timeout" : "connection";
+        }
+        return "other";
+    }
+
+    private static Tags tags(ReasoningUseCase useCase, String model) {
+        return Tags.of("use_case", useCase.tag(), "model", model == null ? "unknown" : model);
+    }
+}
@@ -0,0 +1,119 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.meditrack.ai.domain.port.ReasoningStreamListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incrementally parses a JSON answer as the model streams it, reporting each
+ * top-level field to a {@link ReasoningStreamListener} the moment its value is
+ * complete — so "subjective" can be shown while "plan" is still being written.
+ *
+ * <p>Only scalars and arrays of scalars directly under the root object are
+ * reported; nested objects are skipped. Anything before the first {@code '{'}
+ * (a stray code fence, say) is ignored, and input after the root object closes
+ * is dropped. Malformed JSON just ends the section stream: the final, blocking
+ * parse of the full content stays authoritative either way.
+ */
+final class JsonSectionStreamParser {
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final ReasoningStreamListener listener;
+
+    private boolean started;
+    private boolean finished;
+    private int depth;
+    private String field;
+    /** Elements of the top-level array currently being read; null when not inside one. */
+    private List<String> array;
+    private boolean arrayOfScalars;
+
+    JsonSectionStreamParser(JsonFactory factory, ReasoningStreamListener listener) {
+        try {
+            this.parser = factory.createNonBlockingByteArrayParser();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.listener = listener;
+    }
+
+    void feed(String delta) {
+        if (finished || delta == null || delta.isEmpty()) {
+            return;
+        }
+        if (!started) {
+            int brace = delta.indexOf('{');
+            if (brace < 0) {
+                return;
+            }
+            delta = delta.substring(brace);
+            started = true;
+        }
+        byte[] bytes = delta.getBytes(StandardCharsets.UTF_8);
+        try {
+            feeder.feedInput(bytes, 0, bytes.length);
+            JsonToken token;
+            while (!finished && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                handle(token);
+            }
+        } catch (IOException ex) {
+            finished = true;
+        }
+    }
+
+    boolean isFinished() {
+        return finished;
+    }
+
+    private void handle(JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT, START_ARRAY -> {
+                depth++;
+                if (depth == 2 && token == JsonToken.START_ARRAY) {
+                    array = new ArrayList<>();
+                    arrayOfScalars = true;
+                } else if (depth > 2) {
+                    arrayOfScalars = false;
+                }
+            }
+            case END_OBJECT, END_ARRAY -> {
+                depth--;
+                if (depth == 0) {
+                    finished = true;
+                } else if (depth == 1 && array != null) {
+                    if (arrayOfScalars) {
+                        listener.onSection(field, List.copyOf(array));
+                    }
+                    array = null;
+                }
+            }
+            case FIELD_NAME -> {
+                if (depth == 1) {
+                    field = parser.currentName();
+                }
+            }
+            case VALUE_NULL -> {
+                if (depth == 1) {
+                    listener.onSection(field, null);
+                }
+            }
+            default -> {
+                if (depth == 1) {
+                    listener.onSection(field, parser.getText());
+                } else if (depth == 2 && array != null) {
+                    array.add(parser.getText());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.meditrack.ai.application.exception.ClinicalReasoningException;
+
+/**
+ * TensorX answered, but not with a usable payload: no content at all, or
+ * content that is not the requested JSON. Still a 502 to the client; kept
+ * distinct so telemetry can count answer-quality failures apart from
+ * transport ones.
+ */
+class MalformedCompletionException extends ClinicalReasoningException {
+
+    private final boolean empty;
+
+    MalformedCompletionException(boolean empty, String message, Throwable cause) {
+        super(message, cause);
+        this.empty = empty;
+    }
+
+    static MalformedCompletionException empty() {
+        return new MalformedCompletionException(true, "TensorX returned an empty response", null);
+    }
+
+    /** True when there was no content; false when there was content that could not be bound. */
+    boolean isEmpty() {
+        return empty;
+    }
+}
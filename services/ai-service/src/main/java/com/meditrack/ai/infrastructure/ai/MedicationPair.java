@@ -0,0 +1,30 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import java.util.Locale;
+
+/**
+ * An unordered pair of medication names, normalised (trimmed, lower-cased,
+ * whitespace collapsed) so "Warfarin + aspirin" and "ASPIRIN + warfarin" are
+ * the same key. Always stored with {@code first <= second}.
+ */
+record MedicationPair(String first, String second) {
+
+    static MedicationPair of(String a, String b) {
+        String x = normalise(a);
+        String y = normalise(b);
+        return x.compareTo(y) <= 0 ? new MedicationPair(x, y) : new MedicationPair(y, x);
+    }
+
+    static String normalise(String name) {
+        return name == null ? "" : name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    boolean isSelfPair() {
+        return first.equals(second);
+    }
+
+    @Override
+    public String toString() {
+        return first + " + " + second;
+    }
+}
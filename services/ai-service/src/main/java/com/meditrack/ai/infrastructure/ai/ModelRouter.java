@@ -0,0 +1,207 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.meditrack.ai.application.exception.ClinicalReasoningException;
+import com.meditrack.ai.domain.port.ReasoningUseCase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Picks the TensorX model for a call from {@link ModelRoutingProperties}: by
+ * use case, then by prompt-size tier. When the route has a fallback model and
+ * the primary times out (its read timeout, or the route's shorter
+ * {@code primary-timeout}) or answers with empty or unparseable JSON, the call
+ * is retried once on the fallback. Capacity failures — 429, 5xx, a shed call —
+ * are not retried here; another model on the same provider would not help.
+ *
+ * <p>An abandoned primary is interrupted but, like a losing hedge, keeps its
+ * limiter permit until its in-progress read ends, and its own outcome is still
+ * recorded against its model.
+ *
+ * <p>Metrics: {@code ai.inference.fallbacks{use_case,from_model,to_model,reason}}.
+ */
+@Slf4j
+@Component
+public class ModelRouter implements DisposableBean {
+
+    private final ModelRoutingProperties props;
+    private final String defaultModel;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ModelRouter(ModelRoutingProperties props, TensorXProperties tensorx, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.defaultModel = tensorx.model();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** The route for a prompt of {@code promptChars} characters. */
+    public Route route(ReasoningUseCase useCase, int promptChars) {
+        ModelRoutingProperties.Route configured = props.routes().get(useCase);
+        if (configured == null) {
+            return new Route(defaultModel, null, null);
+        }
+        String model = orDefault(configured.model());
+        for (ModelRoutingProperties.Tier tier : configured.tiers()) {
+            if (promptChars <= tier.maxPromptChars()) {
+                model = orDefault(tier.model());
+                break;
+            }
+        }
+        String fallback = model.equals(configured.fallbackModel()) ? null : configured.fallbackModel();
+        return new Route(model, fallback, fallback == null ? null : configured.primaryTimeout());
+    }
+
+    /**
+     * Everything about the use case's routing that decides which model answers:
+     * its model, size tiers and fallback. Keys of stored answers include it, so a
+     * route change never serves an answer from the previous model.
+     */
+    public String signature(ReasoningUseCase useCase) {
+        ModelRoutingProperties.Route configured = props.routes().get(useCase);
+        if (configured == null) {
+            return defaultModel;
+        }
+        StringBuilder signature = new StringBuilder(orDefault(configured.model()));
+        for (ModelRoutingProperties.Tier tier : configured.tiers()) {
+            signature.append(';').append(tier.maxPromptChars()).append('=').append(orDefault(tier.model()));
+        }
+        if (configured.fallbackModel() != null) {
+            signature.append(";fallback=").append(configured.fallbackModel());
+        }
+        return signature.toString();
+    }
+
+    /**
+     * Whether an answer from {@code model} to {@code useCase} can only have come
+     * from the route's fallback, i.e. the model is not one of its primaries.
+     */
+    public boolean isFallback(ReasoningUseCase useCase, String model) {
+        ModelRoutingProperties.Route configured = props.routes().get(useCase);
+        if (configured == null || configured.fallbackModel() == null || !configured.fallbackModel().equals(model)) {
+            return false;
+        }
+        return !model.equals(orDefault(configured.model()))
+                && configured.tiers().stream().noneMatch(tier -> model.equals(orDefault(tier.model())));
+    }
+
+    /**
+     * Runs {@code call} on the routed model, falling back once as described above.
+     *
+     * @return the answer and the model that produced it
+     */
+    public <T> Routed<T> execute(ReasoningUseCase useCase, int promptChars, ModelCall<T> call) {
+        Route route = route(useCase, promptChars);
+        if (route.fallbackModel() == null) {
+            return new Routed<>(call.complete(route.model(), Attempt.PRIMARY), route.model());
+        }
+        try {
+            return new Routed<>(withDeadline(route.primaryTimeout(),
+                    () -> call.complete(route.model(), Attempt.PRIMARY)), route.model());
+        } catch (ClinicalReasoningException ex) {
+            String reason = fallbackReason(ex);
+            if (reason == null) {
+                throw ex;
+            }
+            Counter.builder("ai.inference.fallbacks")
+                    .description("TensorX calls retried on a route's fallback model")
+                    .tag("use_case", useCase.tag())
+                    .tag("from_model", route.model())
+                    .tag("to_model", route.fallbackModel())
+                    .tag("reason", reason)
+                    .register(meterRegistry)
+                    .increment();
+            log.info("{} call on {} failed ({}); retrying on {}",
+                    useCase.tag(), route.model(), reason, route.fallbackModel());
+            return new Routed<>(call.complete(route.fallbackModel(), Attempt.FALLBACK), route.fallbackModel());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /** "timeout", "unparseable" or "empty" when the failure warrants the fallback; null otherwise. */
+    static String fallbackReason(ClinicalReasoningException ex) {
+        if (ex instanceof DeadlineExceededException) {
+            return "timeout";
+        }
+        if (ex instanceof MalformedCompletionException malformed) {
+            return malformed.isEmpty() ? "empty" : "unparseable";
+        }
+        if (ex.getCause() instanceof RuntimeException cause
+                && "timeout".equals(InferenceTelemetry.causeOf(cause))) {
+            return "timeout";
+        }
+        return null;
+    }
+
+    private <T> T withDeadline(Duration deadline, Supplier<T> call) {
+        if (deadline == null) {
+            return call.get();
+        }
+        Future<T> attempt = executor.submit(call::get);
+        try {
+            return attempt.get(deadline.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            attempt.cancel(true);
+            throw new DeadlineExceededException("TensorX did not answer within " + deadline.toMillis() + " ms");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new ClinicalReasoningException("TensorX inference call failed", ex.getCause());
+        } catch (InterruptedException ex) {
+            attempt.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ClinicalReasoningException("Interrupted while waiting for TensorX", ex);
+        }
+    }
+
+    private String orDefault(String model) {
+        return model == null || model.isBlank() ? defaultModel : model;
+    }
+
+    /** A model call; {@code attempt} is for telemetry. */
+    @FunctionalInterface
+    public interface ModelCall<T> {
+        T complete(String model, Attempt attempt);
+    }
+
+    public enum Attempt {
+        PRIMARY, FALLBACK;
+
+        public String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    /**
+     * @param fallbackModel  null when the route has none
+     * @param primaryTimeout null when the primary waits for the read timeout
+     */
+    public record Route(String model, String fallbackModel, Duration primaryTimeout) {
+    }
+
+    public record Routed<T>(T payload, String model) {
+    }
+
+    /** The primary model overran the route's {@code primary-timeout}. */
+    static class DeadlineExceededException extends ClinicalReasoningException {
+        DeadlineExceededException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.meditrack.ai.domain.port.ReasoningUseCase;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Which TensorX model answers each use case. A use case without a route, or
+ * a route without a model, uses {@code tensorx.model}.
+ *
+ * @param routes per use case, e.g. {@code icd: {model: small-model, fallback-model: ...}}
+ */
+@ConfigurationProperties(prefix = "meditrack.model-routing")
+public record ModelRoutingProperties(
+        Map<ReasoningUseCase, Route> routes
+) {
+
+    public ModelRoutingProperties {
+        routes = routes == null || routes.isEmpty() ? Map.of() : Map.copyOf(routes);
+    }
+
+    /**
+     * @param model           the use case's model for prompts larger than every tier
+     * @param tiers           smaller prompts go to the first tier whose {@code max-prompt-chars} they fit
+     * @param fallbackModel   retried once when the primary model times out or answers with unusable JSON
+     * @param primaryTimeout  with a fallback, the primary is abandoned after this long instead of
+     *                        waiting for the read timeout; unset means the read timeout
+     */
+    public record Route(
+            String model,
+            List<Tier> tiers,
+            String fallbackModel,
+            Duration primaryTimeout
+    ) {
+
+        public Route {
+            tiers = tiers == null ? List.of()
+                    : tiers.stream().sorted(Comparator.comparingInt(Tier::maxPromptChars)).toList();
+            fallbackModel = fallbackModel == null || fallbackModel.isBlank() ? null : fallbackModel;
+        }
+    }
+
+    /**
+     * @param maxPromptChars largest prompt (system plus user, in characters) this tier takes
+     * @param model          model for prompts of this size
+     */
+    public record Tier(int maxPromptChars, String model) {
+    }
+}
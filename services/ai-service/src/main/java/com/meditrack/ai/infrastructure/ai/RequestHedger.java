@@ -0,0 +1,180 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.meditrack.ai.application.exception.ClinicalReasoningException;
+import com.meditrack.ai.domain.port.ReasoningUseCase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cuts tail latency for latency-critical use cases by hedging: if a call has
+ * not answered by the configured percentile of that use case's recent latency,
+ * an identical second call is started, the first answer wins and the loser is
+ * cancelled (its thread interrupted; its pooled connection is returned once the
+ * in-progress read ends).
+ *
+ * <p>Hedges are rationed per use case with a token bucket: each primary call
+ * earns {@code budget-percent / 100} of a token and a hedge spends one, so hedges
+ * can never exceed that share of traffic — even when TensorX is uniformly slow
+ * and every call would otherwise qualify. Both attempts go through the
+ * {@link AdaptiveConcurrencyLimiter}, so a hedge is also refused under overload.
+ *
+ * <p>Metrics: {@code ai.inference.hedge.fired{use_case}},
+ * {@code ai.inference.hedge.won{use_case}} (the hedge answered first) and
+ * {@code ai.inference.hedge.budget_exhausted{use_case}}.
+ */
+@Component
+public class RequestHedger implements DisposableBean {
+
+    /** Unused budget that may accumulate, i.e. the largest burst of back-to-back hedges. */
+    private static final double MAX_BUDGET_TOKENS = 10;
+
+    private final HedgingProperties props;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<ReasoningUseCase, UseCaseState> states = new EnumMap<>(ReasoningUseCase.class);
+
+    public RequestHedger(HedgingProperties props, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.meterRegistry = meterRegistry;
+        for (ReasoningUseCase useCase : props.useCases()) {
+            states.put(useCase, new UseCaseState(props.window()));
+        }
+    }
+
+    /** Runs {@code call}, hedging it if the use case is configured for it and it runs slow. */
+    public <T> T execute(ReasoningUseCase useCase, Supplier<T> call) {
+        if (!props.hedges(useCase)) {
+            return call.get();
+        }
+        UseCaseState state = states.get(useCase);
+        state.earn(props.budgetPercent() / 100.0);
+
+        BlockingQueue<Attempt<T>> finished = new LinkedBlockingQueue<>();
+        Future<?> primary = executor.submit(() -> attempt(call, false, state, finished));
+        Future<?> hedge = null;
+        try {
+            Attempt<T> first = awaitPrimary(state, finished);
+            if (first == null) {
+                if (state.trySpend()) {
+                    counter("ai.inference.hedge.fired", useCase).increment();
+                    hedge = executor.submit(() -> attempt(call, true, state, finished));
+                } else {
+                    counter("ai.inference.hedge.budget_exhausted", useCase).increment();
+                }
+                first = finished.take();
+            }
+
+            // With a hedge in flight, a failure only counts once both attempts have failed.
+            if (first.failure != null && hedge != null) {
+                Attempt<T> second = finished.take();
+                first = second.failure == null ? second : first;
+            }
+            if (first.failure != null) {
+                throw first.failure;
+            }
+            if (first.hedge) {
+                counter("ai.inference.hedge.won", useCase).increment();
+            }
+            return first.result;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ClinicalReasoningException("Interrupted while waiting for TensorX", ex);
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> Attempt<T> awaitPrimary(UseCaseState state, BlockingQueue<Attempt<T>> finished)
+            throws InterruptedException {
+        Duration delay = state.hedgeDelay();
+        if (delay == null) {
+            return finished.take();
+        }
+        return finished.poll(delay.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private <T> void attempt(Supplier<T> call, boolean hedge, UseCaseState state, BlockingQueue<Attempt<T>> finished) {
+        long startedAt = System.nanoTime();
+        try {
+            T result = call.get();
+            state.record(System.nanoTime() - startedAt);
+            finished.add(new Attempt<>(result, null, hedge));
+        } catch (RuntimeException ex) {
+            finished.add(new Attempt<>(null, ex, hedge));
+        }
+    }
+
+    private Counter counter(String name, ReasoningUseCase useCase) {
+        return Counter.builder(name)
+                .tag("use_case", useCase.tag())
+                .register(meterRegistry);
+    }
+
+    private record Attempt<T>(T result, RuntimeException failure, boolean hedge) {
+    }
+
+    /** Recent latencies and hedge budget for one use case. */
+    private final class UseCaseState {
+
+        private final long[] samples;
+        private int next;
+        private int size;
+        private double tokens;
+
+        UseCaseState(int window) {
+            this.samples = new long[window];
+        }
+
+        synchronized void earn(double share) {
+            tokens = Math.min(MAX_BUDGET_TOKENS, tokens + share);
+        }
+
+        synchronized boolean trySpend() {
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+
+        synchronized void record(long latencyNanos) {
+            samples[next] = latencyNanos;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+        }
+
+        /** The hedge delay, or null while there are too few samples to trust a percentile. */
+        synchronized Duration hedgeDelay() {
+            if (size < props.minSamples()) {
+                return null;
+            }
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(props.percentile() * size) - 1;
+            Duration percentile = Duration.ofNanos(sorted[Math.max(0, index)]);
+            return percentile.compareTo(props.minDelay()) < 0 ? props.minDelay() : percentile;
+        }
+    }
+}
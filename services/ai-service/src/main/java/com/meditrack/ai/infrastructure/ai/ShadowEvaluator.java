@@ -0,0 +1,196 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.meditrack.ai.domain.model.IcdCodeSuggestion;
+import com.meditrack.ai.domain.model.IcdCodeSuggestions;
+import com.meditrack.ai.domain.model.LabResultExplanation;
+import com.meditrack.ai.domain.model.SafetyAssessment;
+import com.meditrack.ai.domain.model.TriageAssessment;
+import com.meditrack.ai.domain.port.ReasoningUseCase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Mirrors a sample of answered TensorX calls to a candidate model and compares
+ * the two answers, so a cheaper or faster model can be judged on real traffic
+ * before anything is routed to it.
+ *
+ * <p>A mirror is only considered once the primary has answered, and the
+ * candidate call runs on its own virtual thread: it never holds up the caller.
+ * It also never takes an {@link AdaptiveConcurrencyLimiter} permit, so it cannot
+ * queue a real call; instead it only starts while the limiter is idle (no queue,
+ * under {@code max-utilisation}), within {@code calls-per-minute} and with fewer
+ * than {@code max-in-flight} shadow calls running. A sample that fails any of
+ * these is skipped, never deferred.
+ *
+ * <p>Answers are compared structurally: overall risk for safety screens,
+ * urgency for lab explanations and triage, and the suggested code set for ICD-10
+ * (with its Jaccard overlap). Candidate latency and tokens are recorded by
+ * {@link InferenceTelemetry} under the candidate's model tag, like any call.
+ *
+ * <p>Metrics: {@code ai.inference.shadow.agreement{use_case,result=agree|disagree|failed}},
+ * {@code ai.inference.shadow.latency{use_case,role=primary|candidate}} (same sampled requests),
+ * {@code ai.inference.shadow.icd.overlap} and {@code ai.inference.shadow.skipped{use_case,reason}}.
+ */
+@Slf4j
+@Component
+public class ShadowEvaluator implements DisposableBean {
+
+    private final ShadowProperties props;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore inFlight;
+    private final long nanosPerToken;
+    private final DistributionSummary icdOverlap;
+    private double tokens;
+    private long refilledAt = System.nanoTime();
+
+    public ShadowEvaluator(ShadowProperties props, AdaptiveConcurrencyLimiter limiter, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.limiter = limiter;
+        this.meterRegistry = meterRegistry;
+        this.inFlight = new Semaphore(Math.max(0, props.maxInFlight()));
+        this.nanosPerToken = TimeUnit.MINUTES.toNanos(1) / Math.max(1, props.callsPerMinute());
+        this.tokens = Math.max(1, props.callsPerMinute());
+        this.icdOverlap = DistributionSummary.builder("ai.inference.shadow.icd.overlap")
+                .description("Jaccard overlap of primary and candidate ICD-10 code sets")
+                .publishPercentiles(0.5, 0.9)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Maybe mirrors a call whose primary answer was {@code primary}, taking
+     * {@code primaryNanos}. Returns at once.
+     *
+     * @param candidate sends the same prompt to the given model and converts the answer like the primary's
+     */
+    public <R> void mirror(ReasoningUseCase useCase, R primary, long primaryNanos, Function<String, R> candidate) {
+        if (!props.mirrors(useCase) || ThreadLocalRandom.current().nextDouble() >= props.sampleRate()) {
+            return;
+        }
+        if (!limiter.idle(props.maxUtilisation())) {
+            skipped(useCase, "busy");
+            return;
+        }
+        if (!takeToken()) {
+            skipped(useCase, "rate");
+            return;
+        }
+        if (!inFlight.tryAcquire()) {
+            skipped(useCase, "in_flight");
+            return;
+        }
+        try {
+            executor.execute(() -> compare(useCase, primary, primaryNanos, candidate));
+        } catch (RejectedExecutionException ex) {
+            // Shutting down; the primary answer is unaffected.
+            inFlight.release();
+        }
+    }
+
+    private <R> void compare(ReasoningUseCase useCase, R primary, long primaryNanos, Function<String, R> candidate) {
+        try {
+            long startedAt = System.nanoTime();
+            R answer = candidate.apply(props.candidateModel());
+            latency(useCase, "primary").record(primaryNanos, TimeUnit.NANOSECONDS);
+            latency(useCase, "candidate").record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            agreement(useCase, agrees(primary, answer) ? "agree" : "disagree");
+        } catch (RuntimeException ex) {
+            log.debug("Shadow {} call to {} failed: {}", useCase.tag(), props.candidateModel(), ex.getMessage());
+            agreement(useCase, "failed");
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /** Field-by-field agreement of two answers to the same request. */
+    boolean agrees(Object primary, Object candidate) {
+        return switch (primary) {
+            case SafetyAssessment p when candidate instanceof SafetyAssessment c ->
+                    p.overallRisk() == c.overallRisk();
+            case LabResultExplanation p when candidate instanceof LabResultExplanation c ->
+                    p.urgency() == c.urgency();
+            case TriageAssessment p when candidate instanceof TriageAssessment c ->
+                    p.urgency() == c.urgency();
+            case IcdCodeSuggestions p when candidate instanceof IcdCodeSuggestions c -> {
+                Set<String> primaryCodes = codes(p);
+                Set<String> candidateCodes = codes(c);
+                Set<String> union = new HashSet<>(primaryCodes);
+                union.addAll(candidateCodes);
+                Set<String> shared = new HashSet<>(primaryCodes);
+                shared.retainAll(candidateCodes);
+                icdOverlap.record(union.isEmpty() ? 1.0 : (double) shared.size() / union.size());
+                yield primaryCodes.equals(candidateCodes);
+            }
+            default -> throw new IllegalArgumentException(
+                    "No structural comparison for " + primary.getClass().getSimpleName());
+        };
+    }
+
+    private static Set<String> codes(IcdCodeSuggestions suggestions) {
+        return suggestions.suggestions().stream()
+                .map(IcdCodeSuggestion::code)
+                .map(code -> code.trim().toUpperCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+    }
+
+    private synchronized boolean takeToken() {
+        long now = System.nanoTime();
+        tokens = Math.min(props.callsPerMinute(), tokens + (double) (now - refilledAt) / nanosPerToken);
+        refilledAt = now;
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    private Timer latency(ReasoningUseCase useCase, String role) {
+        return Timer.builder("ai.inference.shadow.latency")
+                .description("Latency of sampled requests on the primary and on the candidate model")
+                .tag("use_case", useCase.tag())
+                .tag("role", role)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private void agreement(ReasoningUseCase useCase, String result) {
+        Counter.builder("ai.inference.shadow.agreement")
+                .description("Shadow comparisons of the candidate model against the primary")
+                .tag("use_case", useCase.tag())
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void skipped(ReasoningUseCase useCase, String reason) {
+        Counter.builder("ai.inference.shadow.skipped")
+                .description("Sampled calls not mirrored, by reason")
+                .tag("use_case", useCase.tag())
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,58 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.meditrack.ai.domain.port.ReasoningUseCase;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Opt-in shadow evaluation of a candidate TensorX model on live traffic.
+ *
+ * @param enabled        master switch; off by default because every shadow call is a paid inference
+ * @param candidateModel the model mirrored requests are sent to
+ * @param useCases       use cases that are mirrored; only those with a structural comparison are supported
+ * @param sampleRate     share of eligible calls mirrored
+ * @param callsPerMinute hard cap on shadow calls started per minute, whatever the sample rate
+ * @param maxInFlight    shadow calls running at once; a sample that finds them all busy is skipped
+ * @param maxUtilisation shadow calls start only while nothing is queued for TensorX and fewer than this
+ *                       share of the adaptive concurrency limit is in use
+ */
+@ConfigurationProperties(prefix = "meditrack.shadow")
+public record ShadowProperties(
+        @DefaultValue("false") boolean enabled,
+        String candidateModel,
+        @DefaultValue({"assess", "lab", "triage", "icd"}) Set<ReasoningUseCase> useCases,
+        @DefaultValue("0.05") double sampleRate,
+        @DefaultValue("20") int callsPerMinute,
+        @DefaultValue("2") int maxInFlight,
+        @DefaultValue("0.5") double maxUtilisation
+) {
+
+    /** Use cases whose answers can be compared field by field. */
+    static final Set<ReasoningUseCase> COMPARABLE = EnumSet.of(
+            ReasoningUseCase.ASSESS, ReasoningUseCase.LAB, ReasoningUseCase.TRIAGE, ReasoningUseCase.ICD);
+
+    public ShadowProperties {
+        useCases = useCases == null || useCases.isEmpty()
+                ? Set.of()
+                : Set.copyOf(EnumSet.copyOf(useCases));
+        if (enabled && (candidateModel == null || candidateModel.isBlank())) {
+            throw new IllegalArgumentException("meditrack.shadow.candidate-model is required when shadowing is enabled");
+        }
+        if (!COMPARABLE.containsAll(useCases)) {
+            throw new IllegalArgumentException("meditrack.shadow.use-cases supports only " + COMPARABLE);
+        }
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("meditrack.shadow.sample-rate must be in [0, 1]");
+        }
+        if (maxUtilisation <= 0 || maxUtilisation > 1) {
+            throw new IllegalArgumentException("meditrack.shadow.max-utilisation must be in (0, 1]");
+        }
+    }
+
+    public boolean mirrors(ReasoningUseCase useCase) {
+        return enabled && callsPerMinute > 0 && maxInFlight > 0 && useCases.contains(useCase);
+    }
+}
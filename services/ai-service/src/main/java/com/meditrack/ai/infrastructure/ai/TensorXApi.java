@@ -20,7 +20,8 @@ final class TensorXApi {
             String model,
             List<Message> messages,
             double temperature,
-            @JsonProperty("response_format") ResponseFormat responseFormat
+            @JsonProperty("response_format") ResponseFormat responseFormat,
+            Boolean stream
     ) {
     }
 
@@ -40,4 +41,17 @@ final class TensorXApi {
     @JsonIgnoreProperties(ignoreUnknown = true)
     record Choice(Message message) {
     }
+
+    /** One server-sent event of a {@code stream: true} completion. */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ChatChunk(List<ChunkChoice> choices) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ChunkChoice(Delta delta) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Delta(String content) {
+    }
 }
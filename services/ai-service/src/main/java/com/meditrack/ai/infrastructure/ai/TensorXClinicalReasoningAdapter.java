@@ -6,6 +6,7 @@ import com.meditrack.ai.application.exception.ClinicalReasoningException;
 import com.meditrack.ai.domain.model.AllergyConflict;
 import com.meditrack.ai.domain.model.ClinicalUrgency;
 import com.meditrack.ai.domain.model.DrugInteraction;
+import com.meditrack.ai.domain.model.HistoryCoverage;
 import com.meditrack.ai.domain.model.HistorySummaryCommand;
 import com.meditrack.ai.domain.model.IcdCodeSuggestion;
 import com.meditrack.ai.domain.model.IcdCodeSuggestionCommand;
@@ -27,15 +28,39 @@ import com.meditrack.ai.domain.model.TriageCommand;
 import com.meditrack.ai.domain.model.TriageUrgency;
 import com.meditrack.ai.domain.model.VisitNote;
 import com.meditrack.ai.domain.port.ClinicalReasoningPort;
+import com.meditrack.ai.domain.port.ReasoningStreamListener;
+import com.meditrack.ai.domain.port.ReasoningUseCase;
+import com.meditrack.ai.infrastructure.icd.IcdCodeGrounding;
+import com.meditrack.ai.infrastructure.icd.IcdCodeIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
-
+import org.springframework.web.client.RestClientResponseException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
 
 /**
  * Clinical reasoning backed by a TensorX open-weight model.
@@ -50,6 +75,12 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class TensorXClinicalReasoningAdapter implements ClinicalReasoningPort {
 
+    /** {@code modelUsed} of an assessment answered without a model call. */
+    static final String MEMO_SOURCE = "interaction-memo";
+
+    /** The status handling {@code retrieve()} would apply, for calls that read the body themselves. */
+    private static final DefaultResponseErrorHandler ERROR_HANDLER = new DefaultResponseErrorHandler();
+
     private static final String SYSTEM_PROMPT = """
             You are a clinical decision support assistant for licensed healthcare professionals.
             You screen a proposed prescription for (1) drug-drug interactions among the new and
@@ -131,6 +162,8 @@ public class TensorXClinicalReasoningAdapter implements ClinicalReasoningPort {
             - Order suggestions best-supported first and return at most 8.
             - Prefer the most specific ICD-10 code the documentation actually supports; do not
               guess extra specificity that is not documented.
+            - When candidate codes are supplied, choose from them and copy the code exactly; suggest
+              an unlisted code only when the note documents a condition none of them covers.
             - Respond with a SINGLE valid JSON object and nothing else. No prose, no markdown code fences.
             """;
 
@@ -145,89 +178,405 @@ public class TensorXClinicalReasoningAdapter implements ClinicalReasoningPort {
               abnormal or flagged labs, concerning visit notes) rather than omit it.
             - "recentAbnormalFindings" and "redFlags" must each be empty when the record
               contains nothing abnormal or concerning — do not manufacture concerns.
+            - Parts of a long record may be condensed or left out; never treat an omitted
+              result or visit as normal.
             - "narrativeSummary" is a short clinician-facing paragraph; do not add advice there.
             - "suggestedFollowUps" are advisory next steps grounded in the record.
             - Respond with a SINGLE valid JSON object and nothing else. No prose, no markdown code fences.
             """;
 
+    private static final String VISIT_PRESUMMARY_SYSTEM_PROMPT = """
+            You are a clinical documentation assistant for licensed healthcare professionals.
+            You condense a patient's older visit notes into a compact running summary that a
+            later pre-consultation brief will rely on in place of the notes themselves.
+
+            Rules:
+            - Use ONLY the supplied notes and existing summary. NEVER invent findings or events.
+            - Keep every diagnosis, abnormal finding, medication change, allergy or adverse
+              reaction, procedure and unresolved issue, with its date.
+            - Drop routine, unremarkable detail first.
+            - When an existing summary is supplied, return it extended with the new notes.
+            - Respond with a SINGLE valid JSON object and nothing else. No prose, no markdown code fences.
+            """;
+
+    /** Symptom phrases that put a triage request at the front of the TensorX queue. */
+    private static final List<String> EMERGENCY_HINTS = List.of(
+            "chest pain", "chest pressure", "chest tightness", "stroke", "facial droop", "slurred",
+            "anaphylaxis", "throat swelling", "can't breathe", "cannot breathe", "difficulty breathing",
+            "shortness of breath", "unconscious", "unresponsive", "seizure", "severe bleeding",
+            "thunderclap", "suicid", "overdose");
+
+    /** Lab flags meaning "critical": the explicit word and the HL7 panic flags. */
+    private static final Set<String> CRITICAL_LAB_FLAGS = Set.of("CRITICAL", "HH", "LL");
+
     private final RestClient tensorxRestClient;
     private final TensorXProperties props;
     private final ObjectMapper objectMapper;
+    private final DrugInteractionMemo interactionMemo;
+    private final MeterRegistry meterRegistry;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final RequestHedger requestHedger;
+    private final HistoryPromptBudgeter historyBudgeter;
+    private final IcdCodeGrounding icdGrounding;
+    private final CompletionReader completionReader;
+    private final InferenceTelemetry telemetry;
+    private final ModelRouter modelRouter;
+    private final ShadowEvaluator shadowEvaluator;
 
+    /**
+     * Pairs already screened are answered from the {@link DrugInteractionMemo};
+     * the model sees only the residual pairs plus the allergy check. When
+     * nothing is left to ask, no model call is made at all.
+     */
     @Override
     public SafetyAssessment assess(SafetyCheckCommand command) {
-        String content = requestCompletion(SYSTEM_PROMPT, buildUserPrompt(command));
-        return toAssessment(parse(content));
+        DrugInteractionMemo.ScreeningPlan plan = interactionMemo.plan(command);
+        boolean allergyCheckNeeded = command.knownAllergies() != null && !command.knownAllergies().isEmpty();
+        if (plan.residualPairs().isEmpty() && !allergyCheckNeeded) {
+            return assessmentFromMemo(plan.knownInteractions());
+        }
+
+        SafetyAssessment fromModel = completeAndMirror(ReasoningUseCase.ASSESS, InferencePriority.HIGH,
+                SYSTEM_PROMPT, buildUserPrompt(command, plan.residualPairs()), AiPayload.class, "assessment",
+                this::toAssessment);
+        interactionMemo.record(plan.residualPairs(), fromModel.interactions());
+        return withKnownInteractions(fromModel, plan.knownInteractions());
     }
 
     @Override
     public LabResultExplanation explainLabResult(LabResultExplanationCommand command) {
-        String content = requestCompletion(LAB_SYSTEM_PROMPT, buildLabPrompt(command));
-        return toExplanation(parseLab(content));
+        return completeAndMirror(ReasoningUseCase.LAB, labPriority(command),
+                LAB_SYSTEM_PROMPT, buildLabPrompt(command), AiLabPayload.class, "lab explanation",
+                this::toExplanation);
     }
 
     @Override
     public TriageAssessment triage(TriageCommand command) {
-        String content = requestCompletion(TRIAGE_SYSTEM_PROMPT, buildTriagePrompt(command));
-        return toTriage(parseTriage(content));
+        return completeAndMirror(ReasoningUseCase.TRIAGE, triagePriority(command),
+                TRIAGE_SYSTEM_PROMPT, buildTriagePrompt(command), AiTriagePayload.class, "triage assessment",
+                this::toTriage);
     }
 
     @Override
     public SoapNote generateSoapNote(SoapNoteCommand command) {
-        String content = requestCompletion(SOAP_SYSTEM_PROMPT, buildSoapPrompt(command));
-        return toSoapNote(parseSoap(content));
+        ModelRouter.Routed<AiSoapPayload> answer = complete(ReasoningUseCase.SOAP, InferencePriority.LOW,
+                SOAP_SYSTEM_PROMPT, buildSoapPrompt(command), AiSoapPayload.class, "SOAP note");
+        return toSoapNote(answer.payload(), answer.model());
+    }
+
+    @Override
+    public SoapNote generateSoapNote(SoapNoteCommand command, ReasoningStreamListener listener) {
+        String userPrompt = buildSoapPrompt(command);
+        String model = streamModel(ReasoningUseCase.SOAP, SOAP_SYSTEM_PROMPT, userPrompt);
+        return toSoapNote(streamCompletion(ReasoningUseCase.SOAP, model, InferencePriority.LOW, SOAP_SYSTEM_PROMPT,
+                userPrompt, listener, AiSoapPayload.class, "SOAP note"), model);
     }
 
     @Override
     public IcdCodeSuggestions suggestIcdCodes(IcdCodeSuggestionCommand command) {
-        String content = requestCompletion(ICD_SYSTEM_PROMPT, buildIcdPrompt(command));
-        return toIcdSuggestions(parseIcd(content));
+        return completeAndMirror(ReasoningUseCase.ICD, InferencePriority.LOW,
+                ICD_SYSTEM_PROMPT, buildIcdPrompt(command, icdGrounding.shortlist(command)),
+                AiIcdPayload.class, "ICD-10 suggestions", this::toIcdSuggestions);
     }
 
+    /**
+     * The route's size tier is chosen on the unbudgeted record, so a long
+     * history can reach a large-context model rather than being trimmed to fit
+     * a small one. Each model gets a prompt budgeted for its own context, so a
+     * fallback re-plans the history.
+     */
     @Override
     public PatientHistorySummary summarizeHistory(HistorySummaryCommand command) {
-        String content = requestCompletion(HISTORY_SYSTEM_PROMPT, buildHistoryPrompt(command));
-        return toHistorySummary(parseHistory(content));
+        return modelRouter.execute(ReasoningUseCase.HISTORY, unbudgetedHistoryChars(command), (model, attempt) -> {
+            HistoryPromptBudgeter.BudgetedHistory history = budgetHistory(command, model);
+            String userPrompt = buildHistoryPrompt(command, history);
+            AiHistoryPayload payload = requestHedger.execute(ReasoningUseCase.HISTORY,
+                    () -> requestCompletion(ReasoningUseCase.HISTORY, model, InferencePriority.NORMAL,
+                            HISTORY_SYSTEM_PROMPT, userPrompt, AiHistoryPayload.class, "history summary"));
+            return toHistorySummary(payload, history.coverage(), model);
+        }).payload();
+    }
+
+    @Override
+    public PatientHistorySummary summarizeHistory(HistorySummaryCommand command, ReasoningStreamListener listener) {
+        String model = modelRouter.route(ReasoningUseCase.HISTORY, unbudgetedHistoryChars(command)).model();
+        HistoryPromptBudgeter.BudgetedHistory history = budgetHistory(command, model);
+        AiHistoryPayload payload = streamCompletion(ReasoningUseCase.HISTORY, model, InferencePriority.NORMAL,
+                HISTORY_SYSTEM_PROMPT, buildHistoryPrompt(command, history), listener,
+                AiHistoryPayload.class, "history summary");
+        return toHistorySummary(payload, history.coverage(), model);
+    }
+
+    /**
+     * Sends a completion to the model {@link ModelRouter} picks for this use
+     * case and prompt size, falling back once where the route allows, and
+     * hedging each attempt where {@link RequestHedger} is configured to.
+     */
+    private <T> ModelRouter.Routed<T> complete(ReasoningUseCase useCase, InferencePriority priority,
+                                               String systemPrompt, String userPrompt,
+                                               Class<T> payloadType, String description) {
+        return modelRouter.execute(useCase, systemPrompt.length() + userPrompt.length(),
+                (model, attempt) -> requestHedger.execute(useCase,
+                        () -> requestCompletion(useCase, model, priority, systemPrompt, userPrompt,
+                                payloadType, description)));
+    }
+
+    /**
+     * As {@link #complete}, converting the answer with {@code convert}, then
+     * offers the call to the {@link ShadowEvaluator}: the same prompt may be sent
+     * to the candidate model in the background, outside the limiter, and its
+     * answer converted the same way and compared with this one.
+     */
+    private <T, R> R completeAndMirror(ReasoningUseCase useCase, InferencePriority priority,
+                                       String systemPrompt, String userPrompt, Class<T> payloadType,
+                                       String description, BiFunction<T, String, R> convert) {
+        long startedAt = System.nanoTime();
+        ModelRouter.Routed<T> answer = complete(useCase, priority, systemPrompt, userPrompt, payloadType, description);
+        R result = convert.apply(answer.payload(), answer.model());
+        shadowEvaluator.mirror(useCase, result, System.nanoTime() - startedAt, model -> convert.apply(
+                sendCompletion(useCase, model, chatRequest(useCase, model, systemPrompt, userPrompt, null),
+                        payloadType, description),
+                model));
+        return result;
+    }
+
+    /** A stream has no fallback: by the time the primary fails, its tokens have reached the caller. */
+    private String streamModel(ReasoningUseCase useCase, String systemPrompt, String userPrompt) {
+        return modelRouter.route(useCase, systemPrompt.length() + userPrompt.length()).model();
     }
 
     /**
      * Shared TensorX call: validates config, sends a JSON-mode chat completion,
-     * and returns the (fence-stripped) content string. Vendor/HTTP concerns live
-     * here; each use case only supplies its system + user prompt and parses.
+     * and binds the answer to {@code payloadType}. Every call first takes a
+     * permit from the {@link AdaptiveConcurrencyLimiter} at the caller's
+     * priority, and reports back how TensorX coped; an unparseable answer says
+     * nothing about capacity, so it releases the permit without a sample.
+     *
+     * @param description what the payload is, for the "unparseable ..." error
      */
-    private String requestCompletion(String systemPrompt, String userPrompt) {
-        if (props.apiKey() == null || props.apiKey().isBlank()) {
-            throw new ClinicalReasoningException(
-                    "TensorX API key is not configured. Set the TENSORX_API_KEY environment variable.");
+    private <T> T requestCompletion(ReasoningUseCase useCase, String model, InferencePriority priority,
+                                    String systemPrompt, String userPrompt, Class<T> payloadType, String description) {
+        TensorXApi.ChatRequest request = chatRequest(useCase, model, systemPrompt, userPrompt, null);
+
+        AdaptiveConcurrencyLimiter.Permit permit = concurrencyLimiter.acquire(priority, callBudget());
+        try {
+            T payload = sendCompletion(useCase, model, request, payloadType, description);
+            permit.success();
+            return payload;
+        } catch (ClinicalReasoningException ex) {
+            if (ex.getCause() instanceof RestClientException cause) {
+                release(permit, cause);
+            }
+            throw ex;
+        } finally {
+            permit.ignore();
         }
+    }
 
-        TensorXApi.ChatRequest request = new TensorXApi.ChatRequest(
-                props.model(),
-                List.of(
-                        new TensorXApi.Message("system", systemPrompt),
-                        new TensorXApi.Message("user", userPrompt)
-                ),
-                props.temperature(),
-                TensorXApi.ResponseFormat.jsonObject()
-        );
+    /**
+     * The HTTP exchange behind {@link #requestCompletion}, without a limiter
+     * permit. Vendor/HTTP concerns live here; each use case only supplies its
+     * system + user prompt and payload. The body is parsed as it is read
+     * ({@link CompletionReader}), with no intermediate response tree or content
+     * copies. Latency, tokens, prompt size and failure causes go to
+     * {@link InferenceTelemetry}.
+     */
+    private <T> T sendCompletion(ReasoningUseCase useCase, String model, TensorXApi.ChatRequest request,
+                                 Class<T> payloadType, String description) {
+        final CompletionReader.Completion<T> completion;
+        long startedAt = System.nanoTime();
+        try {
+            completion = tensorxRestClient.post()
+                    .uri("/chat/completions")
+                    .header("Authorization", "Bearer " + props.apiKey())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(request)
+                    .exchange((req, res) -> {
+                        if (ERROR_HANDLER.hasError(res)) {
+                            ERROR_HANDLER.handleError(res);
+                        }
+                        return completionReader.readResponse(res.getBody(), payloadType, description);
+                    });
+        } catch (RestClientException ex) {
+            telemetry.failure(useCase, model, System.nanoTime() - startedAt, ex);
+            throw new ClinicalReasoningException("TensorX inference call failed: " + ex.getMessage(), ex);
+        } catch (MalformedCompletionException ex) {
+            telemetry.failure(useCase, model, System.nanoTime() - startedAt, ex);
+            throw ex;
+        }
+        telemetry.success(useCase, model, System.nanoTime() - startedAt, completion);
+        return completion.payload();
+    }
 
-        final TensorXApi.ChatResponse response;
+    /**
+     * Streaming variant of {@link #requestCompletion}: asks for server-sent
+     * events, forwards every content delta (and every completed top-level JSON
+     * field) to {@code listener}, and binds the assembled content to the
+     * payload once the stream ends. Time-to-first-token and total duration are
+     * recorded per use case. A stream holds its permit until the last event, but
+     * its (inherently long) duration is not fed to the limit as a latency sample.
+     */
+    private <T> T streamCompletion(ReasoningUseCase useCase, String model, InferencePriority priority,
+                                   String systemPrompt, String userPrompt, ReasoningStreamListener listener,
+                                   Class<T> payloadType, String description) {
+        TensorXApi.ChatRequest request = chatRequest(useCase, model, systemPrompt, userPrompt, Boolean.TRUE);
+
+        final StringBuilder content;
+        AdaptiveConcurrencyLimiter.Permit permit = concurrencyLimiter.acquire(priority, callBudget());
+        long startedAt = System.nanoTime();
         try {
-            response = tensorxRestClient.post()
+            content = tensorxRestClient.post()
                     .uri("/chat/completions")
                     .header("Authorization", "Bearer " + props.apiKey())
                     .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.TEXT_EVENT_STREAM)
                     .body(request)
-                    .retrieve()
-                    .body(TensorXApi.ChatResponse.class);
+                    .exchange((req, res) -> {
+                        if (res.getStatusCode().isError()) {
+                            throw new RestClientResponseException("HTTP " + res.getStatusCode().value(),
+                                    res.getStatusCode(), res.getStatusText(), res.getHeaders(), null, null);
+                        }
+                        return readEventStream(res.getBody(), useCase, startedAt, listener);
+                    });
         } catch (RestClientException ex) {
+            telemetry.failure(useCase, model, -1, ex);
+            release(permit, ex);
             throw new ClinicalReasoningException("TensorX inference call failed: " + ex.getMessage(), ex);
+        } finally {
+            permit.ignore();
+        }
+
+        streamTimer("ai.inference.stream.duration", useCase)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        char[] chars = new char[content.length()];
+        content.getChars(0, chars.length, chars, 0);
+        final CompletionReader.Completion<T> completion;
+        try {
+            completion = completionReader.readContent(chars, 0, chars.length, payloadType, description);
+        } catch (MalformedCompletionException ex) {
+            telemetry.failure(useCase, model, -1, ex);
+            throw ex;
+        }
+        telemetry.streamed(useCase, model, completion);
+        return completion.payload();
+    }
+
+    private StringBuilder readEventStream(InputStream body, ReasoningUseCase useCase, long startedAt,
+                                   ReasoningStreamListener listener) throws IOException {
+        StringBuilder content = new StringBuilder();
+        JsonSectionStreamParser sections = new JsonSectionStreamParser(objectMapper.getFactory(), listener);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.startsWith("data:")) {
+                continue;
+            }
+            String data = line.substring("data:".length()).trim();
+            if ("[DONE]".equals(data)) {
+                break;
+            }
+            String delta = deltaOf(data);
+            if (delta == null || delta.isEmpty()) {
+                continue;
+            }
+            if (content.isEmpty()) {
+                streamTimer("ai.inference.stream.ttft", useCase)
+                        .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+            content.append(delta);
+            listener.onToken(delta);
+            sections.feed(delta);
         }
+        return content;
+    }
+
+    private String deltaOf(String data) {
+        if (data.isEmpty()) {
+            return null;
+        }
+        try {
+            TensorXApi.ChatChunk chunk = objectMapper.readValue(data, TensorXApi.ChatChunk.class);
+            return Optional.ofNullable(chunk.choices())
+                    .filter(c -> !c.isEmpty())
+                    .map(c -> c.get(0))
+                    .map(TensorXApi.ChunkChoice::delta)
+                    .map(TensorXApi.Delta::content)
+                    .orElse(null);
+        } catch (Exception ex) {
+            log.debug("Skipping unreadable TensorX stream event: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    private Duration callBudget() {
+        return Duration.ofSeconds(props.timeoutSeconds());
+    }
+
+    /** Timeouts, connection failures, 429 and 5xx mean TensorX is struggling; anything else is ours. */
+    private static void release(AdaptiveConcurrencyLimiter.Permit permit, RestClientException ex) {
+        boolean congestion = ex instanceof ResourceAccessException
+                || (ex instanceof RestClientResponseException response
+                    && (response.getStatusCode().value() == 429 || response.getStatusCode().is5xxServerError()));
+        if (congestion) {
+            permit.dropped();
+        } else {
+            permit.ignore();
+        }
+    }
+
+    /**
+     * Triage is queued ahead of everything else when the presentation mentions a
+     * classic emergency sign. A coarse keyword check — the model still decides
+     * the urgency; this only decides who waits.
+     */
+    private static InferencePriority triagePriority(TriageCommand command) {
+        String symptoms = command.symptoms() == null ? "" : command.symptoms().toLowerCase();
+        return EMERGENCY_HINTS.stream().anyMatch(symptoms::contains)
+                ? InferencePriority.CRITICAL
+                : InferencePriority.NORMAL;
+    }
+
+    /**
+     * A panel the lab itself flagged critical is queued with the safety screens,
+     * ahead of routine reads.
+     */
+    private static InferencePriority labPriority(LabResultExplanationCommand command) {
+        boolean critical = command.results() != null && command.results().stream()
+                .map(LabValue::flag)
+                .filter(Objects::nonNull)
+                .map(flag -> flag.trim().toUpperCase(Locale.ROOT))
+                .anyMatch(CRITICAL_LAB_FLAGS::contains);
+        return critical ? InferencePriority.HIGH : InferencePriority.NORMAL;
+    }
 
-        return extractContent(response);
+    private Timer streamTimer(String name, ReasoningUseCase useCase) {
+        return Timer.builder(name)
+                .tag("use_case", useCase.tag())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
-    private String buildUserPrompt(SafetyCheckCommand cmd) {
+    private TensorXApi.ChatRequest chatRequest(ReasoningUseCase useCase, String model, String systemPrompt,
+                                               String userPrompt, Boolean stream) {
+        if (props.apiKey() == null || props.apiKey().isBlank()) {
+            telemetry.failure(useCase, model, -1, "not_configured");
+            throw new ClinicalReasoningException(
+                    "TensorX API key is not configured. Set the TENSORX_API_KEY environment variable.");
+        }
+        telemetry.prompt(useCase, model, systemPrompt, userPrompt);
+        return new TensorXApi.ChatRequest(
+                model,
+                List.of(
+                        new TensorXApi.Message("system", systemPrompt),
+                        new TensorXApi.Message("user", userPrompt)
+                ),
+                props.temperature(),
+                TensorXApi.ResponseFormat.jsonObject(),
+                stream
+        );
+    }
+
+    String buildUserPrompt(SafetyCheckCommand cmd, List<MedicationPair> pairsToScreen) {
         StringBuilder sb = new StringBuilder();
         sb.append("Screen this prescription for the patient described below.\n\n");
 
@@ -253,6 +602,16 @@ public class TensorXClinicalReasoningAdapter implements ClinicalReasoningPort {
             }
         }
 
+        // Pairs answered from the memo are left out, so the model only screens what is new.
+        sb.append("\nDrug-drug interaction screening — assess ONLY these pairs:\n");
+        if (pairsToScreen.isEmpty()) {
+            sb.append("- (none — all pairs were screened previously; check allergies only and return an empty interactions list)\n");
+        } else {
+            for (MedicationPair pair : pairsToScreen) {
+                sb.append("- ").append(pair).append('\n');
+            }
+        }
+
         sb.append("""
 
                 Return JSON exactly in this shape:
@@ -272,7 +631,7 @@ public class TensorXClinicalReasoningAdapter implements ClinicalReasoningPort {
         return sb.toString();
     }
 
-    private String buildLabPrompt(LabResultExplanationCommand cmd) {
+    String buildLabPrompt(LabResultExplanationCommand cmd) {
         StringBuilder sb = new StringBuilder();
         sb.append("Explain these lab results for the patient described below.\n\n");
 
@@ -319,7 +678,7 @@ public class TensorXClinicalReasoningAdapter implements ClinicalReasoningPort {
         return sb.toString();
     }
 
-    private String buildTriagePrompt(TriageCommand cmd) {
+    String buildTriagePrompt(TriageCommand cmd) {
         StringBuilder sb = new StringBuilder();
         sb.append("Triage the symptom presentation for the patient described below.\n\n");
 
@@ -348,7 +707,7 @@ public class TensorXClinicalReasoningAdapter implements ClinicalReasoningPort {
         return sb.toString();
     }
 
-    private String buildSoapPrompt(SoapNoteCommand cmd) {
+    String buildSoapPrompt(SoapNoteCommand cmd) {
         StringBuilder sb = new StringBuilder();
         sb.append("Structure the consultation notes below into a SOAP note. ");
         sb.append("Use only what is documented; sections without documented content must read \"Not documented.\"\n\n");
@@ -384,7 +743,7 @@ public class TensorXClinicalReasoningAdapter implements ClinicalReasoningPort {
         return sb.toString();
     }
 
-    private String buildIcdPrompt(IcdCodeSuggestionCommand cmd) {
+    String buildIcdPrompt(IcdCodeSuggestionCommand cmd, List<IcdCodeIndex.IcdCode> candidates) {
         StringBuilder sb = new StringBuilder();
         sb.append("Suggest ICD-10 codes supported by the clinical note below.\n\n");
 
@@ -396,6 +755,13 @@ public class TensorXClinicalReasoningAdapter implements ClinicalReasoningPort {
             sb.append(cmd.existingDiagnosis()).append('\n');
         }
 
+        if (!candidates.isEmpty()) {
+            sb.append("\nCandidate codes from the local ICD-10 index, matched on the note's wording:\n");
+            for (IcdCodeIndex.IcdCode candidate : candidates) {
+                sb.append("- ").append(candidate.code()).append(' ').append(candidate.description()).append('\n');
+            }
+        }
+
         sb.append("""
 
                 Return JSON exactly in this shape (at most 8 suggestions, best-supported first):
@@ -408,7 +774,60 @@ public class TensorXClinicalReasoningAdapter implements ClinicalReasoningPort {
         return sb.toString();
     }
 
-    private String buildHistoryPrompt(HistorySummaryCommand cmd) {
+    /** Fits labs and visits into the default model's prompt budget. */
+    HistoryPromptBudgeter.BudgetedHistory budgetHistory(HistorySummaryCommand cmd) {
+        return budgetHistory(cmd, props.model());
+    }
+
+    /** Fits labs and visits into {@code model}'s prompt budget around the fixed parts of the prompt. */
+    HistoryPromptBudgeter.BudgetedHistory budgetHistory(HistorySummaryCommand cmd, String model) {
+        int fixedTokens = historyBudgeter.estimate(HISTORY_SYSTEM_PROMPT)
+                + historyBudgeter.estimate(buildHistoryPrompt(cmd, HistoryPromptBudgeter.BudgetedHistory.EMPTY));
+        return historyBudgeter.plan(cmd, model, fixedTokens, this::foldVisits);
+    }
+
+    /** Rough size of the history prompt with every lab and visit in it, for picking the route's tier. */
+    private int unbudgetedHistoryChars(HistorySummaryCommand cmd) {
+        int chars = HISTORY_SYSTEM_PROMPT.length()
+                + buildHistoryPrompt(cmd, HistoryPromptBudgeter.BudgetedHistory.EMPTY).length();
+        for (LabValue lab : Optional.ofNullable(cmd.recentLabResults()).orElse(List.of())) {
+            chars += orUnknown(lab.testName()).length() + orUnknown(lab.value()).length()
+                    + orUnknown(lab.referenceRange()).length() + 16;
+        }
+        for (VisitNote visit : Optional.ofNullable(cmd.pastVisits()).orElse(List.of())) {
+            chars += orUnknown(visit.note()).length() + 16;
+        }
+        return chars;
+    }
+
+    /** One pre-summary step: condenses {@code visits} into (or onto) {@code previous}. */
+    private String foldVisits(String previous, List<VisitNote> visits) {
+        StringBuilder sb = new StringBuilder();
+        if (previous != null) {
+            sb.append("Existing summary of earlier visits:\n").append(previous).append("\n\n");
+        }
+        sb.append("Visit notes to add, oldest first:\n");
+        for (VisitNote visit : visits) {
+            sb.append("- ").append(orUnknown(visit.date())).append(": ")
+                    .append(orUnknown(visit.note())).append('\n');
+        }
+        sb.append("""
+
+                Return JSON exactly in this shape:
+                {"summary": "condensed dated summary"}
+                """);
+
+        // Pre-summaries are part of preparing a history brief, so they count against HISTORY.
+        String summary = complete(ReasoningUseCase.HISTORY, InferencePriority.NORMAL,
+                VISIT_PRESUMMARY_SYSTEM_PROMPT, sb.toString(), AiVisitPreSummary.class, "visit pre-summary")
+                .payload().summary();
+        if (summary == null || summary.isBlank()) {
+            throw new ClinicalReasoningException("TensorX returned an empty visit pre-summary");
+        }
+        return summary;
+    }
+
+    String buildHistoryPrompt(HistorySummaryCommand cmd, HistoryPromptBudgeter.BudgetedHistory history) {
         StringBuilder sb = new StringBuilder();
         sb.append("Summarise the patient record below into a pre-consultation brief.\n\n");
 
@@ -420,26 +839,24 @@ public class TensorXClinicalReasoningAdapter implements ClinicalReasoningPort {
         sb.append("- allergies: ").append(joinOrNone(cmd.allergies())).append('\n');
 
         sb.append("\nRecent lab results:\n");
-        if (cmd.recentLabResults() == null || cmd.recentLabResults().isEmpty()) {
+        if (history.labLines().isEmpty()) {
             sb.append("- (none provided)\n");
         } else {
-            for (LabValue v : cmd.recentLabResults()) {
-                sb.append("- ").append(orUnknown(v.testName())).append(": ").append(orUnknown(v.value()));
-                if (v.flag() != null && !v.flag().isBlank()) {
-                    sb.append(" flag=").append(v.flag());
-                }
-                sb.append('\n');
-            }
+            history.labLines().forEach(line -> sb.append(line).append('\n'));
         }
 
+        if (history.olderVisitsSummary() != null) {
+            sb.append("\nEarlier visits (condensed):\n").append(history.olderVisitsSummary()).append('\n');
+        }
         sb.append("\nPast visit notes:\n");
-        if (cmd.pastVisits() == null || cmd.pastVisits().isEmpty()) {
+        if (history.visitLines().isEmpty() && history.olderVisitsSummary() == null) {
             sb.append("- (none provided)\n");
         } else {
-            for (VisitNote visit : cmd.pastVisits()) {
-                sb.append("- ").append(orUnknown(visit.date())).append(": ")
-                        .append(orUnknown(visit.note())).append('\n');
-            }
+            history.visitLines().forEach(line -> sb.append(line).append('\n'));
+        }
+
+        if (history.omissionNote() != null) {
+            sb.append('\n').append(history.omissionNote()).append('\n');
         }
 
         sb.append("""
@@ -458,42 +875,7 @@ public class TensorXClinicalReasoningAdapter implements ClinicalReasoningPort {
         return sb.toString();
     }
 
-    private String extractContent(TensorXApi.ChatResponse response) {
-        String content = Optional.ofNullable(response)
-                .map(TensorXApi.ChatResponse::choices)
-                .filter(c -> !c.isEmpty())
-                .map(c -> c.get(0))
-                .map(TensorXApi.Choice::message)
-                .map(TensorXApi.Message::content)
-                .orElseThrow(() -> new ClinicalReasoningException("TensorX returned an empty response"));
-        return stripFences(content);
-    }
-
-    /** Models occasionally wrap JSON in ```json fences despite instructions — strip them. */
-    private String stripFences(String raw) {
-        String s = raw.trim();
-        if (s.startsWith("```")) {
-            int firstNewline = s.indexOf('\n');
-            if (firstNewline > 0) {
-                s = s.substring(firstNewline + 1);
-            }
-            if (s.endsWith("```")) {
-                s = s.substring(0, s.length() - 3);
-            }
-        }
-        return s.trim();
-    }
-
-    private AiPayload parse(String json) {
-        try {
-            return objectMapper.readValue(json, AiPayload.class);
-        } catch (Exception ex) {
-            log.warn("Could not parse TensorX response as JSON: {}", ex.getMessage());
-            throw new ClinicalReasoningException("TensorX returned an unparseable assessment", ex);
-        }
-    }
-
-    private SafetyAssessment toAssessment(AiPayload p) {
+    SafetyAssessment toAssessment(AiPayload p, String model) {
         List<DrugInteraction> interactions = Optional.ofNullable(p.interactions()).orElse(List.of())
                 .stream()
                 .map(i -> new DrugInteraction(i.drugA(), i.drugB(), Severity.fromString(i.severity()),
@@ -519,20 +901,63 @@ public class TensorXClinicalReasoningAdapter implements ClinicalReasoningPort {
                 requiresReview || overall.isHigh() || !conflicts.isEmpty(),
                 interactions,
                 conflicts,
-                props.model()
+                model
         );
     }
 
-    private AiLabPayload parseLab(String json) {
-        try {
-            return objectMapper.readValue(json, AiLabPayload.class);
-        } catch (Exception ex) {
-            log.warn("Could not parse TensorX lab response as JSON: {}", ex.getMessage());
-            throw new ClinicalReasoningException("TensorX returned an unparseable lab explanation", ex);
+    /** A screen answered entirely from previously screened pairs, with no allergies to check. */
+    private SafetyAssessment assessmentFromMemo(List<DrugInteraction> known) {
+        Severity overall = highest(known);
+        String summary = known.isEmpty()
+                ? "No interactions found: every medication pair was screened previously with no interaction reported."
+                : "Previously screened interactions: " + describe(known) + ".";
+        String recommendation = overall.isHigh()
+                ? "Hold and refer to a pharmacist before dispensing."
+                : known.isEmpty()
+                        ? "No interaction-related action needed; apply standard dispensing checks."
+                        : "Review the listed interactions before dispensing.";
+        return new SafetyAssessment(overall, summary, recommendation, overall.isHigh(),
+                known, List.of(), MEMO_SOURCE);
+    }
+
+    /** Folds memo-answered interactions back into the model's answer for the residual pairs. */
+    private SafetyAssessment withKnownInteractions(SafetyAssessment fromModel, List<DrugInteraction> known) {
+        if (known.isEmpty()) {
+            return fromModel;
         }
+        Set<MedicationPair> reported = new HashSet<>();
+        fromModel.interactions().forEach(i -> reported.add(MedicationPair.of(i.drugA(), i.drugB())));
+        List<DrugInteraction> merged = new ArrayList<>(fromModel.interactions());
+        known.stream()
+                .filter(i -> !reported.contains(MedicationPair.of(i.drugA(), i.drugB())))
+                .forEach(merged::add);
+
+        Severity knownHighest = highest(known);
+        Severity overall = knownHighest.compareTo(fromModel.overallRisk()) > 0 ? knownHighest : fromModel.overallRisk();
+        return new SafetyAssessment(
+                overall,
+                fromModel.summary() + " Previously screened interactions: " + describe(known) + ".",
+                fromModel.recommendation(),
+                fromModel.requiresPharmacistReview() || overall.isHigh(),
+                merged,
+                fromModel.allergyConflicts(),
+                fromModel.modelUsed());
     }
 
-    private LabResultExplanation toExplanation(AiLabPayload p) {
+    private static Severity highest(List<DrugInteraction> interactions) {
+        return interactions.stream()
+                .map(DrugInteraction::severity)
+                .max(Comparator.naturalOrder())
+                .orElse(Severity.NONE);
+    }
+
+    private static String describe(List<DrugInteraction> interactions) {
+        return interactions.stream()
+                .map(i -> i.drugA() + " + " + i.drugB() + " (" + i.severity() + ")")
+                .collect(Collectors.joining(", "));
+    }
+
+    LabResultExplanation toExplanation(AiLabPayload p, String model) {
         List<LabResultDetail> details = Optional.ofNullable(p.results()).orElse(List.of())
                 .stream()
                 .map(d -> new LabResultDetail(d.testName(), d.interpretation(),
@@ -545,20 +970,11 @@ public class TensorXClinicalReasoningAdapter implements ClinicalReasoningPort {
                 Optional.ofNullable(p.suggestedFollowUp()).orElse(""),
                 ClinicalUrgency.fromString(p.urgency()),
                 details,
-                props.model()
+                model
         );
     }
 
-    private AiTriagePayload parseTriage(String json) {
-        try {
-            return objectMapper.readValue(json, AiTriagePayload.class);
-        } catch (Exception ex) {
-            log.warn("Could not parse TensorX triage response as JSON: {}", ex.getMessage());
-            throw new ClinicalReasoningException("TensorX returned an unparseable triage assessment", ex);
-        }
-    }
-
-    private TriageAssessment toTriage(AiTriagePayload p) {
+    TriageAssessment toTriage(AiTriagePayload p, String model) {
         TriageUrgency urgency = TriageUrgency.fromString(p.urgency());
         List<String> redFlags = Optional.ofNullable(p.redFlags()).orElse(List.of());
 
@@ -573,20 +989,11 @@ public class TensorXClinicalReasoningAdapter implements ClinicalReasoningPort {
                 redFlags,
                 Optional.ofNullable(p.rationale()).orElse(""),
                 selfCare,
-                props.model()
+                model
         );
     }
 
-    private AiSoapPayload parseSoap(String json) {
-        try {
-            return objectMapper.readValue(json, AiSoapPayload.class);
-        } catch (Exception ex) {
-            log.warn("Could not parse TensorX SOAP response as JSON: {}", ex.getMessage());
-            throw new ClinicalReasoningException("TensorX returned an unparseable SOAP note", ex);
-        }
-    }
-
-    private SoapNote toSoapNote(AiSoapPayload p) {
+    SoapNote toSoapNote(AiSoapPayload p, String model) {
         return new SoapNote(
                 orNotDocumented(p.subjective()),
                 orNotDocumented(p.objective()),
@@ -594,20 +1001,11 @@ public class TensorXClinicalReasoningAdapter implements ClinicalReasoningPort {
                 orNotDocumented(p.plan()),
                 Optional.ofNullable(p.assessmentProblems()).orElse(List.of()),
                 blankToNull(p.followUp()),
-                props.model()
+                model
         );
     }
 
-    private AiIcdPayload parseIcd(String json) {
-        try {
-            return objectMapper.readValue(json, AiIcdPayload.class);
-        } catch (Exception ex) {
-            log.warn("Could not parse TensorX ICD response as JSON: {}", ex.getMessage());
-            throw new ClinicalReasoningException("TensorX returned unparseable ICD-10 suggestions", ex);
-        }
-    }
-
-    private IcdCodeSuggestions toIcdSuggestions(AiIcdPayload p) {
+    IcdCodeSuggestions toIcdSuggestions(AiIcdPayload p, String model) {
         List<IcdCodeSuggestion> suggestions = Optional.ofNullable(p.suggestions()).orElse(List.of())
                 .stream()
                 .map(s -> new IcdCodeSuggestion(
@@ -617,19 +1015,10 @@ public class TensorXClinicalReasoningAdapter implements ClinicalReasoningPort {
                         Optional.ofNullable(s.rationale()).orElse("")))
                 .toList();
 
-        return new IcdCodeSuggestions(suggestions, props.model());
+        return new IcdCodeSuggestions(icdGrounding.validate(suggestions), model);
     }
 
-    private AiHistoryPayload parseHistory(String json) {
-        try {
-            return objectMapper.readValue(json, AiHistoryPayload.class);
-        } catch (Exception ex) {
-            log.warn("Could not parse TensorX history response as JSON: {}", ex.getMessage());
-            throw new ClinicalReasoningException("TensorX returned an unparseable history summary", ex);
-        }
-    }
-
-    private PatientHistorySummary toHistorySummary(AiHistoryPayload p) {
+    PatientHistorySummary toHistorySummary(AiHistoryPayload p, HistoryCoverage coverage, String model) {
         return new PatientHistorySummary(
                 Optional.ofNullable(p.keyConditions()).orElse(List.of()),
                 Optional.ofNullable(p.activeMedications()).orElse(List.of()),
@@ -638,7 +1027,8 @@ public class TensorXClinicalReasoningAdapter implements ClinicalReasoningPort {
                 Optional.ofNullable(p.redFlags()).orElse(List.of()),
                 Optional.ofNullable(p.narrativeSummary()).orElse(""),
                 Optional.ofNullable(p.suggestedFollowUps()).orElse(List.of()),
-                props.model()
+                model,
+                coverage
         );
     }
 
@@ -729,6 +1119,10 @@ public class TensorXClinicalReasoningAdapter implements ClinicalReasoningPort {
     record AiIcdSuggestion(String code, String description, String confidence, String rationale) {
     }
 
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record AiVisitPreSummary(String summary) {
+    }
+
     @JsonIgnoreProperties(ignoreUnknown = true)
     record AiHistoryPayload(
             List<String> keyConditions,
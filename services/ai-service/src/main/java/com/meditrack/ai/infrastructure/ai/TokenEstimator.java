@@ -0,0 +1,23 @@
+package com.meditrack.ai.infrastructure.ai;
+
+/**
+ * Cheap prompt-size estimate, good enough to budget against without shipping a
+ * model-specific tokenizer: a fixed number of characters per token. Clinical
+ * text (abbreviations, numbers, units) tokenises worse than prose, so the
+ * configured ratio errs low, i.e. the estimate errs high.
+ */
+final class TokenEstimator {
+
+    private final double charsPerToken;
+
+    TokenEstimator(double charsPerToken) {
+        if (charsPerToken <= 0) {
+            throw new IllegalArgumentException("charsPerToken must be positive");
+        }
+        this.charsPerToken = charsPerToken;
+    }
+
+    int estimate(CharSequence text) {
+        return text == null || text.isEmpty() ? 0 : (int) Math.ceil(text.length() / charsPerToken);
+    }
+}
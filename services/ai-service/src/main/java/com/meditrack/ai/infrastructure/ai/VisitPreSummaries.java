@@ -0,0 +1,133 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.meditrack.ai.application.support.CommandFingerprinter;
+import com.meditrack.ai.domain.model.VisitNote;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Rolling, per-patient condensed summary of a patient's older visit notes, so
+ * a long-stay patient's history does not have to be re-read by the model (or
+ * squeezed into the prompt) on every brief.
+ *
+ * <p>Each pre-summary remembers which visits it covers. When the next request
+ * for the same patient brings the same older visits plus a few that have since
+ * aged out of the verbatim window, only the new ones are folded into the
+ * existing summary; if a covered visit has disappeared or changed, the summary
+ * is rebuilt. Requests without a patient id are keyed by their older visits
+ * alone, so only an identical set is reused.
+ *
+ * <p>Held in memory only, for a bounded TTL. Counted as
+ * {@code ai.history.presummary{result=reused|rolled|rebuilt}}.
+ */
+@Component
+public class VisitPreSummaries {
+
+    /** Condenses {@code visits} (chronological) into one summary, extending {@code previous} when non-null. */
+    @FunctionalInterface
+    interface Folder {
+        String fold(String previous, List<VisitNote> visits);
+    }
+
+    private final Cache<String, PreSummary> summaries;
+    private final CommandFingerprinter fingerprinter;
+    private final TokenEstimator estimator;
+    private final int chunkTokens;
+    private final Counter reused;
+    private final Counter rolled;
+    private final Counter rebuilt;
+
+    public VisitPreSummaries(HistoryPromptProperties props, CommandFingerprinter fingerprinter,
+                             MeterRegistry meterRegistry) {
+        this.summaries = Caffeine.newBuilder()
+                .maximumSize(props.preSummary().maxPatients())
+                .expireAfterWrite(props.preSummary().ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, summaries, "history-presummary");
+        this.fingerprinter = fingerprinter;
+        this.estimator = new TokenEstimator(props.charsPerToken());
+        this.chunkTokens = props.preSummary().chunkTokens();
+        this.reused = counter(meterRegistry, "reused");
+        this.rolled = counter(meterRegistry, "rolled");
+        this.rebuilt = counter(meterRegistry, "rebuilt");
+    }
+
+    /**
+     * @param olderVisits the visits to cover, oldest first
+     * @return a condensed summary covering exactly {@code olderVisits}
+     */
+    String summarize(UUID patientId, List<VisitNote> olderVisits, Folder folder) {
+        List<String> visitKeys = olderVisits.stream().map(v -> fingerprinter.fingerprint("visit", v)).toList();
+        String patientKey = patientId != null
+                ? "patient:" + patientId
+                : "visits:" + fingerprinter.fingerprint("visits", visitKeys);
+
+        PreSummary existing = summaries.getIfPresent(patientKey);
+        String summary = null;
+        List<VisitNote> toFold = olderVisits;
+        if (existing != null && new HashSet<>(visitKeys).containsAll(existing.covered())) {
+            summary = existing.text();
+            toFold = new ArrayList<>();
+            for (int i = 0; i < olderVisits.size(); i++) {
+                if (!existing.covered().contains(visitKeys.get(i))) {
+                    toFold.add(olderVisits.get(i));
+                }
+            }
+            if (toFold.isEmpty()) {
+                reused.increment();
+                return summary;
+            }
+            rolled.increment();
+        } else {
+            rebuilt.increment();
+        }
+
+        for (List<VisitNote> chunk : chunks(toFold)) {
+            summary = folder.fold(summary, chunk);
+        }
+        summaries.put(patientKey, new PreSummary(Set.copyOf(visitKeys), summary));
+        return summary;
+    }
+
+    /** Splits visits into runs of at most {@code chunkTokens}; a single oversized visit is its own run. */
+    private List<List<VisitNote>> chunks(List<VisitNote> visits) {
+        List<List<VisitNote>> chunks = new ArrayList<>();
+        List<VisitNote> current = new ArrayList<>();
+        int tokens = 0;
+        for (VisitNote visit : visits) {
+            int size = estimator.estimate(visit.note()) + estimator.estimate(visit.date());
+            if (!current.isEmpty() && tokens + size > chunkTokens) {
+                chunks.add(current);
+                current = new ArrayList<>();
+                tokens = 0;
+            }
+            current.add(visit);
+            tokens += size;
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("ai.history.presummary")
+                .description("Older-visit pre-summaries, by whether they were reused, extended or rebuilt")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private record PreSummary(Set<String> covered, String text) {
+    }
+}
@@ -0,0 +1,114 @@
+package com.meditrack.ai.infrastructure.cache;
+
+import com.meditrack.ai.application.support.CommandFingerprinter;
+import com.meditrack.ai.domain.model.HistorySummaryCommand;
+import com.meditrack.ai.domain.model.IcdCodeSuggestionCommand;
+import com.meditrack.ai.domain.model.IcdCodeSuggestions;
+import com.meditrack.ai.domain.model.LabResultExplanation;
+import com.meditrack.ai.domain.model.LabResultExplanationCommand;
+import com.meditrack.ai.domain.model.PatientHistorySummary;
+import com.meditrack.ai.domain.model.SafetyAssessment;
+import com.meditrack.ai.domain.model.SafetyCheckCommand;
+import com.meditrack.ai.domain.model.SoapNote;
+import com.meditrack.ai.domain.model.SoapNoteCommand;
+import com.meditrack.ai.domain.model.TriageAssessment;
+import com.meditrack.ai.domain.model.TriageCommand;
+import com.meditrack.ai.domain.port.ClinicalReasoningPort;
+import com.meditrack.ai.domain.port.ReasoningStreamListener;
+import com.meditrack.ai.domain.port.ReasoningUseCase;
+import com.meditrack.ai.infrastructure.ai.ModelRouter;
+import com.meditrack.ai.infrastructure.ai.TensorXProperties;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Caching decorator for {@link ClinicalReasoningPort}. Ward systems resubmit
+ * byte-identical requests constantly; each one costs a multi-second model round
+ * trip, so identical commands are answered from the {@link InferenceCache}.
+ *
+ * <p>The key is the use case, its {@link ModelRouter#signature route} and the
+ * temperature plus the canonical fingerprint of the command, so a model, route
+ * or temperature change never serves a stale answer. An answer from a route's
+ * fallback model is returned but not stored; the next identical request tries
+ * the primary again. Keys are digests only — no PHI appears in them.
+ */
+public class CachingClinicalReasoningPort implements ClinicalReasoningPort {
+
+    private final ClinicalReasoningPort delegate;
+    private final InferenceCache cache;
+    private final CommandFingerprinter fingerprinter;
+    private final TensorXProperties tensorx;
+    private final ModelRouter modelRouter;
+
+    public CachingClinicalReasoningPort(ClinicalReasoningPort delegate, InferenceCache cache,
+                                        CommandFingerprinter fingerprinter, TensorXProperties tensorx,
+                                        ModelRouter modelRouter) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.fingerprinter = fingerprinter;
+        this.tensorx = tensorx;
+        this.modelRouter = modelRouter;
+    }
+
+    @Override
+    public SafetyAssessment assess(SafetyCheckCommand command) {
+        // Correlation ids never reach the model, so they must not split the cache.
+        return cached(ReasoningUseCase.ASSESS, command.clinicalContent(), SafetyAssessment.class,
+                SafetyAssessment::modelUsed, () -> delegate.assess(command));
+    }
+
+    @Override
+    public LabResultExplanation explainLabResult(LabResultExplanationCommand command) {
+        return cached(ReasoningUseCase.LAB, command, LabResultExplanation.class,
+                LabResultExplanation::modelUsed, () -> delegate.explainLabResult(command));
+    }
+
+    @Override
+    public TriageAssessment triage(TriageCommand command) {
+        return cached(ReasoningUseCase.TRIAGE, command, TriageAssessment.class,
+                TriageAssessment::modelUsed, () -> delegate.triage(command));
+    }
+
+    @Override
+    public SoapNote generateSoapNote(SoapNoteCommand command) {
+        return cached(ReasoningUseCase.SOAP, command, SoapNote.class,
+                SoapNote::modelUsed, () -> delegate.generateSoapNote(command));
+    }
+
+    /** A hit returns the finished note at once; only a miss streams from the model. */
+    @Override
+    public SoapNote generateSoapNote(SoapNoteCommand command, ReasoningStreamListener listener) {
+        return cached(ReasoningUseCase.SOAP, command, SoapNote.class,
+                SoapNote::modelUsed, () -> delegate.generateSoapNote(command, listener));
+    }
+
+    @Override
+    public IcdCodeSuggestions suggestIcdCodes(IcdCodeSuggestionCommand command) {
+        return cached(ReasoningUseCase.ICD, command, IcdCodeSuggestions.class,
+                IcdCodeSuggestions::modelUsed, () -> delegate.suggestIcdCodes(command));
+    }
+
+    @Override
+    public PatientHistorySummary summarizeHistory(HistorySummaryCommand command) {
+        return cached(ReasoningUseCase.HISTORY, command, PatientHistorySummary.class,
+                PatientHistorySummary::modelUsed, () -> delegate.summarizeHistory(command));
+    }
+
+    @Override
+    public PatientHistorySummary summarizeHistory(HistorySummaryCommand command, ReasoningStreamListener listener) {
+        return cached(ReasoningUseCase.HISTORY, command, PatientHistorySummary.class,
+                PatientHistorySummary::modelUsed, () -> delegate.summarizeHistory(command, listener));
+    }
+
+    private <T> T cached(ReasoningUseCase useCase, Object command, Class<T> type,
+                         Function<T, String> modelUsed, Supplier<T> loader) {
+        return cache.get(useCase, key(useCase, command), type, loader,
+                result -> !modelRouter.isFallback(useCase, modelUsed.apply(result)));
+    }
+
+    private String key(ReasoningUseCase useCase, Object command) {
+        String namespace = useCase.tag() + '|' + modelRouter.signature(useCase) + '|' + tensorx.temperature();
+        return fingerprinter.fingerprint(namespace, command);
+    }
+}
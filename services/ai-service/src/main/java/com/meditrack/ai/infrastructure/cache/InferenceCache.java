@@ -0,0 +1,94 @@
+package com.meditrack.ai.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.meditrack.ai.domain.port.ReasoningUseCase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier store for model results keyed by command fingerprint: a bounded
+ * in-memory Caffeine cache per use case, optionally backed by Redis so replicas
+ * share results. Only successful results are stored — a failed call is never
+ * cached, so the next request retries the model.
+ *
+ * <p>Hit/miss/eviction counts of the in-memory tier are exported as
+ * {@code cache.gets} / {@code cache.evictions} tagged {@code cache=inference.<use case>};
+ * the Redis tier reports {@code ai.inference.cache.redis}.
+ */
+@Slf4j
+public class InferenceCache implements MeterBinder {
+
+    private final InferenceCacheProperties props;
+    private final Map<ReasoningUseCase, Cache<String, Object>> local = new EnumMap<>(ReasoningUseCase.class);
+    private final RedisInferenceCacheTier redis;
+
+    public InferenceCache(InferenceCacheProperties props, Optional<RedisInferenceCacheTier> redis) {
+        this.props = props;
+        this.redis = redis.orElse(null);
+        for (ReasoningUseCase useCase : ReasoningUseCase.values()) {
+            Duration ttl = props.ttlFor(useCase);
+            if (props.enabled() && !ttl.isZero()) {
+                local.put(useCase, Caffeine.newBuilder()
+                        .maximumSize(props.maxEntriesPerUseCase())
+                        .expireAfterWrite(ttl)
+                        .recordStats()
+                        .build());
+            }
+        }
+    }
+
+    /**
+     * Returns the cached result for {@code key}, or invokes {@code loader} and
+     * stores what it returns. Caching is skipped when disabled for the use case.
+     */
+    public <T> T get(ReasoningUseCase useCase, String key, Class<T> type, Supplier<T> loader) {
+        return get(useCase, key, type, loader, value -> true);
+    }
+
+    /** As above, but a loaded result is only stored when {@code cacheable} accepts it. */
+    public <T> T get(ReasoningUseCase useCase, String key, Class<T> type, Supplier<T> loader,
+                     Predicate<? super T> cacheable) {
+        Cache<String, Object> cache = local.get(useCase);
+        if (cache == null) {
+            return loader.get();
+        }
+
+        Object hit = cache.getIfPresent(key);
+        if (hit != null) {
+            return type.cast(hit);
+        }
+
+        if (redis != null) {
+            T shared = redis.get(useCase, key, type);
+            if (shared != null) {
+                cache.put(key, shared);
+                return shared;
+            }
+        }
+
+        T value = loader.get();
+        if (value != null && cacheable.test(value)) {
+            cache.put(key, value);
+            if (redis != null) {
+                redis.put(useCase, key, value, props.ttlFor(useCase));
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        local.forEach((useCase, cache) ->
+                CaffeineCacheMetrics.monitor(registry, cache, "inference." + useCase.tag()));
+    }
+}
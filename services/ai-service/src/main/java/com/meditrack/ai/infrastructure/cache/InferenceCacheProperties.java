@@ -0,0 +1,57 @@
+package com.meditrack.ai.infrastructure.cache;
+
+import com.meditrack.ai.domain.port.ReasoningUseCase;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Settings for the content-addressed inference cache.
+ *
+ * @param enabled              master switch; when false every call goes to the model
+ * @param maxEntriesPerUseCase bound on the in-memory tier per use case (least-recently used evicted first)
+ * @param ttl                  time-to-live per use case; a zero TTL disables caching for that use case.
+ *                             Use cases not listed fall back to the defaults below
+ * @param redis                optional shared second tier
+ */
+@ConfigurationProperties(prefix = "meditrack.inference-cache")
+public record InferenceCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1000") int maxEntriesPerUseCase,
+        Map<ReasoningUseCase, Duration> ttl,
+        @DefaultValue Redis redis
+) {
+
+    private static final Map<ReasoningUseCase, Duration> DEFAULT_TTL = Map.of(
+            ReasoningUseCase.ASSESS, Duration.ofHours(12),
+            ReasoningUseCase.LAB, Duration.ofHours(6),
+            ReasoningUseCase.TRIAGE, Duration.ofMinutes(15),
+            ReasoningUseCase.SOAP, Duration.ofHours(1),
+            ReasoningUseCase.ICD, Duration.ofHours(24),
+            ReasoningUseCase.HISTORY, Duration.ofMinutes(30));
+
+    public InferenceCacheProperties {
+        Map<ReasoningUseCase, Duration> merged = new EnumMap<>(DEFAULT_TTL);
+        if (ttl != null) {
+            merged.putAll(ttl);
+        }
+        ttl = Map.copyOf(merged);
+    }
+
+    public Duration ttlFor(ReasoningUseCase useCase) {
+        return ttl.get(useCase);
+    }
+
+    /**
+     * @param enabled   turn on the Redis tier (requires {@code spring.data.redis.*})
+     * @param keyPrefix namespace for keys; the rest of the key is a SHA-256 digest
+     */
+    public record Redis(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("meditrack:ai:inference:") String keyPrefix
+    ) {
+    }
+}
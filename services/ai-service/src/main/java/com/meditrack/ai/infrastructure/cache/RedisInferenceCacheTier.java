@@ -0,0 +1,68 @@
+package com.meditrack.ai.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.domain.port.ReasoningUseCase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+/**
+ * Shared second tier of the {@link InferenceCache}. Keys are the configured
+ * prefix plus the use case and a SHA-256 fingerprint — never patient data.
+ *
+ * <p>Best-effort, like event publication: a Redis outage is logged and treated
+ * as a miss, so it can slow a request down but never fail it.
+ */
+@Slf4j
+public class RedisInferenceCacheTier {
+
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final String keyPrefix;
+
+    public RedisInferenceCacheTier(StringRedisTemplate redis, ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry, String keyPrefix) {
+        this.redis = redis;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.keyPrefix = keyPrefix;
+    }
+
+    <T> T get(ReasoningUseCase useCase, String key, Class<T> type) {
+        try {
+            String json = redis.opsForValue().get(redisKey(useCase, key));
+            count(useCase, json != null ? "hit" : "miss");
+            return json != null ? objectMapper.readValue(json, type) : null;
+        } catch (Exception ex) {
+            count(useCase, "error");
+            log.warn("Inference cache read from Redis failed (treating as miss): {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    void put(ReasoningUseCase useCase, String key, Object value, Duration ttl) {
+        try {
+            redis.opsForValue().set(redisKey(useCase, key), objectMapper.writeValueAsString(value), ttl);
+        } catch (Exception ex) {
+            count(useCase, "error");
+            log.warn("Inference cache write to Redis failed (continuing without it): {}", ex.getMessage());
+        }
+    }
+
+    private String redisKey(ReasoningUseCase useCase, String key) {
+        return keyPrefix + useCase.tag() + ':' + key;
+    }
+
+    private void count(ReasoningUseCase useCase, String result) {
+        Counter.builder("ai.inference.cache.redis")
+                .description("Redis inference-cache lookups by outcome")
+                .tag("use_case", useCase.tag())
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,29 @@
+package com.meditrack.ai.infrastructure.config;
+
+import com.meditrack.ai.infrastructure.ai.BackgroundInferenceProperties;
+import com.meditrack.ai.infrastructure.ai.DrugInteractionMemoProperties;
+import com.meditrack.ai.infrastructure.ai.HedgingProperties;
+import com.meditrack.ai.infrastructure.ai.HistoryPromptProperties;
+import com.meditrack.ai.infrastructure.ai.InferenceLimiterProperties;
+import com.meditrack.ai.infrastructure.ai.ModelRoutingProperties;
+import com.meditrack.ai.infrastructure.ai.ShadowProperties;
+import com.meditrack.ai.infrastructure.icd.IcdIndexProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the settings of the components around the model call: how TensorX
+ * is called (limit, hedging, routing, shadowing, prompt budget, background
+ * work), and the features that answer or prepare requests without it (drug-pair
+ * memo, batch screens, red-flag triage, lab pre-pass, ICD index and coding,
+ * prepared briefs and lab explanations). Each component reads its own record.
+ */
+@Configuration
+@EnableConfigurationProperties({
+        InferenceLimiterProperties.class, HedgingProperties.class, ModelRoutingProperties.class,
+        ShadowProperties.class, HistoryPromptProperties.class, BackgroundInferenceProperties.class,
+        DrugInteractionMemoProperties.class, SafetyBatchProperties.class, RedFlagScreenProperties.class,
+        LabPrepassProperties.class, IcdIndexProperties.class, IcdCodingProperties.class,
+        PreparedBriefProperties.class, PreparedLabExplanationProperties.class})
+public class ClinicalFeaturePropertiesConfig {
+}
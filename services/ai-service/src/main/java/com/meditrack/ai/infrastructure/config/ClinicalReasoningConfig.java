@@ -0,0 +1,77 @@
+package com.meditrack.ai.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.application.support.CommandFingerprinter;
+import com.meditrack.ai.domain.port.ClinicalReasoningPort;
+import com.meditrack.ai.infrastructure.ai.ModelRouter;
+import com.meditrack.ai.infrastructure.ai.TensorXClinicalReasoningAdapter;
+import com.meditrack.ai.infrastructure.ai.TensorXProperties;
+import com.meditrack.ai.infrastructure.cache.CachingClinicalReasoningPort;
+import com.meditrack.ai.infrastructure.cache.InferenceCache;
+import com.meditrack.ai.infrastructure.cache.InferenceCacheProperties;
+import com.meditrack.ai.infrastructure.cache.RedisInferenceCacheTier;
+import com.meditrack.ai.infrastructure.rules.ClinicalRulesProperties;
+import com.meditrack.ai.infrastructure.rules.RulesFirstClinicalReasoningPort;
+import com.meditrack.ai.infrastructure.rules.SafetyRuleTable;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Optional;
+
+/**
+ * Assembles the {@link ClinicalReasoningPort} the application layer sees: the
+ * TensorX adapter wrapped in its cross-cutting decorators, behind the
+ * deterministic rule check when that is enabled. The adapter itself stays a
+ * plain {@code @Component}; the {@code @Primary} bean here is what the
+ * application services receive.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties({InferenceCacheProperties.class, ClinicalRulesProperties.class})
+public class ClinicalReasoningConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "meditrack.inference-cache.redis", name = "enabled", havingValue = "true")
+    public RedisInferenceCacheTier redisInferenceCacheTier(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                                                           MeterRegistry meterRegistry, InferenceCacheProperties props) {
+        return new RedisInferenceCacheTier(redisTemplate, objectMapper, meterRegistry, props.redis().keyPrefix());
+    }
+
+    @Bean
+    public InferenceCache inferenceCache(InferenceCacheProperties props, Optional<RedisInferenceCacheTier> redisTier) {
+        return new InferenceCache(props, redisTier);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "meditrack.clinical-rules", name = "enabled", havingValue = "true",
+            matchIfMissing = true)
+    public SafetyRuleTable safetyRuleTable(ClinicalRulesProperties props, ObjectMapper objectMapper) {
+        SafetyRuleTable table = SafetyRuleTable.load(props.table(), objectMapper);
+        log.info("Loaded clinical rule table {} from {}", table.version(), props.table().getDescription());
+        return table;
+    }
+
+    @Bean
+    @Primary
+    public ClinicalReasoningPort clinicalReasoningPort(TensorXClinicalReasoningAdapter tensorx,
+                                                       InferenceCache inferenceCache,
+                                                       CommandFingerprinter fingerprinter,
+                                                       TensorXProperties tensorxProperties,
+                                                       ModelRouter modelRouter,
+                                                       Optional<SafetyRuleTable> ruleTable,
+                                                       ClinicalRulesProperties rulesProperties,
+                                                       MeterRegistry meterRegistry) {
+        // Rules sit outside the cache: a rule-settled screen never needs caching.
+        ClinicalReasoningPort cached = new CachingClinicalReasoningPort(
+                tensorx, inferenceCache, fingerprinter, tensorxProperties, modelRouter);
+        return ruleTable.<ClinicalReasoningPort>map(table -> new RulesFirstClinicalReasoningPort(
+                        cached, table, rulesProperties.decisiveSeverity(), meterRegistry))
+                .orElse(cached);
+    }
+}
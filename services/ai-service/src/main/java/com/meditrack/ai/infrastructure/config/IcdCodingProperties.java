@@ -0,0 +1,41 @@
+package com.meditrack.ai.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Background ICD-10 coding of completed visits.
+ *
+ * @param enabled        consume completed-appointment and issued-prescription events; off by default because
+ *                       every coded visit is a paid inference
+ * @param completedTopic the appointment-completed topic
+ * @param issuedTopic    the prescription-issued topic
+ * @param batchSize      most events taken from the backlog per batch
+ * @param maxWait        how long a batch waits to fill once its first event arrives; events for the same
+ *                       appointment that land within it are coded together
+ * @param maxConcurrency visits of one batch coded in parallel; keep it below the safety batch's so bulk coding
+ *                       cannot crowd out interactive calls
+ * @param maxBacklog     events held in memory before the consumers block (and Kafka holds the rest)
+ * @param retryBackoff   pause before the next batch after TensorX shed part of this one
+ */
+@ConfigurationProperties(prefix = "meditrack.icd-coding")
+public record IcdCodingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("appointment.completed.v1") String completedTopic,
+        @DefaultValue("prescription.issued.v1") String issuedTopic,
+        @DefaultValue("20") int batchSize,
+        @DefaultValue("5s") Duration maxWait,
+        @DefaultValue("2") int maxConcurrency,
+        @DefaultValue("10000") int maxBacklog,
+        @DefaultValue("30s") Duration retryBackoff
+) {
+
+    public IcdCodingProperties {
+        if (batchSize < 1 || maxConcurrency < 1 || maxBacklog < 1) {
+            throw new IllegalArgumentException(
+                    "meditrack.icd-coding batch-size, max-concurrency and max-backlog must be at least 1");
+        }
+    }
+}
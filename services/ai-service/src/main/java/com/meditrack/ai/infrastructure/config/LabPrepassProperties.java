@@ -0,0 +1,21 @@
+package com.meditrack.ai.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Deterministic reference-range pre-pass in front of lab-result explanation.
+ *
+ * @param enabled      when false every panel goes to the model, as before the pre-pass existed
+ * @param maxFragments bound on remembered per-test explanation fragments (least-recently used evicted first)
+ * @param fragmentTtl  how long a model-written fragment is reused before it must be relearned
+ */
+@ConfigurationProperties(prefix = "meditrack.lab-prepass")
+public record LabPrepassProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20000") int maxFragments,
+        @DefaultValue("7d") Duration fragmentTtl
+) {
+}
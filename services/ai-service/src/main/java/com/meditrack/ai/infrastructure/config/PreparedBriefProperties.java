@@ -0,0 +1,35 @@
+package com.meditrack.ai.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.time.ZoneId;
+
+/**
+ * History briefs prepared ahead of booked appointments.
+ *
+ * @param enabled      consume {@code appointment.booked.v1}; off by default because every brief is a paid inference
+ * @param topic        the appointment-booked topic
+ * @param leadTime     preparation starts this long before the appointment
+ * @param retryEvery   while TensorX is busy, preparation is retried this often until the appointment starts
+ * @param retention    a prepared brief is kept until this long after the appointment's start
+ * @param maxBriefs    bound on prepared briefs held in memory (least-recently used evicted first)
+ * @param zone         zone of the appointment's local {@code scheduledAt}; defaults to the JVM zone,
+ *                     as appointment-service writes it
+ */
+@ConfigurationProperties(prefix = "meditrack.prepared-briefs")
+public record PreparedBriefProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("appointment.booked.v1") String topic,
+        @DefaultValue("30m") Duration leadTime,
+        @DefaultValue("1m") Duration retryEvery,
+        @DefaultValue("2h") Duration retention,
+        @DefaultValue("5000") int maxBriefs,
+        ZoneId zone
+) {
+
+    public PreparedBriefProperties {
+        zone = zone == null ? ZoneId.systemDefault() : zone;
+    }
+}
@@ -0,0 +1,39 @@
+package com.meditrack.ai.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Lab explanations prepared as soon as results are published.
+ *
+ * @param enabled         consume {@code lab-events}; off by default because every explanation may be a paid inference
+ * @param topic           the lab-results topic
+ * @param maxConcurrency  explanations prepared in parallel
+ * @param maxBacklog      routine panels waiting beyond this are dropped (explained on demand instead); critical
+ *                        panels are always queued
+ * @param retryEvery      while TensorX is busy, a routine panel is retried this often
+ * @param maxDelay        a routine panel not prepared within this long of arriving is given up
+ * @param retention       how long a prepared explanation is kept for its order
+ * @param maxExplanations bound on prepared explanations held in memory (least-recently used evicted first)
+ */
+@ConfigurationProperties(prefix = "meditrack.prepared-lab-explanations")
+public record PreparedLabExplanationProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("lab-events") String topic,
+        @DefaultValue("2") int maxConcurrency,
+        @DefaultValue("1000") int maxBacklog,
+        @DefaultValue("1m") Duration retryEvery,
+        @DefaultValue("1h") Duration maxDelay,
+        @DefaultValue("24h") Duration retention,
+        @DefaultValue("10000") int maxExplanations
+) {
+
+    public PreparedLabExplanationProperties {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException(
+                    "meditrack.prepared-lab-explanations.max-concurrency must be at least 1");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.meditrack.ai.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Red-flag pre-screen in front of symptom triage.
+ *
+ * @param enabled when false every triage request goes to the model, as before the screen existed
+ */
+@ConfigurationProperties(prefix = "meditrack.red-flag-screen")
+public record RedFlagScreenProperties(
+        @DefaultValue("true") boolean enabled
+) {
+}
@@ -0,0 +1,23 @@
+package com.meditrack.ai.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Batch prescription-safety screening.
+ *
+ * @param maxConcurrency items screened in parallel per batch request; keep it at or
+ *                       below {@code meditrack.http-client.max-per-route} so a batch
+ *                       cannot starve interactive screens of TensorX connections
+ */
+@ConfigurationProperties(prefix = "meditrack.safety-batch")
+public record SafetyBatchProperties(
+        @DefaultValue("8") int maxConcurrency
+) {
+
+    public SafetyBatchProperties {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("meditrack.safety-batch.max-concurrency must be at least 1");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.meditrack.ai.infrastructure.http;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Connection-pool settings for the shared outbound HTTP transport.
+ *
+ * @param maxTotal              connections across all destinations
+ * @param maxPerRoute           default connections per destination (scheme + host + port)
+ * @param maxPerDestination     per-destination overrides keyed by base URL,
+ *                              e.g. {@code "[https://api.tensorx.ai]": 64}
+ * @param connectTimeoutSeconds TCP/TLS connect timeout
+ * @param idleEvictSeconds      pooled connections idle longer than this are closed
+ * @param connectionTtlSeconds  hard upper bound on a connection's lifetime, so DNS changes are picked up
+ * @param http2                 use the JDK client with HTTP/2 multiplexing instead of the HTTP/1.1 pool
+ */
+@ConfigurationProperties(prefix = "meditrack.http-client")
+public record HttpClientPoolProperties(
+        @DefaultValue("50") int maxTotal,
+        @DefaultValue("20") int maxPerRoute,
+        Map<String, Integer> maxPerDestination,
+        @DefaultValue("10") int connectTimeoutSeconds,
+        @DefaultValue("30") int idleEvictSeconds,
+        @DefaultValue("300") int connectionTtlSeconds,
+        @DefaultValue("false") boolean http2
+) {
+
+    public HttpClientPoolProperties {
+        maxPerDestination = maxPerDestination == null ? Map.of() : Map.copyOf(maxPerDestination);
+    }
+}
@@ -0,0 +1,105 @@
+package com.meditrack.ai.infrastructure.icd;
+
+import com.meditrack.ai.domain.model.IcdCodeSuggestion;
+import com.meditrack.ai.domain.model.IcdCodeSuggestionCommand;
+import com.meditrack.ai.domain.model.IcdConfidence;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Grounds ICD-10 suggestions in the local {@link IcdCodeIndex}: before the call
+ * it shortlists candidate codes for the note so the model chooses from real
+ * codes instead of recalling them, and after the call it checks every code the
+ * model returned.
+ *
+ * <p>Validation normalises the code ("e119" becomes "E11.9"), replaces the
+ * model's description with the official one, and drops duplicates and anything
+ * not shaped like an ICD-10 code. A well-formed code the index does not know is
+ * down-ranked or dropped, per {@code meditrack.icd-index.unknown-codes}.
+ *
+ * <p>Counted as {@code ai.icd.suggestions{result=indexed|normalised|unknown|malformed}}.
+ */
+@Slf4j
+@Component
+public class IcdCodeGrounding {
+
+    static final String UNKNOWN_CODE_NOTE = "[not in the local ICD-10 index — verify before use] ";
+
+    private final IcdIndexProperties props;
+    private final IcdCodeIndex index;
+    private final Counter indexed;
+    private final Counter normalised;
+    private final Counter unknown;
+    private final Counter malformed;
+
+    public IcdCodeGrounding(IcdIndexProperties props, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.indexed = counter(meterRegistry, "indexed");
+        this.normalised = counter(meterRegistry, "normalised");
+        this.unknown = counter(meterRegistry, "unknown");
+        this.malformed = counter(meterRegistry, "malformed");
+        this.index = props.enabled() ? IcdCodeIndex.load(props.file()) : null;
+        if (index != null) {
+            log.info("Loaded {} ICD-10 codes from {}", index.size(), index.source());
+        }
+    }
+
+    /** Candidate codes for the note and any existing diagnosis, best first; empty when the index is disabled. */
+    public List<IcdCodeIndex.IcdCode> shortlist(IcdCodeSuggestionCommand command) {
+        if (index == null) {
+            return List.of();
+        }
+        String text = Optional.ofNullable(command.clinicalNotes()).orElse("") + '\n'
+                + Optional.ofNullable(command.existingDiagnosis()).orElse("");
+        return index.shortlist(text, props.shortlistSize());
+    }
+
+    /** The model's suggestions checked against the index, order otherwise preserved. */
+    public List<IcdCodeSuggestion> validate(List<IcdCodeSuggestion> suggestions) {
+        if (index == null) {
+            return suggestions;
+        }
+        List<IcdCodeSuggestion> known = new ArrayList<>();
+        List<IcdCodeSuggestion> notIndexed = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (IcdCodeSuggestion suggestion : suggestions) {
+            String code = IcdCodeIndex.normaliseCode(suggestion.code());
+            if (code == null) {
+                malformed.increment();
+                continue;
+            }
+            if (!seen.add(code)) {
+                continue;
+            }
+            Optional<IcdCodeIndex.IcdCode> entry = index.lookup(code);
+            if (entry.isPresent()) {
+                (code.equals(suggestion.code()) ? indexed : normalised).increment();
+                known.add(new IcdCodeSuggestion(code, entry.get().description(),
+                        suggestion.confidence(), suggestion.rationale()));
+            } else {
+                unknown.increment();
+                if (props.unknownCodes() == IcdIndexProperties.UnknownCodePolicy.DOWNRANK) {
+                    notIndexed.add(new IcdCodeSuggestion(code, suggestion.description(), IcdConfidence.LOW,
+                            UNKNOWN_CODE_NOTE + suggestion.rationale()));
+                }
+            }
+        }
+        known.addAll(notIndexed);
+        return known;
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("ai.icd.suggestions")
+                .description("Model-suggested ICD-10 codes by how they matched the local index")
+                .tag("result", result)
+                .register(registry);
+    }
+}
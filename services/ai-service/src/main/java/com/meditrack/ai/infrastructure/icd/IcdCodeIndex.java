@@ -0,0 +1,284 @@
+package com.meditrack.ai.infrastructure.icd;
+
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable in-memory ICD-10 index: a prefix trie over codes for validation and
+ * category expansion, and an inverted index over description words for
+ * shortlisting codes that a free-text note plausibly supports.
+ *
+ * <p>Loaded from a CMS-layout code file (code without its dot, whitespace,
+ * description). Lines may add {@code " | "} and comma-separated search
+ * synonyms — clinicians write "T2DM" and "UTI", not the official wording.
+ */
+public final class IcdCodeIndex {
+
+    /** Three-character category (letter, digit, alphanumeric), then up to four more; the dot is optional. */
+    private static final Pattern CODE = Pattern.compile("([A-Z][0-9][0-9A-Z])\\.?([0-9A-Z]{0,4})");
+    private static final Pattern CODE_IN_TEXT = Pattern.compile("\\b[A-Z][0-9][0-9A-Z]\\.[0-9A-Z]{1,4}\\b");
+    private static final Pattern NON_WORD = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern LINE = Pattern.compile("^(\\S+)\\s+(.+)$");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "the", "of", "or", "in", "on", "to", "for", "by", "at", "as", "is", "was", "with",
+            "without", "unspecified", "other", "not", "elsewhere", "classified", "site", "due", "type",
+            "patient", "pt", "history", "hx", "c", "o", "no", "has", "had");
+    private static final int ALPHABET = 36;
+
+    private final String source;
+    private final String[] codes;
+    private final String[] descriptions;
+    private final int[] termCounts;
+    private final Node root;
+    private final Map<String, int[]> postings;
+    private final Map<String, Double> idf;
+
+    private IcdCodeIndex(String source, List<String> codes, List<String> descriptions, List<Set<String>> terms) {
+        this.source = source;
+        this.codes = codes.toArray(String[]::new);
+        this.descriptions = descriptions.toArray(String[]::new);
+        this.termCounts = terms.stream().mapToInt(Set::size).toArray();
+        this.root = new Node();
+        for (int id = 0; id < this.codes.length; id++) {
+            insert(this.codes[id], id);
+        }
+
+        Map<String, List<Integer>> byTerm = new HashMap<>();
+        for (int id = 0; id < terms.size(); id++) {
+            for (String term : terms.get(id)) {
+                byTerm.computeIfAbsent(term, t -> new ArrayList<>()).add(id);
+            }
+        }
+        Map<String, int[]> postings = new HashMap<>();
+        Map<String, Double> idf = new HashMap<>();
+        byTerm.forEach((term, ids) -> {
+            postings.put(term, ids.stream().mapToInt(Integer::intValue).toArray());
+            idf.put(term, Math.log(1.0 + (double) this.codes.length / ids.size()));
+        });
+        this.postings = Map.copyOf(postings);
+        this.idf = Map.copyOf(idf);
+    }
+
+    public static IcdCodeIndex load(Resource resource) {
+        List<String> codes = new ArrayList<>();
+        List<String> descriptions = new ArrayList<>();
+        List<Set<String>> terms = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher m = LINE.matcher(line.strip());
+                if (line.isBlank() || line.startsWith("#") || !m.matches()) {
+                    continue;
+                }
+                String code = normaliseCode(m.group(1));
+                if (code == null) {
+                    throw new IllegalStateException("Malformed ICD-10 code '" + m.group(1) + "' in " + resource);
+                }
+                if (!seen.add(code)) {
+                    continue;
+                }
+                String[] parts = m.group(2).split(" \\| ", 2);
+                Set<String> codeTerms = new LinkedHashSet<>(tokens(parts[0]));
+                if (parts.length > 1) {
+                    for (String synonym : parts[1].split(",")) {
+                        codeTerms.addAll(tokens(synonym));
+                    }
+                }
+                codes.add(code);
+                descriptions.add(parts[0].strip());
+                terms.add(codeTerms);
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot read ICD-10 code file " + resource, ex);
+        }
+        return new IcdCodeIndex(resource.getDescription(), codes, descriptions, terms);
+    }
+
+    /**
+     * The canonical dotted, upper-case form of {@code raw} ("e119" and "E11.9"
+     * both give "E11.9"), or null when it is not shaped like an ICD-10 code.
+     */
+    public static String normaliseCode(String raw) {
+        if (raw == null) {
+            return null;
+        }
+        String compact = raw.strip().toUpperCase(Locale.ROOT).replace(" ", "");
+        Matcher m = CODE.matcher(compact);
+        if (!m.matches()) {
+            return null;
+        }
+        return m.group(2).isEmpty() ? m.group(1) : m.group(1) + '.' + m.group(2);
+    }
+
+    public int size() {
+        return codes.length;
+    }
+
+    public String source() {
+        return source;
+    }
+
+    /** Exact lookup of a (possibly un-normalised) code. */
+    public Optional<IcdCode> lookup(String rawCode) {
+        String code = normaliseCode(rawCode);
+        if (code == null) {
+            return Optional.empty();
+        }
+        Node node = find(code);
+        return node == null || node.codeId < 0 ? Optional.empty() : Optional.of(entry(node.codeId));
+    }
+
+    /** Indexed codes under {@code prefix} ("E11" gives every E11.x code), in code order, at most {@code limit}. */
+    public List<IcdCode> withPrefix(String prefix, int limit) {
+        Node node = find(prefix == null ? "" : prefix.strip().toUpperCase(Locale.ROOT));
+        List<IcdCode> found = new ArrayList<>();
+        if (node != null) {
+            collect(node, found, limit);
+        }
+        return found;
+    }
+
+    /**
+     * Codes whose description or synonyms share the most informative words with
+     * {@code text}, best first. Codes written out in the text itself rank first.
+     */
+    public List<IcdCode> shortlist(String text, int limit) {
+        if (text == null || text.isBlank() || limit <= 0) {
+            return List.of();
+        }
+        Map<Integer, Double> scores = new HashMap<>();
+        Matcher written = CODE_IN_TEXT.matcher(text.toUpperCase(Locale.ROOT));
+        while (written.find()) {
+            Node node = find(written.group());
+            if (node != null && node.codeId >= 0) {
+                scores.merge(node.codeId, 1000.0, Double::sum);
+            }
+        }
+        for (String term : new LinkedHashSet<>(tokens(text))) {
+            int[] ids = postings.get(term);
+            if (ids == null) {
+                continue;
+            }
+            double weight = idf.get(term);
+            for (int id : ids) {
+                scores.merge(id, weight, Double::sum);
+            }
+        }
+        // Favour codes whose wording is mostly matched over long descriptions that share one word.
+        return scores.entrySet().stream()
+                .sorted((a, b) -> Double.compare(rank(b.getKey(), b.getValue()), rank(a.getKey(), a.getValue())))
+                .limit(limit)
+                .map(e -> entry(e.getKey()))
+                .toList();
+    }
+
+    private double rank(int id, double score) {
+        return score / (1.0 + 0.1 * termCounts[id]);
+    }
+
+    private IcdCode entry(int id) {
+        return new IcdCode(codes[id], descriptions[id]);
+    }
+
+    private void insert(String code, int id) {
+        Node node = root;
+        for (int i = 0; i < code.length(); i++) {
+            int slot = slot(code.charAt(i));
+            if (slot < 0) {
+                continue;
+            }
+            if (node.children == null) {
+                node.children = new Node[ALPHABET];
+            }
+            if (node.children[slot] == null) {
+                node.children[slot] = new Node();
+            }
+            node = node.children[slot];
+        }
+        node.codeId = id;
+    }
+
+    private Node find(String code) {
+        Node node = root;
+        for (int i = 0; i < code.length() && node != null; i++) {
+            int slot = slot(code.charAt(i));
+            if (slot < 0) {
+                continue;
+            }
+            node = node.children == null ? null : node.children[slot];
+        }
+        return node;
+    }
+
+    private void collect(Node node, List<IcdCode> found, int limit) {
+        if (found.size() >= limit) {
+            return;
+        }
+        if (node.codeId >= 0) {
+            found.add(entry(node.codeId));
+        }
+        if (node.children != null) {
+            for (Node child : node.children) {
+                if (child != null) {
+                    collect(child, found, limit);
+                }
+            }
+        }
+    }
+
+    /** Trie slot of a code character; the dot is not stored. */
+    private static int slot(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return 10 + c - 'A';
+        }
+        return -1;
+    }
+
+    static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String word : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty() && !STOP_WORDS.contains(word)) {
+                tokens.add(stem(word));
+            }
+        }
+        return tokens;
+    }
+
+    /** Folds simple plurals so "stones" finds "stone"; both sides of the index are stemmed alike. */
+    private static String stem(String word) {
+        if (word.length() > 4 && word.endsWith("s")
+                && !word.endsWith("ss") && !word.endsWith("is") && !word.endsWith("us")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+
+    private static final class Node {
+        private Node[] children;
+        private int codeId = -1;
+    }
+
+    /** One indexed code with its official description. */
+    public record IcdCode(String code, String description) {
+    }
+}
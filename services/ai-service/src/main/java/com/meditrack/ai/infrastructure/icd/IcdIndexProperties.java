@@ -0,0 +1,30 @@
+package com.meditrack.ai.infrastructure.icd;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.core.io.Resource;
+
+/**
+ * Local ICD-10 index used to ground and validate code suggestions.
+ *
+ * @param enabled       when false the model suggests codes unaided and nothing is validated
+ * @param file          CMS-layout code file; the bundled list covers common codes only, so point this at
+ *                      the full CMS {@code icd10cm-codes} file before switching {@code unknownCodes} to DROP
+ * @param shortlistSize candidate codes offered to the model in the prompt
+ * @param unknownCodes  what happens to a well-formed suggested code the index does not contain
+ */
+@ConfigurationProperties(prefix = "meditrack.icd-index")
+public record IcdIndexProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("classpath:icd10/icd10cm-common.txt") Resource file,
+        @DefaultValue("25") int shortlistSize,
+        @DefaultValue("DOWNRANK") UnknownCodePolicy unknownCodes
+) {
+
+    public enum UnknownCodePolicy {
+        /** Keep it, at LOW confidence, after every indexed code. */
+        DOWNRANK,
+        /** Leave it out of the response. */
+        DROP
+    }
+}
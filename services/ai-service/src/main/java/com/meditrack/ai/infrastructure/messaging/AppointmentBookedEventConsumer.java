@@ -0,0 +1,42 @@
+package com.meditrack.ai.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.application.usecase.PrepareAppointmentBriefUseCase;
+import com.meditrack.ai.infrastructure.messaging.event.AppointmentBookedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumes {@code appointment.booked.v1} from appointment-service and schedules
+ * the patient's brief to be prepared ahead of the visit. Only runs with
+ * {@code meditrack.prepared-briefs.enabled}. An unreadable or incomplete event
+ * is logged and skipped: a missing brief only means one written on demand.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AppointmentBookedEventConsumer {
+
+    private final PrepareAppointmentBriefUseCase prepareBrief;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topics = "${meditrack.prepared-briefs.topic:appointment.booked.v1}",
+            groupId = "${spring.application.name:ai-service}-prepared-briefs",
+            autoStartup = "${meditrack.prepared-briefs.enabled:false}"
+    )
+    public void onAppointmentBooked(String payload) {
+        try {
+            AppointmentBookedEvent event = objectMapper.readValue(payload, AppointmentBookedEvent.class);
+            if (event.getAppointmentId() == null || event.getPatientId() == null || event.getScheduledAt() == null) {
+                log.warn("Skipping appointment.booked event without appointment, patient or time");
+                return;
+            }
+            prepareBrief.schedule(event.getAppointmentId(), event.getPatientId(), event.getScheduledAt());
+        } catch (Exception ex) {
+            log.warn("Skipping unreadable appointment.booked event: {}", ex.getMessage());
+        }
+    }
+}
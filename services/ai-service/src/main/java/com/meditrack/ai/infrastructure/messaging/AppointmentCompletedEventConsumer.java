@@ -0,0 +1,53 @@
+package com.meditrack.ai.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.application.usecase.QueueIcdCodingUseCase;
+import com.meditrack.ai.domain.model.IcdCodingJob;
+import com.meditrack.ai.infrastructure.messaging.event.AppointmentCompletedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Consumes {@code appointment.completed.v1} from appointment-service and queues
+ * the visit's notes for background ICD-10 coding. Only runs with
+ * {@code meditrack.icd-coding.enabled}. A visit without notes has nothing to
+ * code and is skipped, as is an unreadable event.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AppointmentCompletedEventConsumer {
+
+    static final String SOURCE = "appointment.completed";
+
+    private final QueueIcdCodingUseCase icdCoding;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topics = "${meditrack.icd-coding.completed-topic:appointment.completed.v1}",
+            groupId = "${spring.application.name:ai-service}-icd-coding",
+            autoStartup = "${meditrack.icd-coding.enabled:false}"
+    )
+    public void onAppointmentCompleted(String payload) {
+        AppointmentCompletedEvent event;
+        try {
+            event = objectMapper.readValue(payload, AppointmentCompletedEvent.class);
+        } catch (Exception ex) {
+            log.warn("Skipping unreadable appointment.completed event: {}", ex.getMessage());
+            return;
+        }
+        if (event.getNotes() == null || event.getNotes().isBlank()) {
+            log.debug("Appointment {} completed without notes; nothing to code", event.getAppointmentId());
+            return;
+        }
+        String notes = event.getReasonForVisit() == null || event.getReasonForVisit().isBlank()
+                ? event.getNotes()
+                : "Reason for visit: " + event.getReasonForVisit() + "\n" + event.getNotes();
+        icdCoding.enqueue(new IcdCodingJob(event.getAppointmentId(), event.getPatientId(), event.getDoctorId(),
+                List.of(SOURCE), notes, null, event.getOccurredAt()));
+    }
+}
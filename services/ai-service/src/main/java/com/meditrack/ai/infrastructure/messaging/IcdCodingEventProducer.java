@@ -0,0 +1,70 @@
+package com.meditrack.ai.infrastructure.messaging;
+
+import com.meditrack.ai.domain.model.IcdCodeSuggestions;
+import com.meditrack.ai.domain.model.IcdCodingJob;
+import com.meditrack.ai.infrastructure.messaging.event.IcdCodesSuggestedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Publishes {@code ai.icd.suggested.v1}, keyed by appointment. Best-effort like
+ * the safety flags: a broker outage is logged and the batch's results are lost,
+ * never retried against TensorX.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IcdCodingEventProducer {
+
+    public static final String TOPIC = "ai.icd.suggested.v1";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    /** A coded visit together with the job that produced it. */
+    public record CodedVisit(IcdCodingJob job, IcdCodeSuggestions suggestions) {
+    }
+
+    /** Publishes a batch's results as one batched send, as for safety flags. */
+    public void publishCoded(List<CodedVisit> visits) {
+        try {
+            for (CodedVisit visit : visits) {
+                kafkaTemplate.send(TOPIC, keyOf(visit.job()), toEvent(visit));
+            }
+            kafkaTemplate.flush();
+            log.info("Published {} x{} in one batch", TOPIC, visits.size());
+        } catch (Exception ex) {
+            log.warn("Failed to publish batch of {} {} events (continuing without it): {}",
+                    visits.size(), TOPIC, ex.getMessage());
+        }
+    }
+
+    private static IcdCodesSuggestedEvent toEvent(CodedVisit visit) {
+        IcdCodingJob job = visit.job();
+        return IcdCodesSuggestedEvent.builder()
+                .appointmentId(job.appointmentId())
+                .patientId(job.patientId())
+                .doctorId(job.doctorId())
+                .sources(job.sources())
+                .suggestions(visit.suggestions().suggestions().stream()
+                        .map(s -> new IcdCodesSuggestedEvent.SuggestedCode(
+                                s.code(), s.description(),
+                                s.confidence() == null ? null : s.confidence().name(), s.rationale()))
+                        .toList())
+                .modelUsed(visit.suggestions().modelUsed())
+                .visitEventAt(job.occurredAt())
+                .occurredAt(Instant.now())
+                .build();
+    }
+
+    private static String keyOf(IcdCodingJob job) {
+        if (job.appointmentId() != null) {
+            return job.appointmentId().toString();
+        }
+        return job.patientId() != null ? job.patientId().toString() : "unassigned";
+    }
+}
@@ -0,0 +1,82 @@
+package com.meditrack.ai.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.application.usecase.PrepareLabExplanationUseCase;
+import com.meditrack.ai.domain.model.LabResultExplanationCommand;
+import com.meditrack.ai.domain.model.LabValue;
+import com.meditrack.ai.infrastructure.messaging.event.LabResultsAvailableEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consumes {@code lab-events} from labrotary-service and queues the order's
+ * panel to have its explanation prepared. Only runs with
+ * {@code meditrack.prepared-lab-explanations.enabled}. An unreadable event, or
+ * one without an order or results, is logged and skipped.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LabResultsAvailableEventConsumer {
+
+    /** The lab's HL7-style flags, in the short form clinicians and the prompts use. */
+    private static final Map<String, String> FLAGS = Map.of(
+            "NORMAL", "N",
+            "LOW", "L",
+            "HIGH", "H",
+            "CRITICALLY_LOW", "LL",
+            "CRITICALLY_HIGH", "HH",
+            "ABNORMAL", "A");
+
+    private final PrepareLabExplanationUseCase prepareExplanation;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topics = "${meditrack.prepared-lab-explanations.topic:lab-events}",
+            groupId = "${spring.application.name:ai-service}-lab-explanations",
+            autoStartup = "${meditrack.prepared-lab-explanations.enabled:false}"
+    )
+    public void onLabResultsAvailable(String payload) {
+        LabResultsAvailableEvent event;
+        try {
+            event = objectMapper.readValue(payload, LabResultsAvailableEvent.class);
+        } catch (Exception ex) {
+            log.warn("Skipping unreadable lab-events message: {}", ex.getMessage());
+            return;
+        }
+        if (event.getOrder() == null || event.getOrder().getOrderId() == null
+                || event.getResults() == null || event.getResults().isEmpty()) {
+            log.warn("Skipping lab-events message {} without an order or results", event.getEventId());
+            return;
+        }
+        boolean critical = event.isHasCriticalResults()
+                || event.getResults().stream().anyMatch(LabResultsAvailableEvent.ResultInfo::isCritical);
+        prepareExplanation.prepare(event.getOrder().getOrderId(), toCommand(event.getResults()), critical);
+    }
+
+    static LabResultExplanationCommand toCommand(List<LabResultsAvailableEvent.ResultInfo> results) {
+        List<LabValue> values = results.stream()
+                .map(r -> new LabValue(
+                        r.getTestName() != null ? r.getTestName() : r.getTestCode(),
+                        r.getResultValue(),
+                        r.getResultUnit(),
+                        r.getReferenceRange(),
+                        flagOf(r)))
+                .toList();
+        return new LabResultExplanationCommand(values, null, null, null);
+    }
+
+    private static String flagOf(LabResultsAvailableEvent.ResultInfo result) {
+        if (result.isCritical()) {
+            return "CRITICAL";
+        }
+        return result.getAbnormalFlag() == null
+                ? null
+                : FLAGS.getOrDefault(result.getAbnormalFlag(), result.getAbnormalFlag());
+    }
+}
@@ -0,0 +1,52 @@
+package com.meditrack.ai.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.application.usecase.QueueIcdCodingUseCase;
+import com.meditrack.ai.domain.model.IcdCodingJob;
+import com.meditrack.ai.infrastructure.messaging.event.PrescriptionIssuedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Consumes {@code prescription.issued.v1} from prescription-service and queues
+ * its consultation notes for background ICD-10 coding, with any codes the
+ * prescriber already entered as the existing diagnosis. Only runs with
+ * {@code meditrack.icd-coding.enabled}. A prescription without notes is
+ * skipped, as is an unreadable event.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PrescriptionIssuedEventConsumer {
+
+    static final String SOURCE = "prescription.issued";
+
+    private final QueueIcdCodingUseCase icdCoding;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topics = "${meditrack.icd-coding.issued-topic:prescription.issued.v1}",
+            groupId = "${spring.application.name:ai-service}-icd-coding",
+            autoStartup = "${meditrack.icd-coding.enabled:false}"
+    )
+    public void onPrescriptionIssued(String payload) {
+        PrescriptionIssuedEvent event;
+        try {
+            event = objectMapper.readValue(payload, PrescriptionIssuedEvent.class);
+        } catch (Exception ex) {
+            log.warn("Skipping unreadable prescription.issued event: {}", ex.getMessage());
+            return;
+        }
+        if (event.getConsultationNotes() == null || event.getConsultationNotes().isBlank()) {
+            log.debug("Prescription {} issued without consultation notes; nothing to code",
+                    event.getPrescriptionId());
+            return;
+        }
+        icdCoding.enqueue(new IcdCodingJob(event.getAppointmentId(), event.getPatientId(), event.getDoctorId(),
+                List.of(SOURCE), event.getConsultationNotes(), event.getDiagnosisCodes(), event.getOccurredAt()));
+    }
+}
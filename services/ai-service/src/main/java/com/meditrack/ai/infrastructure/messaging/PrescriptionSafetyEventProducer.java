@@ -9,6 +9,7 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
+import java.util.List;
 
 /**
  * Publishes {@code prescription.safety.flagged.v1}. Best-effort: a broker outage
@@ -24,8 +25,40 @@ public class PrescriptionSafetyEventProducer {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
 
+    /** A flagged screen together with the command that produced it. */
+    public record FlaggedScreen(SafetyCheckCommand command, SafetyAssessment assessment) {
+    }
+
     public void publishFlagged(SafetyCheckCommand command, SafetyAssessment assessment) {
-        PrescriptionSafetyFlaggedEvent event = PrescriptionSafetyFlaggedEvent.builder()
+        String key = keyOf(command);
+        try {
+            kafkaTemplate.send(TOPIC, key, toEvent(command, assessment));
+            log.info("Published {} for prescription {} (risk={})", TOPIC, key, assessment.overallRisk());
+        } catch (Exception ex) {
+            log.warn("Failed to publish {} (continuing without it): {}", TOPIC, ex.getMessage());
+        }
+    }
+
+    /**
+     * Publishes many flags as one batched send: records are handed to the producer
+     * without waiting on each, then flushed together, so they share producer
+     * batches (and compression) instead of going out one request at a time.
+     */
+    public void publishFlagged(List<FlaggedScreen> screens) {
+        try {
+            for (FlaggedScreen screen : screens) {
+                kafkaTemplate.send(TOPIC, keyOf(screen.command()), toEvent(screen.command(), screen.assessment()));
+            }
+            kafkaTemplate.flush();
+            log.info("Published {} x{} in one batch", TOPIC, screens.size());
+        } catch (Exception ex) {
+            log.warn("Failed to publish batch of {} {} events (continuing without it): {}",
+                    screens.size(), TOPIC, ex.getMessage());
+        }
+    }
+
+    private static PrescriptionSafetyFlaggedEvent toEvent(SafetyCheckCommand command, SafetyAssessment assessment) {
+        return PrescriptionSafetyFlaggedEvent.builder()
                 .prescriptionId(command.prescriptionId())
                 .patientId(command.patientId())
                 .overallRisk(assessment.overallRisk().name())
@@ -36,13 +69,9 @@ public class PrescriptionSafetyEventProducer {
                 .modelUsed(assessment.modelUsed())
                 .occurredAt(Instant.now())
                 .build();
+    }
 
-        String key = command.prescriptionId() != null ? command.prescriptionId().toString() : "unassigned";
-        try {
-            kafkaTemplate.send(TOPIC, key, event);
-            log.info("Published {} for prescription {} (risk={})", TOPIC, key, assessment.overallRisk());
-        } catch (Exception ex) {
-            log.warn("Failed to publish {} (continuing without it): {}", TOPIC, ex.getMessage());
-        }
+    private static String keyOf(SafetyCheckCommand command) {
+        return command.prescriptionId() != null ? command.prescriptionId().toString() : "unassigned";
     }
 }
@@ -0,0 +1,24 @@
+package com.meditrack.ai.infrastructure.messaging.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * {@code appointment.booked.v1} as published by appointment-service. Only the
+ * fields needed to prepare a brief are read; unknown ones are ignored.
+ */
+@Data @Builder @NoArgsConstructor @AllArgsConstructor
+public class AppointmentBookedEvent {
+    private UUID appointmentId;
+    private UUID patientId;
+    private UUID doctorId;
+    private LocalDateTime scheduledAt;
+    private String type;
+    private Instant occurredAt;
+}
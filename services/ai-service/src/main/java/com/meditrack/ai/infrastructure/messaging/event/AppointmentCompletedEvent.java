@@ -0,0 +1,23 @@
+package com.meditrack.ai.infrastructure.messaging.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * {@code appointment.completed.v1} as published by appointment-service. Only the
+ * fields needed to code the visit are read; unknown ones are ignored.
+ */
+@Data @Builder @NoArgsConstructor @AllArgsConstructor
+public class AppointmentCompletedEvent {
+    private UUID appointmentId;
+    private UUID patientId;
+    private UUID doctorId;
+    private String reasonForVisit;
+    private String notes;
+    private Instant occurredAt;
+}
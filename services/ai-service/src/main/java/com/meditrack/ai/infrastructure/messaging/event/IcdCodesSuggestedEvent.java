@@ -0,0 +1,29 @@
+package com.meditrack.ai.infrastructure.messaging.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Emitted when a completed visit has been ICD-10 coded in the background, for
+ * coders to review. Suggestions only; nothing is assigned to the visit.
+ */
+@Data @Builder @NoArgsConstructor @AllArgsConstructor
+public class IcdCodesSuggestedEvent {
+    private UUID appointmentId;
+    private UUID patientId;
+    private UUID doctorId;
+    private List<String> sources;
+    private List<SuggestedCode> suggestions;
+    private String modelUsed;
+    private Instant visitEventAt;
+    private Instant occurredAt;
+
+    public record SuggestedCode(String code, String description, String confidence, String rationale) {
+    }
+}
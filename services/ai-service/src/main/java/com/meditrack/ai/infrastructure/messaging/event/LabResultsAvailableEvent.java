@@ -0,0 +1,40 @@
+package com.meditrack.ai.infrastructure.messaging.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@code lab-events} as published by labrotary-service. Only the fields needed
+ * to explain the panel are read; unknown ones are ignored. Flags and statuses
+ * are kept as their enum names.
+ */
+@Data @Builder @NoArgsConstructor @AllArgsConstructor
+public class LabResultsAvailableEvent {
+    private UUID eventId;
+    private String eventType;
+    private OrderInfo order;
+    private List<ResultInfo> results;
+    private boolean hasCriticalResults;
+
+    @Data @Builder @NoArgsConstructor @AllArgsConstructor
+    public static class OrderInfo {
+        private UUID orderId;
+        private String patientId;
+    }
+
+    @Data @Builder @NoArgsConstructor @AllArgsConstructor
+    public static class ResultInfo {
+        private String testCode;
+        private String testName;
+        private String resultValue;
+        private String resultUnit;
+        private String referenceRange;
+        private String abnormalFlag;
+        private boolean critical;
+    }
+}
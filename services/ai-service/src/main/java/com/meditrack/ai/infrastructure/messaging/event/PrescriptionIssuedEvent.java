@@ -0,0 +1,24 @@
+package com.meditrack.ai.infrastructure.messaging.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * {@code prescription.issued.v1} as published by prescription-service. Only the
+ * fields needed to code the visit are read; unknown ones are ignored.
+ */
+@Data @Builder @NoArgsConstructor @AllArgsConstructor
+public class PrescriptionIssuedEvent {
+    private UUID prescriptionId;
+    private UUID patientId;
+    private UUID doctorId;
+    private UUID appointmentId;
+    private String consultationNotes;
+    private String diagnosisCodes;
+    private Instant occurredAt;
+}
@@ -0,0 +1,133 @@
+package com.meditrack.ai.infrastructure.patient;
+
+import com.meditrack.ai.domain.model.HistorySummaryCommand;
+import com.meditrack.ai.domain.model.VisitNote;
+import com.meditrack.ai.domain.port.PatientRecordPort;
+import com.meditrack.ai.infrastructure.http.PooledHttpTransport;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reads a patient's record from patient-service ({@code GET /api/v1/patients/{id}})
+ * for briefs prepared ahead of an appointment.
+ *
+ * <p>Authenticates with a short-lived service JWT signed with the platform-wide
+ * {@code jwt.secret} (subject "ai-service", ROLE_DOCTOR). patient-service names
+ * no user account for it; it accepts the token because "ai-service" is listed in
+ * its {@code jwt.service-subjects}.
+ *
+ * <p>patient-service holds demographics and dated medical records (diagnosis and
+ * treatment). Diagnoses become conditions and each record becomes a visit
+ * note; medications, allergies and labs stay empty because patient-service
+ * does not hold them. Any failure is logged and returned as empty.
+ */
+@Slf4j
+@Component
+public class PatientServiceClient implements PatientRecordPort {
+
+    private static final String PATIENT_PATH = "/api/v1/patients/{id}";
+    private static final String SERVICE_SUBJECT = "ai-service";
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration TOKEN_TTL = Duration.ofMinutes(5);
+
+    private final RestClient restClient;
+    private final SecretKey signingKey;
+
+    public PatientServiceClient(
+            PooledHttpTransport transport,
+            @Value("${meditrack.patient-service.base-url:http://localhost:8081}") String baseUrl,
+            @Value("${jwt.secret:}") String jwtSecret) {
+        this.restClient = RestClient.builder()
+                .baseUrl(baseUrl)
+                .requestFactory(transport.requestFactory(TIMEOUT))
+                .build();
+        this.signingKey = jwtSecret == null || jwtSecret.isBlank()
+                ? null
+                : Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public Optional<HistorySummaryCommand> historyRecord(UUID patientId) {
+        if (signingKey == null) {
+            log.warn("jwt.secret is not configured — cannot read patient {} from patient-service", patientId);
+            return Optional.empty();
+        }
+        try {
+            PatientView patient = restClient.get()
+                    .uri(PATIENT_PATH, patientId)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + mintServiceToken())
+                    .retrieve()
+                    .body(PatientView.class);
+            return Optional.ofNullable(patient).map(p -> toCommand(patientId, p));
+        } catch (HttpClientErrorException.NotFound ex) {
+            log.info("Patient {} not found in patient-service", patientId);
+            return Optional.empty();
+        } catch (Exception ex) {
+            log.warn("Reading patient {} from patient-service failed: {}", patientId, ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    static HistorySummaryCommand toCommand(UUID patientId, PatientView patient) {
+        List<RecordView> records = Optional.ofNullable(patient.medicalHistory()).orElse(List.of()).stream()
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(RecordView::date, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .toList();
+        List<String> conditions = records.stream()
+                .map(RecordView::diagnosis)
+                .filter(d -> d != null && !d.isBlank())
+                .distinct()
+                .toList();
+        List<VisitNote> visits = records.stream()
+                .map(r -> new VisitNote(r.date() == null ? null : r.date().toString(), describe(r)))
+                .toList();
+        Integer age = patient.dateOfBirth() == null
+                ? null
+                : Period.between(patient.dateOfBirth(), LocalDate.now()).getYears();
+        return new HistorySummaryCommand(age, null, conditions, List.of(), List.of(), List.of(), visits, patientId);
+    }
+
+    private static String describe(RecordView record) {
+        String diagnosis = record.diagnosis() == null ? "no diagnosis recorded" : record.diagnosis();
+        return record.treatment() == null || record.treatment().isBlank()
+                ? diagnosis
+                : diagnosis + ". Treatment: " + record.treatment();
+    }
+
+    private String mintServiceToken() {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .subject(SERVICE_SUBJECT)
+                .claim("roles", List.of("ROLE_DOCTOR"))
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + TOKEN_TTL.toMillis()))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    // --- Wire DTOs mirroring patient-service's PatientResponse / MedicalRecordResponse ---
+
+    record RecordView(String recordId, String diagnosis, String treatment, LocalDate date) {
+    }
+
+    record PatientView(LocalDate dateOfBirth, List<RecordView> medicalHistory) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.meditrack.ai.infrastructure.rules;
+
+import com.meditrack.ai.domain.model.Severity;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.core.io.Resource;
+
+/**
+ * Deterministic rule check run in front of the model for prescription safety screens.
+ *
+ * @param enabled           when false every screen goes straight to the model
+ * @param table             the versioned interaction / allergy-class table
+ * @param decisiveSeverity  a rule finding at or above this severity answers the screen without the model;
+ *                          weaker findings are merged into the model's assessment
+ */
+@ConfigurationProperties(prefix = "meditrack.clinical-rules")
+public record ClinicalRulesProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("classpath:clinical-rules/safety-rules.json") Resource table,
+        @DefaultValue("CONTRAINDICATED") Severity decisiveSeverity
+) {
+}
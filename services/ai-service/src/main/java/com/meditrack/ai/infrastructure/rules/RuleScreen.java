@@ -0,0 +1,32 @@
+package com.meditrack.ai.infrastructure.rules;
+
+import com.meditrack.ai.domain.model.AllergyConflict;
+import com.meditrack.ai.domain.model.DrugInteraction;
+import com.meditrack.ai.domain.model.Severity;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * What the rule table found for one regimen. An empty screen means only that
+ * the table has no rule for it — never that the regimen is safe.
+ *
+ * @param tableVersion version of the table that produced the findings
+ */
+record RuleScreen(
+        List<DrugInteraction> interactions,
+        List<AllergyConflict> allergyConflicts,
+        String tableVersion
+) {
+
+    boolean isEmpty() {
+        return interactions.isEmpty() && allergyConflicts.isEmpty();
+    }
+
+    Severity highest() {
+        return Stream.concat(interactions.stream().map(DrugInteraction::severity),
+                        allergyConflicts.stream().map(AllergyConflict::severity))
+                .max(Enum::compareTo)
+                .orElse(Severity.NONE);
+    }
+}
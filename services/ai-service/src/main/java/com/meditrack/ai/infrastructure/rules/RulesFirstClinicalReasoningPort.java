@@ -0,0 +1,188 @@
+package com.meditrack.ai.infrastructure.rules;
+
+import com.meditrack.ai.domain.model.AllergyConflict;
+import com.meditrack.ai.domain.model.DrugInteraction;
+import com.meditrack.ai.domain.model.HistorySummaryCommand;
+import com.meditrack.ai.domain.model.IcdCodeSuggestionCommand;
+import com.meditrack.ai.domain.model.IcdCodeSuggestions;
+import com.meditrack.ai.domain.model.LabResultExplanation;
+import com.meditrack.ai.domain.model.LabResultExplanationCommand;
+import com.meditrack.ai.domain.model.PatientHistorySummary;
+import com.meditrack.ai.domain.model.SafetyAssessment;
+import com.meditrack.ai.domain.model.SafetyCheckCommand;
+import com.meditrack.ai.domain.model.Severity;
+import com.meditrack.ai.domain.model.SoapNote;
+import com.meditrack.ai.domain.model.SoapNoteCommand;
+import com.meditrack.ai.domain.model.TriageAssessment;
+import com.meditrack.ai.domain.model.TriageCommand;
+import com.meditrack.ai.domain.port.ClinicalReasoningPort;
+import com.meditrack.ai.domain.port.ReasoningStreamListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Composite {@link ClinicalReasoningPort} that runs the deterministic
+ * {@link SafetyRuleTable} before the model for prescription safety screens.
+ *
+ * <p>A rule finding at or above the decisive severity (CONTRAINDICATED by
+ * default) settles the outcome — the prescription is blocked whatever else the
+ * model might add — so it is answered at once, without a model call. Weaker
+ * rule findings cannot settle anything on their own: the model screens the
+ * regimen as usual and the rule findings are merged into its answer, raising a
+ * severity the model understated and adding anything it missed. Every other
+ * use case passes straight through.
+ *
+ * <p>Counted as {@code ai.safety.rules.screens{outcome=decided|merged|deferred}}.
+ */
+public class RulesFirstClinicalReasoningPort implements ClinicalReasoningPort {
+
+    private final ClinicalReasoningPort delegate;
+    private final SafetyRuleTable rules;
+    private final Severity decisiveSeverity;
+    private final Counter decided;
+    private final Counter merged;
+    private final Counter deferred;
+
+    public RulesFirstClinicalReasoningPort(ClinicalReasoningPort delegate, SafetyRuleTable rules,
+                                           Severity decisiveSeverity, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.rules = rules;
+        this.decisiveSeverity = decisiveSeverity;
+        this.decided = counter(meterRegistry, "decided");
+        this.merged = counter(meterRegistry, "merged");
+        this.deferred = counter(meterRegistry, "deferred");
+    }
+
+    @Override
+    public SafetyAssessment assess(SafetyCheckCommand command) {
+        RuleScreen screen = rules.screen(command);
+        if (!screen.isEmpty() && screen.highest().compareTo(decisiveSeverity) >= 0) {
+            decided.increment();
+            return ruleAssessment(screen);
+        }
+        SafetyAssessment assessment = delegate.assess(command);
+        if (screen.isEmpty()) {
+            deferred.increment();
+            return assessment;
+        }
+        merged.increment();
+        return merge(assessment, screen);
+    }
+
+    @Override
+    public LabResultExplanation explainLabResult(LabResultExplanationCommand command) {
+        return delegate.explainLabResult(command);
+    }
+
+    @Override
+    public TriageAssessment triage(TriageCommand command) {
+        return delegate.triage(command);
+    }
+
+    @Override
+    public SoapNote generateSoapNote(SoapNoteCommand command) {
+        return delegate.generateSoapNote(command);
+    }
+
+    @Override
+    public SoapNote generateSoapNote(SoapNoteCommand command, ReasoningStreamListener listener) {
+        return delegate.generateSoapNote(command, listener);
+    }
+
+    @Override
+    public IcdCodeSuggestions suggestIcdCodes(IcdCodeSuggestionCommand command) {
+        return delegate.suggestIcdCodes(command);
+    }
+
+    @Override
+    public PatientHistorySummary summarizeHistory(HistorySummaryCommand command) {
+        return delegate.summarizeHistory(command);
+    }
+
+    @Override
+    public PatientHistorySummary summarizeHistory(HistorySummaryCommand command, ReasoningStreamListener listener) {
+        return delegate.summarizeHistory(command, listener);
+    }
+
+    /** The assessment for a screen the rules settled; it lists rule findings only. */
+    private SafetyAssessment ruleAssessment(RuleScreen screen) {
+        return new SafetyAssessment(
+                screen.highest(),
+                "Rule table " + screen.tableVersion() + " matched: " + describe(screen)
+                        + ". Screening stopped at this finding; other medication pairs were not reviewed by the model.",
+                "Do not dispense as prescribed. Choose an alternative, or obtain pharmacist review before proceeding.",
+                true,
+                screen.interactions(),
+                screen.allergyConflicts(),
+                rulesSource(screen));
+    }
+
+    /** The model's assessment with rule findings added, keeping the higher severity where both report a finding. */
+    private static SafetyAssessment merge(SafetyAssessment model, RuleScreen screen) {
+        Map<String, DrugInteraction> interactions = new LinkedHashMap<>();
+        model.interactions().forEach(i -> interactions.put(pairKey(i.drugA(), i.drugB()), i));
+        Map<String, AllergyConflict> conflicts = new LinkedHashMap<>();
+        model.allergyConflicts().forEach(c -> conflicts.put(SafetyRuleTable.normalise(c.medication()), c));
+
+        List<String> added = new ArrayList<>();
+        for (DrugInteraction rule : screen.interactions()) {
+            DrugInteraction reported = interactions.get(pairKey(rule.drugA(), rule.drugB()));
+            if (reported == null || reported.severity().compareTo(rule.severity()) < 0) {
+                interactions.put(pairKey(rule.drugA(), rule.drugB()), rule);
+                added.add(rule.drugA() + " + " + rule.drugB() + " (" + rule.severity() + ")");
+            }
+        }
+        for (AllergyConflict rule : screen.allergyConflicts()) {
+            String key = SafetyRuleTable.normalise(rule.medication());
+            AllergyConflict reported = conflicts.get(key);
+            if (reported == null || reported.severity().compareTo(rule.severity()) < 0) {
+                conflicts.put(key, rule);
+                added.add(rule.medication() + " vs " + rule.allergen() + " allergy (" + rule.severity() + ")");
+            }
+        }
+        if (added.isEmpty()) {
+            return model;
+        }
+
+        Severity overall = model.overallRisk().compareTo(screen.highest()) >= 0 ? model.overallRisk() : screen.highest();
+        return new SafetyAssessment(
+                overall,
+                model.summary() + " Rule table " + screen.tableVersion() + " also flagged: "
+                        + String.join("; ", added) + ".",
+                model.recommendation(),
+                model.requiresPharmacistReview() || overall.isHigh() || !conflicts.isEmpty(),
+                List.copyOf(interactions.values()),
+                List.copyOf(conflicts.values()),
+                model.modelUsed() + "+" + rulesSource(screen));
+    }
+
+    private static String describe(RuleScreen screen) {
+        List<String> findings = new ArrayList<>();
+        screen.interactions().forEach(i -> findings.add(i.drugA() + " + " + i.drugB() + " (" + i.severity() + ")"));
+        screen.allergyConflicts().forEach(c ->
+                findings.add(c.medication() + " vs " + c.allergen() + " allergy (" + c.severity() + ")"));
+        return String.join("; ", findings);
+    }
+
+    private static String rulesSource(RuleScreen screen) {
+        return "rules@" + screen.tableVersion();
+    }
+
+    private static String pairKey(String a, String b) {
+        String x = SafetyRuleTable.normalise(a);
+        String y = SafetyRuleTable.normalise(b);
+        return x.compareTo(y) <= 0 ? x + '|' + y : y + '|' + x;
+    }
+
+    private static Counter counter(MeterRegistry registry, String outcome) {
+        return Counter.builder("ai.safety.rules.screens")
+                .description("Prescription safety screens by what the deterministic rule table did with them")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,290 @@
+package com.meditrack.ai.infrastructure.rules;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.domain.model.AllergyConflict;
+import com.meditrack.ai.domain.model.DrugInteraction;
+import com.meditrack.ai.domain.model.Medication;
+import com.meditrack.ai.domain.model.SafetyCheckCommand;
+import com.meditrack.ai.domain.model.Severity;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory, versioned table of known drug interactions and allergy classes —
+ * a penicillin allergy against amoxicillin, a nitrate against a PDE5 inhibitor —
+ * answered without the model.
+ *
+ * <p>Rules name either a drug or a drug class ({@code "@penicillins"}). Every
+ * known drug is indexed once, at load, with the classes it belongs to, so a
+ * screen is a handful of hash lookups per medication pair. Medication names
+ * are matched on their leading words, so "Amoxicillin 500 mg capsules" resolves
+ * to amoxicillin; anything the table does not know is simply not matched.
+ *
+ * <p>The table is a floor, not a ceiling: a regimen it has no rule for may
+ * still be dangerous, which is why the model still screens everything the
+ * rules cannot decide.
+ */
+public final class SafetyRuleTable {
+
+    private static final String CLASS_PREFIX = "@";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern ALLERGY_NOISE = Pattern.compile("[^a-z0-9 -]");
+
+    private final String version;
+    /** Normalised drug name → the keys rules may use for it: the name itself and each of its classes. */
+    private final Map<String, Set<String>> keysByDrug;
+    /** Rule key → rule key → rule; symmetric. */
+    private final Map<String, Map<String, InteractionRule>> interactions;
+    /** Normalised allergen term → allergy rules it triggers. */
+    private final Map<String, List<AllergyRule>> allergyRules;
+    private final int longestDrugName;
+    private final int longestAllergen;
+
+    private SafetyRuleTable(String version, Map<String, Set<String>> keysByDrug,
+                            Map<String, Map<String, InteractionRule>> interactions,
+                            Map<String, List<AllergyRule>> allergyRules) {
+        this.version = version;
+        this.keysByDrug = keysByDrug;
+        this.interactions = interactions;
+        this.allergyRules = allergyRules;
+        this.longestDrugName = keysByDrug.keySet().stream().mapToInt(SafetyRuleTable::wordCount).max().orElse(1);
+        this.longestAllergen = allergyRules.keySet().stream().mapToInt(SafetyRuleTable::wordCount).max().orElse(1);
+    }
+
+    public static SafetyRuleTable load(Resource resource, ObjectMapper objectMapper) {
+        try (InputStream in = resource.getInputStream()) {
+            return from(objectMapper.readValue(in, TableDocument.class));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot read clinical rule table " + resource, ex);
+        }
+    }
+
+    /** Builds the lookup indexes, rejecting rules that reference an undefined class. */
+    static SafetyRuleTable from(TableDocument doc) {
+        if (doc.version() == null || doc.version().isBlank()) {
+            throw new IllegalStateException("Clinical rule table has no version");
+        }
+        Map<String, Set<String>> keysByDrug = new HashMap<>();
+        Map<String, List<String>> classes = doc.drugClasses() == null ? Map.of() : doc.drugClasses();
+        classes.forEach((className, members) -> {
+            String classKey = CLASS_PREFIX + normalise(className);
+            for (String member : members) {
+                String drug = normalise(member);
+                keysByDrug.computeIfAbsent(drug, d -> new LinkedHashSet<>(List.of(d))).add(classKey);
+            }
+        });
+        Set<String> classKeys = new LinkedHashSet<>();
+        classes.keySet().forEach(c -> classKeys.add(CLASS_PREFIX + normalise(c)));
+
+        Map<String, Map<String, InteractionRule>> interactions = new HashMap<>();
+        for (InteractionRule rule : doc.interactions() == null ? List.<InteractionRule>of() : doc.interactions()) {
+            String a = ruleKey(rule.a(), classKeys, keysByDrug);
+            String b = ruleKey(rule.b(), classKeys, keysByDrug);
+            interactions.computeIfAbsent(a, k -> new HashMap<>()).put(b, rule);
+            interactions.computeIfAbsent(b, k -> new HashMap<>()).put(a, rule);
+        }
+
+        Map<String, List<AllergyRule>> allergyRules = new HashMap<>();
+        for (AllergyDocument allergy : doc.allergies() == null ? List.<AllergyDocument>of() : doc.allergies()) {
+            Set<String> drugKeys = new LinkedHashSet<>();
+            allergy.drugs().forEach(d -> drugKeys.add(ruleKey(d, classKeys, keysByDrug)));
+            AllergyRule rule = new AllergyRule(Set.copyOf(drugKeys), allergy.severity(),
+                    allergy.note());
+            for (String allergen : allergy.allergens()) {
+                allergyRules.computeIfAbsent(normalise(allergen), k -> new ArrayList<>()).add(rule);
+            }
+        }
+
+        Map<String, Set<String>> frozenKeys = new HashMap<>();
+        keysByDrug.forEach((drug, keys) -> frozenKeys.put(drug, Set.copyOf(keys)));
+        Map<String, Map<String, InteractionRule>> frozenInteractions = new HashMap<>();
+        interactions.forEach((key, rules) -> frozenInteractions.put(key, Map.copyOf(rules)));
+        Map<String, List<AllergyRule>> frozenAllergies = new HashMap<>();
+        allergyRules.forEach((term, rules) -> frozenAllergies.put(term, List.copyOf(rules)));
+        return new SafetyRuleTable(doc.version(), Map.copyOf(frozenKeys), Map.copyOf(frozenInteractions),
+                Map.copyOf(frozenAllergies));
+    }
+
+    public String version() {
+        return version;
+    }
+
+    int drugCount() {
+        return keysByDrug.size();
+    }
+
+    /** Every rule the regimen triggers: new medications against each other, current medications and allergies. */
+    RuleScreen screen(SafetyCheckCommand command) {
+        List<Resolved> proposed = new ArrayList<>();
+        if (command.newMedications() != null) {
+            for (Medication m : command.newMedications()) {
+                Resolved resolved = resolve(m.name());
+                if (resolved != null) {
+                    proposed.add(resolved);
+                }
+            }
+        }
+        List<Resolved> current = new ArrayList<>();
+        if (command.currentMedications() != null) {
+            for (String name : command.currentMedications()) {
+                Resolved resolved = resolve(name);
+                if (resolved != null) {
+                    current.add(resolved);
+                }
+            }
+        }
+
+        List<DrugInteraction> found = new ArrayList<>();
+        for (int i = 0; i < proposed.size(); i++) {
+            for (int j = i + 1; j < proposed.size(); j++) {
+                addInteraction(proposed.get(i), proposed.get(j), found);
+            }
+            for (Resolved c : current) {
+                addInteraction(proposed.get(i), c, found);
+            }
+        }
+
+        Map<String, AllergyConflict> conflicts = new LinkedHashMap<>();
+        if (command.knownAllergies() != null && !proposed.isEmpty()) {
+            for (String allergy : command.knownAllergies()) {
+                for (AllergyRule rule : allergyRulesFor(allergy)) {
+                    for (Resolved med : proposed) {
+                        if (intersects(med.keys(), rule.drugKeys())) {
+                            AllergyConflict conflict = new AllergyConflict(med.name(), allergy, rule.severity(),
+                                    rule.note());
+                            conflicts.merge(med.drug() + '|' + normalise(allergy), conflict,
+                                    (x, y) -> x.severity().compareTo(y.severity()) >= 0 ? x : y);
+                        }
+                    }
+                }
+            }
+        }
+        return new RuleScreen(List.copyOf(found), List.copyOf(conflicts.values()), version);
+    }
+
+    private void addInteraction(Resolved a, Resolved b, List<DrugInteraction> found) {
+        if (a.drug().equals(b.drug())) {
+            return;
+        }
+        InteractionRule worst = null;
+        for (String ka : a.keys()) {
+            Map<String, InteractionRule> partners = interactions.get(ka);
+            if (partners == null) {
+                continue;
+            }
+            for (String kb : b.keys()) {
+                InteractionRule rule = partners.get(kb);
+                if (rule != null && (worst == null || rule.severity().compareTo(worst.severity()) > 0)) {
+                    worst = rule;
+                }
+            }
+        }
+        if (worst != null) {
+            found.add(new DrugInteraction(a.name(), b.name(), worst.severity(), worst.mechanism(),
+                    worst.clinicalConsequence(), worst.management()));
+        }
+    }
+
+    /** Longest leading run of words that names a known drug, e.g. "isosorbide mononitrate 30mg". */
+    private Resolved resolve(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        String[] words = normalise(name).split(" ");
+        for (int n = Math.min(words.length, longestDrugName); n > 0; n--) {
+            String candidate = String.join(" ", Arrays.copyOf(words, n));
+            Set<String> keys = keysByDrug.get(candidate);
+            if (keys != null) {
+                return new Resolved(name, candidate, keys);
+            }
+        }
+        return null;
+    }
+
+    /** Allergy text is free-form ("penicillin - rash"), so any run of its words may name the allergen. */
+    private List<AllergyRule> allergyRulesFor(String allergy) {
+        if (allergy == null || allergy.isBlank()) {
+            return List.of();
+        }
+        String[] words = WHITESPACE.split(ALLERGY_NOISE.matcher(normalise(allergy)).replaceAll(" ").trim());
+        List<AllergyRule> rules = new ArrayList<>();
+        for (int start = 0; start < words.length; start++) {
+            for (int n = 1; n <= longestAllergen && start + n <= words.length; n++) {
+                List<AllergyRule> matched = allergyRules.get(
+                        String.join(" ", Arrays.copyOfRange(words, start, start + n)));
+                if (matched != null) {
+                    rules.addAll(matched);
+                }
+            }
+        }
+        return rules;
+    }
+
+    private static String ruleKey(String ref, Set<String> classKeys, Map<String, Set<String>> keysByDrug) {
+        if (ref.startsWith(CLASS_PREFIX)) {
+            String key = CLASS_PREFIX + normalise(ref.substring(CLASS_PREFIX.length()));
+            if (!classKeys.contains(key)) {
+                throw new IllegalStateException("Clinical rule references undefined drug class " + ref);
+            }
+            return key;
+        }
+        String drug = normalise(ref);
+        keysByDrug.computeIfAbsent(drug, d -> new LinkedHashSet<>(List.of(d)));
+        return drug;
+    }
+
+    private static boolean intersects(Set<String> a, Set<String> b) {
+        for (String key : a) {
+            if (b.contains(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String normalise(String name) {
+        return name == null ? "" : WHITESPACE.matcher(name.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private static int wordCount(String s) {
+        return s.split(" ").length;
+    }
+
+    /** A medication matched to the table; {@code name} is as supplied, {@code drug} the table entry. */
+    private record Resolved(String name, String drug, Set<String> keys) {
+    }
+
+    private record AllergyRule(Set<String> drugKeys, Severity severity, String note) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record TableDocument(
+            String version,
+            Map<String, List<String>> drugClasses,
+            List<InteractionRule> interactions,
+            List<AllergyDocument> allergies
+    ) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record InteractionRule(String a, String b, Severity severity, String mechanism,
+                           String clinicalConsequence, String management) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record AllergyDocument(List<String> allergens, List<String> drugs, Severity severity, String note) {
+    }
+}
@@ -7,8 +7,12 @@ import jakarta.validation.Valid;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
-/** Self-contained patient-history summary request; the AI service persists none of it. */
+/**
+ * Self-contained patient-history summary request; the AI service persists none of it.
+ * {@code appointmentId}, when given, lets a brief prepared ahead of that appointment answer it.
+ */
 public record HistorySummaryRequest(
         Integer patientAgeYears,
         String patientSex,
@@ -18,7 +22,9 @@ public record HistorySummaryRequest(
         @Valid
         List<HistoryLabResultInput> recentLabResults,
         @Valid
-        List<VisitNoteInput> pastVisits
+        List<VisitNoteInput> pastVisits,
+        UUID patientId,
+        UUID appointmentId
 ) {
 
     public HistorySummaryCommand toCommand() {
@@ -39,7 +45,8 @@ public record HistorySummaryRequest(
                 Optional.ofNullable(medications).orElse(List.of()),
                 Optional.ofNullable(allergies).orElse(List.of()),
                 labs,
-                visits
+                visits,
+                patientId
         );
     }
 }
@@ -7,15 +7,20 @@ import jakarta.validation.constraints.NotEmpty;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
-/** Self-contained lab-result explanation request; the AI service persists none of it. */
+/**
+ * Self-contained lab-result explanation request; the AI service persists none of it.
+ * {@code orderId}, when given, lets an explanation prepared when the order's results were published answer it.
+ */
 public record LabResultExplanationRequest(
         @NotEmpty(message = "at least one lab result is required")
         @Valid
         List<LabValueInput> results,
         Integer patientAgeYears,
         String patientSex,
-        String context
+        String context,
+        UUID orderId
 ) {
 
     public LabResultExplanationCommand toCommand() {
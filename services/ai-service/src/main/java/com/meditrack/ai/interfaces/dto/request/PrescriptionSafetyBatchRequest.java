@@ -0,0 +1,27 @@
+package com.meditrack.ai.interfaces.dto.request;
+
+import com.meditrack.ai.domain.model.SafetyCheckCommand;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * A batch of self-contained safety-check requests, e.g. pharmacy's overnight
+ * reconciliation of active prescriptions. Larger runs are split client-side.
+ */
+public record PrescriptionSafetyBatchRequest(
+        @NotEmpty(message = "at least one item is required")
+        @Size(max = PrescriptionSafetyBatchRequest.MAX_ITEMS,
+                message = "at most " + PrescriptionSafetyBatchRequest.MAX_ITEMS + " items per batch")
+        @Valid
+        List<PrescriptionSafetyRequest> items
+) {
+
+    public static final int MAX_ITEMS = 1000;
+
+    public List<SafetyCheckCommand> toCommands() {
+        return items.stream().map(PrescriptionSafetyRequest::toCommand).toList();
+    }
+}
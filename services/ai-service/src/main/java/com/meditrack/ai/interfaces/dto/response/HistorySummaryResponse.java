@@ -1,5 +1,6 @@
 package com.meditrack.ai.interfaces.dto.response;
 
+import com.meditrack.ai.domain.model.HistoryCoverage;
 import com.meditrack.ai.domain.model.PatientHistorySummary;
 
 import java.time.Instant;
@@ -18,6 +19,7 @@ public record HistorySummaryResponse(
         String narrativeSummary,
         List<String> suggestedFollowUps,
         String modelUsed,
+        HistoryCoverage coverage,
         String disclaimer,
         Instant generatedAt
 ) {
@@ -36,6 +38,7 @@ public record HistorySummaryResponse(
                 s.narrativeSummary(),
                 s.suggestedFollowUps(),
                 s.modelUsed(),
+                s.coverage(),
                 DISCLAIMER,
                 Instant.now()
         );
@@ -0,0 +1,44 @@
+package com.meditrack.ai.interfaces.dto.response;
+
+import com.meditrack.ai.domain.model.SafetyCheckCommand;
+import com.meditrack.ai.domain.model.SafetyScreenOutcome;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * API response for a batch safety screen. {@code results[i]} answers
+ * {@code items[i]} of the request; an item that could not be screened carries
+ * an {@code error} instead of an assessment.
+ */
+public record SafetyBatchResponse(
+        int screened,
+        int flagged,
+        int failed,
+        List<ItemResult> results
+) {
+
+    public record ItemResult(int index, UUID prescriptionId, SafetyAssessmentResponse assessment, String error) {
+    }
+
+    public static SafetyBatchResponse from(List<SafetyCheckCommand> commands, List<SafetyScreenOutcome> outcomes) {
+        List<ItemResult> results = new ArrayList<>(outcomes.size());
+        int flagged = 0;
+        int failed = 0;
+        for (int i = 0; i < outcomes.size(); i++) {
+            SafetyScreenOutcome outcome = outcomes.get(i);
+            UUID prescriptionId = commands.get(i).prescriptionId();
+            if (outcome.succeeded()) {
+                if (outcome.assessment().isFlagged()) {
+                    flagged++;
+                }
+                results.add(new ItemResult(i, prescriptionId, SafetyAssessmentResponse.from(outcome.assessment()), null));
+            } else {
+                failed++;
+                results.add(new ItemResult(i, prescriptionId, null, outcome.error()));
+            }
+        }
+        return new SafetyBatchResponse(outcomes.size() - failed, flagged, failed, results);
+    }
+}
@@ -1,6 +1,8 @@
 package com.meditrack.ai.interfaces.rest;
 
 import com.meditrack.ai.application.exception.ClinicalReasoningException;
+import com.meditrack.ai.application.exception.InferenceOverloadedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -22,6 +24,14 @@ public class GlobalExceptionHandler {
                 .body(Map.of("error", ex.getMessage(), "timestamp", Instant.now().toString()));
     }
 
+    /** Shed before reaching the model because TensorX capacity is saturated — retry shortly. */
+    @ExceptionHandler(InferenceOverloadedException.class)
+    public ResponseEntity<Map<String, Object>> handleOverloaded(InferenceOverloadedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", ex.getMessage(), "timestamp", Instant.now().toString()));
+    }
+
     /** Bean-validation failure → 400 with per-field messages. */
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidation(MethodArgumentNotValidException ex) {
@@ -0,0 +1,120 @@
+package com.meditrack.ai.interfaces.rest;
+
+import com.meditrack.ai.application.exception.ClinicalReasoningException;
+import com.meditrack.ai.domain.port.ReasoningStreamListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Runs a streaming inference off the request thread and relays it to the
+ * client as server-sent events:
+ *
+ * <ul>
+ *   <li>{@code token}   — each raw fragment of model output, in order;</li>
+ *   <li>{@code section} — {@code {"name", "value"}} once a top-level field is complete;</li>
+ *   <li>{@code result}  — the validated response DTO, identical to the blocking endpoint's body;</li>
+ *   <li>{@code error}   — {@code {"error", "timestamp"}} if inference fails; the stream then ends.</li>
+ * </ul>
+ *
+ * A client that disconnects stops receiving events but does not cancel the
+ * inference, so its result still lands in the inference cache for a retry.
+ */
+@Slf4j
+@Component
+public class InferenceEventStreams implements DisposableBean {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final long timeoutMillis;
+
+    public InferenceEventStreams(@Value("${tensorx.timeout-seconds:60}") int inferenceTimeoutSeconds) {
+        // Generous enough for a full generation on a slow model, short enough to free a dead connection.
+        this.timeoutMillis = Duration.ofSeconds(inferenceTimeoutSeconds).multipliedBy(2).toMillis();
+    }
+
+    public <T> SseEmitter stream(Function<ReasoningStreamListener, T> inference, Function<T, ?> toResponse) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        EmitterListener listener = new EmitterListener(emitter);
+        emitter.onCompletion(listener::close);
+        emitter.onTimeout(listener::close);
+        emitter.onError(ex -> listener.close());
+
+        executor.execute(() -> {
+            try {
+                T result = inference.apply(listener);
+                listener.send(SseEmitter.event().name("result")
+                        .data(toResponse.apply(result), MediaType.APPLICATION_JSON));
+            } catch (ClinicalReasoningException ex) {
+                listener.send(error(ex.getMessage()));
+            } catch (Exception ex) {
+                log.error("Streaming inference failed", ex);
+                listener.send(error("Internal server error"));
+            }
+            // Never completeWithError: the response is already committed as text/event-stream.
+            emitter.complete();
+        });
+        return emitter;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private static SseEmitter.SseEventBuilder error(String message) {
+        return SseEmitter.event().name("error")
+                .data(Map.of("error", message, "timestamp", Instant.now().toString()), MediaType.APPLICATION_JSON);
+    }
+
+    /** Forwards port callbacks as events until the client goes away, then drops them silently. */
+    private static final class EmitterListener implements ReasoningStreamListener {
+
+        private final SseEmitter emitter;
+        private volatile boolean closed;
+
+        EmitterListener(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onToken(String delta) {
+            send(SseEmitter.event().name("token").data(delta, MediaType.TEXT_PLAIN));
+        }
+
+        @Override
+        public void onSection(String name, Object value) {
+            Map<String, Object> section = new HashMap<>();
+            section.put("name", name);
+            section.put("value", value);
+            send(SseEmitter.event().name("section").data(section, MediaType.APPLICATION_JSON));
+        }
+
+        void send(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException ex) {
+                log.debug("Inference event stream closed by client: {}", ex.getMessage());
+                closed = true;
+            }
+        }
+
+        void close() {
+            closed = true;
+        }
+    }
+}
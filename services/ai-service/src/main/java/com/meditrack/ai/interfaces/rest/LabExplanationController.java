@@ -25,13 +25,16 @@ public class LabExplanationController {
 
     @Operation(summary = "Explain a panel of lab results",
             description = "Advisory clinical decision support: plain-language interpretation of lab results "
-                    + "with per-test detail and an overall urgency.")
+                    + "with per-test detail and an overall urgency. With orderId, an explanation prepared when "
+                    + "the order's results were published is returned if the panel is unchanged.")
     @PostMapping("/lab-result-explanation")
     @PreAuthorize("hasAnyRole('DOCTOR', 'NURSE', 'LAB_TECH', 'ADMIN')")
     public ResponseEntity<LabResultExplanationResponse> explain(
             @Valid @RequestBody LabResultExplanationRequest request) {
 
-        LabResultExplanation explanation = explainLabResult.explain(request.toCommand());
+        LabResultExplanation explanation = request.orderId() != null
+                ? explainLabResult.explain(request.orderId(), request.toCommand())
+                : explainLabResult.explain(request.toCommand());
         return ResponseEntity.ok(LabResultExplanationResponse.from(explanation));
     }
 }
@@ -8,12 +8,14 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Tag(name = "Clinical Decision Support")
 @RestController
@@ -22,16 +24,36 @@ import org.springframework.web.bind.annotation.RestController;
 public class PatientHistorySummaryController {
 
     private final SummarizePatientHistoryUseCase summarizeHistory;
+    private final InferenceEventStreams eventStreams;
 
     @Operation(summary = "Summarise a patient's history into a pre-consultation brief",
             description = "Advisory clinical decision support: key conditions, critical allergies, abnormal "
-                    + "findings and red flags distilled strictly from the supplied record.")
+                    + "findings and red flags distilled strictly from the supplied record. With appointmentId, "
+                    + "a brief prepared ahead of that appointment is returned at once if the record is unchanged.")
     @PostMapping("/history-summary")
     @PreAuthorize("hasAnyRole('DOCTOR', 'NURSE', 'ADMIN')")
     public ResponseEntity<HistorySummaryResponse> summarize(
             @Valid @RequestBody HistorySummaryRequest request) {
 
-        PatientHistorySummary summary = summarizeHistory.summarize(request.toCommand());
+        PatientHistorySummary summary = request.appointmentId() == null
+                ? summarizeHistory.summarize(request.toCommand())
+                : summarizeHistory.summarize(request.appointmentId(), request.toCommand());
         return ResponseEntity.ok(HistorySummaryResponse.from(summary));
     }
+
+    @Operation(summary = "Summarise a patient's history, streaming the brief as it is written",
+            description = "Server-sent events: 'token' fragments and completed 'section' fields while the "
+                    + "model writes, then a 'result' event carrying the same body as POST /history-summary "
+                    + "(or an 'error' event).")
+    @PostMapping(value = "/history-summary/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('DOCTOR', 'NURSE', 'ADMIN')")
+    public SseEmitter summarizeStream(
+            @Valid @RequestBody HistorySummaryRequest request) {
+
+        return eventStreams.stream(
+                listener -> request.appointmentId() == null
+                        ? summarizeHistory.summarize(request.toCommand(), listener)
+                        : summarizeHistory.summarize(request.appointmentId(), request.toCommand(), listener),
+                HistorySummaryResponse::from);
+    }
 }
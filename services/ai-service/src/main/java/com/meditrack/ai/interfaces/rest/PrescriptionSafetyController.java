@@ -1,9 +1,14 @@
 package com.meditrack.ai.interfaces.rest;
 
+import com.meditrack.ai.application.usecase.CheckPrescriptionSafetyBatchUseCase;
 import com.meditrack.ai.application.usecase.CheckPrescriptionSafetyUseCase;
 import com.meditrack.ai.domain.model.SafetyAssessment;
+import com.meditrack.ai.domain.model.SafetyCheckCommand;
+import com.meditrack.ai.domain.model.SafetyScreenOutcome;
+import com.meditrack.ai.interfaces.dto.request.PrescriptionSafetyBatchRequest;
 import com.meditrack.ai.interfaces.dto.request.PrescriptionSafetyRequest;
 import com.meditrack.ai.interfaces.dto.response.SafetyAssessmentResponse;
+import com.meditrack.ai.interfaces.dto.response.SafetyBatchResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -15,6 +20,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @Tag(name = "Clinical Decision Support")
 @RestController
 @RequestMapping("/api/v1/ai")
@@ -22,6 +29,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class PrescriptionSafetyController {
 
     private final CheckPrescriptionSafetyUseCase checkPrescriptionSafety;
+    private final CheckPrescriptionSafetyBatchUseCase checkPrescriptionSafetyBatch;
 
     @Operation(summary = "Screen a prescription for drug-drug interactions and allergy conflicts",
             description = "Advisory clinical decision support. A high-risk or allergy-conflicting result also "
@@ -34,4 +42,18 @@ public class PrescriptionSafetyController {
         SafetyAssessment assessment = checkPrescriptionSafety.check(request.toCommand());
         return ResponseEntity.ok(SafetyAssessmentResponse.from(assessment));
     }
+
+    @Operation(summary = "Screen a batch of prescriptions",
+            description = "Screens up to " + PrescriptionSafetyBatchRequest.MAX_ITEMS + " prescriptions in "
+                    + "parallel. Results are in input order; an item that cannot be screened carries an error "
+                    + "and does not fail the batch. Flagged results are emitted as one batch of events.")
+    @PostMapping("/prescription-safety/batch")
+    @PreAuthorize("hasAnyRole('DOCTOR', 'PHARMACIST', 'NURSE', 'ADMIN')")
+    public ResponseEntity<SafetyBatchResponse> checkPrescriptionSafetyBatch(
+            @Valid @RequestBody PrescriptionSafetyBatchRequest request) {
+
+        List<SafetyCheckCommand> commands = request.toCommands();
+        List<SafetyScreenOutcome> outcomes = checkPrescriptionSafetyBatch.checkAll(commands);
+        return ResponseEntity.ok(SafetyBatchResponse.from(commands, outcomes));
+    }
 }
@@ -8,12 +8,14 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Tag(name = "Clinical Decision Support")
 @RestController
@@ -22,6 +24,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class SoapNoteController {
 
     private final GenerateSoapNoteUseCase generateSoapNote;
+    private final InferenceEventStreams eventStreams;
 
     @Operation(summary = "Generate a SOAP note from consultation notes",
             description = "Structures the clinician's free text into Subjective/Objective/Assessment/Plan "
@@ -34,4 +37,18 @@ public class SoapNoteController {
         SoapNote note = generateSoapNote.generate(request.toCommand());
         return ResponseEntity.ok(SoapNoteResponse.from(note));
     }
+
+    @Operation(summary = "Generate a SOAP note, streaming it as it is written",
+            description = "Server-sent events: 'token' fragments and completed 'section' fields while the "
+                    + "model writes, then a 'result' event carrying the same body as POST /soap-note "
+                    + "(or an 'error' event).")
+    @PostMapping(value = "/soap-note/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('DOCTOR', 'NURSE', 'ADMIN')")
+    public SseEmitter generateStream(
+            @Valid @RequestBody SoapNoteRequest request) {
+
+        return eventStreams.stream(
+                listener -> generateSoapNote.generate(request.toCommand(), listener),
+                SoapNoteResponse::from);
+    }
 }
@@ -0,0 +1,140 @@
+package com.meditrack.ai.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.application.support.CommandFingerprinter;
+import com.meditrack.ai.application.support.PreparedBriefs;
+import com.meditrack.ai.application.support.SingleFlight;
+import com.meditrack.ai.domain.model.HistorySummaryCommand;
+import com.meditrack.ai.domain.model.PatientHistorySummary;
+import com.meditrack.ai.domain.model.VisitNote;
+import com.meditrack.ai.domain.port.BackgroundCapacityPort;
+import com.meditrack.ai.domain.port.ClinicalReasoningPort;
+import com.meditrack.ai.domain.port.PatientRecordPort;
+import com.meditrack.ai.infrastructure.config.PreparedBriefProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AppointmentBriefServiceTest {
+
+    private static final UUID APPOINTMENT = UUID.randomUUID();
+    private static final UUID PATIENT = UUID.randomUUID();
+    private static final HistorySummaryCommand RECORD = new HistorySummaryCommand(58, null,
+            List.of("hypertension"), List.of(), List.of(), List.of(),
+            List.of(new VisitNote("2026-03-02", "hypertension. Treatment: amlodipine 5 mg")), PATIENT);
+    private static final PatientHistorySummary BRIEF = new PatientHistorySummary(
+            List.of("hypertension"), List.of("amlodipine"), List.of(), List.of(), List.of(),
+            "58-year-old with treated hypertension.", List.of(), "test-model", null);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PatientRecordPort patientRecords = mock(PatientRecordPort.class);
+    private final ClinicalReasoningPort reasoningPort = mock(ClinicalReasoningPort.class);
+    private final BackgroundCapacityPort capacity = mock(BackgroundCapacityPort.class);
+    private PreparedBriefs briefs;
+    private AppointmentBriefService service;
+
+    @BeforeEach
+    void setUp() {
+        PreparedBriefProperties props = new PreparedBriefProperties(true, "appointment.booked.v1",
+                Duration.ofMinutes(30), Duration.ofMillis(20), Duration.ofHours(2), 100, ZoneOffset.UTC);
+        CommandFingerprinter fingerprinter = new CommandFingerprinter(new ObjectMapper());
+        briefs = spy(new PreparedBriefs(props, fingerprinter, meterRegistry));
+        service = new AppointmentBriefService(props, patientRecords, reasoningPort, capacity,
+                new SingleFlight(fingerprinter, meterRegistry), briefs, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    private static LocalDateTime inMinutes(long minutes) {
+        return LocalDateTime.now(ZoneOffset.UTC).plusMinutes(minutes);
+    }
+
+    private double outcomes(String outcome) {
+        var counter = meterRegistry.find("ai.briefs.preparations").tag("outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private void awaitOutcome(String outcome) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (outcomes(outcome) == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void briefIsPreparedWithinLeadTimeAndServedForTheSameRecord() throws InterruptedException {
+        when(capacity.tryAcquire()).thenReturn(true);
+        when(patientRecords.historyRecord(PATIENT)).thenReturn(Optional.of(RECORD));
+        when(reasoningPort.summarizeHistory(RECORD)).thenReturn(BRIEF);
+
+        service.schedule(APPOINTMENT, PATIENT, inMinutes(10));
+
+        awaitOutcome("prepared");
+        verify(briefs).put(eq(APPOINTMENT), eq(RECORD), eq(BRIEF), any());
+        assertThat(briefs.find(APPOINTMENT, RECORD)).contains(BRIEF);
+        HistorySummaryCommand edited = new HistorySummaryCommand(58, null, List.of("hypertension", "gout"),
+                List.of(), List.of(), List.of(), RECORD.pastVisits(), PATIENT);
+        assertThat(briefs.find(APPOINTMENT, edited)).isEmpty();
+    }
+
+    @Test
+    void busyTensorXDefersPreparationUntilTheAppointmentThenGivesUp() throws InterruptedException {
+        when(capacity.tryAcquire()).thenReturn(false);
+
+        service.schedule(APPOINTMENT, PATIENT, LocalDateTime.now(ZoneOffset.UTC).plusNanos(300_000_000));
+
+        awaitOutcome("missed");
+        assertThat(outcomes("missed")).isEqualTo(1);
+        verify(patientRecords, never()).historyRecord(any());
+        verify(reasoningPort, never()).summarizeHistory(any());
+        assertThat(meterRegistry.get("ai.briefs.scheduled").gauge().value()).isZero();
+    }
+
+    @Test
+    void appointmentAlreadyStartedIsNotScheduled() {
+        service.schedule(APPOINTMENT, PATIENT, inMinutes(-5));
+
+        assertThat(meterRegistry.get("ai.briefs.scheduled").gauge().value()).isZero();
+        verify(capacity, never()).tryAcquire();
+    }
+
+    @Test
+    void rebookingReplacesTheEarlierSchedule() {
+        service.schedule(APPOINTMENT, PATIENT, inMinutes(120));
+        service.schedule(APPOINTMENT, PATIENT, inMinutes(180));
+
+        assertThat(meterRegistry.get("ai.briefs.scheduled").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void unreadableRecordIsNotSummarised() throws InterruptedException {
+        when(capacity.tryAcquire()).thenReturn(true);
+        when(patientRecords.historyRecord(PATIENT)).thenReturn(Optional.empty());
+
+        service.schedule(APPOINTMENT, PATIENT, inMinutes(10));
+
+        awaitOutcome("no_record");
+        assertThat(outcomes("no_record")).isEqualTo(1);
+        verify(reasoningPort, never()).summarizeHistory(any());
+    }
+}
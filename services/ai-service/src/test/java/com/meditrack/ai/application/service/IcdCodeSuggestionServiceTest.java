@@ -1,14 +1,19 @@
 package com.meditrack.ai.application.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.application.support.CommandFingerprinter;
+import com.meditrack.ai.application.support.SingleFlight;
 import com.meditrack.ai.domain.model.IcdCodeSuggestion;
 import com.meditrack.ai.domain.model.IcdCodeSuggestionCommand;
 import com.meditrack.ai.domain.model.IcdCodeSuggestions;
 import com.meditrack.ai.domain.model.IcdConfidence;
 import com.meditrack.ai.domain.port.ClinicalReasoningPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
@@ -25,6 +30,10 @@ class IcdCodeSuggestionServiceTest {
     @Mock
     private ClinicalReasoningPort reasoningPort;
 
+    @Spy
+    private SingleFlight singleFlight =
+            new SingleFlight(new CommandFingerprinter(new ObjectMapper()), new SimpleMeterRegistry());
+
     @InjectMocks
     private IcdCodeSuggestionService service;
 
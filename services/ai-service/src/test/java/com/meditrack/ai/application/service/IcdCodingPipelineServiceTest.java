@@ -0,0 +1,133 @@
+package com.meditrack.ai.application.service;
+
+import com.meditrack.ai.application.exception.ClinicalReasoningException;
+import com.meditrack.ai.application.exception.InferenceOverloadedException;
+import com.meditrack.ai.application.usecase.SuggestIcdCodesUseCase;
+import com.meditrack.ai.domain.model.IcdCodeSuggestion;
+import com.meditrack.ai.domain.model.IcdCodeSuggestionCommand;
+import com.meditrack.ai.domain.model.IcdCodeSuggestions;
+import com.meditrack.ai.domain.model.IcdCodingJob;
+import com.meditrack.ai.domain.model.IcdConfidence;
+import com.meditrack.ai.infrastructure.config.IcdCodingProperties;
+import com.meditrack.ai.infrastructure.messaging.IcdCodingEventProducer;
+import com.meditrack.ai.infrastructure.messaging.IcdCodingEventProducer.CodedVisit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IcdCodingPipelineServiceTest {
+
+    private static final IcdCodeSuggestions CODES = new IcdCodeSuggestions(
+            List.of(new IcdCodeSuggestion("I10", "Essential (primary) hypertension", IcdConfidence.HIGH,
+                    "BP 162/98 on two readings")), "test-model");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SuggestIcdCodesUseCase suggestIcdCodes = mock(SuggestIcdCodesUseCase.class);
+    private final IcdCodingEventProducer eventProducer = mock(IcdCodingEventProducer.class);
+    private IcdCodingPipelineService service;
+
+    private IcdCodingPipelineService service(boolean enabled) {
+        service = new IcdCodingPipelineService(
+                new IcdCodingProperties(enabled, "appointment.completed.v1", "prescription.issued.v1", 10,
+                        Duration.ofMillis(50), 2, 100, Duration.ofMillis(10)),
+                suggestIcdCodes, eventProducer, meterRegistry);
+        return service;
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    private static IcdCodingJob job(UUID appointmentId, String source, String notes, String diagnosis) {
+        return new IcdCodingJob(appointmentId, UUID.randomUUID(), UUID.randomUUID(), List.of(source), notes,
+                diagnosis, Instant.now());
+    }
+
+    private double visits(String outcome) {
+        var counter = meterRegistry.find("ai.icd.coding.visits").tag("outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void eventsForTheSameAppointmentAreCodedInOneCall() {
+        service(false);
+        UUID appointment = UUID.randomUUID();
+        when(suggestIcdCodes.suggest(any())).thenReturn(CODES);
+
+        service.codeBatch(List.of(
+                job(appointment, "appointment.completed", "BP 162/98, repeat 158/96.", null),
+                job(UUID.randomUUID(), "appointment.completed", "Sore throat, no fever.", null),
+                job(appointment, "prescription.issued", "Start amlodipine 5 mg.", "I10")));
+
+        ArgumentCaptor<IcdCodeSuggestionCommand> commands = ArgumentCaptor.forClass(IcdCodeSuggestionCommand.class);
+        verify(suggestIcdCodes, times(2)).suggest(commands.capture());
+        assertThat(commands.getAllValues()).contains(new IcdCodeSuggestionCommand(
+                "BP 162/98, repeat 158/96.\n\nStart amlodipine 5 mg.", "I10"));
+
+        ArgumentCaptor<List<CodedVisit>> published = ArgumentCaptor.forClass(List.class);
+        verify(eventProducer).publishCoded(published.capture());
+        assertThat(published.getValue()).hasSize(2);
+        assertThat(published.getValue().get(0).job().sources())
+                .containsExactly("appointment.completed", "prescription.issued");
+        assertThat(visits("coded")).isEqualTo(2);
+    }
+
+    @Test
+    void shedVisitGoesBackOnTheBacklog() {
+        service(false);
+        when(suggestIcdCodes.suggest(any())).thenThrow(new InferenceOverloadedException("saturated"));
+
+        int deferred = service.codeBatch(List.of(job(UUID.randomUUID(), "appointment.completed", "notes", null)));
+
+        assertThat(deferred).isEqualTo(1);
+        assertThat(meterRegistry.get("ai.icd.coding.backlog").gauge().value()).isEqualTo(1);
+        assertThat(visits("deferred")).isEqualTo(1);
+        verify(eventProducer, never()).publishCoded(anyList());
+    }
+
+    @Test
+    void failedVisitDoesNotFailItsNeighbours() {
+        service(false);
+        when(suggestIcdCodes.suggest(new IcdCodeSuggestionCommand("bad", null)))
+                .thenThrow(new ClinicalReasoningException("TensorX returned an unparseable answer"));
+        when(suggestIcdCodes.suggest(new IcdCodeSuggestionCommand("good", null))).thenReturn(CODES);
+
+        int deferred = service.codeBatch(List.of(
+                job(UUID.randomUUID(), "appointment.completed", "bad", null),
+                job(UUID.randomUUID(), "appointment.completed", "good", null)));
+
+        assertThat(deferred).isZero();
+        assertThat(visits("coded")).isEqualTo(1);
+        assertThat(visits("failed")).isEqualTo(1);
+        assertThat(meterRegistry.get("ai.icd.coding.backlog").gauge().value()).isZero();
+    }
+
+    @Test
+    void queuedVisitIsCodedAndPublishedInTheBackground() {
+        service(true);
+        when(suggestIcdCodes.suggest(any())).thenReturn(CODES);
+
+        service.enqueue(job(UUID.randomUUID(), "appointment.completed", "BP 162/98.", null));
+
+        verify(eventProducer, timeout(5000)).publishCoded(anyList());
+        assertThat(visits("coded")).isEqualTo(1);
+    }
+}
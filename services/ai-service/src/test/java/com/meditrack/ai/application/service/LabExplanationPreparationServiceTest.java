@@ -0,0 +1,134 @@
+package com.meditrack.ai.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.application.support.CommandFingerprinter;
+import com.meditrack.ai.application.support.PreparedLabExplanations;
+import com.meditrack.ai.application.usecase.ExplainLabResultUseCase;
+import com.meditrack.ai.domain.model.ClinicalUrgency;
+import com.meditrack.ai.domain.model.LabResultExplanation;
+import com.meditrack.ai.domain.model.LabResultExplanationCommand;
+import com.meditrack.ai.domain.model.LabValue;
+import com.meditrack.ai.domain.port.BackgroundCapacityPort;
+import com.meditrack.ai.infrastructure.config.PreparedLabExplanationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LabExplanationPreparationServiceTest {
+
+    private static final LabResultExplanation EXPLANATION = new LabResultExplanation(
+            "Hyperkalemia", "Your potassium is high", "Recheck today", ClinicalUrgency.URGENT, List.of(), "test-model");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExplainLabResultUseCase explainLabResult = mock(ExplainLabResultUseCase.class);
+    private final BackgroundCapacityPort capacity = mock(BackgroundCapacityPort.class);
+    private PreparedLabExplanations prepared;
+    private LabExplanationPreparationService service;
+
+    private LabExplanationPreparationService service(Duration maxDelay) {
+        PreparedLabExplanationProperties props = new PreparedLabExplanationProperties(true, "lab-events", 1, 100,
+                Duration.ofMillis(20), maxDelay, Duration.ofHours(24), 100);
+        prepared = new PreparedLabExplanations(props, new CommandFingerprinter(new ObjectMapper()), meterRegistry);
+        service = new LabExplanationPreparationService(props, explainLabResult, capacity, prepared, meterRegistry);
+        return service;
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    private static LabResultExplanationCommand panel(String test, String value, String flag) {
+        return new LabResultExplanationCommand(List.of(new LabValue(test, value, "mmol/L", "3.5-5.1", flag)),
+                null, null, null);
+    }
+
+    private double outcomes(String outcome) {
+        var counter = meterRegistry.find("ai.lab.preparations").tag("outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private void awaitOutcome(String outcome) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (outcomes(outcome) == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void preparedExplanationIsServedForTheSameOrder() throws InterruptedException {
+        service(Duration.ofHours(1));
+        when(capacity.tryAcquire()).thenReturn(true);
+        LabResultExplanationCommand command = panel("Potassium", "6.2", "H");
+        when(explainLabResult.explain(command)).thenReturn(EXPLANATION);
+        UUID orderId = UUID.randomUUID();
+
+        service.prepare(orderId, command, false);
+
+        awaitOutcome("prepared");
+        assertThat(prepared.find(orderId, command)).contains(EXPLANATION);
+    }
+
+    @Test
+    void criticalPanelIsPreparedBeforeQueuedRoutineOnes() throws InterruptedException {
+        service(Duration.ofHours(1));
+        when(capacity.tryAcquire()).thenReturn(true);
+        CountDownLatch release = new CountDownLatch(1);
+        LabResultExplanationCommand first = panel("Sodium", "139", "N");
+        LabResultExplanationCommand routine = panel("Glucose", "6.9", "H");
+        LabResultExplanationCommand critical = panel("Potassium", "6.9", "CRITICAL");
+        when(explainLabResult.explain(first)).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return EXPLANATION;
+        });
+        when(explainLabResult.explain(routine)).thenReturn(EXPLANATION);
+        when(explainLabResult.explain(critical)).thenReturn(EXPLANATION);
+
+        service.prepare(UUID.randomUUID(), first, false);
+        verify(explainLabResult, timeout(5000)).explain(first);
+        service.prepare(UUID.randomUUID(), routine, false);
+        service.prepare(UUID.randomUUID(), critical, true);
+        release.countDown();
+
+        verify(explainLabResult, timeout(5000)).explain(routine);
+        InOrder order = inOrder(explainLabResult);
+        order.verify(explainLabResult).explain(first);
+        order.verify(explainLabResult).explain(critical);
+        order.verify(explainLabResult).explain(routine);
+    }
+
+    @Test
+    void routinePanelWaitsForIdleCapacityButCriticalDoesNot() throws InterruptedException {
+        service(Duration.ofMillis(100));
+        when(capacity.tryAcquire()).thenReturn(false);
+        LabResultExplanationCommand routine = panel("Glucose", "6.9", "H");
+        LabResultExplanationCommand critical = panel("Potassium", "6.9", "CRITICAL");
+        when(explainLabResult.explain(critical)).thenReturn(EXPLANATION);
+
+        service.prepare(UUID.randomUUID(), routine, false);
+        service.prepare(UUID.randomUUID(), critical, true);
+
+        awaitOutcome("missed");
+        awaitOutcome("prepared");
+        assertThat(outcomes("missed")).isEqualTo(1);
+        assertThat(outcomes("prepared")).isEqualTo(1);
+        verify(explainLabResult, never()).explain(routine);
+        verify(explainLabResult).explain(any());
+    }
+}
@@ -1,21 +1,34 @@
 package com.meditrack.ai.application.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.application.support.CommandFingerprinter;
+import com.meditrack.ai.application.support.LabReferencePrepass;
+import com.meditrack.ai.application.support.PreparedLabExplanations;
+import com.meditrack.ai.application.support.SingleFlight;
 import com.meditrack.ai.domain.model.ClinicalUrgency;
+import com.meditrack.ai.domain.model.LabResultDetail;
 import com.meditrack.ai.domain.model.LabResultExplanation;
 import com.meditrack.ai.domain.model.LabResultExplanationCommand;
 import com.meditrack.ai.domain.model.LabValue;
 import com.meditrack.ai.domain.port.ClinicalReasoningPort;
+import com.meditrack.ai.infrastructure.config.LabPrepassProperties;
+import com.meditrack.ai.infrastructure.config.PreparedLabExplanationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -25,6 +38,20 @@ class LabResultExplanationServiceTest {
     @Mock
     private ClinicalReasoningPort reasoningPort;
 
+    @Spy
+    private SingleFlight singleFlight =
+            new SingleFlight(new CommandFingerprinter(new ObjectMapper()), new SimpleMeterRegistry());
+
+    @Spy
+    private LabReferencePrepass prepass = new LabReferencePrepass(
+            new LabPrepassProperties(true, 1000, Duration.ofDays(7)), new SimpleMeterRegistry());
+
+    @Spy
+    private PreparedLabExplanations preparedExplanations = new PreparedLabExplanations(
+            new PreparedLabExplanationProperties(true, "lab-events", 2, 1000, Duration.ofMinutes(1),
+                    Duration.ofHours(1), Duration.ofHours(24), 100),
+            new CommandFingerprinter(new ObjectMapper()), new SimpleMeterRegistry());
+
     @InjectMocks
     private LabResultExplanationService service;
 
@@ -60,4 +87,115 @@ class LabResultExplanationServiceTest {
         assertThat(captor.getValue()).isSameAs(cmd);
         assertThat(captor.getValue().results()).hasSize(1);
     }
+
+    @Test
+    void allNormalPanel_isExplainedWithoutTheModel() {
+        LabResultExplanationCommand cmd = new LabResultExplanationCommand(List.of(
+                new LabValue("Sodium", "140", "mmol/L", "135-145", null),
+                new LabValue("Potassium", "4.1", "mmol/L", "3.5-5.1", "N")),
+                45, "FEMALE", null);
+
+        LabResultExplanation result = service.explain(cmd);
+
+        assertThat(result.urgency()).isEqualTo(ClinicalUrgency.ROUTINE);
+        assertThat(result.modelUsed()).isEqualTo(LabReferencePrepass.MODEL_USED);
+        assertThat(result.results()).extracting(LabResultDetail::testName).containsExactly("Sodium", "Potassium");
+        verify(reasoningPort, never()).explainLabResult(any());
+    }
+
+    @Test
+    void modelWording_forInRangeValues_isReusedOnLaterNormalPanels() {
+        when(reasoningPort.explainLabResult(any())).thenReturn(new LabResultExplanation(
+                "Hyperkalemia", "Your potassium is high", "Recheck", ClinicalUrgency.URGENT, List.of(
+                        new LabResultDetail("Potassium", "High", "Potassium 6.2 is above range", "Review"),
+                        new LabResultDetail("Sodium", "Normal", "Sodium is in the middle of its range.",
+                                "No concern.")),
+                "deepseek/deepseek-chat-v3.1"));
+        service.explain(new LabResultExplanationCommand(List.of(
+                new LabValue("Potassium", "6.2", "mmol/L", "3.5-5.1", "H"),
+                new LabValue("Sodium", "140", "mmol/L", "135-145", null)),
+                62, "MALE", null));
+
+        LabResultExplanation later = service.explain(new LabResultExplanationCommand(List.of(
+                new LabValue("sodium", "139", "mmol/L", "135-145", null)),
+                50, "male", null));
+
+        assertThat(later.modelUsed()).isEqualTo(LabReferencePrepass.MODEL_USED);
+        assertThat(later.results()).singleElement()
+                .extracting(LabResultDetail::explanation).isEqualTo("Sodium is in the middle of its range.");
+    }
+
+    @Test
+    void modelWording_fromAPanelWithClinicianContext_isNotReused() {
+        when(reasoningPort.explainLabResult(any())).thenReturn(new LabResultExplanation(
+                "Hyperkalemia", "Your potassium is high", "Recheck", ClinicalUrgency.URGENT, List.of(
+                        new LabResultDetail("Potassium", "High", "Potassium 6.2 is above range", "Review"),
+                        new LabResultDetail("Sodium", "Normal", "Sodium is normal despite the recent diuretic change.",
+                                "No concern.")),
+                "deepseek/deepseek-chat-v3.1"));
+        service.explain(new LabResultExplanationCommand(List.of(
+                new LabValue("Potassium", "6.2", "mmol/L", "3.5-5.1", "H"),
+                new LabValue("Sodium", "140", "mmol/L", "135-145", null)),
+                62, "MALE", "started furosemide last week"));
+
+        LabResultExplanation later = service.explain(new LabResultExplanationCommand(List.of(
+                new LabValue("Sodium", "139", "mmol/L", "135-145", null)),
+                50, "MALE", null));
+
+        assertThat(later.results()).singleElement()
+                .extracting(LabResultDetail::explanation)
+                .isEqualTo("Sodium is 139 mmol/L, within the reference range of 135-145.");
+    }
+
+    @Test
+    void modelWording_thatNamesAnotherTestOnThePanel_isNotReused() {
+        when(reasoningPort.explainLabResult(any())).thenReturn(new LabResultExplanation(
+                "Hyperkalemia", "Your potassium is high", "Recheck", ClinicalUrgency.URGENT, List.of(
+                        new LabResultDetail("Potassium", "High", "Potassium 6.2 is above range", "Review"),
+                        new LabResultDetail("Sodium", "Normal", "Sodium is normal, unlike the potassium.",
+                                "No concern.")),
+                "deepseek/deepseek-chat-v3.1"));
+        service.explain(new LabResultExplanationCommand(List.of(
+                new LabValue("Potassium", "6.2", "mmol/L", "3.5-5.1", "H"),
+                new LabValue("Sodium", "140", "mmol/L", "135-145", null)),
+                62, "MALE", null));
+
+        LabResultExplanation later = service.explain(new LabResultExplanationCommand(List.of(
+                new LabValue("Sodium", "139", "mmol/L", "135-145", null)),
+                50, "MALE", null));
+
+        assertThat(later.results()).singleElement()
+                .extracting(LabResultDetail::explanation)
+                .isEqualTo("Sodium is 139 mmol/L, within the reference range of 135-145.");
+    }
+
+    @Test
+    void orderWithAPreparedExplanationForTheSamePanelIsAnsweredWithoutTheModel() {
+        UUID orderId = UUID.randomUUID();
+        LabResultExplanationCommand published = new LabResultExplanationCommand(command().results(), null, null, null);
+        LabResultExplanation prepared = new LabResultExplanation(
+                "Hyperkalemia", "Your potassium is high", "Recheck and review meds",
+                ClinicalUrgency.URGENT, List.of(), "deepseek/deepseek-chat-v3.1");
+        preparedExplanations.put(orderId, published, prepared);
+
+        LabResultExplanation result = service.explain(orderId,
+                new LabResultExplanationCommand(command().results(), 62, "MALE", null));
+
+        assertThat(result).isSameAs(prepared);
+        verify(reasoningPort, never()).explainLabResult(any());
+    }
+
+    @Test
+    void orderWhosePanelChangedOrThatAddsContextIsExplainedAfresh() {
+        UUID orderId = UUID.randomUUID();
+        preparedExplanations.put(orderId, new LabResultExplanationCommand(
+                List.of(new LabValue("Potassium", "5.9", "mmol/L", "3.5-5.1", "H")), null, null, null),
+                new LabResultExplanation("", "", "", ClinicalUrgency.ROUTINE, List.of(), "m"));
+        LabResultExplanation fresh = new LabResultExplanation(
+                "Hyperkalemia", "Your potassium is high", "Recheck and review meds",
+                ClinicalUrgency.URGENT, List.of(), "deepseek/deepseek-chat-v3.1");
+        when(reasoningPort.explainLabResult(any())).thenReturn(fresh);
+
+        assertThat(service.explain(orderId, command())).isSameAs(fresh);
+    }
 }
@@ -1,20 +1,32 @@
 package com.meditrack.ai.application.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.application.support.CommandFingerprinter;
+import com.meditrack.ai.application.support.PreparedBriefs;
+import com.meditrack.ai.application.support.SingleFlight;
 import com.meditrack.ai.domain.model.HistorySummaryCommand;
 import com.meditrack.ai.domain.model.LabValue;
 import com.meditrack.ai.domain.model.PatientHistorySummary;
 import com.meditrack.ai.domain.model.VisitNote;
 import com.meditrack.ai.domain.port.ClinicalReasoningPort;
+import com.meditrack.ai.infrastructure.config.PreparedBriefProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -24,6 +36,16 @@ class PatientHistorySummaryServiceTest {
     @Mock
     private ClinicalReasoningPort reasoningPort;
 
+    @Spy
+    private SingleFlight singleFlight =
+            new SingleFlight(new CommandFingerprinter(new ObjectMapper()), new SimpleMeterRegistry());
+
+    @Spy
+    private PreparedBriefs preparedBriefs = new PreparedBriefs(
+            new PreparedBriefProperties(true, "appointment.booked.v1", Duration.ofMinutes(30), Duration.ofMinutes(1),
+                    Duration.ofHours(2), 100, ZoneOffset.UTC),
+            new CommandFingerprinter(new ObjectMapper()), new SimpleMeterRegistry());
+
     @InjectMocks
     private PatientHistorySummaryService service;
 
@@ -34,7 +56,8 @@ class PatientHistorySummaryServiceTest {
                 List.of("metformin", "lisinopril"),
                 List.of("penicillin"),
                 List.of(new LabValue("eGFR", "44", null, null, "LOW")),
-                List.of(new VisitNote("2026-06-01", "Complains of increasing fatigue.")));
+                List.of(new VisitNote("2026-06-01", "Complains of increasing fatigue.")),
+                null);
     }
 
     @Test
@@ -47,7 +70,7 @@ class PatientHistorySummaryServiceTest {
                 List.of("metformin with declining renal function"),
                 "67-year-old woman with T2DM and CKD stage 3.",
                 List.of("review metformin dose against renal function"),
-                "deepseek/deepseek-chat-v3.1");
+                "deepseek/deepseek-chat-v3.1", null);
         when(reasoningPort.summarizeHistory(any())).thenReturn(brief);
 
         PatientHistorySummary result = service.summarize(command());
@@ -65,7 +88,7 @@ class PatientHistorySummaryServiceTest {
                 List.of(), List.of(), List.of(), List.of(), List.of(),
                 "No significant history in the supplied record.",
                 List.of(),
-                "deepseek/deepseek-chat-v3.1");
+                "deepseek/deepseek-chat-v3.1", null);
         when(reasoningPort.summarizeHistory(any())).thenReturn(quiet);
 
         PatientHistorySummary result = service.summarize(command());
@@ -80,7 +103,7 @@ class PatientHistorySummaryServiceTest {
         HistorySummaryCommand command = command();
         PatientHistorySummary brief = new PatientHistorySummary(
                 List.of("x"), List.of(), List.of(), List.of(), List.of(), "s", List.of(),
-                "deepseek/deepseek-chat-v3.1");
+                "deepseek/deepseek-chat-v3.1", null);
         when(reasoningPort.summarizeHistory(command)).thenReturn(brief);
 
         PatientHistorySummary result = service.summarize(command);
@@ -88,4 +111,36 @@ class PatientHistorySummaryServiceTest {
         assertThat(result).isSameAs(brief);
         verify(reasoningPort).summarizeHistory(command);
     }
+
+    @Test
+    void appointmentWithAPreparedBriefForTheSameRecordIsAnsweredWithoutTheModel() {
+        UUID appointmentId = UUID.randomUUID();
+        PatientHistorySummary prepared = new PatientHistorySummary(
+                List.of("type 2 diabetes"), List.of(), List.of(), List.of(), List.of(), "prepared", List.of(),
+                "deepseek/deepseek-chat-v3.1", null);
+        preparedBriefs.put(appointmentId, command(), prepared, Instant.now().plus(Duration.ofHours(1)));
+
+        PatientHistorySummary result = service.summarize(appointmentId, command());
+
+        assertThat(result).isSameAs(prepared);
+        verify(reasoningPort, never()).summarizeHistory(any());
+    }
+
+    @Test
+    void appointmentWhoseRecordChangedSincePreparationIsSummarisedAfresh() {
+        UUID appointmentId = UUID.randomUUID();
+        PatientHistorySummary stale = new PatientHistorySummary(
+                List.of(), List.of(), List.of(), List.of(), List.of(), "stale", List.of(),
+                "deepseek/deepseek-chat-v3.1", null);
+        preparedBriefs.put(appointmentId, command(), stale, Instant.now().plus(Duration.ofHours(1)));
+        HistorySummaryCommand changed = new HistorySummaryCommand(
+                67, "FEMALE", List.of("type 2 diabetes"), List.of("metformin"), List.of("penicillin"),
+                List.of(), List.of(), null);
+        PatientHistorySummary fresh = new PatientHistorySummary(
+                List.of("type 2 diabetes"), List.of("metformin"), List.of("penicillin"), List.of(), List.of(),
+                "fresh", List.of(), "deepseek/deepseek-chat-v3.1", null);
+        when(reasoningPort.summarizeHistory(changed)).thenReturn(fresh);
+
+        assertThat(service.summarize(appointmentId, changed)).isSameAs(fresh);
+    }
 }
@@ -0,0 +1,109 @@
+package com.meditrack.ai.application.service;
+
+import com.meditrack.ai.application.exception.ClinicalReasoningException;
+import com.meditrack.ai.domain.model.Medication;
+import com.meditrack.ai.domain.model.SafetyAssessment;
+import com.meditrack.ai.domain.model.SafetyCheckCommand;
+import com.meditrack.ai.domain.model.SafetyScreenOutcome;
+import com.meditrack.ai.domain.model.Severity;
+import com.meditrack.ai.domain.port.ClinicalReasoningPort;
+import com.meditrack.ai.infrastructure.config.SafetyBatchProperties;
+import com.meditrack.ai.infrastructure.messaging.PrescriptionSafetyEventProducer;
+import com.meditrack.ai.infrastructure.messaging.PrescriptionSafetyEventProducer.FlaggedScreen;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PrescriptionSafetyBatchServiceTest {
+
+    private static final int MAX_CONCURRENCY = 3;
+
+    @Mock
+    private ClinicalReasoningPort reasoningPort;
+
+    @Mock
+    private PrescriptionSafetyEventProducer eventProducer;
+
+    private PrescriptionSafetyBatchService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PrescriptionSafetyBatchService(
+                reasoningPort, eventProducer, new SafetyBatchProperties(MAX_CONCURRENCY));
+    }
+
+    private static SafetyCheckCommand command(String drug) {
+        return new SafetyCheckCommand(List.of(new Medication(drug, null, null)),
+                List.of("Aspirin"), List.of(), 70, "FEMALE", UUID.randomUUID(), UUID.randomUUID());
+    }
+
+    private static SafetyAssessment assessment(Severity risk) {
+        return new SafetyAssessment(risk, "summary of " + risk, "recommendation", risk.isHigh(),
+                List.of(), List.of(), "test-model");
+    }
+
+    @Test
+    void returnsOutcomesInInputOrderWithPerItemErrors() {
+        when(reasoningPort.assess(any())).thenAnswer(inv -> {
+            String drug = inv.<SafetyCheckCommand>getArgument(0).newMedications().get(0).name();
+            return switch (drug) {
+                case "Warfarin" -> assessment(Severity.MAJOR);
+                case "Broken" -> throw new ClinicalReasoningException("TensorX returned an empty response");
+                default -> assessment(Severity.NONE);
+            };
+        });
+        List<SafetyCheckCommand> commands =
+                List.of(command("Paracetamol"), command("Warfarin"), command("Broken"), command("Amoxicillin"));
+
+        List<SafetyScreenOutcome> outcomes = service.checkAll(commands);
+
+        assertThat(outcomes).hasSize(4);
+        assertThat(outcomes.get(0).assessment().overallRisk()).isEqualTo(Severity.NONE);
+        assertThat(outcomes.get(1).assessment().overallRisk()).isEqualTo(Severity.MAJOR);
+        assertThat(outcomes.get(2).succeeded()).isFalse();
+        assertThat(outcomes.get(2).error()).contains("empty response");
+        assertThat(outcomes.get(3).assessment().overallRisk()).isEqualTo(Severity.NONE);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<FlaggedScreen>> flagged = ArgumentCaptor.forClass(List.class);
+        verify(eventProducer).publishFlagged(flagged.capture());
+        assertThat(flagged.getValue()).singleElement()
+                .satisfies(f -> assertThat(f.command()).isSameAs(commands.get(1)));
+        verify(eventProducer, never()).publishFlagged(any(SafetyCheckCommand.class), any());
+    }
+
+    @Test
+    void neverExceedsTheConcurrencyCap() {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(reasoningPort.assess(any())).thenAnswer(inv -> {
+            peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            active.decrementAndGet();
+            return assessment(Severity.NONE);
+        });
+
+        List<SafetyScreenOutcome> outcomes = service.checkAll(
+                IntStream.range(0, 20).mapToObj(i -> command("drug-" + i)).toList());
+
+        assertThat(outcomes).allMatch(SafetyScreenOutcome::succeeded);
+        assertThat(peak.get()).isBetween(2, MAX_CONCURRENCY);
+        verify(eventProducer, never()).publishFlagged(anyList());
+    }
+}
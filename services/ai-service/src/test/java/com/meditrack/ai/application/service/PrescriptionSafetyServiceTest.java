@@ -1,5 +1,8 @@
 package com.meditrack.ai.application.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.application.support.CommandFingerprinter;
+import com.meditrack.ai.application.support.SingleFlight;
 import com.meditrack.ai.domain.model.AllergyConflict;
 import com.meditrack.ai.domain.model.DrugInteraction;
 import com.meditrack.ai.domain.model.Medication;
@@ -8,10 +11,12 @@ import com.meditrack.ai.domain.model.SafetyCheckCommand;
 import com.meditrack.ai.domain.model.Severity;
 import com.meditrack.ai.domain.port.ClinicalReasoningPort;
 import com.meditrack.ai.infrastructure.messaging.PrescriptionSafetyEventProducer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
@@ -28,6 +33,10 @@ class PrescriptionSafetyServiceTest {
     @Mock
     private ClinicalReasoningPort reasoningPort;
 
+    @Spy
+    private SingleFlight singleFlight =
+            new SingleFlight(new CommandFingerprinter(new ObjectMapper()), new SimpleMeterRegistry());
+
     @Mock
     private PrescriptionSafetyEventProducer eventProducer;
 
@@ -1,12 +1,17 @@
 package com.meditrack.ai.application.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.application.support.CommandFingerprinter;
+import com.meditrack.ai.application.support.SingleFlight;
 import com.meditrack.ai.domain.model.SoapNote;
 import com.meditrack.ai.domain.model.SoapNoteCommand;
 import com.meditrack.ai.domain.port.ClinicalReasoningPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
@@ -23,6 +28,10 @@ class SoapNoteServiceTest {
     @Mock
     private ClinicalReasoningPort reasoningPort;
 
+    @Spy
+    private SingleFlight singleFlight =
+            new SingleFlight(new CommandFingerprinter(new ObjectMapper()), new SimpleMeterRegistry());
+
     @InjectMocks
     private SoapNoteService service;
 
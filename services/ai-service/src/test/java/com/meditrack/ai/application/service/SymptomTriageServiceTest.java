@@ -1,19 +1,27 @@
 package com.meditrack.ai.application.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.application.support.CommandFingerprinter;
+import com.meditrack.ai.application.support.RedFlagScreen;
+import com.meditrack.ai.application.support.SingleFlight;
 import com.meditrack.ai.domain.model.TriageAssessment;
 import com.meditrack.ai.domain.model.TriageCommand;
 import com.meditrack.ai.domain.model.TriageUrgency;
 import com.meditrack.ai.domain.port.ClinicalReasoningPort;
+import com.meditrack.ai.infrastructure.config.RedFlagScreenProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -23,12 +31,20 @@ class SymptomTriageServiceTest {
     @Mock
     private ClinicalReasoningPort reasoningPort;
 
+    @Spy
+    private SingleFlight singleFlight =
+            new SingleFlight(new CommandFingerprinter(new ObjectMapper()), new SimpleMeterRegistry());
+
+    @Spy
+    private RedFlagScreen redFlagScreen =
+            new RedFlagScreen(new RedFlagScreenProperties(true), new SimpleMeterRegistry());
+
     @InjectMocks
     private SymptomTriageService service;
 
     private TriageCommand command() {
         return new TriageCommand(
-                58, "MALE", "crushing chest pain radiating to left arm", "30 minutes",
+                58, "MALE", "intermittent palpitations, no chest pain", "2 days",
                 List.of("hypertension"), List.of("amlodipine"), List.of());
     }
 
@@ -77,4 +93,31 @@ class SymptomTriageServiceTest {
         assertThat(result).isSameAs(urgent);
         verify(reasoningPort).triage(command);
     }
+
+    @Test
+    void redFlagSymptoms_shortCircuitToEmergency_withoutCallingPort() {
+        TriageCommand command = new TriageCommand(
+                58, "MALE", "crushing chest pain radiating to left arm", "30 minutes",
+                List.of("hypertension"), List.of("amlodipine"), List.of());
+
+        TriageAssessment result = service.triage(command);
+
+        assertThat(result.urgency()).isEqualTo(TriageUrgency.EMERGENCY);
+        assertThat(result.redFlags()).containsExactly("chest pain or pressure");
+        assertThat(result.modelUsed()).isEqualTo(RedFlagScreen.MODEL_USED);
+        verify(reasoningPort, never()).triage(any());
+    }
+
+    @Test
+    void negatedRedFlag_stillGoesToPort() {
+        TriageCommand command = new TriageCommand(
+                40, "FEMALE", "Denies chest pain. Mild cough for three days.", "3 days",
+                List.of(), List.of(), List.of());
+        TriageAssessment routine = new TriageAssessment(
+                TriageUrgency.ROUTINE, "General Practice", List.of(), "likely viral", "fluids",
+                "deepseek/deepseek-chat-v3.1");
+        when(reasoningPort.triage(command)).thenReturn(routine);
+
+        assertThat(service.triage(command)).isSameAs(routine);
+    }
 }
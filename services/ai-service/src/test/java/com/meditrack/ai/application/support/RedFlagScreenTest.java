@@ -0,0 +1,75 @@
+package com.meditrack.ai.application.support;
+
+import com.meditrack.ai.domain.model.TriageAssessment;
+import com.meditrack.ai.domain.model.TriageCommand;
+import com.meditrack.ai.domain.model.TriageUrgency;
+import com.meditrack.ai.infrastructure.config.RedFlagScreenProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedFlagScreenTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RedFlagScreen screen = new RedFlagScreen(new RedFlagScreenProperties(true), meterRegistry);
+
+    private static TriageCommand command(String symptoms) {
+        return new TriageCommand(60, "FEMALE", symptoms, "1 hour", List.of(), List.of(), List.of());
+    }
+
+    @Test
+    void findsEveryRedFlagOnce_inOrderOfAppearance() {
+        assertThat(screen.redFlagsIn("Slurred speech and facial droop since 9am; then a SEIZURE. "
+                + "Family say she had a seizure last year too."))
+                .containsExactly("signs of stroke", "seizure");
+    }
+
+    @Test
+    void negationCues_suppressTheMatch_withinTheSameClauseOnly() {
+        assertThat(screen.redFlagsIn("denies chest pain")).isEmpty();
+        assertThat(screen.redFlagsIn("no fever, no vomiting, no chest pressure")).isEmpty();
+        assertThat(screen.redFlagsIn("past history of stroke in 2019")).isEmpty();
+        assertThat(screen.redFlagsIn("no fever. crushing chest pain now")).containsExactly("chest pain or pressure");
+        assertThat(screen.redFlagsIn("no cough but crushing chest pain")).containsExactly("chest pain or pressure");
+    }
+
+    @Test
+    void pseudoNegation_andDistantCues_doNotSuppress() {
+        assertThat(screen.redFlagsIn("no improvement in chest tightness after nitro"))
+                .containsExactly("chest pain or pressure");
+        assertThat(screen.redFlagsIn("not eating well for a week and now one week later she is unresponsive"))
+                .containsExactly("loss of consciousness");
+    }
+
+    @Test
+    void matchesWholeWordsOnly() {
+        assertThat(screen.redFlagsIn("heatstroke risk discussed; broken strokes of the pen")).isEmpty();
+        assertThat(screen.redFlagsIn("I can’t breathe")).containsExactly("difficulty breathing");
+    }
+
+    @Test
+    void screen_returnsEmergencyAssessment_andCountsOutcomes() {
+        Optional<TriageAssessment> emergency = screen.screen(command("worst headache of my life, came on suddenly"));
+        Optional<TriageAssessment> passed = screen.screen(command("mild sore throat and runny nose"));
+
+        assertThat(emergency).hasValueSatisfying(a -> {
+            assertThat(a.urgency()).isEqualTo(TriageUrgency.EMERGENCY);
+            assertThat(a.redFlags()).containsExactly("thunderclap headache");
+            assertThat(a.modelUsed()).isEqualTo(RedFlagScreen.MODEL_USED);
+        });
+        assertThat(passed).isEmpty();
+        assertThat(meterRegistry.counter("ai.triage.red_flag_screen", "outcome", "emergency").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("ai.triage.red_flag_screen", "outcome", "passed").count()).isEqualTo(1);
+    }
+
+    @Test
+    void disabled_passesEverythingThrough() {
+        RedFlagScreen off = new RedFlagScreen(new RedFlagScreenProperties(false), meterRegistry);
+
+        assertThat(off.screen(command("crushing chest pain"))).isEmpty();
+    }
+}
@@ -0,0 +1,47 @@
+package com.meditrack.ai.application.support;
+
+import com.meditrack.ai.application.support.ReferenceRange.Status;
+import com.meditrack.ai.domain.model.LabValue;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReferenceRangeTest {
+
+    private static ReferenceRange.Evaluation eval(String value, String range, String flag) {
+        return ReferenceRange.evaluate(new LabValue("Test", value, "unit", range, flag));
+    }
+
+    @Test
+    void interval_bandsInRangeValues_andFlagsValuesOutside() {
+        assertThat(eval("3.6", "3.5-5.1", null)).isEqualTo(new ReferenceRange.Evaluation(Status.IN_RANGE, "low-normal"));
+        assertThat(eval("4.3", "3.5 – 5.1", null).band()).isEqualTo("mid-normal");
+        assertThat(eval("5.1", "3.5 to 5.1", "N").band()).isEqualTo("high-normal");
+        assertThat(eval("5.2", "3.5-5.1", null).status()).isEqualTo(Status.ABNORMAL);
+        assertThat(eval("1,200", "150-1,500", null).status()).isEqualTo(Status.IN_RANGE);
+    }
+
+    @Test
+    void oneSidedLimits_andCensoredValues() {
+        assertThat(eval("4.2", "<5.2", null).status()).isEqualTo(Status.IN_RANGE);
+        assertThat(eval("72", "≥ 60", null).status()).isEqualTo(Status.IN_RANGE);
+        assertThat(eval("55", ">=60", null).status()).isEqualTo(Status.ABNORMAL);
+        assertThat(eval("<0.01", "<0.04", null).status()).isEqualTo(Status.IN_RANGE);
+        assertThat(eval(">90", ">=60", null).status()).isEqualTo(Status.AMBIGUOUS);
+    }
+
+    @Test
+    void nonNormalFlag_winsOverTheNumbers() {
+        assertThat(eval("4.0", "3.5-5.1", "H").status()).isEqualTo(Status.ABNORMAL);
+        assertThat(eval("4.0", "3.5-5.1", "critical").status()).isEqualTo(Status.ABNORMAL);
+    }
+
+    @Test
+    void qualitative_andUnreadableValues() {
+        assertThat(eval("Negative", "negative", null).band()).isEqualTo("expected");
+        assertThat(eval("Trace", "Negative", null).status()).isEqualTo(Status.AMBIGUOUS);
+        assertThat(eval("haemolysed", "3.5-5.1", null).status()).isEqualTo(Status.AMBIGUOUS);
+        assertThat(eval("4.0", "see comment", null).status()).isEqualTo(Status.AMBIGUOUS);
+        assertThat(eval("4.0", null, null).status()).isEqualTo(Status.AMBIGUOUS);
+    }
+}
@@ -0,0 +1,99 @@
+package com.meditrack.ai.application.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.application.exception.ClinicalReasoningException;
+import com.meditrack.ai.domain.model.TriageCommand;
+import com.meditrack.ai.domain.port.ReasoningUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 3;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight singleFlight =
+            new SingleFlight(new CommandFingerprinter(new ObjectMapper()), meterRegistry);
+
+    private static TriageCommand command() {
+        return new TriageCommand(58, "MALE", "chest tightness", "2 hours", List.of(), List.of(), List.of());
+    }
+
+    /** Starts {@code CALLERS} identical calls whose leader blocks until all of them have arrived. */
+    private List<Future<String>> concurrentCalls(ExecutorService pool, AtomicInteger modelCalls,
+                                                 RuntimeException failure) throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(pool.submit(() -> singleFlight.execute(ReasoningUseCase.TRIAGE, command(), () -> {
+                modelCalls.incrementAndGet();
+                await(release);
+                if (failure != null) {
+                    throw failure;
+                }
+                return "URGENT";
+            })));
+        }
+        // The leader holds the slot until every other caller has joined it.
+        while (meterRegistry.counter("ai.inference.coalesced", "use_case", "triage").count() < CALLERS - 1) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void concurrentIdenticalCallsShareOneInference() throws Exception {
+        AtomicInteger modelCalls = new AtomicInteger();
+        try (ExecutorService pool = Executors.newFixedThreadPool(CALLERS)) {
+            for (Future<String> result : concurrentCalls(pool, modelCalls, null)) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("URGENT");
+            }
+        }
+
+        assertThat(modelCalls).hasValue(1);
+        assertThat(meterRegistry.get("ai.inference.in_flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void leaderFailureReachesEveryWaiter() throws Exception {
+        AtomicInteger modelCalls = new AtomicInteger();
+        ClinicalReasoningException failure = new ClinicalReasoningException("TensorX returned an empty response");
+        try (ExecutorService pool = Executors.newFixedThreadPool(CALLERS)) {
+            for (Future<String> result : concurrentCalls(pool, modelCalls, failure)) {
+                assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).hasCause(failure);
+            }
+        }
+
+        assertThat(modelCalls).hasValue(1);
+    }
+
+    @Test
+    void sequentialCallsAreNotCoalesced() {
+        AtomicInteger modelCalls = new AtomicInteger();
+        singleFlight.execute(ReasoningUseCase.TRIAGE, command(), modelCalls::incrementAndGet);
+        singleFlight.execute(ReasoningUseCase.TRIAGE, command(), modelCalls::incrementAndGet);
+
+        assertThat(modelCalls).hasValue(2);
+    }
+}
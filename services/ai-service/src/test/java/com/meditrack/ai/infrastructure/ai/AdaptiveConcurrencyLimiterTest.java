@@ -0,0 +1,155 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.meditrack.ai.application.exception.ClinicalReasoningException;
+import com.meditrack.ai.application.exception.InferenceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final TensorXProperties TENSORX =
+            new TensorXProperties("http://tensorx.test/v1", "key", "test-model", 0.1, 10);
+    private static final Duration BUDGET = Duration.ofSeconds(10);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AdaptiveConcurrencyLimiter limiter(int initial, int max, int maxQueue) {
+        return new AdaptiveConcurrencyLimiter(
+                new InferenceLimiterProperties(true, initial, 1, max, maxQueue, 0.5, 0.5), TENSORX, meterRegistry);
+    }
+
+    private double queued(InferencePriority priority) {
+        return meterRegistry.get("ai.inference.limiter.queue").tag("priority", priority.tag()).gauge().value();
+    }
+
+    @Test
+    void limitGrowsWhileSaturatedAndBacksOffOnCongestion() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 10, 10);
+
+        AdaptiveConcurrencyLimiter.Permit a = limiter.acquire(InferencePriority.NORMAL, BUDGET);
+        AdaptiveConcurrencyLimiter.Permit b = limiter.acquire(InferencePriority.NORMAL, BUDGET);
+        a.success();
+        assertThat(limiter.limit()).isEqualTo(2.5);
+
+        b.dropped();
+        assertThat(limiter.limit()).isEqualTo(1.25);
+        assertThat(meterRegistry.get("ai.inference.limiter.limit").gauge().value()).isEqualTo(1.25);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void unsaturatedSuccessDoesNotGrowTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 10, 10);
+
+        limiter.acquire(InferencePriority.NORMAL, BUDGET).success();
+
+        assertThat(limiter.limit()).isEqualTo(4.0);
+    }
+
+    @Test
+    void queuedCallsAreDispatchedByPriorityThenArrival() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 10);
+        AdaptiveConcurrencyLimiter.Permit holder = limiter.acquire(InferencePriority.NORMAL, BUDGET);
+        List<InferencePriority> order = new CopyOnWriteArrayList<>();
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(3)) {
+            List<Future<?>> waiters = new CopyOnWriteArrayList<>();
+            for (InferencePriority priority
+                    : List.of(InferencePriority.LOW, InferencePriority.NORMAL, InferencePriority.CRITICAL)) {
+                waiters.add(pool.submit(() -> {
+                    AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(priority, BUDGET);
+                    order.add(priority);
+                    permit.ignore();
+                }));
+                while (queued(priority) < 1) {
+                    Thread.sleep(2);
+                }
+            }
+
+            holder.ignore();
+            for (Future<?> waiter : waiters) {
+                waiter.get(5, TimeUnit.SECONDS);
+            }
+        }
+
+        assertThat(order).containsExactly(
+                InferencePriority.CRITICAL, InferencePriority.NORMAL, InferencePriority.LOW);
+    }
+
+    @Test
+    void shedsAtOnceWhenTheQueueIsFull() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 0);
+        limiter.acquire(InferencePriority.HIGH, BUDGET);
+
+        assertThatThrownBy(() -> limiter.acquire(InferencePriority.LOW, BUDGET))
+                .isInstanceOf(InferenceOverloadedException.class);
+        assertThat(meterRegistry.get("ai.inference.limiter.shed")
+                .tags("priority", "low", "reason", "queue_full").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shedsEarlyWhenTheEstimatedWaitExceedsTheDeadline() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 10);
+        AdaptiveConcurrencyLimiter.Permit first = limiter.acquire(InferencePriority.HIGH, BUDGET);
+        Thread.sleep(50);
+        first.success();
+        limiter.acquire(InferencePriority.HIGH, BUDGET);
+
+        long startedAt = System.nanoTime();
+        assertThatThrownBy(() -> limiter.acquire(InferencePriority.HIGH, Duration.ofMillis(20)))
+                .isInstanceOf(InferenceOverloadedException.class);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofMillis(20));
+        assertThat(meterRegistry.get("ai.inference.limiter.shed")
+                .tags("priority", "high", "reason", "deadline").counter().count()).isEqualTo(1);
+        assertThat(queued(InferencePriority.HIGH)).isZero();
+    }
+
+    @Test
+    void waiterInterruptedAsItIsGrantedHandsTheSlotOn() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 10);
+        AdaptiveConcurrencyLimiter.Permit holder = limiter.acquire(InferencePriority.NORMAL, BUDGET);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread waiter = new Thread(() -> {
+            try {
+                limiter.acquire(InferencePriority.NORMAL, BUDGET).success();
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        waiter.start();
+        while (queued(InferencePriority.NORMAL) < 1) {
+            Thread.sleep(2);
+        }
+
+        // Interrupt the waiter while the lock is held, so it is still queued when the
+        // released permit is dispatched to it, then let it observe the interrupt.
+        limiter.lock.lock();
+        try {
+            waiter.interrupt();
+            while (!limiter.lock.hasQueuedThread(waiter)) {
+                Thread.sleep(2);
+            }
+            holder.ignore();
+        } finally {
+            limiter.lock.unlock();
+        }
+        waiter.join(5_000);
+
+        assertThat(failure.get()).isInstanceOf(ClinicalReasoningException.class);
+        assertThat(limiter.inFlight()).isZero();
+        limiter.acquire(InferencePriority.NORMAL, Duration.ofMillis(100)).success();
+    }
+}
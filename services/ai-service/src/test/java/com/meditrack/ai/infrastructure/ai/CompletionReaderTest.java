@@ -0,0 +1,94 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.application.exception.ClinicalReasoningException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompletionReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CompletionReader reader = new CompletionReader(objectMapper);
+
+    private InputStream completion(String content) throws IOException {
+        return body(objectMapper.writeValueAsString(new TensorXApi.ChatResponse(
+                List.of(new TensorXApi.Choice(new TensorXApi.Message("assistant", content))))));
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void bindsContent_skippingUnrelatedEnvelopeFields() throws IOException {
+        CompletionReader.Completion<TensorXClinicalReasoningAdapter.AiVisitPreSummary> completion =
+                reader.readResponse(body("""
+                {"id":"cmpl-1","object":"chat.completion","usage":{"prompt_tokens":12,"details":[1,2]},
+                 "choices":[{"index":0,"logprobs":null,"message":{"role":"assistant",
+                   "content":"{\\"summary\\":\\"2024-03: HbA1c 8.2%\\"}"},"finish_reason":"stop"}]}"""),
+                TensorXClinicalReasoningAdapter.AiVisitPreSummary.class, "visit pre-summary");
+
+        assertThat(completion.payload().summary()).isEqualTo("2024-03: HbA1c 8.2%");
+        assertThat(completion.usage()).isEqualTo(new CompletionReader.Usage(12, -1));
+        assertThat(completion.fenced()).isFalse();
+    }
+
+    @Test
+    void readsUsageThatFollowsTheChoices() throws IOException {
+        CompletionReader.Completion<TensorXClinicalReasoningAdapter.AiVisitPreSummary> completion =
+                reader.readResponse(body("""
+                {"choices":[{"message":{"content":"{\\"summary\\":\\"ok\\"}","tool_calls":[]},"index":0},
+                            {"message":{"content":"second choice"}}],
+                 "usage":{"prompt_tokens":812,"completion_tokens":406,"total_tokens":1218}}"""),
+                TensorXClinicalReasoningAdapter.AiVisitPreSummary.class, "visit pre-summary");
+
+        assertThat(completion.payload().summary()).isEqualTo("ok");
+        assertThat(completion.usage()).isEqualTo(new CompletionReader.Usage(812, 406));
+    }
+
+    @Test
+    void toleratesFencesAndSurroundingWhitespace() throws IOException {
+        CompletionReader.Completion<TensorXClinicalReasoningAdapter.AiVisitPreSummary> fenced = reader.readResponse(
+                completion("\n ```json\n{\"summary\":\"ok\"}\n```\n"),
+                TensorXClinicalReasoningAdapter.AiVisitPreSummary.class, "visit pre-summary");
+        CompletionReader.Completion<TensorXClinicalReasoningAdapter.AiVisitPreSummary> sameLine = reader.readResponse(
+                completion("```{\"summary\":\"ok\"}```"),
+                TensorXClinicalReasoningAdapter.AiVisitPreSummary.class, "visit pre-summary");
+
+        assertThat(fenced.payload().summary()).isEqualTo("ok");
+        assertThat(sameLine.payload().summary()).isEqualTo("ok");
+        assertThat(fenced.fenced()).isTrue();
+        assertThat(fenced.usage()).isNull();
+    }
+
+    @Test
+    void missingOrBlankContent_isAnEmptyResponse() {
+        assertThatThrownBy(() -> reader.readResponse(body("{\"choices\":[]}"),
+                TensorXClinicalReasoningAdapter.AiVisitPreSummary.class, "visit pre-summary"))
+                .isInstanceOf(MalformedCompletionException.class)
+                .hasMessage("TensorX returned an empty response");
+        assertThatThrownBy(() -> reader.readResponse(completion("```json\n```"),
+                TensorXClinicalReasoningAdapter.AiVisitPreSummary.class, "visit pre-summary"))
+                .hasMessage("TensorX returned an empty response");
+    }
+
+    @Test
+    void malformedPayloadOrEnvelope_isUnparseable_notAnIoFailure() {
+        assertThatThrownBy(() -> reader.readResponse(completion("{\"summary\": "),
+                TensorXClinicalReasoningAdapter.AiVisitPreSummary.class, "visit pre-summary"))
+                .isInstanceOf(ClinicalReasoningException.class)
+                .hasMessage("TensorX returned an unparseable visit pre-summary");
+        assertThatThrownBy(() -> reader.readResponse(body("<html>502 Bad Gateway</html>"),
+                TensorXClinicalReasoningAdapter.AiVisitPreSummary.class, "visit pre-summary"))
+                .isInstanceOf(ClinicalReasoningException.class)
+                .hasMessage("TensorX returned an unparseable visit pre-summary");
+    }
+}
@@ -0,0 +1,135 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.application.exception.ClinicalReasoningException;
+import com.meditrack.ai.application.support.CommandFingerprinter;
+import com.meditrack.ai.domain.model.HistoryCoverage;
+import com.meditrack.ai.domain.model.HistorySummaryCommand;
+import com.meditrack.ai.domain.model.LabValue;
+import com.meditrack.ai.domain.model.VisitNote;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HistoryPromptBudgeterTest {
+
+    private static final UUID PATIENT = UUID.fromString("00000000-0000-0000-0000-000000000042");
+
+    private SimpleMeterRegistry meterRegistry;
+    private List<List<VisitNote>> folded;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        folded = new ArrayList<>();
+    }
+
+    private HistoryPromptBudgeter budgeter(int tokenBudget) {
+        HistoryPromptProperties props = new HistoryPromptProperties(tokenBudget, null, 3.5, 2,
+                new HistoryPromptProperties.PreSummary(true, 100, Duration.ofHours(1), 3000));
+        return new HistoryPromptBudgeter(props,
+                new VisitPreSummaries(props, new CommandFingerprinter(new ObjectMapper()), meterRegistry));
+    }
+
+    private String fold(String previous, List<VisitNote> visits) {
+        folded.add(visits);
+        return (previous == null ? "" : previous + "; ") + visits.size() + " visit(s) unremarkable";
+    }
+
+    private static List<VisitNote> visits(int count) {
+        List<VisitNote> visits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            visits.add(new VisitNote(LocalDate.of(2026, 1, 1).plusDays(i).toString(),
+                    "Routine review, no change. ".repeat(20)));
+        }
+        return visits;
+    }
+
+    private static HistorySummaryCommand command(List<LabValue> labs, List<VisitNote> visits) {
+        return new HistorySummaryCommand(70, "MALE", List.of(), List.of(), List.of(), labs, visits, PATIENT);
+    }
+
+    private double presummaries(String result) {
+        return meterRegistry.get("ai.history.presummary").tag("result", result).counter().count();
+    }
+
+    @Test
+    void includesEverything_whenItFits_foldingRepeatedResults() {
+        List<LabValue> labs = List.of(
+                new LabValue("Sodium", "140", "mmol/L", null, null),
+                new LabValue("Sodium", "140", "mmol/L", null, null),
+                new LabValue("Potassium", "6.2", "mmol/L", null, "H"));
+
+        HistoryPromptBudgeter.BudgetedHistory history = budgeter(6000)
+                .plan(command(labs, visits(3)), "m", 200, this::fold);
+
+        assertThat(history.labLines()).containsExactly(
+                "- Sodium: 140 (same result x2)", "- Potassium: 6.2 flag=H");
+        assertThat(history.visitLines()).hasSize(3);
+        assertThat(history.visitLines().get(0)).startsWith("- 2026-01-01");
+        assertThat(history.omissionNote()).isNull();
+        assertThat(history.coverage().labsDeduplicated()).isEqualTo(1);
+        assertThat(history.coverage().truncated()).isFalse();
+        assertThat(folded).isEmpty();
+    }
+
+    @Test
+    void keepsAbnormalLabsAndRecentVisits_andCondensesOlderOnes_whenOverBudget() {
+        List<LabValue> labs = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            labs.add(new LabValue("Glucose", String.valueOf(80 + i), "mg/dL", null, "N"));
+        }
+        labs.add(new LabValue("Potassium", "6.9", "mmol/L", null, "CRITICAL"));
+
+        HistoryPromptBudgeter.BudgetedHistory history = budgeter(1000)
+                .plan(command(labs, visits(6)), "m", 200, this::fold);
+
+        HistoryCoverage coverage = history.coverage();
+        assertThat(history.labLines()).contains("- Potassium: 6.9 flag=CRITICAL");
+        assertThat(history.visitLines()).hasSize(2)
+                .allMatch(line -> line.startsWith("- 2026-01-05") || line.startsWith("- 2026-01-06"));
+        assertThat(history.olderVisitsSummary()).contains("4 earlier visit(s)");
+        assertThat(coverage.visitsPreSummarized()).isEqualTo(4);
+        assertThat(coverage.labsDropped()).isPositive();
+        assertThat(coverage.labsIncluded() + coverage.labsDropped()).isEqualTo(201);
+        assertThat(coverage.estimatedPromptTokens()).isLessThanOrEqualTo(1000);
+        assertThat(history.omissionNote()).contains(coverage.labsDropped() + " lab result(s)");
+    }
+
+    @Test
+    void rollsThePreSummaryForward_foldingOnlyNewlyAgedVisits() {
+        HistoryPromptBudgeter budgeter = budgeter(600);
+        List<VisitNote> visits = visits(7);
+
+        budgeter.plan(command(List.of(), visits.subList(0, 6)), "m", 100, this::fold);
+        budgeter.plan(command(List.of(), visits.subList(0, 6)), "m", 100, this::fold);
+        budgeter.plan(command(List.of(), visits), "m", 100, this::fold);
+
+        assertThat(folded).hasSize(2);
+        assertThat(folded.get(1)).containsExactly(visits.get(4));
+        assertThat(presummaries("rebuilt")).isEqualTo(1);
+        assertThat(presummaries("reused")).isEqualTo(1);
+        assertThat(presummaries("rolled")).isEqualTo(1);
+    }
+
+    @Test
+    void fallsBackToVerbatimVisits_whenThePreSummaryFails() {
+        HistoryPromptBudgeter.BudgetedHistory history = budgeter(600)
+                .plan(command(List.of(), visits(6)), "m", 100, (previous, visits) -> {
+                    throw new ClinicalReasoningException("TensorX down");
+                });
+
+        assertThat(history.olderVisitsSummary()).isNull();
+        assertThat(history.coverage().visitsPreSummarized()).isZero();
+        assertThat(history.coverage().visitsDropped()).isPositive();
+        assertThat(history.omissionNote()).contains("visit note(s)");
+    }
+}
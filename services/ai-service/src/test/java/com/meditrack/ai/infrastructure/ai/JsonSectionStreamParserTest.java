@@ -0,0 +1,74 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.meditrack.ai.domain.port.ReasoningStreamListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonSectionStreamParserTest {
+
+    private final Map<String, Object> sections = new LinkedHashMap<>();
+    private final JsonSectionStreamParser parser = new JsonSectionStreamParser(new JsonFactory(),
+            new ReasoningStreamListener() {
+                @Override
+                public void onToken(String delta) {
+                }
+
+                @Override
+                public void onSection(String name, Object value) {
+                    sections.put(name, value);
+                }
+            });
+
+    private void feedOneCharAtATime(String text) {
+        text.chars().forEach(c -> parser.feed(String.valueOf((char) c)));
+    }
+
+    @Test
+    void reportsEachTopLevelFieldOnceItIsComplete() {
+        parser.feed("{\"subjective\":\"Head");
+        assertThat(sections).isEmpty();
+
+        parser.feed("ache\",\"problems\":[\"Migraine\",");
+        assertThat(sections).containsOnlyKeys("subjective");
+
+        parser.feed("\"Tension\"],\"followUp\":null}");
+        assertThat(sections).containsEntry("subjective", "Headache")
+                .containsEntry("problems", List.of("Migraine", "Tension"))
+                .containsEntry("followUp", null);
+        assertThat(parser.isFinished()).isTrue();
+    }
+
+    @Test
+    void skipsCodeFencesAndNestedObjects() {
+        feedOneCharAtATime("```json\n{\"a\":\"x\",\"nested\":{\"b\":\"y\"},"
+                + "\"objs\":[{\"c\":1}],\"n\":3}\n```");
+
+        assertThat(new ArrayList<>(sections.keySet())).containsExactly("a", "n");
+        assertThat(sections.get("n")).isEqualTo("3");
+    }
+
+    @Test
+    void malformedInputEndsTheStreamQuietly() {
+        parser.feed("{\"a\":\"x\",");
+        parser.feed("oops}");
+        parser.feed("\"b\":\"y\"}");
+
+        assertThat(sections).containsOnlyKeys("a");
+        assertThat(parser.isFinished()).isTrue();
+    }
+
+    @Test
+    void multiByteCharactersSurviveArbitrarySplits() {
+        Arrays.stream("{\"note\":\"fièvre 38°C\"}".split("")).forEach(parser::feed);
+
+        assertThat(sections).containsEntry("note", "fièvre 38°C");
+    }
+}
@@ -0,0 +1,156 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.meditrack.ai.application.exception.ClinicalReasoningException;
+import com.meditrack.ai.application.exception.InferenceOverloadedException;
+import com.meditrack.ai.domain.port.ReasoningUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ModelRouterTest {
+
+    private static final TensorXProperties TENSORX =
+            new TensorXProperties("http://tensorx.test/v1", "key", "default-model", 0.1, 5);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ModelRouter router;
+
+    private ModelRouter router(Map<ReasoningUseCase, ModelRoutingProperties.Route> routes) {
+        router = new ModelRouter(new ModelRoutingProperties(routes), TENSORX, meterRegistry);
+        return router;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (router != null) {
+            router.destroy();
+        }
+    }
+
+    private double fallbacks(String reason) {
+        var counter = meterRegistry.find("ai.inference.fallbacks").tag("reason", reason).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Test
+    void unroutedUseCaseUsesTheDefaultModelWithoutFallback() {
+        ModelRouter.Route route = router(Map.of()).route(ReasoningUseCase.LAB, 500);
+
+        assertThat(route.model()).isEqualTo("default-model");
+        assertThat(route.fallbackModel()).isNull();
+    }
+
+    @Test
+    void promptGoesToTheSmallestTierItFits() {
+        router(Map.of(ReasoningUseCase.HISTORY, new ModelRoutingProperties.Route("long-context", List.of(
+                new ModelRoutingProperties.Tier(20_000, "medium"),
+                new ModelRoutingProperties.Tier(4_000, "small")), null, null)));
+
+        assertThat(router.route(ReasoningUseCase.HISTORY, 3_000).model()).isEqualTo("small");
+        assertThat(router.route(ReasoningUseCase.HISTORY, 4_001).model()).isEqualTo("medium");
+        assertThat(router.route(ReasoningUseCase.HISTORY, 50_000).model()).isEqualTo("long-context");
+    }
+
+    @Test
+    void fallbackEqualToThePrimaryIsIgnored() {
+        router(Map.of(ReasoningUseCase.ICD, new ModelRoutingProperties.Route("fast", null, "fast", null)));
+
+        assertThat(router.route(ReasoningUseCase.ICD, 100).fallbackModel()).isNull();
+    }
+
+    @Test
+    void unparseableAnswerFallsBackOnce() {
+        router(Map.of(ReasoningUseCase.ICD, new ModelRoutingProperties.Route("big", null, "fast", null)));
+        List<String> calls = new ArrayList<>();
+
+        ModelRouter.Routed<String> result = router.execute(ReasoningUseCase.ICD, 100, (model, attempt) -> {
+            calls.add(model + "/" + attempt.tag());
+            if (attempt == ModelRouter.Attempt.PRIMARY) {
+                throw new MalformedCompletionException(false, "TensorX returned an unparseable ICD-10 suggestions", null);
+            }
+            return "answer";
+        });
+
+        assertThat(result).isEqualTo(new ModelRouter.Routed<>("answer", "fast"));
+        assertThat(calls).containsExactly("big/primary", "fast/fallback");
+        assertThat(fallbacks("unparseable")).isEqualTo(1);
+    }
+
+    @Test
+    void readTimeoutFallsBack() {
+        router(Map.of(ReasoningUseCase.SOAP, new ModelRoutingProperties.Route("big", null, "fast", null)));
+
+        ModelRouter.Routed<String> result = router.execute(ReasoningUseCase.SOAP, 100, (model, attempt) -> {
+            if (attempt == ModelRouter.Attempt.PRIMARY) {
+                throw new ClinicalReasoningException("TensorX inference call failed",
+                        new ResourceAccessException("Read timed out",
+                                new SocketTimeoutException("Read timed out")));
+            }
+            return "answer";
+        });
+
+        assertThat(result.model()).isEqualTo("fast");
+        assertThat(fallbacks("timeout")).isEqualTo(1);
+    }
+
+    @Test
+    void primaryOverrunningItsDeadlineIsAbandonedForTheFallback() {
+        router(Map.of(ReasoningUseCase.TRIAGE,
+                new ModelRoutingProperties.Route("big", null, "fast", Duration.ofMillis(50))));
+
+        long startedAt = System.nanoTime();
+        ModelRouter.Routed<String> result = router.execute(ReasoningUseCase.TRIAGE, 100, (model, attempt) -> {
+            if (attempt == ModelRouter.Attempt.PRIMARY) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new ClinicalReasoningException("cancelled", ex);
+                }
+            }
+            return model;
+        });
+
+        assertThat(result.payload()).isEqualTo("fast");
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(2));
+        assertThat(fallbacks("timeout")).isEqualTo(1);
+    }
+
+    @Test
+    void capacityFailuresAreNotRetried() {
+        router(Map.of(ReasoningUseCase.ASSESS, new ModelRoutingProperties.Route("big", null, "fast", null)));
+        List<String> calls = new ArrayList<>();
+
+        assertThatThrownBy(() -> router.execute(ReasoningUseCase.ASSESS, 100, (model, attempt) -> {
+            calls.add(model);
+            throw new InferenceOverloadedException("saturated");
+        })).isInstanceOf(InferenceOverloadedException.class);
+
+        assertThat(calls).containsExactly("big");
+        assertThat(meterRegistry.find("ai.inference.fallbacks").counter()).isNull();
+    }
+
+    @Test
+    void fallbackFailureIsNotRetriedAgain() {
+        router(Map.of(ReasoningUseCase.ICD, new ModelRoutingProperties.Route("big", null, "fast", null)));
+        List<String> calls = new ArrayList<>();
+
+        assertThatThrownBy(() -> router.execute(ReasoningUseCase.ICD, 100, (model, attempt) -> {
+            calls.add(model);
+            throw MalformedCompletionException.empty();
+        })).isInstanceOf(MalformedCompletionException.class);
+
+        assertThat(calls).containsExactly("big", "fast");
+        assertThat(fallbacks("empty")).isEqualTo(1);
+    }
+}
@@ -0,0 +1,108 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.meditrack.ai.application.exception.ClinicalReasoningException;
+import com.meditrack.ai.domain.port.ReasoningUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestHedgerTest {
+
+    private static final int MIN_SAMPLES = 3;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RequestHedger hedger;
+
+    private RequestHedger hedger(double budgetPercent) {
+        hedger = new RequestHedger(new HedgingProperties(true, Set.of(ReasoningUseCase.TRIAGE), 0.9,
+                budgetPercent, Duration.ofMillis(20), MIN_SAMPLES, 16), meterRegistry);
+        for (int i = 0; i < MIN_SAMPLES; i++) {
+            hedger.execute(ReasoningUseCase.TRIAGE, () -> sleepThen(5, "warm-up"));
+        }
+        return hedger;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (hedger != null) {
+            hedger.destroy();
+        }
+    }
+
+    private static String sleepThen(long millis, String result) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ClinicalReasoningException("cancelled", ex);
+        }
+        return result;
+    }
+
+    /** First invocation stalls for {@code primaryMillis}; any later one answers at once. */
+    private static Supplier<String> slowPrimary(long primaryMillis) {
+        AtomicInteger attempts = new AtomicInteger();
+        return () -> attempts.getAndIncrement() == 0
+                ? sleepThen(primaryMillis, "primary")
+                : "hedge";
+    }
+
+    private double count(String name) {
+        var counter = meterRegistry.find(name).tag("use_case", "triage").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Test
+    void slowPrimaryIsHedgedAndTheFasterAnswerWins() {
+        RequestHedger hedger = hedger(100);
+
+        long startedAt = System.nanoTime();
+        String result = hedger.execute(ReasoningUseCase.TRIAGE, slowPrimary(5_000));
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(2));
+        assertThat(count("ai.inference.hedge.fired")).isEqualTo(1);
+        assertThat(count("ai.inference.hedge.won")).isEqualTo(1);
+    }
+
+    @Test
+    void hedgesStopWhenTheBudgetIsSpent() {
+        RequestHedger hedger = hedger(10);
+
+        String result = hedger.execute(ReasoningUseCase.TRIAGE, slowPrimary(200));
+
+        assertThat(result).isEqualTo("primary");
+        assertThat(count("ai.inference.hedge.fired")).isZero();
+        assertThat(count("ai.inference.hedge.budget_exhausted")).isEqualTo(1);
+    }
+
+    @Test
+    void failsOnlyWhenBothAttemptsFail() {
+        RequestHedger hedger = hedger(100);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> hedger.execute(ReasoningUseCase.TRIAGE, () -> {
+            sleepThen(100, null);
+            throw new ClinicalReasoningException("attempt " + attempts.incrementAndGet() + " failed");
+        })).isInstanceOf(ClinicalReasoningException.class);
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    void useCasesThatAreNotHedgedRunOnTheCallersThread() {
+        RequestHedger hedger = hedger(100);
+        Thread caller = Thread.currentThread();
+
+        Thread ranOn = hedger.execute(ReasoningUseCase.SOAP, Thread::currentThread);
+
+        assertThat(ranOn).isSameAs(caller);
+    }
+}
@@ -0,0 +1,150 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.meditrack.ai.domain.model.IcdCodeSuggestion;
+import com.meditrack.ai.domain.model.IcdCodeSuggestions;
+import com.meditrack.ai.domain.model.IcdConfidence;
+import com.meditrack.ai.domain.port.ReasoningUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShadowEvaluatorTest {
+
+    private static final TensorXProperties TENSORX =
+            new TensorXProperties("http://tensorx.test/v1", "key", "test-model", 0.1, 5);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            new InferenceLimiterProperties(true, 8, 1, 64, 500, 0.9, 0.5), TENSORX, meterRegistry);
+    private ShadowEvaluator evaluator;
+
+    private ShadowEvaluator evaluator(boolean enabled, int callsPerMinute) {
+        evaluator = new ShadowEvaluator(new ShadowProperties(enabled, "candidate-model",
+                Set.of(ReasoningUseCase.ICD), 1.0, callsPerMinute, 2, 0.5), limiter, meterRegistry);
+        return evaluator;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (evaluator != null) {
+            evaluator.destroy();
+        }
+    }
+
+    private static IcdCodeSuggestions icd(String... codes) {
+        return new IcdCodeSuggestions(Arrays.stream(codes)
+                .map(code -> new IcdCodeSuggestion(code, code, IcdConfidence.HIGH, "notes"))
+                .toList(), "model");
+    }
+
+    private double count(String name, String tag, String value) {
+        var counter = meterRegistry.find(name).tag(tag, value).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private void awaitAgreement(String result) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count("ai.inference.shadow.agreement", "result", result) == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void icdAnswersAgreeOnlyOnTheSameCodeSet() {
+        ShadowEvaluator shadow = evaluator(true, 20);
+
+        assertThat(shadow.agrees(icd("E11.9", "I10"), icd("i10 ", "E11.9"))).isTrue();
+        assertThat(shadow.agrees(icd("E11.9", "I10"), icd("E11.9", "N18.3"))).isFalse();
+
+        var overlap = meterRegistry.find("ai.inference.shadow.icd.overlap").summary();
+        assertThat(overlap.count()).isEqualTo(2);
+        assertThat(overlap.totalAmount()).isEqualTo(1.0 + 1.0 / 3);
+    }
+
+    @Test
+    void slowCandidateNeverHoldsUpTheCaller() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+
+        long startedAt = System.nanoTime();
+        evaluator(true, 20).mirror(ReasoningUseCase.ICD, icd("I10"), 1_000_000, model -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return icd("I10");
+        });
+
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofMillis(500));
+        release.countDown();
+        awaitAgreement("agree");
+        assertThat(count("ai.inference.shadow.agreement", "result", "agree")).isEqualTo(1);
+        assertThat(meterRegistry.find("ai.inference.shadow.latency").tag("role", "candidate").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void candidateFailureIsCountedNotThrown() throws InterruptedException {
+        evaluator(true, 20).mirror(ReasoningUseCase.ICD, icd("I10"), 1_000_000, model -> {
+            throw new IllegalStateException("boom");
+        });
+
+        awaitAgreement("failed");
+        assertThat(count("ai.inference.shadow.agreement", "result", "failed")).isEqualTo(1);
+    }
+
+    @Test
+    void busyLimiterSkipsTheMirror() {
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire(InferencePriority.HIGH, Duration.ofSeconds(5));
+        }
+        AtomicInteger calls = new AtomicInteger();
+
+        evaluator(true, 20).mirror(ReasoningUseCase.ICD, icd("I10"), 1_000_000, model -> {
+            calls.incrementAndGet();
+            return icd("I10");
+        });
+
+        assertThat(calls).hasValue(0);
+        assertThat(count("ai.inference.shadow.skipped", "reason", "busy")).isEqualTo(1);
+    }
+
+    @Test
+    void callsBeyondTheRateCapAreSkipped() throws InterruptedException {
+        ShadowEvaluator shadow = evaluator(true, 1);
+
+        shadow.mirror(ReasoningUseCase.ICD, icd("I10"), 1_000_000, model -> icd("I10"));
+        shadow.mirror(ReasoningUseCase.ICD, icd("I10"), 1_000_000, model -> icd("I10"));
+
+        awaitAgreement("agree");
+        assertThat(count("ai.inference.shadow.agreement", "result", "agree")).isEqualTo(1);
+        assertThat(count("ai.inference.shadow.skipped", "reason", "rate")).isEqualTo(1);
+    }
+
+    @Test
+    void disabledOrUnlistedUseCasesAreNeverMirrored() {
+        AtomicInteger calls = new AtomicInteger();
+
+        evaluator(false, 20).mirror(ReasoningUseCase.ICD, icd("I10"), 1_000_000, model -> {
+            calls.incrementAndGet();
+            return icd("I10");
+        });
+        evaluator.destroy();
+        evaluator(true, 20).mirror(ReasoningUseCase.TRIAGE, icd("I10"), 1_000_000, model -> {
+            calls.incrementAndGet();
+            return icd("I10");
+        });
+
+        assertThat(calls).hasValue(0);
+        assertThat(meterRegistry.find("ai.inference.shadow.skipped").counter()).isNull();
+    }
+}
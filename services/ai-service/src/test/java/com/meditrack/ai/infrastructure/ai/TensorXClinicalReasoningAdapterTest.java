@@ -0,0 +1,314 @@
+package com.meditrack.ai.infrastructure.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.application.exception.ClinicalReasoningException;
+import com.meditrack.ai.application.support.CommandFingerprinter;
+import com.meditrack.ai.domain.model.IcdCodeSuggestionCommand;
+import com.meditrack.ai.domain.model.IcdCodeSuggestions;
+import com.meditrack.ai.domain.model.Medication;
+import com.meditrack.ai.domain.model.SafetyAssessment;
+import com.meditrack.ai.domain.model.SafetyCheckCommand;
+import com.meditrack.ai.domain.model.Severity;
+import com.meditrack.ai.domain.model.SoapNote;
+import com.meditrack.ai.domain.model.SoapNoteCommand;
+import com.meditrack.ai.domain.port.ReasoningStreamListener;
+import com.meditrack.ai.domain.port.ReasoningUseCase;
+import com.meditrack.ai.infrastructure.icd.IcdCodeGrounding;
+import com.meditrack.ai.infrastructure.icd.IcdIndexProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class TensorXClinicalReasoningAdapterTest {
+
+    private static final TensorXProperties PROPS =
+            new TensorXProperties("http://tensorx.test/v1", "key", "test-model", 0.1, 5);
+    private static final HistoryPromptProperties HISTORY_PROPS = new HistoryPromptProperties(6000, null, 3.5, 8,
+            new HistoryPromptProperties.PreSummary(true, 100, Duration.ofHours(1), 3000));
+
+    private MockRestServiceServer server;
+    private TensorXClinicalReasoningAdapter adapter;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder().baseUrl(PROPS.baseUrl());
+        server = MockRestServiceServer.bindTo(builder).build();
+        ObjectMapper objectMapper = new ObjectMapper();
+        DrugInteractionMemo memo = new DrugInteractionMemo(
+                new DrugInteractionMemoProperties(true, 1000, Duration.ofHours(1)), new SimpleMeterRegistry());
+        meterRegistry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new InferenceLimiterProperties(true, 8, 1, 64, 500, 0.9, 0.5), PROPS, meterRegistry);
+        adapter = new TensorXClinicalReasoningAdapter(
+                builder.build(), PROPS, objectMapper, memo, meterRegistry, limiter,
+                new RequestHedger(new HedgingProperties(false, null, 0.95, 10, Duration.ofMillis(250), 20, 256),
+                        meterRegistry),
+                new HistoryPromptBudgeter(HISTORY_PROPS,
+                        new VisitPreSummaries(HISTORY_PROPS, new CommandFingerprinter(objectMapper), meterRegistry)),
+                new IcdCodeGrounding(new IcdIndexProperties(true, new ClassPathResource("icd10/icd10cm-common.txt"),
+                        25, IcdIndexProperties.UnknownCodePolicy.DOWNRANK), meterRegistry),
+                new CompletionReader(objectMapper),
+                new InferenceTelemetry(meterRegistry, PROPS),
+                new ModelRouter(new ModelRoutingProperties(Map.of(ReasoningUseCase.ICD,
+                        new ModelRoutingProperties.Route(null, null, "fast-model", null))), PROPS, meterRegistry),
+                new ShadowEvaluator(new ShadowProperties(false, null, null, 0.05, 20, 2, 0.5), limiter, meterRegistry));
+    }
+
+    private static String completion(String json) {
+        try {
+            return new ObjectMapper().writeValueAsString(new TensorXApi.ChatResponse(
+                    List.of(new TensorXApi.Choice(new TensorXApi.Message("assistant", json)))));
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /** The same JSON as a {@code stream: true} completion, split into small deltas. */
+    private static String eventStream(String json) {
+        try {
+            ObjectMapper mapper = new ObjectMapper();
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < json.length(); i += 7) {
+                String delta = json.substring(i, Math.min(json.length(), i + 7));
+                sb.append("data: ").append(mapper.writeValueAsString(new TensorXApi.ChatChunk(
+                        List.of(new TensorXApi.ChunkChoice(new TensorXApi.Delta(delta)))))).append("\n\n");
+            }
+            return sb.append("data: [DONE]\n\n").toString();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static SafetyCheckCommand screen(List<String> current, List<String> allergies) {
+        return new SafetyCheckCommand(List.of(new Medication("Warfarin", "5mg", "oral")),
+                current, allergies, 70, "FEMALE", null, null);
+    }
+
+    private static final String WARFARIN_ASPIRIN_MAJOR = """
+            {"overallRisk":"MAJOR","summary":"bleeding risk","recommendation":"avoid",
+             "requiresPharmacistReview":true,
+             "interactions":[{"drugA":"warfarin","drugB":"Aspirin","severity":"MAJOR",
+               "mechanism":"additive","clinicalConsequence":"bleeding","management":"monitor INR"}],
+             "allergyConflicts":[]}""";
+
+    @Test
+    void repeatRegimenIsAnsweredFromTheMemoWithoutAModelCall() {
+        server.expect(requestTo("http://tensorx.test/v1/chat/completions"))
+                .andRespond(withSuccess(completion(WARFARIN_ASPIRIN_MAJOR), MediaType.APPLICATION_JSON));
+
+        adapter.assess(screen(List.of("Aspirin"), List.of()));
+        SafetyAssessment repeat = adapter.assess(screen(List.of("ASPIRIN"), List.of()));
+
+        server.verify();
+        assertThat(repeat.overallRisk()).isEqualTo(Severity.MAJOR);
+        assertThat(repeat.requiresPharmacistReview()).isTrue();
+        assertThat(repeat.interactions()).hasSize(1);
+        assertThat(repeat.modelUsed()).isEqualTo(TensorXClinicalReasoningAdapter.MEMO_SOURCE);
+    }
+
+    @Test
+    void onlyResidualPairsAreSentAndKnownOnesAreMergedBack() {
+        server.expect(requestTo("http://tensorx.test/v1/chat/completions"))
+                .andRespond(withSuccess(completion(WARFARIN_ASPIRIN_MAJOR), MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://tensorx.test/v1/chat/completions"))
+                .andExpect(content().string(allOf(
+                        containsString("metformin + warfarin"),
+                        not(containsString("aspirin + warfarin")))))
+                .andRespond(withSuccess(completion("""
+                        {"overallRisk":"NONE","summary":"no new interactions","recommendation":"proceed",
+                         "requiresPharmacistReview":false,"interactions":[],"allergyConflicts":[]}"""),
+                        MediaType.APPLICATION_JSON));
+
+        adapter.assess(screen(List.of("Aspirin"), List.of()));
+        SafetyAssessment result = adapter.assess(screen(List.of("Aspirin", "Metformin"), List.of()));
+
+        server.verify();
+        assertThat(result.overallRisk()).isEqualTo(Severity.MAJOR);
+        assertThat(result.requiresPharmacistReview()).isTrue();
+        assertThat(result.interactions()).extracting(i -> i.drugB()).containsExactly("Aspirin");
+        assertThat(result.modelUsed()).isEqualTo("test-model");
+    }
+
+    @Test
+    void allergiesStillGoToTheModelEvenWhenEveryPairIsKnown() {
+        server.expect(requestTo("http://tensorx.test/v1/chat/completions"))
+                .andRespond(withSuccess(completion(WARFARIN_ASPIRIN_MAJOR), MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://tensorx.test/v1/chat/completions"))
+                .andExpect(content().string(containsString("check allergies only")))
+                .andRespond(withSuccess(completion("""
+                        {"overallRisk":"NONE","summary":"no allergy conflict","recommendation":"proceed",
+                         "requiresPharmacistReview":false,"interactions":[],"allergyConflicts":[]}"""),
+                        MediaType.APPLICATION_JSON));
+
+        adapter.assess(screen(List.of("Aspirin"), List.of()));
+        SafetyAssessment result = adapter.assess(screen(List.of("Aspirin"), List.of("sulfa")));
+
+        server.verify();
+        assertThat(result.overallRisk()).isEqualTo(Severity.MAJOR);
+    }
+
+    @Test
+    void renamedDrugInReplyDoesNotTeachANegativeVerdict() {
+        // Asked about warfarin + aspirin, the model answers with a brand name:
+        // the requested pair must not be remembered as "no interaction".
+        String brandName = WARFARIN_ASPIRIN_MAJOR.replace("\"drugA\":\"warfarin\"", "\"drugA\":\"Coumadin\"");
+        server.expect(requestTo("http://tensorx.test/v1/chat/completions"))
+                .andRespond(withSuccess(completion(brandName), MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://tensorx.test/v1/chat/completions"))
+                .andExpect(content().string(containsString("aspirin + warfarin")))
+                .andRespond(withSuccess(completion(WARFARIN_ASPIRIN_MAJOR), MediaType.APPLICATION_JSON));
+
+        adapter.assess(screen(List.of("Aspirin"), List.of()));
+        adapter.assess(screen(List.of("Aspirin"), List.of()));
+
+        server.verify();
+    }
+
+    @Test
+    void streamedSoapNoteForwardsTokensAndSectionsAndParsesTheWhole() {
+        String note = """
+                {"subjective":"Cough for 3 days","objective":"Not documented.",
+                 "assessment":"Viral URTI","plan":"Fluids and rest",
+                 "assessmentProblems":["URTI"],"followUp":null}""";
+        server.expect(requestTo("http://tensorx.test/v1/chat/completions"))
+                .andExpect(content().string(containsString("\"stream\":true")))
+                .andRespond(withSuccess(eventStream("```json\n" + note + "\n```"), MediaType.TEXT_EVENT_STREAM));
+
+        StringBuilder tokens = new StringBuilder();
+        Map<String, Object> sections = new LinkedHashMap<>();
+        SoapNote result = adapter.generateSoapNote(
+                new SoapNoteCommand("cough 3/7, viral URTI, fluids", null, null, List.of(), Map.of()),
+                new ReasoningStreamListener() {
+                    @Override
+                    public void onToken(String delta) {
+                        tokens.append(delta);
+                    }
+
+                    @Override
+                    public void onSection(String name, Object value) {
+                        sections.put(name, value);
+                    }
+                });
+
+        server.verify();
+        assertThat(tokens.toString()).contains("\"plan\":\"Fluids and rest\"");
+        assertThat(new ArrayList<>(sections.keySet())).containsExactly(
+                "subjective", "objective", "assessment", "plan", "assessmentProblems", "followUp");
+        assertThat(sections.get("assessmentProblems")).isEqualTo(List.of("URTI"));
+        assertThat(result.plan()).isEqualTo("Fluids and rest");
+        assertThat(result.assessmentProblems()).containsExactly("URTI");
+        assertThat(meterRegistry.find("ai.inference.stream.ttft").tag("use_case", "soap").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void completionTelemetryIsTaggedByUseCaseAndModel() {
+        String note = "{\"subjective\":\"cough\",\"objective\":\"clear chest\",\"assessment\":\"URTI\","
+                + "\"plan\":\"fluids\",\"assessmentProblems\":[\"URTI\"]}";
+        String body = "{\"choices\":[{\"message\":{\"role\":\"assistant\",\"content\":"
+                + quoted("```json\n" + note + "\n```") + "}}],"
+                + "\"usage\":{\"prompt_tokens\":812,\"completion_tokens\":64,\"total_tokens\":876}}";
+        server.expect(requestTo("http://tensorx.test/v1/chat/completions"))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON));
+
+        adapter.generateSoapNote(new SoapNoteCommand("cough 3/7, viral URTI, fluids", null, null, List.of(), Map.of()));
+
+        assertThat(meterRegistry.get("ai.inference.tokens")
+                .tags("use_case", "soap", "model", "test-model", "type", "completion").summary().totalAmount())
+                .isEqualTo(64);
+        assertThat(meterRegistry.get("ai.inference.tokens")
+                .tags("use_case", "soap", "type", "prompt").summary().totalAmount()).isEqualTo(812);
+        assertThat(meterRegistry.get("ai.inference.upstream.latency")
+                .tags("use_case", "soap", "outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("ai.inference.prompt.chars").tag("use_case", "soap").summary().totalAmount())
+                .isGreaterThan(100);
+        assertThat(meterRegistry.get("ai.inference.fence.stripped").tag("use_case", "soap").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("ai.inference.fence.stripped").tag("use_case", "lab").counter().count())
+                .isZero();
+    }
+
+    @Test
+    void failedCompletionsAreCountedByCause() {
+        server.expect(requestTo("http://tensorx.test/v1/chat/completions")).andRespond(withServerError());
+        server.expect(requestTo("http://tensorx.test/v1/chat/completions"))
+                .andRespond(withSuccess(completion("I cannot produce JSON for this."), MediaType.APPLICATION_JSON));
+        SoapNoteCommand command = new SoapNoteCommand("cough 3/7, viral URTI, fluids", null, null, List.of(), Map.of());
+
+        assertThatThrownBy(() -> adapter.generateSoapNote(command)).isInstanceOf(ClinicalReasoningException.class);
+        assertThatThrownBy(() -> adapter.generateSoapNote(command))
+                .hasMessage("TensorX returned an unparseable SOAP note");
+
+        assertThat(meterRegistry.get("ai.inference.failures").tags("use_case", "soap", "cause", "upstream_5xx")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("ai.inference.failures").tags("use_case", "soap", "cause", "unparseable")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("ai.inference.parse.failures").tag("use_case", "soap").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("ai.inference.upstream.latency")
+                .tags("use_case", "soap", "outcome", "failure").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void unparseableAnswerIsRetriedOnceOnTheFallbackModel() {
+        server.expect(requestTo("http://tensorx.test/v1/chat/completions"))
+                .andExpect(content().string(containsString("\"model\":\"test-model\"")))
+                .andRespond(withSuccess(completion("Sorry, here are some codes: J06.9"), MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://tensorx.test/v1/chat/completions"))
+                .andExpect(content().string(containsString("\"model\":\"fast-model\"")))
+                .andRespond(withSuccess(completion("{\"suggestions\":[{\"code\":\"J06.9\","
+                        + "\"description\":\"Acute upper respiratory infection\",\"confidence\":\"HIGH\","
+                        + "\"rationale\":\"viral URTI\"}]}"), MediaType.APPLICATION_JSON));
+
+        IcdCodeSuggestions result = adapter.suggestIcdCodes(new IcdCodeSuggestionCommand("cough 3/7, viral URTI", null));
+
+        server.verify();
+        assertThat(result.modelUsed()).isEqualTo("fast-model");
+        assertThat(result.suggestions()).extracting(s -> s.code()).contains("J06.9");
+        assertThat(meterRegistry.get("ai.inference.fallbacks")
+                .tags("use_case", "icd", "from_model", "test-model", "to_model", "fast-model", "reason", "unparseable")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("ai.inference.failures").tags("use_case", "icd", "model", "test-model")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void upstreamErrorsAreNotRetriedOnTheFallbackModel() {
+        server.expect(requestTo("http://tensorx.test/v1/chat/completions")).andRespond(withServerError());
+
+        assertThatThrownBy(() -> adapter.suggestIcdCodes(new IcdCodeSuggestionCommand("cough 3/7, viral URTI", null)))
+                .isInstanceOf(ClinicalReasoningException.class);
+
+        server.verify();
+        assertThat(meterRegistry.find("ai.inference.fallbacks").counter()).isNull();
+    }
+
+    private static String quoted(String text) {
+        try {
+            return new ObjectMapper().writeValueAsString(text);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
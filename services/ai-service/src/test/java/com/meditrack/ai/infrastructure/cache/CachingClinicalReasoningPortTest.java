@@ -0,0 +1,170 @@
+package com.meditrack.ai.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.application.support.CommandFingerprinter;
+import com.meditrack.ai.domain.model.IcdCodeSuggestionCommand;
+import com.meditrack.ai.domain.model.IcdCodeSuggestions;
+import com.meditrack.ai.domain.model.Medication;
+import com.meditrack.ai.domain.model.SafetyAssessment;
+import com.meditrack.ai.domain.model.SafetyCheckCommand;
+import com.meditrack.ai.domain.model.Severity;
+import com.meditrack.ai.domain.port.ClinicalReasoningPort;
+import com.meditrack.ai.domain.port.ReasoningUseCase;
+import com.meditrack.ai.infrastructure.ai.ModelRouter;
+import com.meditrack.ai.infrastructure.ai.ModelRoutingProperties;
+import com.meditrack.ai.infrastructure.ai.TensorXProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingClinicalReasoningPortTest {
+
+    private static final SafetyAssessment CLEAR = new SafetyAssessment(
+            Severity.NONE, "no issues", "proceed", false, List.of(), List.of(), "test-model");
+
+    private final ClinicalReasoningPort delegate = mock(ClinicalReasoningPort.class);
+    private final CommandFingerprinter fingerprinter = new CommandFingerprinter(new ObjectMapper());
+
+    private CachingClinicalReasoningPort port(InferenceCacheProperties props, String model) {
+        return port(new InferenceCache(props, Optional.empty()), model, Map.of());
+    }
+
+    private CachingClinicalReasoningPort port(InferenceCache cache, String model,
+                                              Map<ReasoningUseCase, ModelRoutingProperties.Route> routes) {
+        TensorXProperties tensorx = new TensorXProperties("http://localhost", "key", model, 0.1, 5);
+        return new CachingClinicalReasoningPort(delegate, cache, fingerprinter, tensorx,
+                new ModelRouter(new ModelRoutingProperties(routes), tensorx, new SimpleMeterRegistry()));
+    }
+
+    private static ModelRoutingProperties.Route route(String model, String fallbackModel) {
+        return new ModelRoutingProperties.Route(model, List.of(), fallbackModel, null);
+    }
+
+    private static SafetyAssessment clearFrom(String model) {
+        return new SafetyAssessment(Severity.NONE, "no issues", "proceed", false, List.of(), List.of(), model);
+    }
+
+    private static InferenceCacheProperties props(Map<ReasoningUseCase, Duration> ttl) {
+        return new InferenceCacheProperties(true, 100, ttl, new InferenceCacheProperties.Redis(false, "t:"));
+    }
+
+    private static SafetyCheckCommand screen(List<String> current, UUID prescriptionId) {
+        return new SafetyCheckCommand(List.of(new Medication("Warfarin", "5mg", "oral")),
+                current, List.of("penicillin"), 62, "MALE", prescriptionId, UUID.randomUUID());
+    }
+
+    @Test
+    void identicalCommandIsAnsweredFromCache() {
+        when(delegate.assess(any())).thenReturn(CLEAR);
+        CachingClinicalReasoningPort port = port(props(Map.of()), "test-model");
+
+        port.assess(screen(List.of("Aspirin"), null));
+        SafetyAssessment second = port.assess(screen(List.of("Aspirin"), null));
+
+        assertThat(second).isEqualTo(CLEAR);
+        verify(delegate, times(1)).assess(any());
+    }
+
+    @Test
+    void listOrderAndCorrelationIdsDoNotSplitTheCache() {
+        when(delegate.assess(any())).thenReturn(CLEAR);
+        CachingClinicalReasoningPort port = port(props(Map.of()), "test-model");
+
+        port.assess(screen(List.of("Aspirin", "Metformin"), UUID.randomUUID()));
+        port.assess(screen(List.of("Metformin", "Aspirin"), UUID.randomUUID()));
+
+        verify(delegate, times(1)).assess(any());
+    }
+
+    @Test
+    void differentModelIsADifferentKey() {
+        when(delegate.assess(any())).thenReturn(CLEAR);
+        SafetyCheckCommand command = screen(List.of("Aspirin"), null);
+        InferenceCache shared = new InferenceCache(props(Map.of()), Optional.empty());
+
+        port(shared, "model-a", Map.of()).assess(command);
+        port(shared, "model-b", Map.of()).assess(command);
+
+        verify(delegate, times(2)).assess(any());
+    }
+
+    @Test
+    void changedRouteIsADifferentKey() {
+        when(delegate.assess(any())).thenReturn(CLEAR);
+        SafetyCheckCommand command = screen(List.of("Aspirin"), null);
+        InferenceCache shared = new InferenceCache(props(Map.of()), Optional.empty());
+
+        for (ModelRoutingProperties.Route route : List.of(route("small-model", null), route("large-model", null),
+                route("large-model", "small-model"), route("large-model", "small-model"))) {
+            port(shared, "test-model", Map.of(ReasoningUseCase.ASSESS, route)).assess(command);
+        }
+
+        verify(delegate, times(3)).assess(any());
+    }
+
+    @Test
+    void fallbackAnswersAreReturnedButNotCached() {
+        when(delegate.assess(any())).thenReturn(clearFrom("small-model"), clearFrom("large-model"));
+        CachingClinicalReasoningPort port = port(new InferenceCache(props(Map.of()), Optional.empty()),
+                "test-model", Map.of(ReasoningUseCase.ASSESS, route("large-model", "small-model")));
+        SafetyCheckCommand command = screen(List.of("Aspirin"), null);
+
+        assertThat(port.assess(command).modelUsed()).isEqualTo("small-model");
+        assertThat(port.assess(command).modelUsed()).isEqualTo("large-model");
+        assertThat(port.assess(command).modelUsed()).isEqualTo("large-model");
+        verify(delegate, times(2)).assess(any());
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        when(delegate.assess(any()))
+                .thenThrow(new IllegalStateException("model down"))
+                .thenReturn(CLEAR);
+        CachingClinicalReasoningPort port = port(props(Map.of()), "test-model");
+
+        assertThatThrownBy(() -> port.assess(screen(List.of(), null))).isInstanceOf(IllegalStateException.class);
+        assertThat(port.assess(screen(List.of(), null))).isEqualTo(CLEAR);
+    }
+
+    @Test
+    void zeroTtlDisablesCachingForThatUseCase() {
+        IcdCodeSuggestions none = new IcdCodeSuggestions(List.of(), "test-model");
+        when(delegate.suggestIcdCodes(any())).thenReturn(none);
+        CachingClinicalReasoningPort port = port(props(Map.of(ReasoningUseCase.ICD, Duration.ZERO)), "test-model");
+
+        port.suggestIcdCodes(new IcdCodeSuggestionCommand("cough", null));
+        port.suggestIcdCodes(new IcdCodeSuggestionCommand("cough", null));
+
+        verify(delegate, times(2)).suggestIcdCodes(any());
+    }
+
+    @Test
+    void exportsHitAndMissCountsPerUseCase() {
+        when(delegate.assess(any())).thenReturn(CLEAR);
+        InferenceCache cache = new InferenceCache(props(Map.of()), Optional.empty());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        CachingClinicalReasoningPort port = port(cache, "test-model", Map.of());
+
+        port.assess(screen(List.of(), null));
+        port.assess(screen(List.of(), null));
+
+        assertThat(registry.get("cache.gets").tags("cache", "inference.assess", "result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("cache.gets").tags("cache", "inference.assess", "result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+}
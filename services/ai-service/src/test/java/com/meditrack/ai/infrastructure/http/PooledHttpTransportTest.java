@@ -0,0 +1,66 @@
+package com.meditrack.ai.infrastructure.http;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PooledHttpTransportTest {
+
+    private static HttpClientPoolProperties props(Map<String, Integer> perDestination, boolean http2) {
+        return new HttpClientPoolProperties(50, 20, perDestination, 10, 30, 300, http2);
+    }
+
+    @Test
+    void defaultsToPooledHttp1FactoryAndExportsPoolGauges() {
+        PooledHttpTransport transport = new PooledHttpTransport(props(Map.of(), false));
+        try {
+            assertThat(transport.requestFactory(Duration.ofSeconds(5)))
+                    .isInstanceOf(HttpComponentsClientHttpRequestFactory.class);
+
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            transport.bindTo(registry);
+
+            assertThat(registry.find("httpcomponents.httpclient.pool.total.pending")
+                    .tag("httpclient", PooledHttpTransport.POOL_NAME).gauge()).isNotNull();
+            assertThat(registry.find("httpcomponents.httpclient.pool.total.connections")
+                    .tag("state", "leased").gauge()).isNotNull();
+            assertThat(registry.find("httpcomponents.httpclient.pool.total.connections")
+                    .tag("state", "available").gauge()).isNotNull();
+        } finally {
+            transport.destroy();
+        }
+    }
+
+    @Test
+    void appliesPerDestinationLimitToTheMatchingRouteOnly() {
+        PooledHttpTransport transport = new PooledHttpTransport(
+                props(Map.of("https://api.tensorx.ai", 64), false));
+        try {
+            assertThat(transport.maxPerRoute("https://api.tensorx.ai/v1")).isEqualTo(64);
+            assertThat(transport.maxPerRoute("http://localhost:8084")).isEqualTo(20);
+        } finally {
+            transport.destroy();
+        }
+    }
+
+    @Test
+    void http2ModeUsesJdkClientWithoutPoolGauges() {
+        PooledHttpTransport transport = new PooledHttpTransport(props(Map.of(), true));
+        try {
+            assertThat(transport.requestFactory(Duration.ofSeconds(5)))
+                    .isInstanceOf(JdkClientHttpRequestFactory.class);
+
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            transport.bindTo(registry);
+            assertThat(registry.getMeters()).isEmpty();
+        } finally {
+            transport.destroy();
+        }
+    }
+}
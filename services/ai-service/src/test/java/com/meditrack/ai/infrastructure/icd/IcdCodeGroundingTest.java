@@ -0,0 +1,86 @@
+package com.meditrack.ai.infrastructure.icd;
+
+import com.meditrack.ai.domain.model.IcdCodeSuggestion;
+import com.meditrack.ai.domain.model.IcdCodeSuggestionCommand;
+import com.meditrack.ai.domain.model.IcdConfidence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IcdCodeGroundingTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private IcdCodeGrounding grounding(IcdIndexProperties.UnknownCodePolicy unknownCodes) {
+        return new IcdCodeGrounding(new IcdIndexProperties(true,
+                new ClassPathResource("icd10/icd10cm-common.txt"), 10, unknownCodes), meterRegistry);
+    }
+
+    private static IcdCodeSuggestion suggestion(String code) {
+        return new IcdCodeSuggestion(code, "model wording", IcdConfidence.HIGH, "documented");
+    }
+
+    private double suggestions(String result) {
+        return meterRegistry.get("ai.icd.suggestions").tag("result", result).counter().count();
+    }
+
+    @Test
+    void normalisesCodeSpellings() {
+        assertThat(IcdCodeIndex.normaliseCode("e119")).isEqualTo("E11.9");
+        assertThat(IcdCodeIndex.normaliseCode(" E11.65 ")).isEqualTo("E11.65");
+        assertThat(IcdCodeIndex.normaliseCode("I10")).isEqualTo("I10");
+        assertThat(IcdCodeIndex.normaliseCode("S93401A")).isEqualTo("S93.401A");
+        assertThat(IcdCodeIndex.normaliseCode("diabetes")).isNull();
+        assertThat(IcdCodeIndex.normaliseCode("E11.99999")).isNull();
+    }
+
+    @Test
+    void prefixLookupExpandsACategory() {
+        IcdCodeIndex index = IcdCodeIndex.load(new ClassPathResource("icd10/icd10cm-common.txt"));
+
+        assertThat(index.withPrefix("E11", 50)).extracting(IcdCodeIndex.IcdCode::code)
+                .contains("E11.9", "E11.65", "E11.22")
+                .allMatch(code -> code.startsWith("E11."));
+        assertThat(index.lookup("n390")).map(IcdCodeIndex.IcdCode::description)
+                .contains("Urinary tract infection, site not specified");
+    }
+
+    @Test
+    void shortlistsCodesMatchingTheNotesWording() {
+        List<IcdCodeIndex.IcdCode> shortlist = grounding(IcdIndexProperties.UnknownCodePolicy.DOWNRANK)
+                .shortlist(new IcdCodeSuggestionCommand(
+                        "Known T2DM and HTN. Presents with dysuria; dipstick positive, likely UTI.", null));
+
+        assertThat(shortlist).extracting(IcdCodeIndex.IcdCode::code).contains("E11.9", "I10", "N39.0");
+    }
+
+    @Test
+    void validatesSuggestions_normalisingKnownCodesAndDownRankingUnknownOnes() {
+        List<IcdCodeSuggestion> result = grounding(IcdIndexProperties.UnknownCodePolicy.DOWNRANK).validate(List.of(
+                suggestion("Q99.8"),
+                suggestion("e119"),
+                suggestion("E11.9"),
+                suggestion("not-a-code"),
+                suggestion("I10")));
+
+        assertThat(result).extracting(IcdCodeSuggestion::code).containsExactly("E11.9", "I10", "Q99.8");
+        assertThat(result.get(0).description()).isEqualTo("Type 2 diabetes mellitus without complications");
+        assertThat(result.get(2).confidence()).isEqualTo(IcdConfidence.LOW);
+        assertThat(result.get(2).rationale()).startsWith(IcdCodeGrounding.UNKNOWN_CODE_NOTE);
+        assertThat(suggestions("normalised")).isEqualTo(1);
+        assertThat(suggestions("malformed")).isEqualTo(1);
+        assertThat(suggestions("unknown")).isEqualTo(1);
+    }
+
+    @Test
+    void dropsUnknownCodes_whenConfiguredTo() {
+        List<IcdCodeSuggestion> result = grounding(IcdIndexProperties.UnknownCodePolicy.DROP)
+                .validate(List.of(suggestion("Q99.8"), suggestion("I10")));
+
+        assertThat(result).extracting(IcdCodeSuggestion::code).containsExactly("I10");
+    }
+}
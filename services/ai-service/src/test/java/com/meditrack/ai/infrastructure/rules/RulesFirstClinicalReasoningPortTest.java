@@ -0,0 +1,107 @@
+package com.meditrack.ai.infrastructure.rules;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.ai.domain.model.AllergyConflict;
+import com.meditrack.ai.domain.model.DrugInteraction;
+import com.meditrack.ai.domain.model.Medication;
+import com.meditrack.ai.domain.model.SafetyAssessment;
+import com.meditrack.ai.domain.model.SafetyCheckCommand;
+import com.meditrack.ai.domain.model.Severity;
+import com.meditrack.ai.domain.port.ClinicalReasoningPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class RulesFirstClinicalReasoningPortTest {
+
+    private static final SafetyRuleTable TABLE = SafetyRuleTable.load(
+            new ClassPathResource("clinical-rules/safety-rules.json"), new ObjectMapper());
+
+    private static final SafetyAssessment CLEAR = new SafetyAssessment(
+            Severity.NONE, "No interactions found.", "Proceed.", false, List.of(), List.of(), "test-model");
+
+    private final ClinicalReasoningPort delegate = mock(ClinicalReasoningPort.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RulesFirstClinicalReasoningPort port =
+            new RulesFirstClinicalReasoningPort(delegate, TABLE, Severity.CONTRAINDICATED, meterRegistry);
+
+    private static SafetyCheckCommand screen(String newMedication, List<String> current, List<String> allergies) {
+        return new SafetyCheckCommand(List.of(new Medication(newMedication, null, "oral")),
+                current, allergies, 54, "FEMALE", null, null);
+    }
+
+    private double screens(String outcome) {
+        return meterRegistry.get("ai.safety.rules.screens").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void contraindicatedAllergyClass_isAnsweredWithoutTheModel() {
+        SafetyAssessment result = port.assess(screen("Amoxicillin 500 mg capsules", List.of(), List.of("Penicillin - rash")));
+
+        verifyNoInteractions(delegate);
+        assertThat(result.overallRisk()).isEqualTo(Severity.CONTRAINDICATED);
+        assertThat(result.requiresPharmacistReview()).isTrue();
+        assertThat(result.allergyConflicts()).extracting(AllergyConflict::medication)
+                .containsExactly("Amoxicillin 500 mg capsules");
+        assertThat(result.modelUsed()).isEqualTo("rules@" + TABLE.version());
+        assertThat(screens("decided")).isEqualTo(1);
+    }
+
+    @Test
+    void contraindicatedPairViaDrugClasses_isAnsweredWithoutTheModel() {
+        SafetyAssessment result = port.assess(screen("Sildenafil", List.of("isosorbide mononitrate"), List.of()));
+
+        verifyNoInteractions(delegate);
+        assertThat(result.interactions()).singleElement()
+                .satisfies(i -> assertThat(i.severity()).isEqualTo(Severity.CONTRAINDICATED));
+    }
+
+    @Test
+    void weakerRuleFindings_areMergedIntoTheModelsAssessment() {
+        when(delegate.assess(any())).thenReturn(CLEAR);
+
+        SafetyAssessment result = port.assess(screen("Ibuprofen", List.of("Warfarin"), List.of()));
+
+        verify(delegate).assess(any());
+        assertThat(result.overallRisk()).isEqualTo(Severity.MAJOR);
+        assertThat(result.requiresPharmacistReview()).isTrue();
+        assertThat(result.interactions()).extracting(DrugInteraction::drugA, DrugInteraction::drugB)
+                .containsExactly(tuple("Ibuprofen", "Warfarin"));
+        assertThat(result.modelUsed()).isEqualTo("test-model+rules@" + TABLE.version());
+        assertThat(screens("merged")).isEqualTo(1);
+    }
+
+    @Test
+    void modelAnswerIsReturnedUnchanged_whenNoRuleApplies() {
+        when(delegate.assess(any())).thenReturn(CLEAR);
+
+        SafetyAssessment result = port.assess(screen("Metformin", List.of("Atorvastatin"), List.of("latex")));
+
+        assertThat(result).isSameAs(CLEAR);
+        assertThat(screens("deferred")).isEqualTo(1);
+    }
+
+    @Test
+    void tableReferencingAnUndefinedClass_isRejectedAtLoad() {
+        SafetyRuleTable.TableDocument broken = new SafetyRuleTable.TableDocument("1", Map.of(),
+                List.of(new SafetyRuleTable.InteractionRule("@statins", "clarithromycin", Severity.MAJOR,
+                        null, null, null)),
+                List.of());
+
+        assertThatThrownBy(() -> SafetyRuleTable.from(broken))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("@statins");
+    }
+}
@@ -13,7 +13,7 @@ class LabResultExplanationRequestTest {
     void mapsAllFieldsToCommand() {
         LabResultExplanationRequest req = new LabResultExplanationRequest(
                 List.of(new LabValueInput("Glucose", "250", "mg/dL", "70-99", "H")),
-                45, "FEMALE", "fasting");
+                45, "FEMALE", "fasting", null);
 
         LabResultExplanationCommand cmd = req.toCommand();
 
@@ -29,7 +29,7 @@ class LabResultExplanationRequestTest {
     @Test
     void nullResultsBecomeEmptyListRatherThanNpe() {
         LabResultExplanationRequest req =
-                new LabResultExplanationRequest(null, null, null, null);
+                new LabResultExplanationRequest(null, null, null, null, null);
 
         LabResultExplanationCommand cmd = req.toCommand();
 
@@ -90,7 +90,8 @@ public class AppointmentApplicationService implements BookAppointmentUseCase, Ge
         if (status == AppointmentStatus.COMPLETED) {
             eventPublisher.publishEvent(AppointmentCompletedEvent.builder()
                     .appointmentId(updated.getId()).patientId(updated.getPatientId())
-                    .doctorId(updated.getDoctorId()).occurredAt(Instant.now()).build());
+                    .doctorId(updated.getDoctorId()).reasonForVisit(updated.getReasonForVisit())
+                    .notes(updated.getNotes()).occurredAt(Instant.now()).build());
         }
         return toResponse(updated);
     }
@@ -3,12 +3,11 @@ package com.meditrack.appointment.infrastructure.client;
 import com.meditrack.appointment.domain.model.DoctorSnapshot;
 import com.meditrack.appointment.domain.port.DoctorDirectoryPort;
 import com.meditrack.appointment.domain.port.DoctorDirectoryUnavailableException;
+import com.meditrack.appointment.infrastructure.http.PooledHttpTransport;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.ClientHttpRequestFactories;
-import org.springframework.boot.web.client.ClientHttpRequestFactorySettings;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
@@ -47,13 +46,12 @@ public class DoctorServiceClient implements DoctorDirectoryPort {
 
     public DoctorServiceClient(
             RestClient.Builder restClientBuilder,
+            PooledHttpTransport transport,
             @Value("${meditrack.doctor-service.base-url:http://localhost:8084}") String baseUrl,
             @Value("${jwt.secret}") String jwtSecret) {
         this.restClient = restClientBuilder
                 .baseUrl(baseUrl)
-                .requestFactory(ClientHttpRequestFactories.get(ClientHttpRequestFactorySettings.DEFAULTS
-                        .withConnectTimeout(TIMEOUT)
-                        .withReadTimeout(TIMEOUT)))
+                .requestFactory(transport.requestFactory(TIMEOUT))
                 .build();
         this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
     }
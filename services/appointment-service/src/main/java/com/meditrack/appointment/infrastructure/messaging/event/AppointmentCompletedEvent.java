@@ -8,6 +8,10 @@ import lombok.NoArgsConstructor;
 import java.time.Instant;
 import java.util.UUID;
 
+/**
+ * Emitted when an appointment is marked completed. Carries the visit's reason
+ * and the doctor's notes so downstream coding can run without a read-back.
+ */
 @Data
 @Builder
 @NoArgsConstructor
@@ -16,5 +20,7 @@ public class AppointmentCompletedEvent {
     private UUID appointmentId;
     private UUID patientId;
     private UUID doctorId;
+    private String reasonForVisit;
+    private String notes;
     private Instant occurredAt;
 }
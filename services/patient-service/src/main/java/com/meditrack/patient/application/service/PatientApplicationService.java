@@ -6,6 +6,7 @@ import com.meditrack.patient.domain.model.valueobjects.SSN;
 import com.meditrack.patient.interfaces.dto.request.CreatePatientRequest;
 import com.meditrack.patient.interfaces.dto.request.UpdatePatientRequest;
 import com.meditrack.patient.interfaces.dto.response.PatientResponse;
+import com.meditrack.patient.interfaces.dto.response.PatientSafetyProfileResponse;
 import com.meditrack.patient.interfaces.dto.response.PatientTimelineResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -16,7 +17,8 @@ import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
-public class PatientApplicationService implements CreatePatientUseCase, UpdatePatientUseCase, GetPatientUseCase, SearchPatientsUseCase, GetPatientTimelineUseCase {
+public class PatientApplicationService implements CreatePatientUseCase, UpdatePatientUseCase, GetPatientUseCase, SearchPatientsUseCase, GetPatientTimelineUseCase,
+        GetPatientSafetyProfileUseCase {
 
     private final PatientCommandService patientCommandService;
     private final PatientQueryService patientQueryService;
@@ -46,6 +48,11 @@ public class PatientApplicationService implements CreatePatientUseCase, UpdatePa
         return patientQueryService.getPatientTimeline(patientId);
     }
 
+    @Override
+    public PatientSafetyProfileResponse getPatientSafetyProfile(UUID patientId) {
+        return patientQueryService.getPatientSafetyProfile(patientId);
+    }
+
     @Override
     public Optional<Patient> getPatientBySSN(SSN ssn) {
         return patientQueryService.getPatientBySSN(ssn);
@@ -33,14 +33,17 @@ import java.util.UUID;
 public class PatientCommandService {
 
     private final PatientRepository patientRepository;
+    private final PatientSafetyProfileRelay safetyProfileRelay;
     private final ApplicationEventPublisher eventPublisher;
     private final Counter patientRegistrationsTotal;
     private final Counter patientUpdatesTotal;
 
     public PatientCommandService(PatientRepository patientRepository,
+                                 PatientSafetyProfileRelay safetyProfileRelay,
                                  MeterRegistry meterRegistry,
                                  ApplicationEventPublisher eventPublisher) {
         this.patientRepository = patientRepository;
+        this.safetyProfileRelay = safetyProfileRelay;
         this.eventPublisher = eventPublisher;
         this.patientRegistrationsTotal = Counter.builder("meditrack_patient_registrations_total")
                 .description("Total number of patient registrations")
@@ -76,6 +79,7 @@ public class PatientCommandService {
 
         // Relayed to Kafka by PatientEventProducer only AFTER this transaction commits.
         eventPublisher.publishEvent(buildPatientCreatedEvent(savedPatient));
+        safetyProfileRelay.publish(savedPatient.getId(), PatientSafetyProfileRelay.Trigger.REGISTERED);
 
         return ApplicationPatientMapper.toResponse(savedPatient);
     }
@@ -118,6 +122,9 @@ public class PatientCommandService {
 
         Patient updatedPatient = patientRepository.save(patient);
         patientUpdatesTotal.increment();
+
+        // Read in this transaction, relayed to Kafka only after it commits.
+        safetyProfileRelay.publish(patient.getId(), PatientSafetyProfileRelay.Trigger.UPDATED);
         return ApplicationPatientMapper.toResponse(updatedPatient);
     }
 }
\ No newline at end of file
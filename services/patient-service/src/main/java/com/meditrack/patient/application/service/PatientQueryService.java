@@ -2,11 +2,14 @@ package com.meditrack.patient.application.service;
 
 import com.meditrack.patient.application.mapper.ApplicationPatientMapper;
 import com.meditrack.patient.domain.model.Patient;
+import com.meditrack.patient.domain.model.PatientSafetyProfile;
 import com.meditrack.patient.domain.model.valueobjects.MRN;
 import com.meditrack.patient.domain.model.valueobjects.PatientId;
 import com.meditrack.patient.domain.model.valueobjects.SSN;
 import com.meditrack.patient.domain.repository.PatientRepository;
+import com.meditrack.patient.domain.repository.PatientSafetyProfileRepository;
 import com.meditrack.patient.interfaces.dto.response.PatientResponse;
+import com.meditrack.patient.interfaces.dto.response.PatientSafetyProfileResponse;
 import com.meditrack.patient.interfaces.dto.response.PatientTimelineResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.Cacheable;
@@ -26,6 +29,7 @@ import java.util.stream.Collectors;
 public class PatientQueryService {
 
     private final PatientRepository patientRepository;
+    private final PatientSafetyProfileRepository safetyProfileRepository;
 
     @Cacheable(value = "patients", key = "#id")
     public PatientResponse getPatientById(UUID id) {
@@ -80,4 +84,22 @@ public class PatientQueryService {
         response.setTimeline(Collections.emptyList()); // Placeholder
         return response;
     }
+
+    /**
+     * Current allergies and active medications, read from the tables rather than a cache:
+     * prescription-service asks for this when its projection has no snapshot for the patient.
+     */
+    public PatientSafetyProfileResponse getPatientSafetyProfile(UUID patientId) {
+        PatientId id = new PatientId(patientId);
+        if (patientRepository.findById(id).isEmpty()) {
+            throw new PatientNotFoundException("Patient not found");
+        }
+        PatientSafetyProfile profile = safetyProfileRepository.findByPatientId(id);
+
+        PatientSafetyProfileResponse response = new PatientSafetyProfileResponse();
+        response.setPatientId(patientId.toString());
+        response.setAllergies(profile.getAllergies());
+        response.setActiveMedications(profile.getActiveMedications());
+        return response;
+    }
 }
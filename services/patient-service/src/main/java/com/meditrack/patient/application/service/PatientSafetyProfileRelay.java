@@ -0,0 +1,169 @@
+package com.meditrack.patient.application.service;
+
+import com.meditrack.patient.domain.model.PatientSafetyProfile;
+import com.meditrack.patient.domain.model.valueobjects.PatientId;
+import com.meditrack.patient.domain.repository.PatientSafetyProfileRepository;
+import com.meditrack.patient.infrastructure.messaging.EventTopics;
+import com.meditrack.patient.infrastructure.messaging.event.PatientSafetyProfileEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the compacted {@code patient.safety-profile.v1} topic in step with the allergy and
+ * medication tables, so prescription-service's projection holds a snapshot for every patient.
+ *
+ * <p>A snapshot is published when a patient is registered or updated, and from three
+ * background passes, because no application code here writes the allergy and medication
+ * tables — rows arrive from imports and direct writes:
+ * <ul>
+ *   <li>on startup, every patient (backfill);</li>
+ *   <li>every {@code change-scan-interval}, patients with a row added or updated since the
+ *       previous scan ({@code updated_at} is kept by a trigger);</li>
+ *   <li>every {@code full-republish-interval}, every patient again. This picks up deleted rows
+ *       and medications whose end date has passed, which leave no {@code updated_at} behind.
+ *       Both only remove entries, so until then the screen errs towards an extra warning.</li>
+ * </ul>
+ * Snapshots are complete and ordered by timestamp, so republishing, or several instances
+ * publishing the same patient, is harmless.
+ */
+@Slf4j
+@Service
+public class PatientSafetyProfileRelay implements DisposableBean {
+
+    private static final int PAGE_SIZE = 500;
+    /** Rescanned on every pass to cover clock drift between this service and the database. */
+    private static final Duration SCAN_OVERLAP = Duration.ofMinutes(1);
+
+    /** Why a snapshot was published; the tag on the published-snapshots counter. */
+    public enum Trigger {
+        REGISTERED, UPDATED, BACKFILL, CHANGED, REPUBLISH;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final PatientSafetyProfileRepository safetyProfileRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean backfillOnStartup;
+    private final Duration changeScanInterval;
+    private final Duration fullRepublishInterval;
+    private final Map<Trigger, Counter> published = new EnumMap<>(Trigger.class);
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofVirtual().name("patient-safety-profile-relay").factory());
+
+    /** Only read and written on the scheduler thread. */
+    private Instant scannedUpTo;
+
+    public PatientSafetyProfileRelay(
+            PatientSafetyProfileRepository safetyProfileRepository,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${meditrack.patient-safety-profile.backfill-on-startup:true}") boolean backfillOnStartup,
+            @Value("${meditrack.patient-safety-profile.change-scan-interval:1m}") Duration changeScanInterval,
+            @Value("${meditrack.patient-safety-profile.full-republish-interval:24h}") Duration fullRepublishInterval) {
+        this.safetyProfileRepository = safetyProfileRepository;
+        this.eventPublisher = eventPublisher;
+        this.backfillOnStartup = backfillOnStartup;
+        this.changeScanInterval = changeScanInterval;
+        this.fullRepublishInterval = fullRepublishInterval;
+        for (Trigger trigger : Trigger.values()) {
+            published.put(trigger, Counter.builder("meditrack_patient_safety_profiles_published_total")
+                    .description("Patient safety-profile snapshots published, by what triggered them")
+                    .tag("trigger", trigger.tag())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Reads the patient's current profile and publishes it. Inside a transaction the snapshot
+     * is relayed to Kafka only after the commit; outside one it is relayed straight away.
+     */
+    public void publish(PatientId patientId, Trigger trigger) {
+        eventPublisher.publishEvent(buildSafetyProfileEvent(safetyProfileRepository.findByPatientId(patientId)));
+        published.get(trigger).increment();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scannedUpTo = Instant.now();
+        if (backfillOnStartup) {
+            scheduler.execute(() -> republishAll(Trigger.BACKFILL));
+        }
+        long scanMillis = changeScanInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::publishChanged, scanMillis, scanMillis, TimeUnit.MILLISECONDS);
+        long republishMillis = fullRepublishInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(() -> republishAll(Trigger.REPUBLISH),
+                republishMillis, republishMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** Publishes every patient, a page at a time. */
+    void republishAll(Trigger trigger) {
+        int count = 0;
+        try {
+            for (int page = 0; ; page++) {
+                List<PatientId> ids = safetyProfileRepository.findPatientIds(page, PAGE_SIZE);
+                ids.forEach(id -> publish(id, trigger));
+                count += ids.size();
+                if (ids.size() < PAGE_SIZE) {
+                    break;
+                }
+            }
+            log.info("Published {} patient safety profiles [trigger={}]", count, trigger.tag());
+        } catch (Exception e) {
+            log.warn("Publishing patient safety profiles stopped after {} [trigger={}]: {}",
+                    count, trigger.tag(), e.getMessage());
+        }
+    }
+
+    /** Publishes patients whose allergies or medications changed since the last scan. */
+    void publishChanged() {
+        Instant scanStartedAt = Instant.now();
+        try {
+            List<PatientId> ids = safetyProfileRepository.findPatientIdsChangedSince(scannedUpTo.minus(SCAN_OVERLAP));
+            ids.forEach(id -> publish(id, Trigger.CHANGED));
+            scannedUpTo = scanStartedAt;
+            if (!ids.isEmpty()) {
+                log.debug("Published {} changed patient safety profiles", ids.size());
+            }
+        } catch (Exception e) {
+            log.warn("Scanning for changed patient safety profiles failed, retrying next pass: {}", e.getMessage());
+        }
+    }
+
+    /** Builds the full safety-profile snapshot event for prescription-service's local projection. */
+    private PatientSafetyProfileEvent buildSafetyProfileEvent(PatientSafetyProfile profile) {
+        return PatientSafetyProfileEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType(EventTopics.EVENT_TYPE_PATIENT_SAFETY_PROFILE)
+                .timestamp(Instant.now().toEpochMilli())
+                .source("patient-service")
+                .patientId(profile.getPatientId().getId().toString())
+                .allergies(profile.getAllergies())
+                .activeMedications(profile.getActiveMedications())
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
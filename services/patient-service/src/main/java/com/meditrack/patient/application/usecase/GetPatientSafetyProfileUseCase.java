@@ -0,0 +1,9 @@
+package com.meditrack.patient.application.usecase;
+
+import com.meditrack.patient.interfaces.dto.response.PatientSafetyProfileResponse;
+
+import java.util.UUID;
+
+public interface GetPatientSafetyProfileUseCase {
+    PatientSafetyProfileResponse getPatientSafetyProfile(UUID patientId);
+}
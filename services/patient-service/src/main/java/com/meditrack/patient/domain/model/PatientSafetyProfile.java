@@ -0,0 +1,17 @@
+package com.meditrack.patient.domain.model;
+
+import com.meditrack.patient.domain.model.valueobjects.PatientId;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * What a drug-safety screen needs to know about a patient: the allergens and
+ * the medications currently recorded as active.
+ */
+@Value
+public class PatientSafetyProfile {
+    PatientId patientId;
+    List<String> allergies;
+    List<String> activeMedications;
+}
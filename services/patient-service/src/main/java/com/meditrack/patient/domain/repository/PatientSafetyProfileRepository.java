@@ -0,0 +1,17 @@
+package com.meditrack.patient.domain.repository;
+
+import com.meditrack.patient.domain.model.PatientSafetyProfile;
+import com.meditrack.patient.domain.model.valueobjects.PatientId;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface PatientSafetyProfileRepository {
+    PatientSafetyProfile findByPatientId(PatientId patientId);
+
+    /** One page of every patient's id, in a stable order. */
+    List<PatientId> findPatientIds(int page, int size);
+
+    /** Patients with an allergy or medication row added or updated after {@code since}. */
+    List<PatientId> findPatientIdsChangedSince(Instant since);
+}
@@ -12,10 +12,17 @@ public final class EventTopics {
     public static final String PATIENT_UPDATED  = "patient.updated.v1";
     public static final String PATIENT_DELETED  = "patient.deleted.v1";
 
+    /**
+     * Compacted topic of per-patient safety profiles (active allergies and medications), keyed by
+     * patientId. Each record is a full snapshot, so the latest one per key is all a consumer needs.
+     */
+    public static final String PATIENT_SAFETY_PROFILE = "patient.safety-profile.v1";
+
     /** Topic consumed by lab-service to create lab orders from patient-service lab test requests. */
     public static final String PATIENT_EVENTS   = "patient-events";
 
     public static final String EVENT_TYPE_LAB_TEST_ORDERED = "lab.test.ordered.v1";
     /** eventType discriminator carried inside patient-created events on the patient-events topic. */
     public static final String EVENT_TYPE_PATIENT_CREATED = "patient.created.v1";
+    public static final String EVENT_TYPE_PATIENT_SAFETY_PROFILE = "patient.safety-profile.v1";
 }
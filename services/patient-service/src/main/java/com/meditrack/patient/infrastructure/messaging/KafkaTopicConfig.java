@@ -0,0 +1,26 @@
+package com.meditrack.patient.infrastructure.messaging;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+/**
+ * Topics whose configuration the broker's auto-create defaults would get wrong.
+ */
+@Configuration
+public class KafkaTopicConfig {
+
+    /**
+     * Compacted, so the latest safety profile per patient is kept indefinitely and
+     * consumers can rebuild their projection by replaying the topic from the start.
+     */
+    @Bean
+    public NewTopic patientSafetyProfileTopic() {
+        return TopicBuilder.name(EventTopics.PATIENT_SAFETY_PROFILE)
+                .partitions(3)
+                .replicas(1)
+                .compact()
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.meditrack.patient.infrastructure.messaging;
 
 import com.meditrack.patient.infrastructure.messaging.event.PatientCreatedEvent;
+import com.meditrack.patient.infrastructure.messaging.event.PatientSafetyProfileEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -46,6 +47,21 @@ public class PatientEventProducer {
         send(EventTopics.PATIENT_EVENTS, patientId, event, "patient-created", patientId);
     }
 
+    /**
+     * Publishes a patient's safety-profile snapshot onto the compacted
+     * {@code patient.safety-profile.v1} topic, keyed by patientId, after the transaction that
+     * read it has committed, or straight away when it was read outside a transaction (the relay's
+     * backfill and change scans). prescription-service projects it locally for its drug-safety screen.
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void publishPatientSafetyProfile(PatientSafetyProfileEvent event) {
+        log.info("Publishing patient safety-profile event [patientId={}, topic={}]",
+                event.getPatientId(), EventTopics.PATIENT_SAFETY_PROFILE);
+        send(EventTopics.PATIENT_SAFETY_PROFILE, event.getPatientId(), event, "patient-safety-profile",
+                event.getPatientId());
+    }
+
     @Async
     public void sendPatientUpdatedEvent(String patientId) {
         log.info("Publishing patient-updated event [patientId={}, topic={}]", patientId, PATIENT_UPDATED_TOPIC);
@@ -0,0 +1,34 @@
+package com.meditrack.patient.infrastructure.messaging.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Event published on the compacted {@code patient.safety-profile.v1} topic, keyed by
+ * patientId, whenever a patient's record is saved. It carries the full current
+ * snapshot rather than a delta, so a consumer can rebuild its view from the latest
+ * record per key alone.
+ *
+ * <p>{@code timestamp} (epoch millis) orders snapshots of the same patient: relaying is
+ * asynchronous, so consumers keep the newest one rather than the last one received.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientSafetyProfileEvent {
+
+    private String eventId;
+    private String eventType;
+    private long timestamp;
+    private String source;
+    private String patientId;
+    /** Allergens recorded as active. */
+    private List<String> allergies;
+    /** Medications recorded as active and not past their end date. */
+    private List<String> activeMedications;
+}
@@ -0,0 +1,40 @@
+package com.meditrack.patient.infrastructure.persistence.impl;
+
+import com.meditrack.patient.domain.model.PatientSafetyProfile;
+import com.meditrack.patient.domain.model.valueobjects.PatientId;
+import com.meditrack.patient.domain.repository.PatientSafetyProfileRepository;
+import com.meditrack.patient.infrastructure.persistence.repository.PatientJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class PatientSafetyProfileRepositoryImpl implements PatientSafetyProfileRepository {
+
+    private final PatientJpaRepository patientJpaRepository;
+
+    @Override
+    public PatientSafetyProfile findByPatientId(PatientId patientId) {
+        return new PatientSafetyProfile(patientId,
+                patientJpaRepository.findActiveAllergens(patientId.getId()),
+                patientJpaRepository.findActiveMedicationNames(patientId.getId()));
+    }
+
+    @Override
+    public List<PatientId> findPatientIds(int page, int size) {
+        return patientJpaRepository.findAllIds(PageRequest.of(page, size)).stream()
+                .map(PatientId::new)
+                .toList();
+    }
+
+    @Override
+    public List<PatientId> findPatientIdsChangedSince(Instant since) {
+        return patientJpaRepository.findIdsWithSafetyChangesSince(since).stream()
+                .map(PatientId::new)
+                .toList();
+    }
+}
@@ -1,9 +1,13 @@
 package com.meditrack.patient.infrastructure.persistence.repository;
 
 import com.meditrack.patient.infrastructure.persistence.entity.PatientEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,4 +18,20 @@ public interface PatientJpaRepository extends JpaRepository<PatientEntity, UUID>
     List<PatientEntity> findByFirstNameContainingIgnoreCase(String firstName);
     List<PatientEntity> findByLastNameContainingIgnoreCase(String lastName);
     Optional<PatientEntity> findBySsn(String ssn);
+
+    @Query(value = "SELECT allergen FROM patient_allergies"
+            + " WHERE patient_id = :patientId AND is_active = TRUE ORDER BY allergen", nativeQuery = true)
+    List<String> findActiveAllergens(@Param("patientId") UUID patientId);
+
+    @Query(value = "SELECT medication_name FROM patient_medications"
+            + " WHERE patient_id = :patientId AND is_active = TRUE"
+            + " AND (end_date IS NULL OR end_date >= CURRENT_DATE) ORDER BY medication_name", nativeQuery = true)
+    List<String> findActiveMedicationNames(@Param("patientId") UUID patientId);
+
+    @Query("SELECT p.id FROM PatientEntity p ORDER BY p.id")
+    List<UUID> findAllIds(Pageable pageable);
+
+    @Query(value = "SELECT patient_id FROM patient_allergies WHERE updated_at > :since"
+            + " UNION SELECT patient_id FROM patient_medications WHERE updated_at > :since", nativeQuery = true)
+    List<UUID> findIdsWithSafetyChangesSince(@Param("since") Instant since);
 }
@@ -5,28 +5,46 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Authenticates requests from the bearer token. A token whose subject is one of
+ * {@code jwt.service-subjects} comes from another MediTrack service, names no user
+ * account, and is authorised by its roles claim without a user lookup. Any other
+ * subject must name a known user; a token for an unknown or deleted user leaves
+ * the request unauthenticated.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtRequestFilter extends OncePerRequestFilter {
 
     private final UserDetailsService userDetailsService;
     private final JwtUtil jwtUtil;
+    private final Set<String> serviceSubjects;
+
+    public JwtRequestFilter(UserDetailsService userDetailsService,
+                            JwtUtil jwtUtil,
+                            @Value("${jwt.service-subjects:ai-service,prescription-service}") Set<String> serviceSubjects) {
+        this.userDetailsService = userDetailsService;
+        this.jwtUtil = jwtUtil;
+        this.serviceSubjects = serviceSubjects;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -52,9 +70,16 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         }
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = null;
+            try {
+                userDetails = serviceSubjects.contains(username)
+                        ? User.withUsername(username).password("").authorities(List.of()).build()
+                        : userDetailsService.loadUserByUsername(username);
+            } catch (UsernameNotFoundException e) {
+                log.warn("JWT token names an unknown user [username={}]", username);
+            }
 
-            if (jwtUtil.validateToken(jwtToken, userDetails)) {
+            if (userDetails != null && jwtUtil.validateToken(jwtToken, userDetails)) {
                 // Extract roles from the JWT claim so token is the single source of truth
                 List<SimpleGrantedAuthority> authorities = jwtUtil.getRolesFromToken(jwtToken)
                         .stream()
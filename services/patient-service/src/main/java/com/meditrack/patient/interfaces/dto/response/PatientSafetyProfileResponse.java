@@ -0,0 +1,11 @@
+package com.meditrack.patient.interfaces.dto.response;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class PatientSafetyProfileResponse {
+    private String patientId;
+    private List<String> allergies;
+    private List<String> activeMedications;
+}
@@ -1,6 +1,7 @@
 package com.meditrack.patient.interfaces.rest;
 
 import com.meditrack.patient.application.usecase.CreatePatientUseCase;
+import com.meditrack.patient.application.usecase.GetPatientSafetyProfileUseCase;
 import com.meditrack.patient.application.usecase.GetPatientUseCase;
 import com.meditrack.patient.application.usecase.UpdatePatientUseCase;
 import com.meditrack.patient.domain.model.Patient;
@@ -8,6 +9,7 @@ import com.meditrack.patient.domain.model.valueobjects.SSN;
 import com.meditrack.patient.interfaces.dto.request.CreatePatientRequest;
 import com.meditrack.patient.interfaces.dto.request.UpdatePatientRequest;
 import com.meditrack.patient.interfaces.dto.response.PatientResponse;
+import com.meditrack.patient.interfaces.dto.response.PatientSafetyProfileResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -25,6 +27,7 @@ public class PatientController {
     private final CreatePatientUseCase createPatientUseCase;
     private final UpdatePatientUseCase updatePatientUseCase;
     private final GetPatientUseCase getPatientUseCase;
+    private final GetPatientSafetyProfileUseCase getPatientSafetyProfileUseCase;
 
     @PostMapping
     public ResponseEntity<PatientResponse> createPatient(@Valid @RequestBody CreatePatientRequest request) {
@@ -44,5 +47,11 @@ public class PatientController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/{id}/safety-profile")
+    public ResponseEntity<PatientSafetyProfileResponse> getPatientSafetyProfile(@PathVariable UUID id) {
+        PatientSafetyProfileResponse response = getPatientSafetyProfileUseCase.getPatientSafetyProfile(id);
+        return ResponseEntity.ok(response);
+    }
+
     
 }
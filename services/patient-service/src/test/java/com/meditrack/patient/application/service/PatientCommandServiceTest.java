@@ -36,6 +36,9 @@ public class PatientCommandServiceTest {
     @Mock
     private PatientRepository patientRepository;
 
+    @Mock
+    private PatientSafetyProfileRelay safetyProfileRelay;
+
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
@@ -48,7 +51,8 @@ public class PatientCommandServiceTest {
 
     @BeforeEach
     void setUp() {
-        patientCommandService = new PatientCommandService(patientRepository, new SimpleMeterRegistry(), eventPublisher);
+        patientCommandService = new PatientCommandService(patientRepository, safetyProfileRelay,
+                new SimpleMeterRegistry(), eventPublisher);
 
         patient = new Patient();
         patient.setId(PatientId.generate());
@@ -137,4 +141,24 @@ public class PatientCommandServiceTest {
         assertNotNull(response);
         assertEquals(updatePatientRequest.getFirstName(), response.getFirstName());
     }
+
+    @Test
+    void createPatient_shouldPublishSafetyProfileSnapshot() {
+        when(patientRepository.save(any(Patient.class))).thenReturn(patient);
+
+        patientCommandService.createPatient(createPatientRequest);
+
+        verify(safetyProfileRelay).publish(patient.getId(), PatientSafetyProfileRelay.Trigger.REGISTERED);
+    }
+
+    @Test
+    void updatePatient_shouldPublishSafetyProfileSnapshot() {
+        UUID patientId = patient.getId().getId();
+        when(patientRepository.findById(any(PatientId.class))).thenReturn(Optional.of(patient));
+        when(patientRepository.save(any(Patient.class))).thenReturn(patient);
+
+        patientCommandService.updatePatient(patientId, updatePatientRequest);
+
+        verify(safetyProfileRelay).publish(patient.getId(), PatientSafetyProfileRelay.Trigger.UPDATED);
+    }
 }
@@ -1,10 +1,12 @@
 package com.meditrack.patient.application.service;
 
 import com.meditrack.patient.domain.model.Patient;
+import com.meditrack.patient.domain.model.PatientSafetyProfile;
 import com.meditrack.patient.domain.model.valueobjects.MRN;
 import com.meditrack.patient.domain.model.valueobjects.PatientId;
 import com.meditrack.patient.domain.model.valueobjects.SSN;
 import com.meditrack.patient.domain.repository.PatientRepository;
+import com.meditrack.patient.domain.repository.PatientSafetyProfileRepository;
 import com.meditrack.patient.application.exception.PatientNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,6 +22,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +31,9 @@ public class PatientQueryServiceTest {
     @Mock
     private PatientRepository patientRepository;
 
+    @Mock
+    private PatientSafetyProfileRepository safetyProfileRepository;
+
     @InjectMocks
     private PatientQueryService patientQueryService;
 
@@ -126,4 +132,26 @@ public class PatientQueryServiceTest {
 
         assertThrows(PatientNotFoundException.class, () -> patientQueryService.getPatientTimeline(UUID.randomUUID()));
     }
+
+    @Test
+    void getPatientSafetyProfile_shouldReturnCurrentAllergiesAndMedications() {
+        when(patientRepository.findById(patient.getId())).thenReturn(Optional.of(patient));
+        when(safetyProfileRepository.findByPatientId(patient.getId())).thenReturn(
+                new PatientSafetyProfile(patient.getId(), List.of("Penicillin"), List.of("Warfarin", "Metformin")));
+
+        var response = patientQueryService.getPatientSafetyProfile(patient.getId().getId());
+
+        assertEquals(patient.getId().getId().toString(), response.getPatientId());
+        assertEquals(List.of("Penicillin"), response.getAllergies());
+        assertEquals(List.of("Warfarin", "Metformin"), response.getActiveMedications());
+    }
+
+    @Test
+    void getPatientSafetyProfile_shouldThrowExceptionWhenPatientNotFound() {
+        when(patientRepository.findById(any(PatientId.class))).thenReturn(Optional.empty());
+
+        assertThrows(PatientNotFoundException.class,
+                () -> patientQueryService.getPatientSafetyProfile(UUID.randomUUID()));
+        verifyNoInteractions(safetyProfileRepository);
+    }
 }
@@ -0,0 +1,127 @@
+package com.meditrack.patient.application.service;
+
+import com.meditrack.patient.domain.model.PatientSafetyProfile;
+import com.meditrack.patient.domain.model.valueobjects.PatientId;
+import com.meditrack.patient.domain.repository.PatientSafetyProfileRepository;
+import com.meditrack.patient.infrastructure.messaging.event.PatientSafetyProfileEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PatientSafetyProfileRelayTest {
+
+    @Mock
+    private PatientSafetyProfileRepository safetyProfileRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PatientSafetyProfileRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new PatientSafetyProfileRelay(safetyProfileRepository, eventPublisher, meterRegistry,
+                false, Duration.ofHours(1), Duration.ofHours(24));
+    }
+
+    @AfterEach
+    void tearDown() {
+        relay.destroy();
+    }
+
+    private double published(PatientSafetyProfileRelay.Trigger trigger) {
+        return meterRegistry.get("meditrack_patient_safety_profiles_published_total")
+                .tag("trigger", trigger.tag())
+                .counter()
+                .count();
+    }
+
+    @Test
+    void publish_shouldPublishFullSnapshot() {
+        PatientId patientId = PatientId.generate();
+        when(safetyProfileRepository.findByPatientId(patientId)).thenReturn(
+                new PatientSafetyProfile(patientId, List.of("Penicillin"), List.of("Warfarin", "Metformin")));
+
+        relay.publish(patientId, PatientSafetyProfileRelay.Trigger.REGISTERED);
+
+        ArgumentCaptor<PatientSafetyProfileEvent> eventCaptor =
+                ArgumentCaptor.forClass(PatientSafetyProfileEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+
+        PatientSafetyProfileEvent event = eventCaptor.getValue();
+        assertEquals("patient.safety-profile.v1", event.getEventType());
+        assertEquals("patient-service", event.getSource());
+        assertEquals(patientId.getId().toString(), event.getPatientId());
+        assertEquals(List.of("Penicillin"), event.getAllergies());
+        assertEquals(List.of("Warfarin", "Metformin"), event.getActiveMedications());
+        assertEquals(1.0, published(PatientSafetyProfileRelay.Trigger.REGISTERED));
+    }
+
+    @Test
+    void republishAll_shouldPublishEveryPatientAcrossPages() {
+        List<PatientId> firstPage = IntStream.range(0, 500).mapToObj(i -> PatientId.generate()).toList();
+        List<PatientId> lastPage = List.of(PatientId.generate(), PatientId.generate());
+        when(safetyProfileRepository.findPatientIds(0, 500)).thenReturn(firstPage);
+        when(safetyProfileRepository.findPatientIds(1, 500)).thenReturn(lastPage);
+        when(safetyProfileRepository.findByPatientId(any(PatientId.class)))
+                .thenAnswer(inv -> new PatientSafetyProfile(inv.getArgument(0), List.of(), List.of()));
+
+        relay.republishAll(PatientSafetyProfileRelay.Trigger.BACKFILL);
+
+        verify(eventPublisher, times(502)).publishEvent(any(PatientSafetyProfileEvent.class));
+        verify(safetyProfileRepository, times(2)).findPatientIds(anyInt(), eq(500));
+        assertEquals(502.0, published(PatientSafetyProfileRelay.Trigger.BACKFILL));
+    }
+
+    @Test
+    void publishChanged_shouldRescanFromLastSuccessfulScan() {
+        PatientId changed = PatientId.generate();
+        List<Instant> scannedFrom = new ArrayList<>();
+        when(safetyProfileRepository.findPatientIdsChangedSince(any(Instant.class))).thenAnswer(inv -> {
+            scannedFrom.add(inv.getArgument(0));
+            if (scannedFrom.size() == 2) {
+                throw new IllegalStateException("database unavailable");
+            }
+            return List.of(changed);
+        });
+        when(safetyProfileRepository.findByPatientId(changed))
+                .thenReturn(new PatientSafetyProfile(changed, List.of("Latex"), List.of()));
+        Instant startedAt = Instant.now();
+        relay.start();
+
+        relay.publishChanged();
+        relay.publishChanged();
+        relay.publishChanged();
+
+        // Each pass reaches back over an overlap; a failed pass does not move the watermark.
+        assertTrue(scannedFrom.get(0).isBefore(startedAt));
+        assertTrue(scannedFrom.get(1).isAfter(scannedFrom.get(0)));
+        assertEquals(scannedFrom.get(1), scannedFrom.get(2));
+        verify(eventPublisher, times(2)).publishEvent(any(PatientSafetyProfileEvent.class));
+        assertEquals(2.0, published(PatientSafetyProfileRelay.Trigger.CHANGED));
+    }
+}
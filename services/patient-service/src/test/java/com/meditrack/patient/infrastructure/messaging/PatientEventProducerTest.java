@@ -1,6 +1,7 @@
 package com.meditrack.patient.infrastructure.messaging;
 
 import com.meditrack.patient.infrastructure.messaging.event.PatientCreatedEvent;
+import com.meditrack.patient.infrastructure.messaging.event.PatientSafetyProfileEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,6 +11,7 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -63,6 +65,25 @@ class PatientEventProducerTest {
         verify(kafkaTemplate).send(eq(EventTopics.PATIENT_EVENTS), eq(patientId), eq(event));
     }
 
+    @Test
+    void publishesSafetyProfileToCompactedTopicKeyedByPatientId() {
+        CompletableFuture<SendResult<String, Object>> future = CompletableFuture.completedFuture(null);
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(future);
+
+        PatientSafetyProfileEvent event = PatientSafetyProfileEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType(EventTopics.EVENT_TYPE_PATIENT_SAFETY_PROFILE)
+                .timestamp(Instant.now().toEpochMilli())
+                .source("patient-service")
+                .patientId(patientId)
+                .allergies(List.of("Penicillin"))
+                .activeMedications(List.of("Warfarin"))
+                .build();
+        producer.publishPatientSafetyProfile(event);
+
+        verify(kafkaTemplate).send(eq(EventTopics.PATIENT_SAFETY_PROFILE), eq(patientId), eq(event));
+    }
+
     @Test
     void brokerFailureIsNonFatal() {
         // A broker outage surfaces as a synchronous exception from send(); it must be swallowed
@@ -0,0 +1,104 @@
+package com.meditrack.patient.interfaces.rest;
+
+import com.meditrack.patient.application.usecase.CreatePatientUseCase;
+import com.meditrack.patient.application.usecase.GetPatientSafetyProfileUseCase;
+import com.meditrack.patient.application.usecase.GetPatientUseCase;
+import com.meditrack.patient.application.usecase.UpdatePatientUseCase;
+import com.meditrack.patient.infrastructure.security.JwtRequestFilter;
+import com.meditrack.patient.infrastructure.security.JwtUtil;
+import com.meditrack.patient.infrastructure.security.SecurityConfig;
+import com.meditrack.patient.interfaces.dto.response.PatientResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Runs {@link PatientController} behind the real security chain and bearer-token filter. */
+@WebMvcTest(PatientController.class)
+@Import({SecurityConfig.class, JwtRequestFilter.class, JwtUtil.class})
+class PatientControllerSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @MockBean
+    private CreatePatientUseCase createPatientUseCase;
+
+    @MockBean
+    private UpdatePatientUseCase updatePatientUseCase;
+
+    @MockBean
+    private GetPatientUseCase getPatientUseCase;
+
+    @MockBean
+    private GetPatientSafetyProfileUseCase getPatientSafetyProfileUseCase;
+
+    private String token(String subject, String role) {
+        return "Bearer " + jwtUtil.generateToken(
+                User.withUsername(subject).password("").authorities(role).build());
+    }
+
+    @Test
+    void getPatient_serviceToken_isAuthorisedByItsRolesWithoutAUserLookup() throws Exception {
+        UUID patientId = UUID.randomUUID();
+        when(getPatientUseCase.getPatientById(any(UUID.class))).thenReturn(new PatientResponse());
+
+        mockMvc.perform(get("/api/v1/patients/{id}", patientId)
+                        .header("Authorization", token("ai-service", "ROLE_DOCTOR")))
+                .andExpect(status().isOk());
+
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void getSafetyProfile_prescriptionServiceToken_returns200() throws Exception {
+        mockMvc.perform(get("/api/v1/patients/{id}/safety-profile", UUID.randomUUID())
+                        .header("Authorization", token("prescription-service", "ROLE_DOCTOR")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getPatient_tokenForADeletedUser_isRejected() throws Exception {
+        when(userDetailsService.loadUserByUsername("former-doctor"))
+                .thenThrow(new UsernameNotFoundException("User not found: former-doctor"));
+
+        mockMvc.perform(get("/api/v1/patients/{id}", UUID.randomUUID())
+                        .header("Authorization", token("former-doctor", "ROLE_DOCTOR")))
+                .andExpect(status().isForbidden());
+
+        verify(getPatientUseCase, never()).getPatientById(any(UUID.class));
+    }
+
+    @Test
+    void getPatient_userToken_returns200() throws Exception {
+        UUID patientId = UUID.randomUUID();
+        when(userDetailsService.loadUserByUsername("doctor"))
+                .thenReturn(User.withUsername("doctor").password("").roles("DOCTOR").build());
+        when(getPatientUseCase.getPatientById(any(UUID.class))).thenReturn(new PatientResponse());
+
+        mockMvc.perform(get("/api/v1/patients/{id}", patientId)
+                        .header("Authorization", token("doctor", "ROLE_DOCTOR")))
+                .andExpect(status().isOk());
+    }
+}
@@ -3,11 +3,13 @@ package com.meditrack.patient.interfaces.rest;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.meditrack.patient.application.exception.PatientNotFoundException;
 import com.meditrack.patient.application.usecase.CreatePatientUseCase;
+import com.meditrack.patient.application.usecase.GetPatientSafetyProfileUseCase;
 import com.meditrack.patient.application.usecase.GetPatientUseCase;
 import com.meditrack.patient.application.usecase.UpdatePatientUseCase;
 import com.meditrack.patient.interfaces.dto.request.CreatePatientRequest;
 import com.meditrack.patient.interfaces.dto.request.UpdatePatientRequest;
 import com.meditrack.patient.interfaces.dto.response.PatientResponse;
+import com.meditrack.patient.interfaces.dto.response.PatientSafetyProfileResponse;
 import com.meditrack.patient.infrastructure.security.JwtUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,6 +23,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -56,6 +59,9 @@ class PatientControllerTest {
     @MockBean
     private GetPatientUseCase getPatientUseCase;
 
+    @MockBean
+    private GetPatientSafetyProfileUseCase getPatientSafetyProfileUseCase;
+
     private PatientResponse patientResponse;
     private UUID patientId;
 
@@ -138,4 +144,28 @@ class PatientControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.firstName").value("John")); // mock returns original response
     }
+
+    @Test
+    void getPatientSafetyProfile_existingId_returns200() throws Exception {
+        PatientSafetyProfileResponse profile = new PatientSafetyProfileResponse();
+        profile.setPatientId(patientId.toString());
+        profile.setAllergies(List.of("Penicillin"));
+        profile.setActiveMedications(List.of("Warfarin"));
+        when(getPatientSafetyProfileUseCase.getPatientSafetyProfile(eq(patientId))).thenReturn(profile);
+
+        mockMvc.perform(get("/api/v1/patients/{id}/safety-profile", patientId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.allergies[0]").value("Penicillin"))
+                .andExpect(jsonPath("$.activeMedications[0]").value("Warfarin"));
+    }
+
+    @Test
+    void getPatientSafetyProfile_notFound_returns404() throws Exception {
+        UUID unknownId = UUID.randomUUID();
+        when(getPatientSafetyProfileUseCase.getPatientSafetyProfile(eq(unknownId)))
+                .thenThrow(new PatientNotFoundException("Patient not found"));
+
+        mockMvc.perform(get("/api/v1/patients/{id}/safety-profile", unknownId))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -0,0 +1,106 @@
+package com.meditrack.prescription.infrastructure.pdf;
+
+import com.meditrack.prescription.domain.model.Prescription;
+import com.meditrack.prescription.domain.model.PrescriptionMedication;
+import com.meditrack.prescription.domain.model.PrescriptionStatus;
+import com.meditrack.prescription.domain.port.PrescriptionDocument;
+import com.meditrack.prescription.infrastructure.config.PrescriptionPdfProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * A download under concurrent load, rendered per request (as before the store)
+ * against served from the stored file. Both run on 8 threads; the served case
+ * covers the key, the file lookup and a {@code transferTo} of the whole file,
+ * which is the work left once Tomcat's sendfile takes over the copy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class PrescriptionPdfBenchmark {
+
+    private static final WritableByteChannel DISCARD = Channels.newChannel(OutputStream.nullOutputStream());
+
+    private Path directory;
+    private PrescriptionPdfGenerator generator;
+    private PrescriptionPdfStore store;
+    private Prescription prescription;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("prescription-pdf-bench");
+        generator = new PrescriptionPdfGenerator();
+        store = new PrescriptionPdfStore(new PrescriptionPdfProperties(directory, true, Duration.ofMinutes(10),
+                Duration.ofDays(30), DataSize.ofGigabytes(2), Duration.ofMinutes(5)), generator, new SimpleMeterRegistry());
+        prescription = issued();
+        store.documentFor(prescription);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.destroy();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static Prescription issued() {
+        List<PrescriptionMedication> meds = new ArrayList<>();
+        for (String name : List.of("Warfarin", "Metoprolol", "Atorvastatin", "Omeprazole")) {
+            meds.add(PrescriptionMedication.builder().id(UUID.randomUUID())
+                    .medicationName(name).dosage("5mg").frequency("OD").duration("30 days").route("oral").build());
+        }
+        LocalDateTime issuedAt = LocalDateTime.of(2024, 3, 1, 9, 30);
+        return Prescription.builder().id(UUID.randomUUID()).patientId(UUID.randomUUID()).doctorId(UUID.randomUUID())
+                .status(PrescriptionStatus.ISSUED).consultationNotes("Atrial fibrillation, review INR in one week")
+                .medications(meds).issuedAt(issuedAt).updatedAt(issuedAt).build();
+    }
+
+    @Benchmark
+    public byte[] renderOnDemand() {
+        return generator.generatePdf(prescription);
+    }
+
+    @Benchmark
+    public long servedFromStore() throws IOException {
+        PrescriptionDocument document = store.documentFor(prescription);
+        try (FileChannel channel = FileChannel.open(document.file(), StandardOpenOption.READ)) {
+            return channel.transferTo(0, document.length(), DISCARD);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.meditrack.prescription.application.exception;
+
+/**
+ * Thrown when a prescription is not in a state the requested transition
+ * allows — already issued, or changed by another request while this one was
+ * working on it. Mapped to HTTP 409; the client should reload and retry.
+ */
+public class PrescriptionStateConflictException extends RuntimeException {
+    public PrescriptionStateConflictException(String message) {
+        super(message);
+    }
+}
@@ -3,10 +3,12 @@ package com.meditrack.prescription.application.service;
 import com.meditrack.prescription.application.exception.PrescriptionNotFoundException;
 import com.meditrack.prescription.application.exception.PrescriptionNotIssuedException;
 import com.meditrack.prescription.application.exception.PrescriptionSafetyRejectedException;
+import com.meditrack.prescription.application.exception.PrescriptionStateConflictException;
+import com.meditrack.prescription.application.support.PatientSafetyProjection;
+import com.meditrack.prescription.application.support.SpeculativeSafetyScreens;
 import com.meditrack.prescription.application.usecase.*;
 import com.meditrack.prescription.domain.model.*;
 import com.meditrack.prescription.domain.port.PatientSafetyContext;
-import com.meditrack.prescription.domain.port.PrescriptionSafetyPort;
 import com.meditrack.prescription.domain.port.SafetyScreenResult;
 import com.meditrack.prescription.domain.repository.PrescriptionRepository;
 import com.meditrack.prescription.infrastructure.messaging.event.*;
@@ -15,8 +17,10 @@ import com.meditrack.prescription.interfaces.dto.response.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.time.Instant;
 import java.time.LocalDate;
@@ -28,20 +32,18 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 public class PrescriptionApplicationService implements CreatePrescriptionUseCase, GetPrescriptionUseCase,
-        IssuePrescriptionUseCase, SendToPharmacyUseCase, SendToLabUseCase {
+        IssuePrescriptionUseCase, SendToPharmacyUseCase, SendToLabUseCase, UpdateDraftMedicationsUseCase {
 
     private final PrescriptionRepository prescriptionRepository;
     private final ApplicationEventPublisher eventPublisher;
-    private final PrescriptionSafetyPort prescriptionSafetyPort;
+    private final SpeculativeSafetyScreens speculativeScreens;
+    private final PatientSafetyProjection patientSafetyProjection;
+    private final TransactionOperations transactionOperations;
 
     @Override
     @Transactional
     public PrescriptionResponse createPrescription(CreatePrescriptionRequest request) {
-        List<PrescriptionMedication> meds = request.getMedications() == null ? Collections.emptyList() :
-                request.getMedications().stream().map(m -> PrescriptionMedication.builder()
-                        .id(UUID.randomUUID()).medicationName(m.getMedicationName()).genericName(m.getGenericName())
-                        .dosage(m.getDosage()).frequency(m.getFrequency()).duration(m.getDuration())
-                        .route(m.getRoute()).instructions(m.getInstructions()).build()).collect(Collectors.toList());
+        List<PrescriptionMedication> meds = toMedications(request.getMedications());
 
         List<PrescriptionLabOrder> labs = request.getLabOrders() == null ? Collections.emptyList() :
                 request.getLabOrders().stream().map(l -> PrescriptionLabOrder.builder()
@@ -56,7 +58,32 @@ public class PrescriptionApplicationService implements CreatePrescriptionUseCase
                 .consultationNotes(request.getConsultationNotes()).diagnosisCodes(request.getDiagnosisCodes())
                 .medications(meds).labOrders(labs).build();
 
-        return toResponse(prescriptionRepository.save(prescription));
+        Prescription saved = prescriptionRepository.save(prescription);
+        speculate(saved);
+        return toResponse(saved);
+    }
+
+    @Override
+    @Transactional
+    public PrescriptionResponse updateMedications(UUID id, List<CreatePrescriptionRequest.MedicationRequest> medications) {
+        Prescription p = prescriptionRepository.findById(id)
+                .orElseThrow(() -> new PrescriptionNotFoundException(id));
+        if (p.getStatus() != PrescriptionStatus.DRAFT) {
+            throw new PrescriptionStateConflictException(
+                    "Prescription " + id + " is " + p.getStatus() + "; only a DRAFT can be edited.");
+        }
+        p.setMedications(toMedications(medications));
+        Prescription saved = prescriptionRepository.save(p);
+        speculate(saved);
+        return toResponse(saved);
+    }
+
+    private static List<PrescriptionMedication> toMedications(List<CreatePrescriptionRequest.MedicationRequest> requests) {
+        return requests == null ? Collections.emptyList() :
+                requests.stream().map(m -> PrescriptionMedication.builder()
+                        .id(UUID.randomUUID()).medicationName(m.getMedicationName()).genericName(m.getGenericName())
+                        .dosage(m.getDosage()).frequency(m.getFrequency()).duration(m.getDuration())
+                        .route(m.getRoute()).instructions(m.getInstructions()).build()).collect(Collectors.toList());
     }
 
     @Override
@@ -71,17 +98,34 @@ public class PrescriptionApplicationService implements CreatePrescriptionUseCase
                 .map(this::toResponse).collect(Collectors.toList());
     }
 
+    /**
+     * Two phases, so the AI screen (up to several seconds) runs with no
+     * transaction open and no pooled connection held: the draft is read and
+     * screened first, then a short transaction re-reads it, checks it is still
+     * the same DRAFT revision that was screened, and applies the ISSUED
+     * transition under the row's optimistic-lock version. A concurrent edit or
+     * issue in between surfaces as {@link PrescriptionStateConflictException}.
+     * The screen itself is usually already done: drafts are screened in the
+     * background when saved, and that result is reused if the medications and
+     * patient context still match ({@link SpeculativeSafetyScreens}).
+     */
     @Override
-    @Transactional
     public PrescriptionResponse issuePrescription(UUID id, boolean override, String overrideReason) {
         Prescription p = prescriptionRepository.findById(id)
                 .orElseThrow(() -> new PrescriptionNotFoundException(id));
+        requireDraft(p);
 
         // Screen through ai-service BEFORE transitioning to ISSUED. Fail-open:
         // the port returns checked=false instead of throwing on infra failures.
-        // TODO: enrich PatientSafetyContext (current medications, allergies)
-        //  from patient-service instead of passing an empty context.
-        SafetyScreenResult screen = prescriptionSafetyPort.screen(p, PatientSafetyContext.empty());
+        // Without the patient's allergies and medications the proposed ones are
+        // still screened against each other, and recorded as a partial check.
+        SafetyScreenResult screen = patientSafetyProjection.contextFor(p.getPatientId())
+                .map(context -> speculativeScreens.screen(p, context))
+                .orElseGet(() -> {
+                    log.warn("Patient safety profile unavailable for prescription {} — "
+                            + "screening proposed medications only", id);
+                    return speculativeScreens.screen(p, PatientSafetyContext.empty()).withoutPatientContext();
+                });
         if (!screen.checked()) {
             log.warn("AI safety screen unavailable for prescription {} — issuing without safety check", id);
         }
@@ -98,6 +142,32 @@ public class PrescriptionApplicationService implements CreatePrescriptionUseCase
                     screen.highestSeverity(), id, overrideReason);
         }
 
+        Prescription saved;
+        try {
+            saved = transactionOperations.execute(tx -> applyIssue(p, screen, overridden, overrideReason));
+        } catch (OptimisticLockingFailureException ex) {
+            throw modifiedDuringScreen(id);
+        }
+        speculativeScreens.forget(id);
+
+        PrescriptionResponse response = toResponse(saved);
+        // Enrich with issue-time-only screen details (not persisted).
+        response.getSafety().setRequiresPharmacistReview(screen.requiresPharmacistReview());
+        response.getSafety().setFindings(toFindingResponses(screen));
+        return response;
+    }
+
+    /** The write phase of {@link #issuePrescription}; runs inside its transaction. */
+    private Prescription applyIssue(Prescription screened, SafetyScreenResult screen,
+                                    boolean overridden, String overrideReason) {
+        UUID id = screened.getId();
+        Prescription p = prescriptionRepository.findById(id)
+                .orElseThrow(() -> new PrescriptionNotFoundException(id));
+        if (!Objects.equals(p.getVersion(), screened.getVersion())) {
+            throw modifiedDuringScreen(id);
+        }
+        requireDraft(p);
+
         p.setSafetyCheckPerformed(screen.checked());
         p.setSafetySeverity(screen.highestSeverity());
         p.setSafetySummary(screen.summary());
@@ -111,13 +181,28 @@ public class PrescriptionApplicationService implements CreatePrescriptionUseCase
         eventPublisher.publishEvent(PrescriptionIssuedEvent.builder()
                 .prescriptionId(saved.getId()).patientId(saved.getPatientId())
                 .doctorId(saved.getDoctorId()).appointmentId(saved.getAppointmentId())
+                .consultationNotes(saved.getConsultationNotes()).diagnosisCodes(saved.getDiagnosisCodes())
                 .occurredAt(Instant.now()).build());
+        return saved;
+    }
 
-        PrescriptionResponse response = toResponse(saved);
-        // Enrich with issue-time-only screen details (not persisted).
-        response.getSafety().setRequiresPharmacistReview(screen.requiresPharmacistReview());
-        response.getSafety().setFindings(toFindingResponses(screen));
-        return response;
+    // Background screens use the local projection only; patients without a snapshot are screened at issue.
+    private void speculate(Prescription p) {
+        patientSafetyProjection.projectedContextFor(p.getPatientId())
+                .ifPresent(context -> speculativeScreens.speculate(p, context));
+    }
+
+    private static void requireDraft(Prescription p) {
+        if (p.getStatus() != PrescriptionStatus.DRAFT) {
+            throw new PrescriptionStateConflictException(
+                    "Prescription " + p.getId() + " is " + p.getStatus() + "; only a DRAFT can be issued.");
+        }
+    }
+
+    private static PrescriptionStateConflictException modifiedDuringScreen(UUID id) {
+        log.warn("Prescription {} changed while its safety screen ran — not issuing", id);
+        return new PrescriptionStateConflictException(
+                "Prescription " + id + " was changed while it was being screened; reload and issue again.");
     }
 
     private static List<SafetyScreenResponse.SafetyFindingResponse> toFindingResponses(SafetyScreenResult screen) {
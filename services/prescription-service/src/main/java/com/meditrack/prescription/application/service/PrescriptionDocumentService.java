@@ -0,0 +1,30 @@
+package com.meditrack.prescription.application.service;
+
+import com.meditrack.prescription.application.exception.PrescriptionNotFoundException;
+import com.meditrack.prescription.application.usecase.GetPrescriptionPdfUseCase;
+import com.meditrack.prescription.domain.port.PrescriptionDocument;
+import com.meditrack.prescription.domain.port.PrescriptionDocumentPort;
+import com.meditrack.prescription.domain.repository.PrescriptionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Printable prescriptions, served from the stored rendering of the prescription
+ * as it stands. Issued ones are usually rendered before the first download by
+ * {@link com.meditrack.prescription.application.support.IssuedPrescriptionRenderer}.
+ */
+@Service
+@RequiredArgsConstructor
+public class PrescriptionDocumentService implements GetPrescriptionPdfUseCase {
+
+    private final PrescriptionRepository prescriptionRepository;
+    private final PrescriptionDocumentPort documentPort;
+
+    @Override
+    public PrescriptionDocument getPrescriptionPdf(UUID id) {
+        return documentPort.documentFor(prescriptionRepository.findById(id)
+                .orElseThrow(() -> new PrescriptionNotFoundException(id)));
+    }
+}
@@ -0,0 +1,44 @@
+package com.meditrack.prescription.application.support;
+
+import com.meditrack.prescription.domain.port.PrescriptionDocumentPort;
+import com.meditrack.prescription.domain.repository.PrescriptionRepository;
+import com.meditrack.prescription.infrastructure.config.PrescriptionPdfProperties;
+import com.meditrack.prescription.infrastructure.messaging.event.PrescriptionIssuedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Renders a prescription's PDF as soon as it is issued. An issued prescription
+ * no longer changes, so the first download is then served from the stored file.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IssuedPrescriptionRenderer {
+
+    private final PrescriptionRepository prescriptionRepository;
+    private final PrescriptionDocumentPort documentPort;
+    private final PrescriptionPdfProperties props;
+
+    /**
+     * Runs after the issue has committed, on a separate thread. The prescription is
+     * re-read rather than taken from the issue so that it is keyed on what was stored.
+     * A failure only means the first download renders it.
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onIssued(PrescriptionIssuedEvent event) {
+        if (!props.renderOnIssue()) {
+            return;
+        }
+        try {
+            prescriptionRepository.findById(event.getPrescriptionId()).ifPresent(documentPort::documentFor);
+        } catch (RuntimeException ex) {
+            log.warn("Could not render PDF for issued prescription {}: {}", event.getPrescriptionId(), ex.getMessage());
+        }
+    }
+}
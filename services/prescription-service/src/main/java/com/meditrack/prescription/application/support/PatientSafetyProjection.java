@@ -0,0 +1,151 @@
+package com.meditrack.prescription.application.support;
+
+import com.meditrack.prescription.domain.model.PatientSafetySnapshot;
+import com.meditrack.prescription.domain.port.PatientSafetyContext;
+import com.meditrack.prescription.domain.port.PatientSafetyProfilePort;
+import com.meditrack.prescription.domain.repository.PatientSafetySnapshotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Per-patient allergies and active medications, projected locally from
+ * patient-service's {@code patient.safety-profile.v1} snapshots so that issuing a
+ * prescription can hand them to the safety screen without another network hop.
+ *
+ * <p>Each snapshot is complete, so applying one replaces the patient's row; an
+ * older snapshot never replaces a newer one, which makes replaying the topic from
+ * the start (a rebuild) safe at any time. For a patient with no snapshot yet, or
+ * when the local lookup fails, {@link #contextFor} reads the profile from
+ * patient-service instead; if that fails too it returns empty. The caller then
+ * screens the proposed medications alone and records that as a partial check
+ * ({@link com.meditrack.prescription.domain.port.SafetyScreenResult#withoutPatientContext()});
+ * an empty context is never passed off as the patient's own.
+ *
+ * <p>Staleness metrics:
+ * <ul>
+ *   <li>{@code prescription.safety.projection.lag} — from patient-service reading a
+ *       profile to this service storing it;</li>
+ *   <li>{@code prescription.safety.projection.idle} — seconds since a snapshot was
+ *       last stored (NaN until the first);</li>
+ *   <li>{@code prescription.safety.projection.snapshot.age} — age of the snapshot
+ *       each screen was given;</li>
+ *   <li>{@code prescription.safety.projection.events{result=applied|superseded}},
+ *       {@code prescription.safety.projection.lookups{result=hit|miss|failed}} and
+ *       {@code prescription.safety.projection.fallbacks{result=fetched|unavailable}}.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class PatientSafetyProjection {
+
+    private final PatientSafetySnapshotRepository repository;
+    private final PatientSafetyProfilePort patientSafetyProfilePort;
+    private final MeterRegistry meterRegistry;
+    private final Timer lag;
+    private final Timer snapshotAge;
+    private final AtomicReference<Instant> lastApplied = new AtomicReference<>();
+
+    public PatientSafetyProjection(PatientSafetySnapshotRepository repository,
+                                   PatientSafetyProfilePort patientSafetyProfilePort,
+                                   MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.patientSafetyProfilePort = patientSafetyProfilePort;
+        this.meterRegistry = meterRegistry;
+        this.lag = Timer.builder("prescription.safety.projection.lag")
+                .description("Time from patient-service reading a safety profile to this service storing it")
+                .register(meterRegistry);
+        this.snapshotAge = Timer.builder("prescription.safety.projection.snapshot.age")
+                .description("Age of the patient safety snapshot handed to each screen")
+                .register(meterRegistry);
+        Gauge.builder("prescription.safety.projection.idle", lastApplied,
+                        last -> last.get() == null ? Double.NaN
+                                : Duration.between(last.get(), Instant.now()).toMillis() / 1000.0)
+                .description("Seconds since a patient safety snapshot was last stored")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /** Stores {@code snapshot} unless a newer one for the same patient is already held. */
+    public void apply(PatientSafetySnapshot snapshot) {
+        if (!repository.saveIfNewer(snapshot)) {
+            event("superseded");
+            log.debug("Ignoring safety snapshot for patient {} published {}: a newer one is held",
+                    snapshot.getPatientId(), snapshot.getPublishedAt());
+            return;
+        }
+        event("applied");
+        lag.record(Duration.between(snapshot.getPublishedAt(), snapshot.getReceivedAt()));
+        lastApplied.set(snapshot.getReceivedAt());
+    }
+
+    /**
+     * The patient's current medications and allergies as last published, or empty if
+     * none are held. Local only, for screens run in the background.
+     */
+    public Optional<PatientSafetyContext> projectedContextFor(UUID patientId) {
+        Optional<PatientSafetySnapshot> snapshot;
+        try {
+            snapshot = patientId == null ? Optional.empty() : repository.findByPatientId(patientId);
+        } catch (RuntimeException ex) {
+            log.warn("Patient safety snapshot lookup failed for patient {}: {}", patientId, ex.getMessage());
+            lookup("failed");
+            return Optional.empty();
+        }
+        if (snapshot.isEmpty()) {
+            lookup("miss");
+            return Optional.empty();
+        }
+        lookup("hit");
+        snapshotAge.record(Duration.between(snapshot.get().getPublishedAt(), Instant.now()));
+        return Optional.of(new PatientSafetyContext(
+                snapshot.get().getCurrentMedications(), snapshot.get().getAllergies()));
+    }
+
+    /**
+     * The projected context, or when none is held, the patient's profile read from
+     * patient-service. Empty only if neither is available.
+     */
+    public Optional<PatientSafetyContext> contextFor(UUID patientId) {
+        Optional<PatientSafetyContext> projected = projectedContextFor(patientId);
+        if (projected.isPresent() || patientId == null) {
+            return projected;
+        }
+        Optional<PatientSafetyContext> fetched = patientSafetyProfilePort.fetch(patientId);
+        fallback(fetched.isPresent() ? "fetched" : "unavailable");
+        return fetched;
+    }
+
+    private void event(String result) {
+        Counter.builder("prescription.safety.projection.events")
+                .description("Patient safety snapshots received, by whether they replaced the stored one")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void fallback(String result) {
+        Counter.builder("prescription.safety.projection.fallbacks")
+                .description("Safety profiles read from patient-service because no snapshot was held")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void lookup(String result) {
+        Counter.builder("prescription.safety.projection.lookups")
+                .description("Issue-time patient safety context lookups, by whether a snapshot was held")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
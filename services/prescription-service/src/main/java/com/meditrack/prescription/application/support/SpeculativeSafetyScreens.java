@@ -0,0 +1,214 @@
+package com.meditrack.prescription.application.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.meditrack.prescription.domain.model.Prescription;
+import com.meditrack.prescription.domain.model.PrescriptionMedication;
+import com.meditrack.prescription.domain.port.PatientSafetyContext;
+import com.meditrack.prescription.domain.port.PrescriptionSafetyPort;
+import com.meditrack.prescription.domain.port.SafetyScreenResult;
+import com.meditrack.prescription.infrastructure.config.SpeculativeScreeningProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Drug-safety screens started in the background when a DRAFT is saved, so that
+ * issuing it usually finds the answer already there instead of waiting seconds
+ * for ai-service.
+ *
+ * <p>Each result is keyed by prescription and stamped with a fingerprint of
+ * exactly what was screened: the medications (name, dosage, route) and the
+ * patient context. At issue time it is reused only if the prescription and
+ * context still fingerprint the same:
+ * <ul>
+ *   <li>finished, same fingerprint — reused ({@code hit});</li>
+ *   <li>still running, same fingerprint — joined ({@code joined}); it started
+ *       earlier than a new screen would, so waiting for it is never slower;</li>
+ *   <li>different fingerprint — dropped and screened afresh ({@code stale});</li>
+ *   <li>failed open, or failed outright — screened afresh ({@code unchecked} /
+ *       {@code failed}), so an ai-service outage during drafting is not sticky;</li>
+ *   <li>nothing stored, or disabled — screened afresh ({@code miss}).</li>
+ * </ul>
+ * A save that changes the fingerprint replaces the entry; a screen it
+ * supersedes still runs to completion, but its result is never read.
+ *
+ * <p>Metrics: {@code prescription.safety.speculative.screens{outcome=started|skipped}} and
+ * {@code prescription.safety.speculative.lookups{result}}.
+ */
+@Slf4j
+@Component
+public class SpeculativeSafetyScreens implements DisposableBean {
+
+    private final SpeculativeScreeningProperties props;
+    private final PrescriptionSafetyPort safetyPort;
+    private final MeterRegistry meterRegistry;
+    private final Cache<UUID, Speculation> screens;
+    private final Semaphore running;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public SpeculativeSafetyScreens(SpeculativeScreeningProperties props, PrescriptionSafetyPort safetyPort,
+                                    MeterRegistry meterRegistry) {
+        this.props = props;
+        this.safetyPort = safetyPort;
+        this.meterRegistry = meterRegistry;
+        this.screens = Caffeine.newBuilder()
+                .maximumSize(props.maxEntries())
+                .expireAfterWrite(props.ttl())
+                .build();
+        this.running = new Semaphore(Math.max(0, props.maxConcurrency()));
+    }
+
+    /**
+     * Starts screening {@code draft} in the background unless the same content
+     * is already screened or being screened. Returns at once.
+     */
+    public void speculate(Prescription draft, PatientSafetyContext context) {
+        if (!props.enabled()) {
+            return;
+        }
+        UUID id = draft.getId();
+        String fingerprint = fingerprint(draft, context);
+        Speculation current = screens.getIfPresent(id);
+        if (current != null && current.fingerprint().equals(fingerprint)) {
+            return;
+        }
+        if (!running.tryAcquire()) {
+            screens.invalidate(id);
+            started("skipped");
+            return;
+        }
+        CompletableFuture<SafetyScreenResult> result = new CompletableFuture<>();
+        screens.put(id, new Speculation(fingerprint, result));
+        try {
+            executor.execute(() -> {
+                try {
+                    result.complete(safetyPort.screen(draft, context));
+                } catch (RuntimeException ex) {
+                    log.warn("Background safety screen failed for prescription {}: {}", id, ex.getMessage());
+                    result.completeExceptionally(ex);
+                } finally {
+                    running.release();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // Shutting down; issuing will screen live.
+            running.release();
+            screens.asMap().remove(id, new Speculation(fingerprint, result));
+            return;
+        }
+        started("started");
+    }
+
+    /**
+     * The screen for {@code prescription} as it stands: the background result
+     * when it was computed from the same medications and context, otherwise a
+     * live screen through the port.
+     */
+    public SafetyScreenResult screen(Prescription prescription, PatientSafetyContext context) {
+        UUID id = prescription.getId();
+        Speculation speculation = props.enabled() ? screens.getIfPresent(id) : null;
+        if (speculation == null) {
+            lookup("miss");
+            return safetyPort.screen(prescription, context);
+        }
+        if (!speculation.fingerprint().equals(fingerprint(prescription, context))) {
+            screens.asMap().remove(id, speculation);
+            lookup("stale");
+            return safetyPort.screen(prescription, context);
+        }
+
+        boolean inFlight = !speculation.result().isDone();
+        SafetyScreenResult result;
+        try {
+            result = speculation.result().join();
+        } catch (CompletionException | CancellationException ex) {
+            screens.asMap().remove(id, speculation);
+            lookup("failed");
+            return safetyPort.screen(prescription, context);
+        }
+        if (!result.checked()) {
+            screens.asMap().remove(id, speculation);
+            lookup("unchecked");
+            return safetyPort.screen(prescription, context);
+        }
+        lookup(inFlight ? "joined" : "hit");
+        return result;
+    }
+
+    /** Drops whatever is stored for {@code prescriptionId}; called once it is issued. */
+    public void forget(UUID prescriptionId) {
+        screens.invalidate(prescriptionId);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * SHA-256 over what the screen actually sees, in a canonical order: the
+     * proposed medications, then the patient's current medications and allergies.
+     */
+    static String fingerprint(Prescription prescription, PatientSafetyContext context) {
+        List<PrescriptionMedication> meds = prescription.getMedications() == null
+                ? List.of() : prescription.getMedications();
+        String canonical = String.join("\n",
+                section(meds.stream().map(m -> normalise(m.getMedicationName()) + "|"
+                        + normalise(m.getDosage()) + "|" + normalise(m.getRoute()))),
+                section(context.currentMedications().stream().map(SpeculativeSafetyScreens::normalise)),
+                section(context.allergies().stream().map(SpeculativeSafetyScreens::normalise)));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static String section(Stream<String> lines) {
+        return String.join(";", lines.sorted().toList());
+    }
+
+    private static String normalise(String value) {
+        return Objects.requireNonNullElse(value, "").trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void started(String outcome) {
+        Counter.builder("prescription.safety.speculative.screens")
+                .description("Background safety screens of saved drafts, by whether they were started")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void lookup(String result) {
+        Counter.builder("prescription.safety.speculative.lookups")
+                .description("Issue-time safety screens, by whether a background result was reused")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private record Speculation(String fingerprint, CompletableFuture<SafetyScreenResult> result) {
+    }
+}
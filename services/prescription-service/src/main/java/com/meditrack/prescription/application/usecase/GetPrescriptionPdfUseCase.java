@@ -0,0 +1,9 @@
+package com.meditrack.prescription.application.usecase;
+
+import com.meditrack.prescription.domain.port.PrescriptionDocument;
+
+import java.util.UUID;
+
+public interface GetPrescriptionPdfUseCase {
+    PrescriptionDocument getPrescriptionPdf(UUID id);
+}
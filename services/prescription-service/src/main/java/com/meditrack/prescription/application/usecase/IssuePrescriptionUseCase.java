@@ -11,6 +11,8 @@ public interface IssuePrescriptionUseCase {
      * service. Blocking findings (MAJOR / CONTRAINDICATED) reject issuance
      * unless {@code override} is true; an unavailable safety service fails
      * open (the prescription is issued with safetyCheckPerformed=false).
+     * Only a DRAFT can be issued; one that is not, or that changes while it is
+     * being screened, is rejected with a state conflict.
      */
     PrescriptionResponse issuePrescription(UUID prescriptionId, boolean override, String overrideReason);
 
@@ -0,0 +1,19 @@
+package com.meditrack.prescription.application.usecase;
+
+import com.meditrack.prescription.interfaces.dto.request.CreatePrescriptionRequest;
+import com.meditrack.prescription.interfaces.dto.response.PrescriptionResponse;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface UpdateDraftMedicationsUseCase {
+
+    /**
+     * Replaces the medication list of a DRAFT prescription. The new list is
+     * safety-screened in the background straight away, so a later issue can
+     * reuse the result; a prescription that is no longer a DRAFT is rejected
+     * with a state conflict.
+     */
+    PrescriptionResponse updateMedications(UUID prescriptionId,
+                                           List<CreatePrescriptionRequest.MedicationRequest> medications);
+}
@@ -0,0 +1,25 @@
+package com.meditrack.prescription.domain.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The latest allergies and active medications patient-service has published for
+ * a patient, as held locally for the drug-safety screen.
+ */
+@Data
+@Builder
+public class PatientSafetySnapshot {
+    private UUID patientId;
+    private List<String> allergies;
+    private List<String> currentMedications;
+
+    // When patient-service read it; orders snapshots of the same patient
+    private Instant publishedAt;
+    // When this service stored it
+    private Instant receivedAt;
+}
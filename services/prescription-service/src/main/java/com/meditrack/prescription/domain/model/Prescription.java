@@ -31,4 +31,7 @@ public class Prescription {
     private String safetySummary;
     private boolean safetyOverridden;
     private String safetyOverrideReason;
+
+    // Optimistic-lock version; null until first saved
+    private Integer version;
 }
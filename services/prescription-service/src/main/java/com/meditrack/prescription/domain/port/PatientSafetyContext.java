@@ -6,10 +6,10 @@ import java.util.List;
  * Patient clinical context supplied to the drug-safety screen alongside the
  * prescription's own (proposed) medications.
  *
- * <p>TODO: enrich from patient-service — current active medications, recorded
- * allergies, age and sex. Until that integration lands, callers pass
- * {@link #empty()} and the screen covers interactions among the proposed
- * medications only.
+ * <p>Current medications and allergies come from the local projection of
+ * patient-service's safety profiles, or from patient-service itself for a patient
+ * with none projected yet. {@link #empty()} is a patient with none recorded, not a
+ * stand-in for an unknown profile. Age and sex are not carried yet.
  */
 public record PatientSafetyContext(
         List<String> currentMedications,
@@ -0,0 +1,18 @@
+package com.meditrack.prescription.domain.port;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Outbound port for reading a patient's current allergies and active medications
+ * straight from patient-service, for patients the local projection holds no
+ * snapshot for yet.
+ *
+ * <p>Implementations must NEVER throw: an unknown patient or an unreachable
+ * service is returned as empty, and the caller screens the proposed
+ * medications alone, recorded as a partial check.
+ */
+public interface PatientSafetyProfilePort {
+
+    Optional<PatientSafetyContext> fetch(UUID patientId);
+}
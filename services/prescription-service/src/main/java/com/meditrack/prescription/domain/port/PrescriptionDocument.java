@@ -0,0 +1,13 @@
+package com.meditrack.prescription.domain.port;
+
+import java.nio.file.Path;
+
+/**
+ * A rendered prescription document stored on local disk.
+ *
+ * @param file   where it is stored; never rewritten in place
+ * @param etag   opaque tag that changes whenever the prescription does
+ * @param length size in bytes
+ */
+public record PrescriptionDocument(Path file, String etag, long length) {
+}
@@ -0,0 +1,14 @@
+package com.meditrack.prescription.domain.port;
+
+import com.meditrack.prescription.domain.model.Prescription;
+
+/**
+ * Outbound port for the printable form of a prescription. Implementations keep
+ * each rendering for as long as the prescription is unchanged, so asking again
+ * for the same prescription costs a lookup rather than a render.
+ */
+public interface PrescriptionDocumentPort {
+
+    /** The document for {@code prescription} as it stands, rendering and storing it first if needed. */
+    PrescriptionDocument documentFor(Prescription prescription);
+}
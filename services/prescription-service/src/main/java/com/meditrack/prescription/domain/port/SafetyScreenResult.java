@@ -38,6 +38,18 @@ public record SafetyScreenResult(
                 "AI safety screen unavailable: " + reason, false, List.of());
     }
 
+    /**
+     * This result marked as a partial check: the proposed medications were screened
+     * against each other only, because the patient's allergies and current
+     * medications could not be read. A screen that ran is also sent for pharmacist
+     * review; its findings still block as usual.
+     */
+    public SafetyScreenResult withoutPatientContext() {
+        return new SafetyScreenResult(checked, highestSeverity,
+                "Patient context unavailable; proposed medications screened only. " + summary,
+                requiresPharmacistReview || checked, findings);
+    }
+
     /** True when the reported severity warrants blocking issuance. */
     public boolean isBlocking() {
         return checked && highestSeverity != null
@@ -0,0 +1,13 @@
+package com.meditrack.prescription.domain.repository;
+
+import com.meditrack.prescription.domain.model.PatientSafetySnapshot;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface PatientSafetySnapshotRepository {
+    Optional<PatientSafetySnapshot> findByPatientId(UUID patientId);
+
+    /** Stores {@code snapshot} unless one published at or after it is already held; returns whether it did. */
+    boolean saveIfNewer(PatientSafetySnapshot snapshot);
+}
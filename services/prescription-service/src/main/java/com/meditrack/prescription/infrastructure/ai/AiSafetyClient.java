@@ -6,13 +6,13 @@ import com.meditrack.prescription.domain.port.PatientSafetyContext;
 import com.meditrack.prescription.domain.port.PrescriptionSafetyPort;
 import com.meditrack.prescription.domain.port.SafetyScreenResult;
 import com.meditrack.prescription.domain.port.SafetyScreenResult.SafetyFinding;
+import com.meditrack.prescription.infrastructure.http.PooledHttpTransport;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 
@@ -52,16 +52,14 @@ public class AiSafetyClient implements PrescriptionSafetyPort {
     private final SecretKey signingKey;
 
     public AiSafetyClient(
+            PooledHttpTransport transport,
             @Value("${meditrack.ai-service.base-url:http://localhost:8089}") String baseUrl,
             @Value("${jwt.secret:}") String jwtSecret) {
 
-        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-        requestFactory.setConnectTimeout(TIMEOUT);
-        requestFactory.setReadTimeout(TIMEOUT);
-
+        // Pooled keep-alive connections: a screen no longer pays a TCP handshake per issue.
         this.restClient = RestClient.builder()
                 .baseUrl(baseUrl)
-                .requestFactory(requestFactory)
+                .requestFactory(transport.requestFactory(TIMEOUT))
                 .build();
 
         this.signingKey = (jwtSecret == null || jwtSecret.isBlank())
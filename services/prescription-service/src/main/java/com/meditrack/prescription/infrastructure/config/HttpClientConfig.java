@@ -0,0 +1,21 @@
+package com.meditrack.prescription.infrastructure.config;
+
+import com.meditrack.prescription.infrastructure.http.HttpClientPoolProperties;
+import com.meditrack.prescription.infrastructure.http.PooledHttpTransport;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the shared outbound HTTP transport. Being a {@code MeterBinder}
+ * bean, its pool gauges are bound to the actuator registry automatically.
+ */
+@Configuration
+@EnableConfigurationProperties(HttpClientPoolProperties.class)
+public class HttpClientConfig {
+
+    @Bean
+    public PooledHttpTransport pooledHttpTransport(HttpClientPoolProperties props) {
+        return new PooledHttpTransport(props);
+    }
+}
@@ -0,0 +1,20 @@
+package com.meditrack.prescription.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Local projection of patient-service's safety profiles, read when screening.
+ *
+ * @param enabled          consume {@code topic} into the projection; when off, screens see only what is already stored
+ * @param topic            compacted topic of per-patient safety-profile snapshots
+ * @param rebuildOnStartup replay each partition from the start the first time it is assigned after startup;
+ *                         replays are idempotent, as an older snapshot never replaces a newer one
+ */
+@ConfigurationProperties(prefix = "meditrack.patient-safety-projection")
+public record PatientSafetyProjectionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("patient.safety-profile.v1") String topic,
+        @DefaultValue("false") boolean rebuildOnStartup
+) {
+}
@@ -0,0 +1,12 @@
+package com.meditrack.prescription.infrastructure.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings for rendering and storing prescription PDFs.
+ */
+@Configuration
+@EnableConfigurationProperties(PrescriptionPdfProperties.class)
+public class PrescriptionPdfConfig {
+}
@@ -0,0 +1,36 @@
+package com.meditrack.prescription.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Rendered prescription PDFs kept on local disk.
+ *
+ * @param directory      where they are stored; defaults to {@code meditrack/prescription-pdf} under the temp directory
+ * @param renderOnIssue  render in the background as soon as a prescription is issued, so the first download is served from disk
+ * @param grace          a file served or written within this long is never removed, so downloads already handed
+ *                       a file can finish; older versions of a prescription are removed once it has passed
+ * @param maxIdle        a file not served for this long is removed and rendered again if asked for
+ * @param maxSize        when the stored files exceed this, the least recently served ones are removed first
+ * @param sweepInterval  how often the directory is swept for superseded, idle and excess files
+ */
+@ConfigurationProperties(prefix = "meditrack.prescription-pdf")
+public record PrescriptionPdfProperties(
+        Path directory,
+        @DefaultValue("true") boolean renderOnIssue,
+        @DefaultValue("10m") Duration grace,
+        @DefaultValue("30d") Duration maxIdle,
+        @DefaultValue("2GB") DataSize maxSize,
+        @DefaultValue("5m") Duration sweepInterval
+) {
+
+    public PrescriptionPdfProperties {
+        if (directory == null) {
+            directory = Path.of(System.getProperty("java.io.tmpdir"), "meditrack", "prescription-pdf");
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.meditrack.prescription.infrastructure.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings for screening prescriptions through the AI drug-safety port.
+ */
+@Configuration
+@EnableConfigurationProperties({SpeculativeScreeningProperties.class, PatientSafetyProjectionProperties.class})
+public class SafetyScreeningConfig {
+}
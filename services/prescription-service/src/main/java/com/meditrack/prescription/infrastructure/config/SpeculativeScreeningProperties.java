@@ -0,0 +1,23 @@
+package com.meditrack.prescription.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Speculative drug-safety screening of DRAFT prescriptions.
+ *
+ * @param enabled        screen drafts in the background when they are saved; when off, issuing always screens
+ * @param maxConcurrency background screens running at once; a save that finds them all busy is not screened ahead
+ * @param ttl            how long a background result may be reused at issue time
+ * @param maxEntries     drafts whose background result is kept
+ */
+@ConfigurationProperties(prefix = "meditrack.speculative-screening")
+public record SpeculativeScreeningProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("8") int maxConcurrency,
+        @DefaultValue("30m") Duration ttl,
+        @DefaultValue("10000") int maxEntries
+) {
+}
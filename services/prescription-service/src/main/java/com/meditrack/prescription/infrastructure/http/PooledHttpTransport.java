@@ -0,0 +1,137 @@
+package com.meditrack.prescription.infrastructure.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.IdleConnectionEvictor;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Shared, keep-alive HTTP transport for every outbound {@code RestClient}.
+ *
+ * <p>By default one Apache HttpClient 5 connection pool backs all clients, so a
+ * safety screen reuses an already-negotiated TCP/TLS connection instead of paying
+ * a fresh handshake per call. Each client gets its own request factory (it
+ * owns its read timeout) but they all lease from the same pool. Idle connections
+ * are evicted in the background, and leased / pending / available counts are
+ * exported through Micrometer as {@code httpcomponents.httpclient.pool.*}.
+ *
+ * <p>With {@code http2} enabled the JDK client is used instead: it multiplexes
+ * requests over a single HTTP/2 connection per destination and manages that
+ * connection itself, so no pool gauges are exported in that mode.
+ */
+@Slf4j
+public class PooledHttpTransport implements MeterBinder, DisposableBean {
+
+    static final String POOL_NAME = "outbound";
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final IdleConnectionEvictor idleEvictor;
+    private final HttpClient http2Client;
+    private final List<CloseableHttpClient> clients = new CopyOnWriteArrayList<>();
+
+    public PooledHttpTransport(HttpClientPoolProperties props) {
+        if (props.http2()) {
+            this.connectionManager = null;
+            this.idleEvictor = null;
+            this.http2Client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(Duration.ofSeconds(props.connectTimeoutSeconds()))
+                    .build();
+            log.info("Outbound HTTP transport: JDK HttpClient, HTTP/2 preferred");
+        } else {
+            this.http2Client = null;
+            this.connectionManager = buildConnectionManager(props);
+            this.idleEvictor = new IdleConnectionEvictor(connectionManager,
+                    TimeValue.ofSeconds(props.idleEvictSeconds()));
+            this.idleEvictor.start();
+            log.info("Outbound HTTP transport: pooled HTTP/1.1 keep-alive, maxTotal={}, maxPerRoute={}",
+                    props.maxTotal(), props.maxPerRoute());
+        }
+    }
+
+    /** A request factory on the shared transport with the caller's own read timeout. */
+    public ClientHttpRequestFactory requestFactory(Duration readTimeout) {
+        if (http2Client != null) {
+            JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(http2Client);
+            factory.setReadTimeout(readTimeout);
+            return factory;
+        }
+        CloseableHttpClient client = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                // The pool outlives any one client; only destroy() may close it.
+                .setConnectionManagerShared(true)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .build();
+        clients.add(client);
+        return new HttpComponentsClientHttpRequestFactory(client);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (connectionManager != null) {
+            new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME).bindTo(registry);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        clients.forEach(c -> c.close(CloseMode.GRACEFUL));
+        if (idleEvictor != null) {
+            idleEvictor.shutdown();
+        }
+        if (connectionManager != null) {
+            connectionManager.close(CloseMode.GRACEFUL);
+        }
+    }
+
+    private static PoolingHttpClientConnectionManager buildConnectionManager(HttpClientPoolProperties props) {
+        PoolingHttpClientConnectionManager manager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(props.maxTotal())
+                .setMaxConnPerRoute(props.maxPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofSeconds(props.connectTimeoutSeconds()))
+                        .setTimeToLive(TimeValue.ofSeconds(props.connectionTtlSeconds()))
+                        // Re-check a connection the server may have silently dropped before reusing it.
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        props.maxPerDestination().forEach((baseUrl, max) -> manager.setMaxPerRoute(routeFor(baseUrl), max));
+        return manager;
+    }
+
+    /** Mirrors the route the client's planner derives, so the override actually matches. */
+    static HttpRoute routeFor(String baseUrl) {
+        URI uri = URI.create(baseUrl);
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() != -1 ? uri.getPort() : (secure ? 443 : 80);
+        return new HttpRoute(new HttpHost(uri.getScheme(), uri.getHost(), port), null, secure);
+    }
+
+    int maxPerRoute(String baseUrl) {
+        return connectionManager.getMaxPerRoute(routeFor(baseUrl));
+    }
+}
@@ -0,0 +1,89 @@
+package com.meditrack.prescription.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.prescription.application.support.PatientSafetyProjection;
+import com.meditrack.prescription.domain.model.PatientSafetySnapshot;
+import com.meditrack.prescription.infrastructure.config.PatientSafetyProjectionProperties;
+import com.meditrack.prescription.infrastructure.messaging.event.PatientSafetyProfileEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.AbstractConsumerSeekAware;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Consumes {@code patient.safety-profile.v1} from patient-service into the local
+ * {@link PatientSafetyProjection}. Payloads are read as plain JSON: the producer's
+ * type header names a class that only exists in patient-service. An unreadable
+ * snapshot is skipped; a failure to store one is retried by the container.
+ *
+ * <p>With {@code meditrack.patient-safety-projection.rebuild-on-startup}, each
+ * partition is replayed from the start of the (compacted) topic the first time it
+ * is assigned after startup, restoring any snapshot the table is missing.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PatientSafetyProfileConsumer extends AbstractConsumerSeekAware {
+
+    private final PatientSafetyProjection projection;
+    private final PatientSafetyProjectionProperties props;
+    private final ObjectMapper objectMapper;
+    private final Set<TopicPartition> replayed = ConcurrentHashMap.newKeySet();
+
+    @KafkaListener(
+            topics = "${meditrack.patient-safety-projection.topic:patient.safety-profile.v1}",
+            groupId = "${spring.application.name:prescription-service}-patient-safety",
+            autoStartup = "${meditrack.patient-safety-projection.enabled:true}",
+            properties = "value.deserializer=org.apache.kafka.common.serialization.StringDeserializer"
+    )
+    public void onSafetyProfile(ConsumerRecord<String, String> record, Acknowledgment ack) {
+        PatientSafetySnapshot snapshot;
+        try {
+            snapshot = toSnapshot(objectMapper.readValue(record.value(), PatientSafetyProfileEvent.class));
+        } catch (Exception ex) {
+            log.warn("Skipping unreadable patient safety-profile event [key={}, offset={}]: {}",
+                    record.key(), record.offset(), ex.getMessage());
+            ack.acknowledge();
+            return;
+        }
+        projection.apply(snapshot);
+        ack.acknowledge();
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        super.onPartitionsAssigned(assignments, callback);
+        if (!props.rebuildOnStartup()) {
+            return;
+        }
+        List<TopicPartition> rebuild = assignments.keySet().stream().filter(replayed::add).toList();
+        if (!rebuild.isEmpty()) {
+            log.info("Rebuilding patient safety projection from the start of {}", rebuild);
+            callback.seekToBeginning(rebuild);
+        }
+    }
+
+    static PatientSafetySnapshot toSnapshot(PatientSafetyProfileEvent event) {
+        if (event.getPatientId() == null || event.getTimestamp() <= 0) {
+            throw new IllegalArgumentException("missing patientId or timestamp");
+        }
+        return PatientSafetySnapshot.builder()
+                .patientId(UUID.fromString(event.getPatientId()))
+                .allergies(event.getAllergies() == null ? List.of() : event.getAllergies())
+                .currentMedications(event.getActiveMedications() == null ? List.of() : event.getActiveMedications())
+                .publishedAt(Instant.ofEpochMilli(event.getTimestamp()))
+                .receivedAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.meditrack.prescription.infrastructure.messaging.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * patient-service's full safety-profile snapshot for one patient, consumed from
+ * the compacted {@code patient.safety-profile.v1} topic. {@code timestamp} is epoch
+ * millis at which patient-service read the profile.
+ */
+@Data @Builder @NoArgsConstructor @AllArgsConstructor
+public class PatientSafetyProfileEvent {
+    private String eventId;
+    private String eventType;
+    private long timestamp;
+    private String source;
+    private String patientId;
+    private List<String> allergies;
+    private List<String> activeMedications;
+}
@@ -8,11 +8,17 @@ import lombok.NoArgsConstructor;
 import java.time.Instant;
 import java.util.UUID;
 
+/**
+ * Emitted when a prescription is issued. Carries the consultation notes and
+ * any diagnosis codes the prescriber entered, for downstream ICD-10 coding.
+ */
 @Data @Builder @NoArgsConstructor @AllArgsConstructor
 public class PrescriptionIssuedEvent {
     private UUID prescriptionId;
     private UUID patientId;
     private UUID doctorId;
     private UUID appointmentId;
+    private String consultationNotes;
+    private String diagnosisCodes;
     private Instant occurredAt;
 }
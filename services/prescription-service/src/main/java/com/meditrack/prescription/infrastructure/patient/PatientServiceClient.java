@@ -0,0 +1,95 @@
+package com.meditrack.prescription.infrastructure.patient;
+
+import com.meditrack.prescription.domain.port.PatientSafetyContext;
+import com.meditrack.prescription.domain.port.PatientSafetyProfilePort;
+import com.meditrack.prescription.infrastructure.http.PooledHttpTransport;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Adapter for patient-service's safety-profile endpoint
+ * ({@code GET /api/v1/patients/{id}/safety-profile}).
+ *
+ * <p>Authenticates with the same short-lived service JWT as {@code AiSafetyClient}
+ * (subject "prescription-service", ROLE_DOCTOR), which patient-service accepts
+ * through its {@code jwt.service-subjects}. The timeout is short because issuing
+ * waits on it. Any failure is logged and returned as empty.
+ */
+@Slf4j
+@Component
+public class PatientServiceClient implements PatientSafetyProfilePort {
+
+    private static final String SAFETY_PROFILE_PATH = "/api/v1/patients/{id}/safety-profile";
+    private static final String SERVICE_SUBJECT = "prescription-service";
+    private static final Duration TIMEOUT = Duration.ofSeconds(3);
+    private static final Duration TOKEN_TTL = Duration.ofMinutes(5);
+
+    private final RestClient restClient;
+    private final SecretKey signingKey;
+
+    public PatientServiceClient(
+            PooledHttpTransport transport,
+            @Value("${meditrack.patient-service.base-url:http://localhost:8081}") String baseUrl,
+            @Value("${jwt.secret:}") String jwtSecret) {
+        this.restClient = RestClient.builder()
+                .baseUrl(baseUrl)
+                .requestFactory(transport.requestFactory(TIMEOUT))
+                .build();
+        this.signingKey = (jwtSecret == null || jwtSecret.isBlank())
+                ? null
+                : Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public Optional<PatientSafetyContext> fetch(UUID patientId) {
+        if (signingKey == null) {
+            log.warn("jwt.secret is not configured — cannot read patient {}'s safety profile", patientId);
+            return Optional.empty();
+        }
+        try {
+            SafetyProfileView profile = restClient.get()
+                    .uri(SAFETY_PROFILE_PATH, patientId)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + mintServiceToken())
+                    .retrieve()
+                    .body(SafetyProfileView.class);
+            return Optional.ofNullable(profile)
+                    .map(p -> new PatientSafetyContext(p.activeMedications(), p.allergies()));
+        } catch (HttpClientErrorException.NotFound ex) {
+            log.info("Patient {} not found in patient-service", patientId);
+            return Optional.empty();
+        } catch (Exception ex) {
+            log.warn("Reading patient {}'s safety profile from patient-service failed: {}",
+                    patientId, ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private String mintServiceToken() {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .subject(SERVICE_SUBJECT)
+                .claim("roles", List.of("ROLE_DOCTOR"))
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + TOKEN_TTL.toMillis()))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    // Wire DTO mirroring patient-service's PatientSafetyProfileResponse
+    record SafetyProfileView(String patientId, List<String> allergies, List<String> activeMedications) {
+    }
+}
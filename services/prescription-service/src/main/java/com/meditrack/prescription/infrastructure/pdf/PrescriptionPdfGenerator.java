@@ -1,5 +1,10 @@
 package com.meditrack.prescription.infrastructure.pdf;
 
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.layout.Document;
@@ -12,23 +17,61 @@ import com.meditrack.prescription.domain.model.PrescriptionMedication;
 import org.springframework.stereotype.Component;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
+/**
+ * Lays out a prescription as a PDF. Thread-safe: everything held across renders
+ * is immutable. Parsed font programs are shared, since a {@link PdfFont} is bound
+ * to one document but the program behind it is not; each render wraps them in
+ * its own fonts.
+ */
 @Component
 public class PrescriptionPdfGenerator {
 
+    private static final DateTimeFormatter ISSUED_AT = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm");
+    private static final float[] MEDICATION_COLUMNS = {3, 2, 2, 2, 2};
+    private static final List<String> MEDICATION_HEADERS = List.of("Medication", "Dosage", "Frequency", "Duration", "Route");
+    private static final float[] LAB_COLUMNS = {2, 3, 3, 2};
+    private static final List<String> LAB_HEADERS = List.of("Test Code", "Test Name", "Clinical Indication", "Urgency");
+
+    private final FontProgram regular;
+    private final FontProgram bold;
+
+    public PrescriptionPdfGenerator() {
+        try {
+            this.regular = FontProgramFactory.createFont(StandardFonts.HELVETICA);
+            this.bold = FontProgramFactory.createFont(StandardFonts.HELVETICA_BOLD);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load prescription PDF fonts", e);
+        }
+    }
+
     public byte[] generatePdf(Prescription prescription) {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try (PdfDocument pdf = new PdfDocument(new PdfWriter(baos));
+        render(prescription, baos);
+        return baos.toByteArray();
+    }
+
+    /** Writes the PDF for {@code prescription} to {@code out}, which is left open. */
+    public void render(Prescription prescription, OutputStream out) {
+        PdfWriter writer = new PdfWriter(out);
+        writer.setCloseStream(false);
+        try (PdfDocument pdf = new PdfDocument(writer);
              Document doc = new Document(pdf)) {
+            PdfFont headingFont = PdfFontFactory.createFont(bold);
+            doc.setFont(PdfFontFactory.createFont(regular));
 
-            doc.add(new Paragraph("MediTrack Hospital").setBold().setFontSize(18));
-            doc.add(new Paragraph("PRESCRIPTION").setBold().setFontSize(14));
+            doc.add(new Paragraph("MediTrack Hospital").setFont(headingFont).setFontSize(18));
+            doc.add(new Paragraph("PRESCRIPTION").setFont(headingFont).setFontSize(14));
             doc.add(new Paragraph("Prescription ID: " + prescription.getId()));
             doc.add(new Paragraph("Patient ID: " + prescription.getPatientId()));
             doc.add(new Paragraph("Doctor ID: " + prescription.getDoctorId()));
             if (prescription.getIssuedAt() != null) {
-                doc.add(new Paragraph("Date: " + prescription.getIssuedAt().format(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm"))));
+                doc.add(new Paragraph("Date: " + prescription.getIssuedAt().format(ISSUED_AT)));
             }
 
             if (prescription.getConsultationNotes() != null && !prescription.getConsultationNotes().isEmpty()) {
@@ -36,14 +79,8 @@ public class PrescriptionPdfGenerator {
             }
 
             if (prescription.getMedications() != null && !prescription.getMedications().isEmpty()) {
-                doc.add(new Paragraph("MEDICATIONS").setBold().setFontSize(12));
-                Table medTable = new Table(UnitValue.createPercentArray(new float[]{3, 2, 2, 2, 2}));
-                medTable.setWidth(UnitValue.createPercentValue(100));
-                medTable.addHeaderCell("Medication");
-                medTable.addHeaderCell("Dosage");
-                medTable.addHeaderCell("Frequency");
-                medTable.addHeaderCell("Duration");
-                medTable.addHeaderCell("Route");
+                doc.add(new Paragraph("MEDICATIONS").setFont(headingFont).setFontSize(12));
+                Table medTable = table(MEDICATION_COLUMNS, MEDICATION_HEADERS);
                 for (PrescriptionMedication m : prescription.getMedications()) {
                     medTable.addCell(m.getMedicationName());
                     medTable.addCell(m.getDosage());
@@ -55,13 +92,8 @@ public class PrescriptionPdfGenerator {
             }
 
             if (prescription.getLabOrders() != null && !prescription.getLabOrders().isEmpty()) {
-                doc.add(new Paragraph("LAB INVESTIGATIONS").setBold().setFontSize(12));
-                Table labTable = new Table(UnitValue.createPercentArray(new float[]{2, 3, 3, 2}));
-                labTable.setWidth(UnitValue.createPercentValue(100));
-                labTable.addHeaderCell("Test Code");
-                labTable.addHeaderCell("Test Name");
-                labTable.addHeaderCell("Clinical Indication");
-                labTable.addHeaderCell("Urgency");
+                doc.add(new Paragraph("LAB INVESTIGATIONS").setFont(headingFont).setFontSize(12));
+                Table labTable = table(LAB_COLUMNS, LAB_HEADERS);
                 for (PrescriptionLabOrder l : prescription.getLabOrders()) {
                     labTable.addCell(l.getTestCode());
                     labTable.addCell(l.getTestName());
@@ -75,6 +107,12 @@ public class PrescriptionPdfGenerator {
         } catch (Exception e) {
             throw new RuntimeException("Failed to generate prescription PDF", e);
         }
-        return baos.toByteArray();
+    }
+
+    private static Table table(float[] columns, List<String> headers) {
+        Table table = new Table(UnitValue.createPercentArray(columns));
+        table.setWidth(UnitValue.createPercentValue(100));
+        headers.forEach(table::addHeaderCell);
+        return table;
     }
 }
@@ -0,0 +1,344 @@
+package com.meditrack.prescription.infrastructure.pdf;
+
+import com.meditrack.prescription.domain.model.Prescription;
+import com.meditrack.prescription.domain.port.PrescriptionDocument;
+import com.meditrack.prescription.domain.port.PrescriptionDocumentPort;
+import com.meditrack.prescription.infrastructure.config.PrescriptionPdfProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prescription PDFs rendered once and kept on local disk, as
+ * {@code <directory>/<prescriptionId>/<key>.pdf}. The key is a SHA-256 of the
+ * prescription id and {@code updatedAt}, which together determine the content:
+ * any change to the prescription moves it to a new key (and a new ETag), so a
+ * stored file is never rewritten in place. Files are written to a temporary
+ * name and moved into place, so a reader never sees a partial one.
+ *
+ * <p>Nothing is deleted while a download may still need it. A file's
+ * modification time records when it was last served (refreshed at most once a
+ * {@link #TOUCH_INTERVAL}), and a periodic sweep only removes files unused for
+ * longer than {@code grace}: older versions of a prescription once that has
+ * passed, any file idle for {@code max-idle}, and then the least recently
+ * served files while the directory is over {@code max-size}. A removed file is
+ * simply rendered again if it is asked for.
+ *
+ * <p>Concurrent requests for a key that is being rendered wait for that render
+ * rather than starting their own.
+ *
+ * <p>Metrics: {@code prescription.pdf.requests{result=hit|joined|rendered}},
+ * {@code prescription.pdf.render}, {@code prescription.pdf.evictions{reason=superseded|idle|size}}
+ * and {@code prescription.pdf.store.bytes}.
+ */
+@Slf4j
+@Component
+public class PrescriptionPdfStore implements PrescriptionDocumentPort, DisposableBean {
+
+    static final Duration TOUCH_INTERVAL = Duration.ofMinutes(1);
+    private static final String EXTENSION = ".pdf";
+    private static final String TEMP_EXTENSION = ".tmp";
+
+    private final PrescriptionPdfProperties props;
+    private final PrescriptionPdfGenerator generator;
+    private final MeterRegistry meterRegistry;
+    private final Timer renders;
+    private final AtomicLong storedBytes = new AtomicLong();
+    private final ConcurrentMap<String, CompletableFuture<PrescriptionDocument>> rendering = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService sweeper =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("prescription-pdf-sweeper").factory());
+
+    public PrescriptionPdfStore(PrescriptionPdfProperties props, PrescriptionPdfGenerator generator,
+                                MeterRegistry meterRegistry) {
+        this.props = props;
+        this.generator = generator;
+        this.meterRegistry = meterRegistry;
+        this.renders = Timer.builder("prescription.pdf.render")
+                .description("Time to render a prescription PDF and store it on disk")
+                .register(meterRegistry);
+        Gauge.builder("prescription.pdf.store.bytes", storedBytes, AtomicLong::get)
+                .description("Size of the stored prescription PDFs at the last sweep")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        long interval = props.sweepInterval().toMillis();
+        sweeper.scheduleWithFixedDelay(this::sweepQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public PrescriptionDocument documentFor(Prescription prescription) {
+        String key = key(prescription);
+        Path file = props.directory().resolve(prescription.getId().toString()).resolve(key + EXTENSION);
+        BasicFileAttributes stored = attributes(file);
+        if (stored != null) {
+            touch(file, stored);
+            request("hit");
+            return new PrescriptionDocument(file, key, stored.size());
+        }
+
+        CompletableFuture<PrescriptionDocument> claim = new CompletableFuture<>();
+        CompletableFuture<PrescriptionDocument> running = rendering.putIfAbsent(key, claim);
+        if (running != null) {
+            request("joined");
+            return await(running);
+        }
+        try {
+            // Another render may have finished between the check above and the claim.
+            stored = attributes(file);
+            PrescriptionDocument document = stored != null
+                    ? new PrescriptionDocument(file, key, stored.size())
+                    : renders.record(() -> render(prescription, key, file));
+            claim.complete(document);
+            request("rendered");
+            return document;
+        } catch (RuntimeException ex) {
+            claim.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            rendering.remove(key, claim);
+        }
+    }
+
+    private PrescriptionDocument render(Prescription prescription, String key, Path file) {
+        Path tmp = null;
+        try {
+            tmp = createTempFile(file.getParent(), key);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+                generator.render(prescription, out);
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+            return new PrescriptionDocument(file, key, Files.size(file));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to store PDF for prescription " + prescription.getId(), ex);
+        } finally {
+            deleteQuietly(tmp);
+        }
+    }
+
+    private static Path createTempFile(Path dir, String key) throws IOException {
+        Files.createDirectories(dir);
+        try {
+            return Files.createTempFile(dir, key, TEMP_EXTENSION);
+        } catch (NoSuchFileException ex) {
+            // The sweep removed the directory as an empty one between the two calls.
+            Files.createDirectories(dir);
+            return Files.createTempFile(dir, key, TEMP_EXTENSION);
+        }
+    }
+
+    /**
+     * Removes, among files unused for longer than {@code grace}: superseded
+     * versions, files idle past {@code max-idle}, then the least recently served
+     * files until the directory is within {@code max-size}. Also clears
+     * temporary files left by an interrupted render and empty directories.
+     */
+    void sweep() throws IOException {
+        if (!Files.isDirectory(props.directory())) {
+            storedBytes.set(0);
+            return;
+        }
+        Instant now = Instant.now();
+        Instant unusedSince = now.minus(props.grace());
+        Instant idleSince = now.minus(props.maxIdle());
+        List<StoredFile> kept = new ArrayList<>();
+
+        try (DirectoryStream<Path> prescriptions = Files.newDirectoryStream(props.directory(), Files::isDirectory)) {
+            for (Path dir : prescriptions) {
+                List<StoredFile> versions = new ArrayList<>();
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+                    for (Path path : files) {
+                        BasicFileAttributes attrs = attributes(path);
+                        if (attrs == null) {
+                            continue;
+                        }
+                        Instant lastUsed = attrs.lastModifiedTime().toInstant();
+                        if (path.getFileName().toString().endsWith(TEMP_EXTENSION)) {
+                            if (lastUsed.isBefore(unusedSince)) {
+                                deleteQuietly(path);
+                            }
+                        } else if (path.getFileName().toString().endsWith(EXTENSION)) {
+                            versions.add(new StoredFile(path, lastUsed, attrs.size()));
+                        }
+                    }
+                }
+                versions.sort(Comparator.comparing(StoredFile::lastUsed).reversed());
+                for (int i = 0; i < versions.size(); i++) {
+                    StoredFile version = versions.get(i);
+                    if (i > 0 && evict(version, unusedSince, "superseded")) {
+                        continue;
+                    }
+                    if (!evict(version, idleSince, "idle")) {
+                        kept.add(version);
+                    }
+                }
+                deleteIfEmpty(dir, unusedSince);
+            }
+        }
+
+        long total = kept.stream().mapToLong(StoredFile::size).sum();
+        long budget = props.maxSize().toBytes();
+        if (total > budget) {
+            kept.sort(Comparator.comparing(StoredFile::lastUsed));
+            for (StoredFile file : kept) {
+                if (total <= budget) {
+                    break;
+                }
+                if (evict(file, unusedSince, "size")) {
+                    total -= file.size();
+                }
+            }
+        }
+        storedBytes.set(total);
+    }
+
+    /**
+     * Deletes {@code file} if it has not been used since {@code cutoff}. The time is
+     * read again just before deleting, so a file served since the listing survives.
+     */
+    private boolean evict(StoredFile file, Instant cutoff, String reason) {
+        if (!file.lastUsed().isBefore(cutoff)) {
+            return false;
+        }
+        BasicFileAttributes current = attributes(file.path());
+        if (current == null || !current.lastModifiedTime().toInstant().isBefore(cutoff)) {
+            return false;
+        }
+        deleteQuietly(file.path());
+        Counter.builder("prescription.pdf.evictions")
+                .description("Stored prescription PDFs removed by the sweep")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        return true;
+    }
+
+    private void sweepQuietly() {
+        try {
+            sweep();
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Prescription PDF sweep failed: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        sweeper.shutdownNow();
+    }
+
+    /** Marks {@code file} as just served, unless that was already recorded recently. */
+    private static void touch(Path file, BasicFileAttributes attrs) {
+        Instant now = Instant.now();
+        if (attrs.lastModifiedTime().toInstant().isAfter(now.minus(TOUCH_INTERVAL))) {
+            return;
+        }
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(now));
+        } catch (IOException ex) {
+            log.debug("Could not touch {}: {}", file, ex.getMessage());
+        }
+    }
+
+    /** The file's attributes, or null when it is not a regular file. */
+    private static BasicFileAttributes attributes(Path file) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            return attrs.isRegularFile() ? attrs : null;
+        } catch (NoSuchFileException ex) {
+            return null;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read stored PDF " + file, ex);
+        }
+    }
+
+    private static PrescriptionDocument await(CompletableFuture<PrescriptionDocument> running) {
+        try {
+            return running.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Removes {@code dir} if it is empty and has not changed since {@code cutoff}, so a
+     * directory a render has just created is left alone. One emptied by this sweep goes
+     * on a later one.
+     */
+    private static void deleteIfEmpty(Path dir, Instant cutoff) {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+            if (!entries.iterator().hasNext()
+                    && Files.getLastModifiedTime(dir).toInstant().isBefore(cutoff)) {
+                Files.deleteIfExists(dir);
+            }
+        } catch (IOException ex) {
+            // A render may have just created a file in it.
+            log.debug("Could not remove {}: {}", dir, ex.getMessage());
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.debug("Could not delete {}: {}", path, ex.getMessage());
+        }
+    }
+
+    static String key(Prescription prescription) {
+        String identity = prescription.getId() + "|" + prescription.getUpdatedAt();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(identity.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private void request(String result) {
+        Counter.builder("prescription.pdf.requests")
+                .description("Prescription PDF requests, by whether the stored file was used")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private record StoredFile(Path path, Instant lastUsed, long size) {
+    }
+}
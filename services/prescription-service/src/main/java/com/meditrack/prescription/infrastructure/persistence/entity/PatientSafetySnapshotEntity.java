@@ -0,0 +1,18 @@
+package com.meditrack.prescription.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Entity
+@Table(name = "patient_safety_snapshots")
+public class PatientSafetySnapshotEntity {
+    @Id private UUID patientId;
+    @Column(nullable = false, columnDefinition = "TEXT") private String allergies;
+    @Column(nullable = false, columnDefinition = "TEXT") private String currentMedications;
+    @Column(nullable = false) private Instant publishedAt;
+    @Column(nullable = false) private Instant receivedAt;
+}
@@ -32,6 +32,10 @@ public class PrescriptionEntity {
     private boolean safetyOverridden;
     @Column(name = "safety_override_reason", columnDefinition = "TEXT") private String safetyOverrideReason;
 
+    @Version
+    @Column(name = "version")
+    private Integer version;
+
     @OneToMany(mappedBy = "prescription", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<PrescriptionMedicationEntity> medications;
 
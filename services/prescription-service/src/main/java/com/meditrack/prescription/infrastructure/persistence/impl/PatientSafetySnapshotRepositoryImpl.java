@@ -0,0 +1,69 @@
+package com.meditrack.prescription.infrastructure.persistence.impl;
+
+import com.meditrack.prescription.domain.model.PatientSafetySnapshot;
+import com.meditrack.prescription.domain.repository.PatientSafetySnapshotRepository;
+import com.meditrack.prescription.infrastructure.persistence.entity.PatientSafetySnapshotEntity;
+import com.meditrack.prescription.infrastructure.persistence.repository.JpaPatientSafetySnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class PatientSafetySnapshotRepositoryImpl implements PatientSafetySnapshotRepository {
+
+    private static final String SEPARATOR = "\n";
+
+    private final JpaPatientSafetySnapshotRepository jpaRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PatientSafetySnapshot> findByPatientId(UUID patientId) {
+        return jpaRepository.findById(patientId).map(PatientSafetySnapshotRepositoryImpl::toDomain);
+    }
+
+    // Snapshots of one patient arrive on one partition, so a single consumer thread writes each row.
+    @Override
+    @Transactional
+    public boolean saveIfNewer(PatientSafetySnapshot snapshot) {
+        PatientSafetySnapshotEntity entity = jpaRepository.findById(snapshot.getPatientId()).orElse(null);
+        if (entity != null && !snapshot.getPublishedAt().isAfter(entity.getPublishedAt())) {
+            return false;
+        }
+        if (entity == null) {
+            entity = new PatientSafetySnapshotEntity();
+            entity.setPatientId(snapshot.getPatientId());
+        }
+        entity.setAllergies(join(snapshot.getAllergies()));
+        entity.setCurrentMedications(join(snapshot.getCurrentMedications()));
+        entity.setPublishedAt(snapshot.getPublishedAt());
+        entity.setReceivedAt(snapshot.getReceivedAt());
+        jpaRepository.save(entity);
+        return true;
+    }
+
+    private static PatientSafetySnapshot toDomain(PatientSafetySnapshotEntity e) {
+        return PatientSafetySnapshot.builder()
+                .patientId(e.getPatientId())
+                .allergies(split(e.getAllergies()))
+                .currentMedications(split(e.getCurrentMedications()))
+                .publishedAt(e.getPublishedAt())
+                .receivedAt(e.getReceivedAt())
+                .build();
+    }
+
+    private static String join(List<String> values) {
+        return values == null ? "" : String.join(SEPARATOR, values.stream()
+                .filter(v -> v != null && !v.isBlank())
+                .map(v -> v.replace(SEPARATOR, " ").trim())
+                .toList());
+    }
+
+    private static List<String> split(String value) {
+        return value == null || value.isEmpty() ? List.of() : List.of(value.split(SEPARATOR));
+    }
+}
@@ -6,6 +6,7 @@ import com.meditrack.prescription.infrastructure.persistence.mapper.Prescription
 import com.meditrack.prescription.infrastructure.persistence.repository.JpaPrescriptionRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -24,22 +25,27 @@ public class PrescriptionRepositoryImpl implements PrescriptionRepository {
         return mapper.toDomain(jpaRepository.save(mapper.toEntity(prescription)));
     }
 
+    // Reads map lazy collections, so they run in their own short transaction: callers need not hold one.
     @Override
+    @Transactional(readOnly = true)
     public Optional<Prescription> findById(UUID id) {
         return jpaRepository.findById(id).map(mapper::toDomain);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Prescription> findByPatientId(UUID patientId) {
         return jpaRepository.findByPatientId(patientId).stream().map(mapper::toDomain).collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Prescription> findByDoctorId(UUID doctorId) {
         return jpaRepository.findByDoctorId(doctorId).stream().map(mapper::toDomain).collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Prescription> findByAppointmentId(UUID appointmentId) {
         return jpaRepository.findByAppointmentId(appointmentId).stream().map(mapper::toDomain).collect(Collectors.toList());
     }
@@ -28,6 +28,7 @@ public class PrescriptionPersistenceMapper {
         e.setSafetySummary(p.getSafetySummary());
         e.setSafetyOverridden(p.isSafetyOverridden());
         e.setSafetyOverrideReason(p.getSafetyOverrideReason());
+        e.setVersion(p.getVersion());
 
         if (p.getMedications() != null) {
             List<PrescriptionMedicationEntity> meds = p.getMedications().stream().map(m -> {
@@ -86,6 +87,6 @@ public class PrescriptionPersistenceMapper {
                 .createdAt(e.getCreatedAt()).updatedAt(e.getUpdatedAt())
                 .safetyCheckPerformed(e.isSafetyCheckPerformed()).safetySeverity(e.getSafetySeverity())
                 .safetySummary(e.getSafetySummary()).safetyOverridden(e.isSafetyOverridden())
-                .safetyOverrideReason(e.getSafetyOverrideReason()).build();
+                .safetyOverrideReason(e.getSafetyOverrideReason()).version(e.getVersion()).build();
     }
 }
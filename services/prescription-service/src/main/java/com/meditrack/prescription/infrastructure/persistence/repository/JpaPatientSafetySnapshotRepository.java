@@ -0,0 +1,9 @@
+package com.meditrack.prescription.infrastructure.persistence.repository;
+
+import com.meditrack.prescription.infrastructure.persistence.entity.PatientSafetySnapshotEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface JpaPatientSafetySnapshotRepository extends JpaRepository<PatientSafetySnapshotEntity, UUID> {
+}
@@ -0,0 +1,11 @@
+package com.meditrack.prescription.interfaces.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class UpdateMedicationsRequest {
+    @NotNull private List<CreatePrescriptionRequest.MedicationRequest> medications;
+}
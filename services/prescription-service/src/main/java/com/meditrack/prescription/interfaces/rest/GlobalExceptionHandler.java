@@ -3,6 +3,7 @@ package com.meditrack.prescription.interfaces.rest;
 import com.meditrack.prescription.application.exception.PrescriptionNotFoundException;
 import com.meditrack.prescription.application.exception.PrescriptionNotIssuedException;
 import com.meditrack.prescription.application.exception.PrescriptionSafetyRejectedException;
+import com.meditrack.prescription.application.exception.PrescriptionStateConflictException;
 import com.meditrack.prescription.domain.port.SafetyScreenResult;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -29,6 +30,12 @@ public class GlobalExceptionHandler {
                 .body(Map.of("error", ex.getMessage(), "timestamp", Instant.now().toString()));
     }
 
+    @ExceptionHandler(PrescriptionStateConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleStateConflict(PrescriptionStateConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", ex.getMessage(), "timestamp", Instant.now().toString()));
+    }
+
     @ExceptionHandler(PrescriptionSafetyRejectedException.class)
     public ResponseEntity<Map<String, Object>> handleSafetyRejected(PrescriptionSafetyRejectedException ex) {
         SafetyScreenResult screen = ex.getScreenResult();
@@ -1,17 +1,23 @@
 package com.meditrack.prescription.interfaces.rest;
 
 import com.meditrack.prescription.application.usecase.*;
-import com.meditrack.prescription.infrastructure.pdf.PrescriptionPdfGenerator;
+import com.meditrack.prescription.domain.port.PrescriptionDocument;
 import com.meditrack.prescription.interfaces.dto.request.CreatePrescriptionRequest;
 import com.meditrack.prescription.interfaces.dto.request.IssuePrescriptionRequest;
+import com.meditrack.prescription.interfaces.dto.request.UpdateMedicationsRequest;
 import com.meditrack.prescription.interfaces.dto.response.PrescriptionResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -21,12 +27,19 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class PrescriptionController {
 
+    // Tomcat's sendfile request attributes: the connector writes the file straight from the page cache.
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final CreatePrescriptionUseCase createPrescriptionUseCase;
     private final GetPrescriptionUseCase getPrescriptionUseCase;
+    private final UpdateDraftMedicationsUseCase updateDraftMedicationsUseCase;
     private final IssuePrescriptionUseCase issuePrescriptionUseCase;
     private final SendToPharmacyUseCase sendToPharmacyUseCase;
     private final SendToLabUseCase sendToLabUseCase;
-    private final PrescriptionPdfGenerator pdfGenerator;
+    private final GetPrescriptionPdfUseCase getPrescriptionPdfUseCase;
 
     @PostMapping
     public ResponseEntity<PrescriptionResponse> create(@Valid @RequestBody CreatePrescriptionRequest request) {
@@ -43,6 +56,12 @@ public class PrescriptionController {
         return ResponseEntity.ok(getPrescriptionUseCase.getPatientPrescriptions(patientId));
     }
 
+    @PutMapping("/{id}/medications")
+    public ResponseEntity<PrescriptionResponse> updateMedications(@PathVariable UUID id,
+                                                                  @Valid @RequestBody UpdateMedicationsRequest request) {
+        return ResponseEntity.ok(updateDraftMedicationsUseCase.updateMedications(id, request.getMedications()));
+    }
+
     @PostMapping("/{id}/issue")
     public ResponseEntity<PrescriptionResponse> issue(@PathVariable UUID id,
                                                       @RequestBody(required = false) IssuePrescriptionRequest request) {
@@ -61,18 +80,32 @@ public class PrescriptionController {
         return ResponseEntity.ok(sendToLabUseCase.sendToLab(id));
     }
 
+    /**
+     * The stored PDF, with an ETag that changes only when the prescription does. A full
+     * GET is handed to Tomcat's sendfile where the connector supports it; Range requests
+     * (206) and other containers stream the file.
+     */
     @GetMapping("/{id}/pdf")
-    public ResponseEntity<byte[]> downloadPdf(@PathVariable UUID id) {
-        PrescriptionResponse prescription = getPrescriptionUseCase.getPrescriptionById(id);
-        byte[] pdf = pdfGenerator.generatePdf(
-                com.meditrack.prescription.domain.model.Prescription.builder()
-                        .id(prescription.getId()).patientId(prescription.getPatientId())
-                        .doctorId(prescription.getDoctorId()).consultationNotes(prescription.getConsultationNotes())
-                        .issuedAt(prescription.getIssuedAt()).build());
+    public ResponseEntity<Resource> downloadPdf(@PathVariable UUID id, WebRequest webRequest,
+                                                HttpServletRequest request) {
+        PrescriptionDocument pdf = getPrescriptionPdfUseCase.getPrescriptionPdf(id);
+        if (webRequest.checkNotModified(pdf.etag())) {
+            return null;
+        }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_PDF);
-        headers.setContentDispositionFormData("attachment", "prescription-" + id + ".pdf");
-        return new ResponseEntity<>(pdf, headers, HttpStatus.OK);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .eTag(pdf.etag())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("prescription-" + id + ".pdf").build().toString());
+        if ("GET".equals(request.getMethod()) && request.getHeader(HttpHeaders.RANGE) == null
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, pdf.file().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, pdf.length());
+            return response.contentLength(pdf.length()).build();
+        }
+        return response.body(new FileSystemResource(pdf.file()));
     }
 }
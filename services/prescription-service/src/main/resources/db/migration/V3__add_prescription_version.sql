@@ -0,0 +1,2 @@
+-- Optimistic-lock version: issuing screens outside the transaction and re-checks it on write.
+ALTER TABLE prescriptions ADD COLUMN version INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,10 @@
+-- Local projection of patient-service's safety profiles (patient.safety-profile.v1),
+-- read at issue time so the drug-safety screen sees allergies and current medications.
+-- One row per patient; lists are newline-separated.
+CREATE TABLE patient_safety_snapshots (
+    patient_id UUID PRIMARY KEY,
+    allergies TEXT NOT NULL,
+    current_medications TEXT NOT NULL,
+    published_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    received_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
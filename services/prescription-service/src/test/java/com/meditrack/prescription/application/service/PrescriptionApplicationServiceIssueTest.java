@@ -1,22 +1,33 @@
 package com.meditrack.prescription.application.service;
 
 import com.meditrack.prescription.application.exception.PrescriptionSafetyRejectedException;
+import com.meditrack.prescription.application.exception.PrescriptionStateConflictException;
+import com.meditrack.prescription.application.support.PatientSafetyProjection;
+import com.meditrack.prescription.application.support.SpeculativeSafetyScreens;
+import com.meditrack.prescription.domain.model.PatientSafetySnapshot;
 import com.meditrack.prescription.domain.model.Prescription;
 import com.meditrack.prescription.domain.model.PrescriptionMedication;
 import com.meditrack.prescription.domain.model.PrescriptionStatus;
 import com.meditrack.prescription.domain.port.PatientSafetyContext;
+import com.meditrack.prescription.domain.port.PatientSafetyProfilePort;
 import com.meditrack.prescription.domain.port.PrescriptionSafetyPort;
 import com.meditrack.prescription.domain.port.SafetyScreenResult;
+import com.meditrack.prescription.domain.repository.PatientSafetySnapshotRepository;
 import com.meditrack.prescription.domain.repository.PrescriptionRepository;
+import com.meditrack.prescription.infrastructure.config.SpeculativeScreeningProperties;
 import com.meditrack.prescription.infrastructure.messaging.event.PrescriptionIssuedEvent;
 import com.meditrack.prescription.interfaces.dto.response.PrescriptionResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -25,6 +36,7 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -45,6 +57,12 @@ class PrescriptionApplicationServiceIssueTest {
     @Mock
     private PrescriptionSafetyPort prescriptionSafetyPort;
 
+    @Mock
+    private PatientSafetySnapshotRepository patientSafetySnapshotRepository;
+
+    @Mock
+    private PatientSafetyProfilePort patientSafetyProfilePort;
+
     private PrescriptionApplicationService service;
 
     private UUID prescriptionId;
@@ -52,7 +70,13 @@ class PrescriptionApplicationServiceIssueTest {
 
     @BeforeEach
     void setUp() {
-        service = new PrescriptionApplicationService(prescriptionRepository, eventPublisher, prescriptionSafetyPort);
+        SpeculativeSafetyScreens screens = new SpeculativeSafetyScreens(
+                new SpeculativeScreeningProperties(false, 8, Duration.ofMinutes(30), 100),
+                prescriptionSafetyPort, new SimpleMeterRegistry());
+        PatientSafetyProjection projection = new PatientSafetyProjection(
+                patientSafetySnapshotRepository, patientSafetyProfilePort, new SimpleMeterRegistry());
+        service = new PrescriptionApplicationService(prescriptionRepository, eventPublisher, screens, projection,
+                TransactionOperations.withoutTransaction());
         prescriptionId = UUID.randomUUID();
         draft = Prescription.builder()
                 .id(prescriptionId)
@@ -64,8 +88,13 @@ class PrescriptionApplicationServiceIssueTest {
                         .medicationName("Warfarin").dosage("5mg").frequency("OD").route("oral")
                         .build())))
                 .labOrders(new ArrayList<>())
+                .version(0)
                 .build();
         when(prescriptionRepository.findById(prescriptionId)).thenReturn(Optional.of(draft));
+        lenient().when(patientSafetySnapshotRepository.findByPatientId(draft.getPatientId()))
+                .thenReturn(Optional.of(PatientSafetySnapshot.builder()
+                        .patientId(draft.getPatientId()).allergies(List.of()).currentMedications(List.of("Aspirin"))
+                        .publishedAt(Instant.now()).receivedAt(Instant.now()).build()));
     }
 
     private static SafetyScreenResult contraindicated() {
@@ -158,4 +187,75 @@ class PrescriptionApplicationServiceIssueTest {
         assertThat(response.getSafety().getSeverity()).isEqualTo("MODERATE");
         assertThat(response.getSafety().isOverridden()).isFalse();
     }
+
+    @Test
+    void alreadyIssuedPrescriptionIsNotScreenedAgain() {
+        draft.setStatus(PrescriptionStatus.ISSUED);
+
+        assertThatThrownBy(() -> service.issuePrescription(prescriptionId, false, null))
+                .isInstanceOf(PrescriptionStateConflictException.class);
+
+        verify(prescriptionSafetyPort, never()).screen(any(), any());
+        verify(prescriptionRepository, never()).save(any());
+    }
+
+    @Test
+    void prescriptionChangedDuringScreenIsNotIssued() {
+        Prescription edited = Prescription.builder()
+                .id(prescriptionId).status(PrescriptionStatus.DRAFT).version(1).build();
+        when(prescriptionRepository.findById(prescriptionId))
+                .thenReturn(Optional.of(draft), Optional.of(edited));
+        when(prescriptionSafetyPort.screen(any(Prescription.class), any(PatientSafetyContext.class)))
+                .thenReturn(new SafetyScreenResult(true, "NONE", "No interactions identified", false, List.of()));
+
+        assertThatThrownBy(() -> service.issuePrescription(prescriptionId, false, null))
+                .isInstanceOf(PrescriptionStateConflictException.class);
+
+        verify(prescriptionRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void patientWithoutSnapshotIsScreenedWithTheProfileFromPatientService() {
+        when(patientSafetySnapshotRepository.findByPatientId(draft.getPatientId())).thenReturn(Optional.empty());
+        PatientSafetyContext fetched = new PatientSafetyContext(List.of("Aspirin"), List.of("Penicillin"));
+        when(patientSafetyProfilePort.fetch(draft.getPatientId())).thenReturn(Optional.of(fetched));
+        when(prescriptionSafetyPort.screen(any(Prescription.class), any(PatientSafetyContext.class)))
+                .thenReturn(contraindicated());
+
+        assertThatThrownBy(() -> service.issuePrescription(prescriptionId, false, null))
+                .isInstanceOf(PrescriptionSafetyRejectedException.class);
+
+        verify(prescriptionSafetyPort).screen(draft, fetched);
+    }
+
+    @Test
+    void proposedMedicationsAreStillScreenedWhenNoSafetyProfileIsAvailable() {
+        when(patientSafetySnapshotRepository.findByPatientId(draft.getPatientId())).thenReturn(Optional.empty());
+        when(patientSafetyProfilePort.fetch(draft.getPatientId())).thenReturn(Optional.empty());
+        when(prescriptionSafetyPort.screen(any(Prescription.class), any(PatientSafetyContext.class)))
+                .thenReturn(new SafetyScreenResult(true, "NONE", "No interactions identified", false, List.of()));
+        when(prescriptionRepository.save(any(Prescription.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        PrescriptionResponse response = service.issuePrescription(prescriptionId, false, null);
+
+        verify(prescriptionSafetyPort).screen(draft, PatientSafetyContext.empty());
+        assertThat(response.getStatus()).isEqualTo(PrescriptionStatus.ISSUED.name());
+        assertThat(response.getSafety().isChecked()).isTrue();
+        assertThat(response.getSafety().getSummary()).startsWith("Patient context unavailable");
+        assertThat(response.getSafety().getRequiresPharmacistReview()).isTrue();
+    }
+
+    @Test
+    void blockingFindingAmongTheProposedMedicationsBlocksWithoutASafetyProfile() {
+        when(patientSafetySnapshotRepository.findByPatientId(draft.getPatientId())).thenReturn(Optional.empty());
+        when(patientSafetyProfilePort.fetch(draft.getPatientId())).thenReturn(Optional.empty());
+        when(prescriptionSafetyPort.screen(any(Prescription.class), any(PatientSafetyContext.class)))
+                .thenReturn(contraindicated());
+
+        assertThatThrownBy(() -> service.issuePrescription(prescriptionId, false, null))
+                .isInstanceOf(PrescriptionSafetyRejectedException.class);
+
+        verify(prescriptionRepository, never()).save(any());
+    }
 }
@@ -0,0 +1,174 @@
+package com.meditrack.prescription.application.service;
+
+import com.meditrack.prescription.application.exception.PrescriptionStateConflictException;
+import com.meditrack.prescription.application.support.PatientSafetyProjection;
+import com.meditrack.prescription.application.usecase.CreatePrescriptionUseCase;
+import com.meditrack.prescription.application.usecase.GetPrescriptionUseCase;
+import com.meditrack.prescription.application.usecase.IssuePrescriptionUseCase;
+import com.meditrack.prescription.domain.model.PatientSafetySnapshot;
+import com.meditrack.prescription.domain.model.Prescription;
+import com.meditrack.prescription.domain.model.PrescriptionStatus;
+import com.meditrack.prescription.domain.port.PatientSafetyContext;
+import com.meditrack.prescription.domain.port.PrescriptionSafetyPort;
+import com.meditrack.prescription.domain.port.SafetyScreenResult;
+import com.meditrack.prescription.interfaces.dto.request.CreatePrescriptionRequest;
+import com.meditrack.prescription.interfaces.dto.response.PrescriptionResponse;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Issues prescriptions against the real H2 pool with a slow safety screen, to
+ * show the screen runs with no pooled connection held and that a prescription
+ * changed while it was being screened is not issued.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=2000",
+        "meditrack.speculative-screening.enabled=false"})
+@ActiveProfiles("test")
+class PrescriptionIssueConcurrencyTest {
+
+    private static final int CONCURRENT_ISSUES = 6;
+    private static final SafetyScreenResult CLEAN =
+            new SafetyScreenResult(true, "NONE", "No interactions identified", false, List.of());
+
+    @MockBean
+    KafkaTemplate<String, Object> kafkaTemplate;
+
+    @MockBean
+    PrescriptionSafetyPort prescriptionSafetyPort;
+
+    @Autowired
+    PatientSafetyProjection patientSafetyProjection;
+
+    @Autowired
+    CreatePrescriptionUseCase createPrescriptionUseCase;
+
+    @Autowired
+    IssuePrescriptionUseCase issuePrescriptionUseCase;
+
+    @Autowired
+    GetPrescriptionUseCase getPrescriptionUseCase;
+
+    @Autowired
+    DataSource dataSource;
+
+    private UUID draft() {
+        CreatePrescriptionRequest.MedicationRequest med = new CreatePrescriptionRequest.MedicationRequest();
+        med.setMedicationName("Warfarin");
+        med.setDosage("5mg");
+        med.setFrequency("OD");
+        med.setRoute("oral");
+        UUID patientId = UUID.randomUUID();
+        patientSafetyProjection.apply(PatientSafetySnapshot.builder().patientId(patientId)
+                .allergies(List.of()).currentMedications(List.of())
+                .publishedAt(Instant.now()).receivedAt(Instant.now()).build());
+        CreatePrescriptionRequest request = new CreatePrescriptionRequest();
+        request.setPatientId(patientId);
+        request.setDoctorId(UUID.randomUUID());
+        request.setMedications(List.of(med));
+        return createPrescriptionUseCase.createPrescription(request).getId();
+    }
+
+    private int activeConnections() {
+        try {
+            return dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections();
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Test
+    void slowScreensHoldNoPooledConnection() throws Exception {
+        List<UUID> drafts = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_ISSUES; i++) {
+            drafts.add(draft());
+        }
+        // Every issue waits in its screen until all of them are screening at once, and none
+        // leaves it until each has sampled the pool. With a connection held per screen, a
+        // pool of 2 could never get more than 2 this far.
+        CountDownLatch allScreening = new CountDownLatch(CONCURRENT_ISSUES);
+        CountDownLatch allSampled = new CountDownLatch(CONCURRENT_ISSUES);
+        AtomicBoolean allReached = new AtomicBoolean(true);
+        AtomicInteger maxActive = new AtomicInteger();
+        when(prescriptionSafetyPort.screen(any(Prescription.class), any(PatientSafetyContext.class)))
+                .thenAnswer(inv -> {
+                    allScreening.countDown();
+                    if (!allScreening.await(10, TimeUnit.SECONDS)) {
+                        allReached.set(false);
+                    }
+                    Thread.sleep(100);
+                    maxActive.accumulateAndGet(activeConnections(), Math::max);
+                    allSampled.countDown();
+                    allSampled.await(10, TimeUnit.SECONDS);
+                    return CLEAN;
+                });
+
+        List<Future<PrescriptionResponse>> issues = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_ISSUES)) {
+            for (UUID id : drafts) {
+                issues.add(executor.submit(() -> issuePrescriptionUseCase.issuePrescription(id, false, null)));
+            }
+            for (Future<PrescriptionResponse> issue : issues) {
+                assertThat(issue.get(30, TimeUnit.SECONDS).getStatus()).isEqualTo(PrescriptionStatus.ISSUED.name());
+            }
+        }
+
+        assertThat(allReached).isTrue();
+        assertThat(maxActive).hasValue(0);
+    }
+
+    @Test
+    void prescriptionIssuedDuringAnotherScreenIsNotIssuedTwice() throws Exception {
+        UUID id = draft();
+        CountDownLatch firstScreening = new CountDownLatch(1);
+        CountDownLatch secondIssued = new CountDownLatch(1);
+        AtomicInteger screens = new AtomicInteger();
+        when(prescriptionSafetyPort.screen(any(Prescription.class), any(PatientSafetyContext.class)))
+                .thenAnswer(inv -> {
+                    if (screens.incrementAndGet() == 1) {
+                        firstScreening.countDown();
+                        secondIssued.await(10, TimeUnit.SECONDS);
+                    }
+                    return CLEAN;
+                });
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<PrescriptionResponse> first = executor.submit(() -> issuePrescriptionUseCase.issuePrescription(id, false, null));
+            assertThat(firstScreening.await(10, TimeUnit.SECONDS)).isTrue();
+
+            PrescriptionResponse second = issuePrescriptionUseCase.issuePrescription(id, false, null);
+            secondIssued.countDown();
+
+            assertThat(second.getStatus()).isEqualTo(PrescriptionStatus.ISSUED.name());
+            assertThatThrownBy(() -> first.get(10, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(PrescriptionStateConflictException.class);
+        }
+        assertThat(getPrescriptionUseCase.getPrescriptionById(id).getStatus())
+                .isEqualTo(PrescriptionStatus.ISSUED.name());
+    }
+}
@@ -0,0 +1,114 @@
+package com.meditrack.prescription.application.service;
+
+import com.meditrack.prescription.application.support.PatientSafetyProjection;
+import com.meditrack.prescription.application.usecase.CreatePrescriptionUseCase;
+import com.meditrack.prescription.application.usecase.IssuePrescriptionUseCase;
+import com.meditrack.prescription.application.usecase.UpdateDraftMedicationsUseCase;
+import com.meditrack.prescription.domain.model.PatientSafetySnapshot;
+import com.meditrack.prescription.domain.model.Prescription;
+import com.meditrack.prescription.domain.model.PrescriptionStatus;
+import com.meditrack.prescription.domain.port.PatientSafetyContext;
+import com.meditrack.prescription.domain.port.PrescriptionSafetyPort;
+import com.meditrack.prescription.domain.port.SafetyScreenResult;
+import com.meditrack.prescription.interfaces.dto.request.CreatePrescriptionRequest;
+import com.meditrack.prescription.interfaces.dto.response.PrescriptionResponse;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drafts are screened in the background when saved, and issuing reuses that
+ * screen while the medications are unchanged.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PrescriptionSpeculativeScreeningTest {
+
+    private static final SafetyScreenResult CLEAN =
+            new SafetyScreenResult(true, "NONE", "No interactions identified", false, List.of());
+
+    @MockBean
+    KafkaTemplate<String, Object> kafkaTemplate;
+
+    @MockBean
+    PrescriptionSafetyPort prescriptionSafetyPort;
+
+    @Autowired
+    PatientSafetyProjection patientSafetyProjection;
+
+    @Autowired
+    CreatePrescriptionUseCase createPrescriptionUseCase;
+
+    @Autowired
+    UpdateDraftMedicationsUseCase updateDraftMedicationsUseCase;
+
+    @Autowired
+    IssuePrescriptionUseCase issuePrescriptionUseCase;
+
+    private static CreatePrescriptionRequest.MedicationRequest medication(String name) {
+        CreatePrescriptionRequest.MedicationRequest med = new CreatePrescriptionRequest.MedicationRequest();
+        med.setMedicationName(name);
+        med.setDosage("5mg");
+        med.setFrequency("OD");
+        med.setRoute("oral");
+        return med;
+    }
+
+    // Drafts are only screened in the background for patients with a projected safety profile.
+    private UUID draft(String medication) {
+        UUID patientId = UUID.randomUUID();
+        patientSafetyProjection.apply(PatientSafetySnapshot.builder().patientId(patientId)
+                .allergies(List.of()).currentMedications(List.of())
+                .publishedAt(Instant.now()).receivedAt(Instant.now()).build());
+        CreatePrescriptionRequest request = new CreatePrescriptionRequest();
+        request.setPatientId(patientId);
+        request.setDoctorId(UUID.randomUUID());
+        request.setMedications(List.of(medication(medication)));
+        return createPrescriptionUseCase.createPrescription(request).getId();
+    }
+
+    @Test
+    void issuingAnUnchangedDraftReusesTheBackgroundScreen() {
+        when(prescriptionSafetyPort.screen(any(Prescription.class), any(PatientSafetyContext.class))).thenReturn(CLEAN);
+
+        UUID id = draft("Warfarin");
+        verify(prescriptionSafetyPort, timeout(2_000)).screen(any(), any());
+        PrescriptionResponse issued = issuePrescriptionUseCase.issuePrescription(id, false, null);
+
+        assertThat(issued.getStatus()).isEqualTo(PrescriptionStatus.ISSUED.name());
+        assertThat(issued.getSafety().isChecked()).isTrue();
+        verify(prescriptionSafetyPort, times(1)).screen(any(), any());
+    }
+
+    @Test
+    void editedDraftIsScreenedAgainAndIssuedOnTheNewList() {
+        when(prescriptionSafetyPort.screen(any(Prescription.class), any(PatientSafetyContext.class))).thenReturn(CLEAN);
+
+        UUID id = draft("Warfarin");
+        PrescriptionResponse edited = updateDraftMedicationsUseCase.updateMedications(id,
+                List.of(medication("Warfarin"), medication("Aspirin")));
+        verify(prescriptionSafetyPort, timeout(2_000).times(2)).screen(any(), any());
+        PrescriptionResponse issued = issuePrescriptionUseCase.issuePrescription(id, false, null);
+
+        assertThat(edited.getMedications()).hasSize(2);
+        assertThat(issued.getMedications()).hasSize(2);
+        ArgumentCaptor<Prescription> screened = ArgumentCaptor.forClass(Prescription.class);
+        verify(prescriptionSafetyPort, times(2)).screen(screened.capture(), any());
+        assertThat(screened.getAllValues().get(1).getMedications()).hasSize(2);
+    }
+}
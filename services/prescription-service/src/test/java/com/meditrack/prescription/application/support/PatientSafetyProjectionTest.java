@@ -0,0 +1,160 @@
+package com.meditrack.prescription.application.support;
+
+import com.meditrack.prescription.application.usecase.CreatePrescriptionUseCase;
+import com.meditrack.prescription.application.usecase.IssuePrescriptionUseCase;
+import com.meditrack.prescription.domain.model.PatientSafetySnapshot;
+import com.meditrack.prescription.domain.model.Prescription;
+import com.meditrack.prescription.domain.port.PatientSafetyContext;
+import com.meditrack.prescription.domain.port.PatientSafetyProfilePort;
+import com.meditrack.prescription.domain.port.PrescriptionSafetyPort;
+import com.meditrack.prescription.domain.port.SafetyScreenResult;
+import com.meditrack.prescription.interfaces.dto.request.CreatePrescriptionRequest;
+import com.meditrack.prescription.interfaces.dto.response.PrescriptionResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Snapshots stored through the projection against the real schema, and read back
+ * into the context issuing hands to the safety screen; patient-service is asked
+ * only for patients without one.
+ */
+@SpringBootTest(properties = "meditrack.speculative-screening.enabled=false")
+@ActiveProfiles("test")
+class PatientSafetyProjectionTest {
+
+    private static final SafetyScreenResult CLEAN =
+            new SafetyScreenResult(true, "NONE", "No interactions identified", false, List.of());
+
+    @MockBean
+    KafkaTemplate<String, Object> kafkaTemplate;
+
+    @MockBean
+    PrescriptionSafetyPort prescriptionSafetyPort;
+
+    @MockBean
+    PatientSafetyProfilePort patientSafetyProfilePort;
+
+    @Autowired
+    PatientSafetyProjection projection;
+
+    @Autowired
+    CreatePrescriptionUseCase createPrescriptionUseCase;
+
+    @Autowired
+    IssuePrescriptionUseCase issuePrescriptionUseCase;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    private static PatientSafetySnapshot snapshot(UUID patientId, Instant publishedAt, List<String> allergies,
+                                                  List<String> medications) {
+        return PatientSafetySnapshot.builder().patientId(patientId).allergies(allergies)
+                .currentMedications(medications).publishedAt(publishedAt).receivedAt(Instant.now()).build();
+    }
+
+    private double count(String name, String result) {
+        var counter = meterRegistry.find(name).tag("result", result).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Test
+    void latestPublishedSnapshotWinsWhateverTheArrivalOrder() {
+        UUID patientId = UUID.randomUUID();
+        Instant now = Instant.now();
+        double superseded = count("prescription.safety.projection.events", "superseded");
+
+        projection.apply(snapshot(patientId, now, List.of("Penicillin"), List.of("Warfarin", "Metformin")));
+        projection.apply(snapshot(patientId, now.minus(Duration.ofMinutes(5)), List.of(), List.of("Aspirin")));
+
+        PatientSafetyContext context = projection.contextFor(patientId).orElseThrow();
+        assertThat(context.allergies()).containsExactly("Penicillin");
+        assertThat(context.currentMedications()).containsExactly("Warfarin", "Metformin");
+        assertThat(count("prescription.safety.projection.events", "superseded")).isEqualTo(superseded + 1);
+
+        projection.apply(snapshot(patientId, now.plusSeconds(1), List.of(), List.of()));
+        assertThat(projection.contextFor(patientId)).contains(PatientSafetyContext.empty());
+        verify(patientSafetyProfilePort, never()).fetch(patientId);
+    }
+
+    @Test
+    void unknownPatientIsReadFromPatientService() {
+        UUID patientId = UUID.randomUUID();
+        PatientSafetyContext fetched = new PatientSafetyContext(List.of("Warfarin"), List.of("Penicillin"));
+        when(patientSafetyProfilePort.fetch(patientId)).thenReturn(Optional.of(fetched));
+        double misses = count("prescription.safety.projection.lookups", "miss");
+        double fallbacks = count("prescription.safety.projection.fallbacks", "fetched");
+
+        assertThat(projection.projectedContextFor(patientId)).isEmpty();
+        assertThat(projection.contextFor(patientId)).contains(fetched);
+        assertThat(count("prescription.safety.projection.lookups", "miss")).isEqualTo(misses + 2);
+        assertThat(count("prescription.safety.projection.fallbacks", "fetched")).isEqualTo(fallbacks + 1);
+    }
+
+    @Test
+    void unknownPatientIsScreenedWithoutContextWhenPatientServiceIsUnavailable() {
+        when(patientSafetyProfilePort.fetch(any())).thenReturn(Optional.empty());
+        when(prescriptionSafetyPort.screen(any(Prescription.class), any(PatientSafetyContext.class))).thenReturn(CLEAN);
+        double unavailable = count("prescription.safety.projection.fallbacks", "unavailable");
+
+        CreatePrescriptionRequest.MedicationRequest med = new CreatePrescriptionRequest.MedicationRequest();
+        med.setMedicationName("Aspirin");
+        med.setDosage("75mg");
+        med.setFrequency("OD");
+        med.setRoute("oral");
+        CreatePrescriptionRequest request = new CreatePrescriptionRequest();
+        request.setPatientId(UUID.randomUUID());
+        request.setDoctorId(UUID.randomUUID());
+        request.setMedications(List.of(med));
+        UUID id = createPrescriptionUseCase.createPrescription(request).getId();
+        PrescriptionResponse issued = issuePrescriptionUseCase.issuePrescription(id, false, null);
+
+        assertThat(issued.getSafety().isChecked()).isTrue();
+        assertThat(issued.getSafety().getSummary()).startsWith("Patient context unavailable");
+        verify(prescriptionSafetyPort).screen(any(Prescription.class), any(PatientSafetyContext.class));
+        assertThat(count("prescription.safety.projection.fallbacks", "unavailable")).isEqualTo(unavailable + 1);
+    }
+
+    @Test
+    void issuingScreensAgainstTheProjectedAllergiesAndMedications() {
+        UUID patientId = UUID.randomUUID();
+        projection.apply(snapshot(patientId, Instant.now(), List.of("Penicillin"), List.of("Warfarin")));
+        when(prescriptionSafetyPort.screen(any(Prescription.class), any(PatientSafetyContext.class))).thenReturn(CLEAN);
+
+        CreatePrescriptionRequest.MedicationRequest med = new CreatePrescriptionRequest.MedicationRequest();
+        med.setMedicationName("Aspirin");
+        med.setDosage("75mg");
+        med.setFrequency("OD");
+        med.setRoute("oral");
+        CreatePrescriptionRequest request = new CreatePrescriptionRequest();
+        request.setPatientId(patientId);
+        request.setDoctorId(UUID.randomUUID());
+        request.setMedications(List.of(med));
+        UUID id = createPrescriptionUseCase.createPrescription(request).getId();
+        issuePrescriptionUseCase.issuePrescription(id, false, null);
+
+        ArgumentCaptor<PatientSafetyContext> context = ArgumentCaptor.forClass(PatientSafetyContext.class);
+        verify(prescriptionSafetyPort, atLeastOnce()).screen(any(), context.capture());
+        assertThat(context.getValue().allergies()).containsExactly("Penicillin");
+        assertThat(context.getValue().currentMedications()).containsExactly("Warfarin");
+        assertThat(meterRegistry.find("prescription.safety.projection.snapshot.age").timer().count()).isPositive();
+    }
+}
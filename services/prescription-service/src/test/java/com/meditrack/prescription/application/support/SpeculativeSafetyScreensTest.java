@@ -0,0 +1,147 @@
+package com.meditrack.prescription.application.support;
+
+import com.meditrack.prescription.domain.model.Prescription;
+import com.meditrack.prescription.domain.model.PrescriptionMedication;
+import com.meditrack.prescription.domain.model.PrescriptionStatus;
+import com.meditrack.prescription.domain.port.PatientSafetyContext;
+import com.meditrack.prescription.domain.port.PrescriptionSafetyPort;
+import com.meditrack.prescription.domain.port.SafetyScreenResult;
+import com.meditrack.prescription.infrastructure.config.SpeculativeScreeningProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SpeculativeSafetyScreensTest {
+
+    private static final SafetyScreenResult CLEAN =
+            new SafetyScreenResult(true, "NONE", "No interactions identified", false, List.of());
+
+    private final PrescriptionSafetyPort port = mock(PrescriptionSafetyPort.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SpeculativeSafetyScreens screens;
+
+    @BeforeEach
+    void setUp() {
+        screens = new SpeculativeSafetyScreens(new SpeculativeScreeningProperties(true, 8, Duration.ofMinutes(30), 100),
+                port, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        screens.destroy();
+    }
+
+    private static Prescription draft(String... medications) {
+        List<PrescriptionMedication> meds = new ArrayList<>();
+        for (String name : medications) {
+            meds.add(PrescriptionMedication.builder().id(UUID.randomUUID())
+                    .medicationName(name).dosage("5mg").route("oral").build());
+        }
+        return Prescription.builder().id(UUID.randomUUID()).status(PrescriptionStatus.DRAFT).medications(meds).build();
+    }
+
+    private double lookups(String result) {
+        var counter = meterRegistry.find("prescription.safety.speculative.lookups").tag("result", result).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Test
+    void finishedScreenOfTheSameDraftIsReused() {
+        Prescription draft = draft("Warfarin", "Aspirin");
+        when(port.screen(any(), any())).thenReturn(CLEAN);
+
+        screens.speculate(draft, PatientSafetyContext.empty());
+        verify(port, timeout(2_000)).screen(any(), any());
+        screens.speculate(draft, PatientSafetyContext.empty());
+
+        assertThat(screens.screen(draft, PatientSafetyContext.empty())).isEqualTo(CLEAN);
+        verify(port, times(1)).screen(any(), any());
+        assertThat(lookups("hit") + lookups("joined")).isEqualTo(1);
+    }
+
+    @Test
+    void inFlightScreenIsJoinedRatherThanRepeated() throws InterruptedException {
+        Prescription draft = draft("Warfarin");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(port.screen(any(), any())).thenAnswer(inv -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return CLEAN;
+        });
+
+        screens.speculate(draft, PatientSafetyContext.empty());
+        assertThat(started.await(2, TimeUnit.SECONDS)).isTrue();
+        new Thread(() -> {
+            sleepQuietly();
+            release.countDown();
+        }).start();
+
+        assertThat(screens.screen(draft, PatientSafetyContext.empty())).isEqualTo(CLEAN);
+        verify(port, times(1)).screen(any(), any());
+        assertThat(lookups("joined")).isEqualTo(1);
+    }
+
+    @Test
+    void changedMedicationsOrContextAreScreenedAgain() {
+        Prescription draft = draft("Warfarin");
+        when(port.screen(any(), any())).thenReturn(CLEAN);
+        screens.speculate(draft, PatientSafetyContext.empty());
+        verify(port, timeout(2_000)).screen(any(), any());
+
+        PatientSafetyContext onAspirin = new PatientSafetyContext(List.of("Aspirin"), List.of());
+        screens.screen(draft, onAspirin);
+
+        verify(port, times(2)).screen(any(), any());
+        assertThat(lookups("stale")).isEqualTo(1);
+    }
+
+    @Test
+    void failedOpenBackgroundScreenIsNotReused() {
+        Prescription draft = draft("Warfarin");
+        when(port.screen(any(), any()))
+                .thenReturn(SafetyScreenResult.notChecked("connection refused"))
+                .thenReturn(CLEAN);
+        screens.speculate(draft, PatientSafetyContext.empty());
+        verify(port, timeout(2_000)).screen(any(), any());
+
+        assertThat(screens.screen(draft, PatientSafetyContext.empty())).isEqualTo(CLEAN);
+        assertThat(lookups("unchecked")).isEqualTo(1);
+    }
+
+    @Test
+    void fingerprintIgnoresOrderAndCaseButNotDosage() {
+        Prescription a = draft("Warfarin", "Aspirin");
+        Prescription b = draft("aspirin ", "WARFARIN");
+        Prescription c = draft("Warfarin", "Aspirin");
+        c.getMedications().get(0).setDosage("10mg");
+
+        String fingerprint = SpeculativeSafetyScreens.fingerprint(a, PatientSafetyContext.empty());
+        assertThat(SpeculativeSafetyScreens.fingerprint(b, PatientSafetyContext.empty())).isEqualTo(fingerprint);
+        assertThat(SpeculativeSafetyScreens.fingerprint(c, PatientSafetyContext.empty())).isNotEqualTo(fingerprint);
+    }
+
+    private static void sleepQuietly() {
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
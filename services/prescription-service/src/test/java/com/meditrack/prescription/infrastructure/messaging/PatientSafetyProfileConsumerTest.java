@@ -0,0 +1,94 @@
+package com.meditrack.prescription.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.prescription.application.support.PatientSafetyProjection;
+import com.meditrack.prescription.domain.model.PatientSafetySnapshot;
+import com.meditrack.prescription.infrastructure.config.PatientSafetyProjectionProperties;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.listener.ConsumerSeekAware.ConsumerSeekCallback;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PatientSafetyProfileConsumerTest {
+
+    private static final String TOPIC = "patient.safety-profile.v1";
+
+    private final PatientSafetyProjection projection = mock(PatientSafetyProjection.class);
+    private final Acknowledgment ack = mock(Acknowledgment.class);
+
+    private PatientSafetyProfileConsumer consumer(boolean rebuildOnStartup) {
+        return new PatientSafetyProfileConsumer(projection,
+                new PatientSafetyProjectionProperties(true, TOPIC, rebuildOnStartup), new ObjectMapper());
+    }
+
+    private static ConsumerRecord<String, String> record(String key, String value) {
+        return new ConsumerRecord<>(TOPIC, 0, 0L, key, value);
+    }
+
+    @Test
+    void snapshotIsProjectedWithItsPublishTime() {
+        UUID patientId = UUID.randomUUID();
+        String payload = """
+                {"eventId":"e1","eventType":"patient.safety-profile.v1","timestamp":1700000000000,
+                 "source":"patient-service","patientId":"%s",
+                 "allergies":["Penicillin"],"activeMedications":["Warfarin"]}
+                """.formatted(patientId);
+
+        consumer(false).onSafetyProfile(record(patientId.toString(), payload), ack);
+
+        ArgumentCaptor<PatientSafetySnapshot> snapshot = ArgumentCaptor.forClass(PatientSafetySnapshot.class);
+        verify(projection).apply(snapshot.capture());
+        assertThat(snapshot.getValue().getPatientId()).isEqualTo(patientId);
+        assertThat(snapshot.getValue().getAllergies()).containsExactly("Penicillin");
+        assertThat(snapshot.getValue().getCurrentMedications()).containsExactly("Warfarin");
+        assertThat(snapshot.getValue().getPublishedAt()).isEqualTo(Instant.ofEpochMilli(1_700_000_000_000L));
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    void unreadableSnapshotIsSkipped() {
+        consumer(false).onSafetyProfile(record("key", "{\"allergies\":[\"Penicillin\"]}"), ack);
+        consumer(false).onSafetyProfile(record("key", "not json"), ack);
+
+        verify(projection, never()).apply(any());
+        verify(ack, times(2)).acknowledge();
+    }
+
+    @Test
+    void rebuildReplaysEachPartitionOnceFromTheStart() {
+        PatientSafetyProfileConsumer consumer = consumer(true);
+        ConsumerSeekCallback callback = mock(ConsumerSeekCallback.class);
+        TopicPartition p0 = new TopicPartition(TOPIC, 0);
+        TopicPartition p1 = new TopicPartition(TOPIC, 1);
+
+        consumer.onPartitionsAssigned(Map.of(p0, 10L), callback);
+        consumer.onPartitionsAssigned(Map.of(p0, 10L, p1, 4L), callback);
+
+        verify(callback).seekToBeginning(List.of(p0));
+        verify(callback).seekToBeginning(List.of(p1));
+    }
+
+    @Test
+    void withoutRebuildCommittedOffsetsAreKept() {
+        ConsumerSeekCallback callback = mock(ConsumerSeekCallback.class);
+
+        consumer(false).onPartitionsAssigned(Map.of(new TopicPartition(TOPIC, 0), 10L), callback);
+
+        verify(callback, never()).seekToBeginning(anyCollection());
+    }
+}
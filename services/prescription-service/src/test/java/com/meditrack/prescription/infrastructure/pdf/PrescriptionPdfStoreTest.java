@@ -0,0 +1,227 @@
+package com.meditrack.prescription.infrastructure.pdf;
+
+import com.meditrack.prescription.domain.model.Prescription;
+import com.meditrack.prescription.domain.model.PrescriptionMedication;
+import com.meditrack.prescription.domain.model.PrescriptionStatus;
+import com.meditrack.prescription.domain.port.PrescriptionDocument;
+import com.meditrack.prescription.infrastructure.config.PrescriptionPdfProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrescriptionPdfStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<PrescriptionPdfStore> stores = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        stores.forEach(PrescriptionPdfStore::destroy);
+    }
+
+    private PrescriptionPdfStore store() {
+        return store(DataSize.ofGigabytes(2), new PrescriptionPdfGenerator());
+    }
+
+    private PrescriptionPdfStore store(DataSize maxSize, PrescriptionPdfGenerator generator) {
+        PrescriptionPdfStore store = new PrescriptionPdfStore(new PrescriptionPdfProperties(directory, true,
+                Duration.ofMinutes(10), Duration.ofDays(30), maxSize, Duration.ofMinutes(5)), generator, meterRegistry);
+        stores.add(store);
+        return store;
+    }
+
+    private static void lastUsed(PrescriptionDocument document, Duration ago) throws IOException {
+        Files.setLastModifiedTime(document.file(), FileTime.from(Instant.now().minus(ago)));
+    }
+
+    private static Prescription issued(LocalDateTime updatedAt) {
+        PrescriptionMedication med = PrescriptionMedication.builder().id(UUID.randomUUID())
+                .medicationName("Warfarin").dosage("5mg").frequency("OD").route("oral").build();
+        return Prescription.builder().id(UUID.randomUUID()).patientId(UUID.randomUUID()).doctorId(UUID.randomUUID())
+                .status(PrescriptionStatus.ISSUED).medications(new ArrayList<>(List.of(med)))
+                .issuedAt(updatedAt).updatedAt(updatedAt).build();
+    }
+
+    private double requests(String result) {
+        var counter = meterRegistry.find("prescription.pdf.requests").tag("result", result).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private double evictions(String reason) {
+        var counter = meterRegistry.find("prescription.pdf.evictions").tag("reason", reason).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Test
+    void renderedOnceThenServedFromDisk() throws Exception {
+        PrescriptionPdfStore store = store();
+        Prescription prescription = issued(LocalDateTime.now());
+
+        PrescriptionDocument first = store.documentFor(prescription);
+        PrescriptionDocument second = store.documentFor(prescription);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(first.file()).startsWith(directory.resolve(prescription.getId().toString()));
+        assertThat(Files.readString(first.file(), StandardCharsets.ISO_8859_1)).startsWith("%PDF");
+        assertThat(first.length()).isEqualTo(Files.size(first.file()));
+        assertThat(requests("rendered")).isEqualTo(1);
+        assertThat(requests("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void oldVersionStaysReadableWhileANewOneIsWritten() throws Exception {
+        PrescriptionPdfStore store = store();
+        Prescription prescription = issued(LocalDateTime.now());
+        PrescriptionDocument before = store.documentFor(prescription);
+        byte[] expected = Files.readAllBytes(before.file());
+
+        // A download of the old version is under way when the prescription changes.
+        ByteBuffer downloaded = ByteBuffer.allocate((int) before.length());
+        try (FileChannel download = FileChannel.open(before.file(), StandardOpenOption.READ)) {
+            download.read(downloaded.limit(16));
+            prescription.setUpdatedAt(prescription.getUpdatedAt().plusSeconds(1));
+            PrescriptionDocument after = store.documentFor(prescription);
+            store.sweep();
+
+            assertThat(after.etag()).isNotEqualTo(before.etag());
+            assertThat(after.file()).exists();
+            downloaded.limit(downloaded.capacity());
+            while (downloaded.hasRemaining() && download.read(downloaded) >= 0) {
+                // read the rest
+            }
+        }
+        assertThat(downloaded.array()).isEqualTo(expected);
+        // A download only handed the old path, still to open it, also finds it.
+        assertThat(Files.readAllBytes(before.file())).isEqualTo(expected);
+    }
+
+    @Test
+    void supersededVersionIsRemovedOnceUnusedForTheGracePeriod() throws Exception {
+        PrescriptionPdfStore store = store();
+        Prescription prescription = issued(LocalDateTime.now());
+        PrescriptionDocument before = store.documentFor(prescription);
+        prescription.setUpdatedAt(prescription.getUpdatedAt().plusSeconds(1));
+        PrescriptionDocument after = store.documentFor(prescription);
+
+        lastUsed(before, Duration.ofMinutes(11));
+        store.sweep();
+
+        assertThat(before.file()).doesNotExist();
+        assertThat(after.file()).exists();
+        assertThat(evictions("superseded")).isEqualTo(1);
+    }
+
+    @Test
+    void idleFilesAreRemovedAndRenderedAgainOnDemand() throws Exception {
+        PrescriptionPdfStore store = store();
+        Prescription prescription = issued(LocalDateTime.now());
+        PrescriptionDocument document = store.documentFor(prescription);
+
+        lastUsed(document, Duration.ofDays(31));
+        store.sweep();
+
+        assertThat(document.file()).doesNotExist();
+        assertThat(evictions("idle")).isEqualTo(1);
+        assertThat(store.documentFor(prescription)).isEqualTo(document);
+        assertThat(requests("rendered")).isEqualTo(2);
+    }
+
+    @Test
+    void overSizeRemovesLeastRecentlyServedFilesOutsideTheGracePeriod() throws Exception {
+        PrescriptionPdfStore store = store(DataSize.ofBytes(1), new PrescriptionPdfGenerator());
+        PrescriptionDocument oldest = store.documentFor(issued(LocalDateTime.now()));
+        PrescriptionDocument older = store.documentFor(issued(LocalDateTime.now()));
+        PrescriptionDocument recent = store.documentFor(issued(LocalDateTime.now()));
+        lastUsed(oldest, Duration.ofHours(2));
+        lastUsed(older, Duration.ofHours(1));
+
+        store.sweep();
+
+        assertThat(oldest.file()).doesNotExist();
+        assertThat(older.file()).doesNotExist();
+        assertThat(recent.file()).exists();
+        assertThat(evictions("size")).isEqualTo(2);
+        assertThat(meterRegistry.get("prescription.pdf.store.bytes").gauge().value()).isEqualTo(recent.length());
+    }
+
+    @Test
+    void servingAFileKeepsItFromBeingSwept() throws Exception {
+        PrescriptionPdfStore store = store();
+        Prescription prescription = issued(LocalDateTime.now());
+        PrescriptionDocument document = store.documentFor(prescription);
+        lastUsed(document, Duration.ofDays(31));
+
+        store.documentFor(prescription);
+        store.sweep();
+
+        assertThat(document.file()).exists();
+        assertThat(evictions("idle")).isZero();
+    }
+
+    @Test
+    void concurrentRequestsShareOneRender() throws Exception {
+        CountDownLatch rendering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PrescriptionPdfGenerator slow = new PrescriptionPdfGenerator() {
+            @Override
+            public void render(Prescription prescription, OutputStream out) {
+                rendering.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                super.render(prescription, out);
+            }
+        };
+        PrescriptionPdfStore store = store(DataSize.ofGigabytes(2), slow);
+        Prescription prescription = issued(LocalDateTime.now());
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            List<Future<PrescriptionDocument>> documents = new ArrayList<>();
+            documents.add(executor.submit(() -> store.documentFor(prescription)));
+            assertThat(rendering.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 3; i++) {
+                documents.add(executor.submit(() -> store.documentFor(prescription)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (requests("joined") < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+            for (Future<PrescriptionDocument> document : documents) {
+                assertThat(document.get(5, TimeUnit.SECONDS).file()).exists();
+            }
+        }
+        assertThat(requests("rendered")).isEqualTo(1);
+        assertThat(requests("joined")).isEqualTo(3);
+    }
+}
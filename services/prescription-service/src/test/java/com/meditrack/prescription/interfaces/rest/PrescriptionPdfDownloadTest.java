@@ -0,0 +1,147 @@
+package com.meditrack.prescription.interfaces.rest;
+
+import com.meditrack.prescription.application.usecase.CreatePrescriptionUseCase;
+import com.meditrack.prescription.application.usecase.IssuePrescriptionUseCase;
+import com.meditrack.prescription.domain.model.Prescription;
+import com.meditrack.prescription.domain.port.PatientSafetyContext;
+import com.meditrack.prescription.domain.port.PatientSafetyProfilePort;
+import com.meditrack.prescription.domain.port.PrescriptionSafetyPort;
+import com.meditrack.prescription.domain.port.SafetyScreenResult;
+import com.meditrack.prescription.interfaces.dto.request.CreatePrescriptionRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Downloads issued prescriptions' PDFs over a real Tomcat connector, so the
+ * sendfile, conditional and Range paths are all exercised end to end.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "meditrack.speculative-screening.enabled=false")
+@ActiveProfiles("test")
+class PrescriptionPdfDownloadTest {
+
+    private static final SafetyScreenResult CLEAN =
+            new SafetyScreenResult(true, "NONE", "No interactions identified", false, List.of());
+
+    @MockBean
+    KafkaTemplate<String, Object> kafkaTemplate;
+
+    @MockBean
+    PrescriptionSafetyPort prescriptionSafetyPort;
+
+    @MockBean
+    PatientSafetyProfilePort patientSafetyProfilePort;
+
+    @Autowired
+    CreatePrescriptionUseCase createPrescriptionUseCase;
+
+    @Autowired
+    IssuePrescriptionUseCase issuePrescriptionUseCase;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @LocalServerPort
+    int port;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    private UUID issued() {
+        when(prescriptionSafetyPort.screen(any(Prescription.class), any(PatientSafetyContext.class))).thenReturn(CLEAN);
+        when(patientSafetyProfilePort.fetch(any())).thenReturn(Optional.of(PatientSafetyContext.empty()));
+        CreatePrescriptionRequest.MedicationRequest med = new CreatePrescriptionRequest.MedicationRequest();
+        med.setMedicationName("Warfarin");
+        med.setDosage("5mg");
+        med.setFrequency("OD");
+        med.setRoute("oral");
+        CreatePrescriptionRequest request = new CreatePrescriptionRequest();
+        request.setPatientId(UUID.randomUUID());
+        request.setDoctorId(UUID.randomUUID());
+        request.setMedications(List.of(med));
+        UUID id = createPrescriptionUseCase.createPrescription(request).getId();
+        issuePrescriptionUseCase.issuePrescription(id, false, null);
+        return id;
+    }
+
+    private double requests(String result) {
+        var counter = meterRegistry.find("prescription.pdf.requests").tag("result", result).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private HttpResponse<byte[]> get(UUID id, String... headers) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/v1/prescriptions/" + id + "/pdf"));
+        if (headers.length > 0) {
+            request.headers(headers);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    @Test
+    void issuedPrescriptionIsRenderedInTheBackgroundAndServedFromDisk() throws Exception {
+        double rendered = requests("rendered");
+        UUID id = issued();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (requests("rendered") == rendered && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(requests("rendered")).isEqualTo(rendered + 1);
+
+        HttpResponse<byte[]> pdf = get(id);
+
+        assertThat(pdf.statusCode()).isEqualTo(200);
+        assertThat(new String(pdf.body(), 0, 4, StandardCharsets.ISO_8859_1)).isEqualTo("%PDF");
+        assertThat(pdf.headers().firstValueAsLong("Content-Length")).hasValue(pdf.body().length);
+        assertThat(pdf.headers().firstValue("ETag")).isPresent();
+        assertThat(pdf.headers().firstValue("Content-Type")).hasValue("application/pdf");
+        assertThat(requests("rendered")).isEqualTo(rendered + 1);
+    }
+
+    @Test
+    void unchangedPdfIsNotSentAgain() throws Exception {
+        UUID id = issued();
+        String etag = get(id).headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<byte[]> again = get(id, "If-None-Match", etag);
+
+        assertThat(again.statusCode()).isEqualTo(304);
+        assertThat(again.body()).isEmpty();
+    }
+
+    @Test
+    void rangeRequestsReturnThePartAsked() throws Exception {
+        UUID id = issued();
+        byte[] whole = get(id).body();
+
+        HttpResponse<byte[]> part = get(id, "Range", "bytes=0-3");
+
+        assertThat(part.statusCode()).isEqualTo(206);
+        assertThat(new String(part.body(), StandardCharsets.ISO_8859_1)).isEqualTo("%PDF");
+        assertThat(part.headers().firstValue("Content-Range")).hasValue("bytes 0-3/" + whole.length);
+    }
+
+    @Test
+    void unknownPrescriptionIsNotFound() throws Exception {
+        assertThat(get(UUID.randomUUID()).statusCode()).isEqualTo(404);
+    }
+}
@@ -0,0 +1,205 @@
+// Load test for ai-service's six clinical endpoints, meant to run against the
+// TensorX stand-in (services/tensorx-stub) so the numbers measure ai-service —
+// its limiter, caches, hedging and parsing — rather than a real model.
+//
+//   k6 run -e AI_BASE_URL=http://localhost:8089 -e JWT_SECRET=$JWT_SECRET ai-endpoints.js
+//
+// Options (all -e):
+//   RATE       requests per second across all endpoints (default 20)
+//   DURATION   steady-state duration (default 2m)
+//   REPEAT     fraction of requests that reuse an earlier payload, to exercise the
+//              inference cache (default 0.2); the rest are unique
+//
+// Payloads are built to reach the model: no red-flag symptoms (they are answered
+// by the red-flag screen), at least one abnormal lab (an all-normal panel is
+// explained from reference ranges) and no contraindicated rule pairs (answered
+// from the rule table). The summary reports throughput and p50/p90/p95/p99
+// latency per endpoint.
+
+import http from 'k6/http';
+import { check } from 'k6';
+import { hmac } from 'k6/crypto';
+import encoding from 'k6/encoding';
+import { Counter, Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.AI_BASE_URL || 'http://localhost:8089';
+const RATE = parseInt(__ENV.RATE || '20', 10);
+const DURATION = __ENV.DURATION || '2m';
+const REPEAT = parseFloat(__ENV.REPEAT || '0.2');
+const ENDPOINTS = ['safety', 'lab', 'triage', 'soap', 'icd', 'history'];
+
+export const options = {
+  scenarios: {
+    clinical_mix: {
+      executor: 'constant-arrival-rate',
+      rate: RATE,
+      timeUnit: '1s',
+      duration: DURATION,
+      preAllocatedVUs: Math.max(10, RATE * 4),
+      maxVUs: Math.max(50, RATE * 20),
+    },
+  },
+  summaryTrendStats: ['avg', 'min', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+  thresholds: endpointThresholds(),
+};
+
+// k6 only keeps per-tag sub-metrics that some threshold names, so every endpoint
+// gets a (never failing) one for each metric the summary table reads.
+function endpointThresholds() {
+  const thresholds = {
+    'http_req_failed{endpoint:triage}': ['rate<0.01'],
+  };
+  for (const endpoint of ENDPOINTS) {
+    thresholds[`latency{endpoint:${endpoint}}`] = endpoint === 'triage' ? ['p(99)<10000'] : ['max>=0'];
+    thresholds[`completed{endpoint:${endpoint}}`] = ['count>=0'];
+    thresholds[`shed{endpoint:${endpoint}}`] = ['count>=0'];
+  }
+  return thresholds;
+}
+const latency = new Trend('latency', true);
+const completed = new Counter('completed');
+const shed = new Counter('shed');
+
+// --- auth: an HS256 token like patient-service issues, signed with the shared secret ---
+
+function base64url(value) {
+  return encoding.b64encode(value, 'rawurl');
+}
+
+function mintToken() {
+  const secret = __ENV.JWT_SECRET;
+  if (!secret) {
+    throw new Error('JWT_SECRET is required (the same secret ai-service verifies with)');
+  }
+  const now = Math.floor(Date.now() / 1000);
+  const header = base64url(JSON.stringify({ alg: 'HS256', typ: 'JWT' }));
+  const claims = base64url(JSON.stringify({
+    sub: 'loadtest', roles: ['ROLE_DOCTOR'], iat: now, exp: now + 6 * 3600,
+  }));
+  const signature = hmac('sha256', secret, `${header}.${claims}`, 'base64rawurl');
+  return `${header}.${claims}.${signature}`;
+}
+
+export function setup() {
+  return { token: mintToken() };
+}
+
+// --- payloads ---
+
+function pick(list, n) {
+  return list[n % list.length];
+}
+
+function variant() {
+  // A small pool of repeat keys hits the inference cache; everything else is unique.
+  return Math.random() < REPEAT ? Math.floor(Math.random() * 50) : 1000 + Math.floor(Math.random() * 1e9);
+}
+
+const PAYLOADS = {
+  safety: (n) => ({
+    path: '/api/v1/ai/prescription-safety',
+    body: {
+      medications: [{ name: pick(['Clarithromycin', 'Amlodipine', 'Sertraline', 'Naproxen'], n),
+        dosage: `${(n % 40) * 25 + 25}mg`, route: 'oral' }],
+      currentMedications: [pick(['Simvastatin 40mg', 'Warfarin 3mg', 'Lisinopril 10mg', 'Metformin 1g'], n >> 2)],
+      knownAllergies: [],
+      patientAgeYears: 30 + (n % 55),
+      patientSex: n % 2 ? 'F' : 'M',
+    },
+  }),
+  lab: (n) => ({
+    path: '/api/v1/ai/lab-result-explanation',
+    body: {
+      results: [
+        { testName: 'Potassium', value: (5.6 + (n % 15) / 10).toFixed(1), unit: 'mmol/L', referenceRange: '3.5-5.3', flag: 'H' },
+        { testName: 'Creatinine', value: String(110 + (n % 90)), unit: 'umol/L', referenceRange: '45-90', flag: 'H' },
+        { testName: 'Sodium', value: '139', unit: 'mmol/L', referenceRange: '133-146', flag: 'N' },
+      ],
+      patientAgeYears: 40 + (n % 45),
+      patientSex: n % 2 ? 'F' : 'M',
+      context: 'On ramipril',
+    },
+  }),
+  triage: (n) => ({
+    path: '/api/v1/ai/symptom-triage',
+    body: {
+      symptoms: `${pick(['dry cough', 'sore throat', 'lower back ache', 'itchy rash on forearms'], n)} `
+        + `for ${(n % 20) + 2} days, otherwise well`,
+      duration: `${(n % 20) + 2} days`,
+      patientAgeYears: 18 + (n % 60),
+      patientSex: n % 2 ? 'F' : 'M',
+    },
+  }),
+  soap: (n) => ({
+    path: '/api/v1/ai/soap-note',
+    body: {
+      consultationNotes: `Pt reports productive cough ${(n % 10) + 2}/7, green sputum, fevers. `
+        + `O/E crackles L base, T ${(37.6 + (n % 12) / 10).toFixed(1)}. Plan amoxicillin, review 48h. Ref ${n}.`,
+      patientAgeYears: 25 + (n % 60),
+      patientSex: n % 2 ? 'F' : 'M',
+      knownConditions: ['Type 2 diabetes'],
+      vitals: { HR: String(88 + (n % 30)), BP: '128/82', SpO2: '96%' },
+    },
+  }),
+  icd: (n) => ({
+    path: '/api/v1/ai/icd-codes',
+    body: {
+      clinicalNotes: `Left lower lobe pneumonia, T2DM with HbA1c ${60 + (n % 40)}, hypertension. Encounter ${n}.`,
+      existingDiagnosis: 'Community-acquired pneumonia',
+    },
+  }),
+  history: (n) => ({
+    path: '/api/v1/ai/history-summary',
+    body: {
+      patientAgeYears: 50 + (n % 35),
+      patientSex: n % 2 ? 'F' : 'M',
+      conditions: ['Type 2 diabetes', 'Hypertension', 'CKD stage 3a'],
+      medications: ['Metformin 1g bd', 'Ramipril 5mg'],
+      allergies: ['Penicillin'],
+      recentLabResults: [{ name: 'eGFR', value: String(30 + (n % 30)), flag: 'L' }],
+      pastVisits: [
+        { date: '2024-03-01', note: `Diabetes review, HbA1c ${55 + (n % 20)}.` },
+        { date: '2024-06-01', note: 'BP 146/90, ramipril increased.' },
+      ],
+    },
+  }),
+};
+
+export default function (data) {
+  const endpoint = ENDPOINTS[Math.floor(Math.random() * ENDPOINTS.length)];
+  const { path, body } = PAYLOADS[endpoint](variant());
+  const res = http.post(`${BASE_URL}${path}`, JSON.stringify(body), {
+    headers: { 'Content-Type': 'application/json', Authorization: `Bearer ${data.token}` },
+    tags: { endpoint },
+    timeout: '60s',
+  });
+  latency.add(res.timings.duration, { endpoint });
+  if (res.status === 503) {
+    shed.add(1, { endpoint });
+  }
+  if (check(res, { 'status is 200': (r) => r.status === 200 }, { endpoint })) {
+    completed.add(1, { endpoint });
+  }
+}
+
+export function handleSummary(data) {
+  const seconds = data.state.testRunDurationMs / 1000;
+  const lines = ['', 'endpoint    req/s     p50       p90       p95       p99       shed'];
+  for (const endpoint of ENDPOINTS) {
+    const trend = data.metrics[`latency{endpoint:${endpoint}}`];
+    const done = data.metrics[`completed{endpoint:${endpoint}}`];
+    const dropped = data.metrics[`shed{endpoint:${endpoint}}`];
+    if (!trend) {
+      continue;
+    }
+    const v = trend.values;
+    const ms = (x) => `${Math.round(x)}ms`.padEnd(10);
+    lines.push(`${endpoint.padEnd(12)}${((done ? done.values.count : 0) / seconds).toFixed(2).padEnd(10)}`
+      + `${ms(v.med)}${ms(v['p(90)'])}${ms(v['p(95)'])}${ms(v['p(99)'])}${dropped ? dropped.values.count : 0}`);
+  }
+  lines.push('');
+  return {
+    stdout: lines.join('\n'),
+    [__ENV.SUMMARY_JSON || 'loadtest-summary.json']: JSON.stringify(data, null, 2),
+  };
+}
@@ -0,0 +1,21 @@
+package com.meditrack.tensorxstub;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+
+/**
+ * Stand-in for TensorX's OpenAI-compatible {@code /chat/completions}, for load
+ * testing ai-service without spending inference credits or needing a network.
+ * Point ai-service at it with {@code TENSORX_BASE_URL=http://localhost:8099/v1}.
+ *
+ * <p>Answers come from canned per-use-case completions, or from tapes recorded
+ * against the real API; latency, errors and timeouts are injected to order.
+ */
+@SpringBootApplication
+@ConfigurationPropertiesScan
+public class TensorXStubApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(TensorXStubApplication.class, args);
+    }
+}
@@ -0,0 +1,197 @@
+package com.meditrack.tensorxstub.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.meditrack.tensorxstub.completion.ChatRequest;
+import com.meditrack.tensorxstub.completion.CompletionService;
+import com.meditrack.tensorxstub.completion.CompletionService.Completion;
+import com.meditrack.tensorxstub.completion.CompletionService.TapeMissException;
+import com.meditrack.tensorxstub.completion.FaultInjector;
+import com.meditrack.tensorxstub.completion.FaultInjector.Fault;
+import com.meditrack.tensorxstub.config.StubProperties;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * OpenAI-compatible {@code POST /chat/completions}, served under both {@code /v1}
+ * and the root so either style of base URL works.
+ *
+ * <p>Writes straight to the servlet response: with virtual threads enabled a
+ * request thread parked in {@link Thread#sleep} costs next to nothing, so
+ * thousands of slow "inferences" can be in flight at once, and a streamed
+ * answer is flushed event by event exactly as the real API sends it.
+ */
+@Slf4j
+@RestController
+public class ChatCompletionsController {
+
+    private static final String MALFORMED_CONTENT = "I'm sorry, I can't help with that request.";
+
+    private final CompletionService completions;
+    private final FaultInjector faults;
+    private final StubProperties props;
+    private final ObjectMapper objectMapper;
+
+    public ChatCompletionsController(CompletionService completions, FaultInjector faults, StubProperties props,
+                                     ObjectMapper objectMapper) {
+        this.completions = completions;
+        this.faults = faults;
+        this.props = props;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping({"/v1/chat/completions", "/chat/completions"})
+    public void complete(@RequestBody ChatRequest request, HttpServletResponse response)
+            throws IOException, InterruptedException {
+        Fault fault = faults.draw();
+        switch (fault) {
+            case TIMEOUT -> {
+                Thread.sleep(props.faults().hang());
+                writeError(response, HttpStatus.GATEWAY_TIMEOUT, "timeout", "Injected timeout");
+                return;
+            }
+            case RATE_LIMITED -> {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                writeError(response, HttpStatus.TOO_MANY_REQUESTS, "rate_limit_exceeded", "Injected rate limit");
+                return;
+            }
+            case ERROR -> {
+                HttpStatus status = HttpStatus.valueOf(props.faults().errorStatus());
+                writeError(response, status, "server_error", "Injected " + status.value());
+                return;
+            }
+            default -> {
+            }
+        }
+
+        Completion completion;
+        try {
+            completion = completions.complete(request);
+        } catch (TapeMissException ex) {
+            writeError(response, HttpStatus.NOT_FOUND, "tape_not_found", ex.getMessage());
+            return;
+        } catch (RestClientException | IllegalStateException ex) {
+            log.warn("Upstream call failed while recording: {}", ex.getMessage());
+            writeError(response, HttpStatus.BAD_GATEWAY, "upstream_error", ex.getMessage());
+            return;
+        }
+        String content = fault == Fault.MALFORMED ? MALFORMED_CONTENT : completion.content();
+        response.setHeader("X-Stub-Use-Case", completion.useCase().tag());
+        response.setHeader("X-Stub-Source", completion.source());
+
+        if (request.streaming()) {
+            stream(response, request, completion.delay(), content);
+        } else {
+            Thread.sleep(completion.delay());
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), completionBody(request, content));
+        }
+    }
+
+    /** Server-sent events: a role delta, content in {@code chunk-chars} pieces, a finish event, then [DONE]. */
+    private void stream(HttpServletResponse response, ChatRequest request, Duration firstToken, String content)
+            throws IOException, InterruptedException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        OutputStream out = response.getOutputStream();
+        String id = completionId();
+        long created = System.currentTimeMillis() / 1000;
+
+        writeEvent(out, chunk(id, created, request, "role", "assistant", null));
+        Thread.sleep(firstToken);
+        int step = Math.max(1, props.streaming().chunkChars());
+        for (int i = 0; i < content.length(); i += step) {
+            if (i > 0) {
+                Thread.sleep(props.streaming().tokenInterval());
+            }
+            String piece = content.substring(i, Math.min(content.length(), i + step));
+            writeEvent(out, chunk(id, created, request, "content", piece, null));
+        }
+        writeEvent(out, chunk(id, created, request, null, null, "stop"));
+        out.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private ObjectNode completionBody(ChatRequest request, String content) {
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("id", completionId())
+                .put("object", "chat.completion")
+                .put("created", System.currentTimeMillis() / 1000)
+                .put("model", request.model());
+        ObjectNode choice = body.putArray("choices").addObject().put("index", 0);
+        choice.putObject("message").put("role", "assistant").put("content", content);
+        choice.put("finish_reason", "stop");
+        int promptTokens = estimateTokens(request);
+        int completionTokens = Math.max(1, content.length() / 4);
+        body.putObject("usage")
+                .put("prompt_tokens", promptTokens)
+                .put("completion_tokens", completionTokens)
+                .put("total_tokens", promptTokens + completionTokens);
+        return body;
+    }
+
+    private ObjectNode chunk(String id, long created, ChatRequest request, String field, String value,
+                             String finishReason) {
+        ObjectNode chunk = objectMapper.createObjectNode()
+                .put("id", id)
+                .put("object", "chat.completion.chunk")
+                .put("created", created)
+                .put("model", request.model());
+        ObjectNode choice = chunk.putArray("choices").addObject().put("index", 0);
+        ObjectNode delta = choice.putObject("delta");
+        if (field != null) {
+            delta.put(field, value);
+        }
+        choice.put("finish_reason", finishReason);
+        return chunk;
+    }
+
+    private void writeEvent(OutputStream out, ObjectNode event) throws IOException {
+        out.write("data: ".getBytes(StandardCharsets.UTF_8));
+        out.write(objectMapper.writeValueAsBytes(event));
+        out.write("\n\n".getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String code, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ObjectNode body = objectMapper.createObjectNode();
+        body.putObject("error")
+                .put("message", message)
+                .put("type", status.is5xxServerError() ? "server_error" : "invalid_request_error")
+                .put("code", code);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /** Roughly four characters per token, which is close enough for capacity planning. */
+    private static int estimateTokens(ChatRequest request) {
+        if (request.messages() == null) {
+            return 0;
+        }
+        int chars = request.messages().stream()
+                .mapToInt(m -> m.content() == null ? 0 : m.content().length())
+                .sum();
+        return Math.max(1, chars / 4);
+    }
+
+    private static String completionId() {
+        return "chatcmpl-stub-" + UUID.randomUUID().toString().replace("-", "");
+    }
+}
@@ -0,0 +1,59 @@
+package com.meditrack.tensorxstub.completion;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bundled answers, one JSON array per use case under {@code classpath:canned/}.
+ * Each element is a complete, schema-valid answer for that use case's prompt;
+ * which one a request gets is fixed by its fingerprint, so a repeated request
+ * always gets the same answer (and ai-service's caches behave as they would
+ * against a deterministic model).
+ */
+@Component
+public class CannedCompletions {
+
+    private static final String EMPTY_ANSWER = "{}";
+
+    private final Map<UseCase, List<String>> answers = new EnumMap<>(UseCase.class);
+
+    public CannedCompletions(ObjectMapper objectMapper) {
+        for (UseCase useCase : UseCase.values()) {
+            if (useCase != UseCase.UNKNOWN) {
+                answers.put(useCase, load(objectMapper, useCase));
+            }
+        }
+    }
+
+    /** The answer for a request of {@code useCase} with fingerprint {@code key}. */
+    public String answer(UseCase useCase, String key) {
+        List<String> candidates = answers.get(useCase);
+        if (candidates == null || candidates.isEmpty()) {
+            return EMPTY_ANSWER;
+        }
+        return candidates.get(Math.floorMod(key.hashCode(), candidates.size()));
+    }
+
+    private static List<String> load(ObjectMapper objectMapper, UseCase useCase) {
+        ClassPathResource resource = new ClassPathResource("canned/" + useCase.tag() + ".json");
+        try (InputStream in = resource.getInputStream()) {
+            List<String> loaded = new ArrayList<>();
+            for (JsonNode answer : objectMapper.readTree(in)) {
+                loaded.add(objectMapper.writeValueAsString(answer));
+            }
+            return List.copyOf(loaded);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot load canned answers from " + resource.getPath(), ex);
+        }
+    }
+}
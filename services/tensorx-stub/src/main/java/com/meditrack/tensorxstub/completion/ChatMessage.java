@@ -0,0 +1,8 @@
+package com.meditrack.tensorxstub.completion;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/** One message of an OpenAI-style chat-completions request. */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ChatMessage(String role, String content) {
+}
@@ -0,0 +1,32 @@
+package com.meditrack.tensorxstub.completion;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The parts of an OpenAI-style chat-completions request the stub reads. It is
+ * re-serialised as-is when forwarded upstream in record mode.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ChatRequest(
+        String model,
+        List<ChatMessage> messages,
+        Double temperature,
+        @JsonProperty("response_format") Map<String, Object> responseFormat,
+        Boolean stream
+) {
+
+    public boolean streaming() {
+        return Boolean.TRUE.equals(stream);
+    }
+
+    /** The same request, non-streamed; tapes always hold whole completions. */
+    public ChatRequest unstreamed() {
+        return new ChatRequest(model, messages, temperature, responseFormat, null);
+    }
+}
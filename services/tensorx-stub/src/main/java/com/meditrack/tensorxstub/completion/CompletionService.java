@@ -0,0 +1,79 @@
+package com.meditrack.tensorxstub.completion;
+
+import com.meditrack.tensorxstub.config.StubProperties;
+import com.meditrack.tensorxstub.config.StubProperties.MissPolicy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Produces the content of a completion from the configured source, and how
+ * long the stub should take to deliver it.
+ */
+@Slf4j
+@Service
+public class CompletionService {
+
+    private final StubProperties props;
+    private final CannedCompletions canned;
+    private final TapeStore tapes;
+    private final UpstreamClient upstream;
+    private final LatencySampler latency;
+
+    public CompletionService(StubProperties props, CannedCompletions canned, TapeStore tapes,
+                             UpstreamClient upstream, LatencySampler latency) {
+        this.props = props;
+        this.canned = canned;
+        this.tapes = tapes;
+        this.upstream = upstream;
+        this.latency = latency;
+    }
+
+    /**
+     * @throws TapeMissException in REPLAY mode when no tape matches and misses are not served canned
+     */
+    public Completion complete(ChatRequest request) {
+        UseCase useCase = UseCase.detect(request.messages());
+        String fingerprint = TapeStore.fingerprint(request);
+        return switch (props.mode()) {
+            case CANNED -> new Completion(useCase, canned.answer(useCase, fingerprint), latency.sample(), "canned");
+            case REPLAY -> tapes.find(fingerprint)
+                    .map(tape -> new Completion(useCase, tape.content(), latency.sample(), "tape"))
+                    .orElseGet(() -> replayMiss(useCase, fingerprint));
+            case RECORD -> record(request, useCase, fingerprint);
+        };
+    }
+
+    private Completion replayMiss(UseCase useCase, String fingerprint) {
+        if (props.tapes().onMiss() == MissPolicy.NOT_FOUND) {
+            throw new TapeMissException(fingerprint);
+        }
+        log.debug("No tape for {} request {}; serving the canned answer", useCase.tag(), fingerprint);
+        return new Completion(useCase, canned.answer(useCase, fingerprint), latency.sample(), "canned");
+    }
+
+    /** The upstream call already took real time, so no latency is added on top. */
+    private Completion record(ChatRequest request, UseCase useCase, String fingerprint) {
+        long startedAt = System.nanoTime();
+        String content = upstream.complete(request);
+        long millis = Duration.ofNanos(System.nanoTime() - startedAt).toMillis();
+        tapes.save(fingerprint, new TapeStore.Tape(useCase, request.unstreamed(), content, millis, Instant.now()));
+        log.info("Recorded {} tape {} ({} ms upstream)", useCase.tag(), fingerprint, millis);
+        return new Completion(useCase, content, Duration.ZERO, "upstream");
+    }
+
+    /**
+     * @param delay  time until the answer (or, when streaming, its first token) should be sent
+     * @param source where the content came from: canned, tape or upstream
+     */
+    public record Completion(UseCase useCase, String content, Duration delay, String source) {
+    }
+
+    public static class TapeMissException extends RuntimeException {
+        public TapeMissException(String fingerprint) {
+            super("No tape recorded for request " + fingerprint);
+        }
+    }
+}
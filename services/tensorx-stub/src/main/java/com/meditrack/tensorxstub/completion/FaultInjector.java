@@ -0,0 +1,43 @@
+package com.meditrack.tensorxstub.completion;
+
+import com.meditrack.tensorxstub.config.StubProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.SplittableRandom;
+
+/** Decides, per request, whether to misbehave and how. */
+@Component
+public class FaultInjector {
+
+    public enum Fault { NONE, TIMEOUT, RATE_LIMITED, ERROR, MALFORMED }
+
+    private final StubProperties.Faults faults;
+    private final SplittableRandom random;
+
+    public FaultInjector(StubProperties props) {
+        this.faults = props.faults();
+        // Offset from the latency seed so the two sequences are independent.
+        this.random = new SplittableRandom(props.seed() ^ 0x5DEECE66DL);
+    }
+
+    public Fault draw() {
+        double roll;
+        synchronized (random) {
+            roll = random.nextDouble();
+        }
+        double threshold = faults.timeoutRate();
+        if (roll < threshold) {
+            return Fault.TIMEOUT;
+        }
+        threshold += faults.rateLimitRate();
+        if (roll < threshold) {
+            return Fault.RATE_LIMITED;
+        }
+        threshold += faults.errorRate();
+        if (roll < threshold) {
+            return Fault.ERROR;
+        }
+        threshold += faults.malformedRate();
+        return roll < threshold ? Fault.MALFORMED : Fault.NONE;
+    }
+}
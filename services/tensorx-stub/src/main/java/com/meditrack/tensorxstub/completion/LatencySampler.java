@@ -0,0 +1,82 @@
+package com.meditrack.tensorxstub.completion;
+
+import com.meditrack.tensorxstub.config.StubProperties;
+import com.meditrack.tensorxstub.config.StubProperties.Distribution;
+import com.meditrack.tensorxstub.config.StubProperties.Latency;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Draws a completion latency from the configured profile.
+ *
+ * <p>The presets are log-normal, which is what real inference latency looks
+ * like: most calls cluster around the median with a long right tail. They are
+ * sized from TensorX's observed behaviour for the prompts ai-service sends.
+ */
+@Component
+public class LatencySampler {
+
+    /** z-score of the 99th percentile of the standard normal distribution. */
+    private static final double Z_99 = 2.3263;
+
+    static final Map<String, Latency> PRESETS = Map.of(
+            "fast", lognormal(Duration.ofMillis(200), Duration.ofMillis(800)),
+            "typical", lognormal(Duration.ofMillis(1500), Duration.ofSeconds(6)),
+            "slow", lognormal(Duration.ofSeconds(4), Duration.ofSeconds(15)),
+            "degraded", lognormal(Duration.ofSeconds(8), Duration.ofSeconds(40)));
+
+    private final Latency latency;
+    private final SplittableRandom random;
+
+    public LatencySampler(StubProperties props) {
+        this.latency = resolve(props.latency());
+        this.random = new SplittableRandom(props.seed());
+    }
+
+    /** The next latency, clamped to the profile's [min, max]. */
+    public Duration sample() {
+        SplittableRandom random;
+        synchronized (this.random) {
+            random = this.random.split();
+        }
+        long min = latency.min().toNanos();
+        long max = latency.max().toNanos();
+        long nanos = switch (latency.distribution()) {
+            case FIXED -> latency.median().toNanos();
+            case UNIFORM -> min >= max ? min : random.nextLong(min, max);
+            case LOGNORMAL -> {
+                double mu = Math.log(latency.median().toNanos());
+                double sigma = Math.log((double) latency.p99().toNanos() / latency.median().toNanos()) / Z_99;
+                yield (long) Math.exp(mu + sigma * random.nextGaussian());
+            }
+        };
+        return Duration.ofNanos(Math.max(min, Math.min(max, nanos)));
+    }
+
+    Latency profile() {
+        return latency;
+    }
+
+    private static Latency resolve(Latency configured) {
+        if ("custom".equalsIgnoreCase(configured.profile())) {
+            if (configured.distribution() == Distribution.LOGNORMAL
+                    && configured.p99().compareTo(configured.median()) < 0) {
+                throw new IllegalArgumentException("stub.latency.p99 must not be below stub.latency.median");
+            }
+            return configured;
+        }
+        Latency preset = PRESETS.get(configured.profile().toLowerCase());
+        if (preset == null) {
+            throw new IllegalArgumentException("Unknown stub.latency.profile '" + configured.profile()
+                    + "'; expected one of " + PRESETS.keySet() + " or custom");
+        }
+        return preset;
+    }
+
+    private static Latency lognormal(Duration median, Duration p99) {
+        return new Latency("preset", Distribution.LOGNORMAL, median, p99, Duration.ZERO, Duration.ofSeconds(60));
+    }
+}
@@ -0,0 +1,101 @@
+package com.meditrack.tensorxstub.completion;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.tensorxstub.config.StubProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Recorded completions on disk, one {@code <fingerprint>.json} file per
+ * distinct request. The fingerprint covers the model and every message, not
+ * sampling parameters or {@code stream}, so a streamed and a non-streamed
+ * call for the same prompt share a tape.
+ */
+@Slf4j
+@Component
+public class TapeStore {
+
+    private final Path dir;
+    private final ObjectMapper objectMapper;
+
+    public TapeStore(StubProperties props, ObjectMapper objectMapper) {
+        this.dir = props.tapes().dir();
+        this.objectMapper = objectMapper;
+    }
+
+    /** A stable SHA-256 fingerprint of the request's model and messages. */
+    public static String fingerprint(ChatRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, request.model());
+            if (request.messages() != null) {
+                for (ChatMessage message : request.messages()) {
+                    update(digest, message.role());
+                    update(digest, message.content());
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    public Optional<Tape> find(String fingerprint) {
+        Path file = dir.resolve(fingerprint + ".json");
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(file.toFile(), Tape.class));
+        } catch (IOException ex) {
+            log.warn("Ignoring unreadable tape {}: {}", file, ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /** Writes the tape atomically, so a concurrent replay never reads half a file. */
+    public void save(String fingerprint, Tape tape) {
+        try {
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, fingerprint, ".tmp");
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(tmp.toFile(), tape);
+            Files.move(tmp, dir.resolve(fingerprint + ".json"),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot write tape " + fingerprint, ex);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        // Length-prefix each field so ("ab", "c") and ("a", "bc") differ.
+        digest.update(new byte[]{(byte) (bytes.length >>> 24), (byte) (bytes.length >>> 16),
+                (byte) (bytes.length >>> 8), (byte) bytes.length});
+        digest.update(bytes);
+    }
+
+    /**
+     * One recorded completion.
+     *
+     * @param useCase         the use case the request was recognised as
+     * @param request         the request as sent upstream, for inspection
+     * @param content         the assistant message content
+     * @param upstreamMillis  how long the real API took
+     * @param recordedAt      when it was recorded
+     */
+    public record Tape(UseCase useCase, ChatRequest request, String content, long upstreamMillis,
+                       Instant recordedAt) {
+    }
+}
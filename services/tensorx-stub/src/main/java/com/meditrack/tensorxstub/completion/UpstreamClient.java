@@ -0,0 +1,48 @@
+package com.meditrack.tensorxstub.completion;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.meditrack.tensorxstub.config.StubProperties;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+/** The real TensorX API, called in record mode. */
+@Component
+public class UpstreamClient {
+
+    private final RestClient restClient;
+    private final String apiKey;
+
+    public UpstreamClient(StubProperties props, RestClient.Builder builder) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofSeconds(10));
+        requestFactory.setReadTimeout(props.tapes().upstreamTimeout());
+        this.restClient = builder
+                .baseUrl(props.tapes().upstreamUrl())
+                .requestFactory(requestFactory)
+                .build();
+        this.apiKey = props.tapes().upstreamKey();
+    }
+
+    /** Sends {@code request} unstreamed and returns the assistant message content. */
+    public String complete(ChatRequest request) {
+        if (apiKey == null || apiKey.isBlank()) {
+            throw new IllegalStateException("stub.tapes.upstream-key is required in RECORD mode");
+        }
+        JsonNode response = restClient.post()
+                .uri("/chat/completions")
+                .header("Authorization", "Bearer " + apiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(request.unstreamed())
+                .retrieve()
+                .body(JsonNode.class);
+        JsonNode content = response == null ? null : response.at("/choices/0/message/content");
+        if (content == null || !content.isTextual()) {
+            throw new IllegalStateException("Upstream returned no message content");
+        }
+        return content.asText();
+    }
+}
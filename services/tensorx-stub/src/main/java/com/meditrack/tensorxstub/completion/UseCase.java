@@ -0,0 +1,57 @@
+package com.meditrack.tensorxstub.completion;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The ai-service use case a completion request belongs to, recognised from a
+ * phrase in its system prompt. Declaration order matters: the visit
+ * pre-summary prompt also mentions the pre-consultation brief, so it is
+ * checked before HISTORY.
+ */
+public enum UseCase {
+
+    ASSESS("screen a proposed prescription"),
+    LAB("explain a panel of lab results"),
+    TRIAGE("triage assistant"),
+    SOAP("into a soap note"),
+    ICD("suggest icd-10 codes"),
+    PRESUMMARY("condense a patient's older visit notes"),
+    HISTORY("pre-consultation brief"),
+    /** Anything else; answered with an empty JSON object. */
+    UNKNOWN(null);
+
+    private final String phrase;
+
+    UseCase(String phrase) {
+        this.phrase = phrase;
+    }
+
+    /** The use case whose phrase appears in {@code systemPrompt}, or UNKNOWN. */
+    public static UseCase detect(String systemPrompt) {
+        if (systemPrompt == null) {
+            return UNKNOWN;
+        }
+        // The prompts are text blocks wrapped at ~90 columns, so compare on single spaces.
+        String text = systemPrompt.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+        for (UseCase useCase : values()) {
+            if (useCase.phrase != null && text.contains(useCase.phrase)) {
+                return useCase;
+            }
+        }
+        return UNKNOWN;
+    }
+
+    /** The system prompt of an OpenAI-style message list: the first {@code system} message. */
+    public static UseCase detect(List<ChatMessage> messages) {
+        return messages == null ? UNKNOWN : messages.stream()
+                .filter(m -> "system".equals(m.role()))
+                .findFirst()
+                .map(m -> detect(m.content()))
+                .orElse(UNKNOWN);
+    }
+
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
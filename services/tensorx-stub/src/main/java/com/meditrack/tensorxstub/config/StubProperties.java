@@ -0,0 +1,106 @@
+package com.meditrack.tensorxstub.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Behaviour of the TensorX stand-in.
+ *
+ * @param mode      where answers come from: canned completions, tapes, or the real API (recorded to tapes)
+ * @param seed      seed for latency and fault sampling, so a run can be repeated
+ * @param latency   how long a completion takes (time to first token when streaming)
+ * @param faults    injected failures
+ * @param streaming pacing of {@code stream: true} completions
+ * @param tapes     record/replay settings
+ */
+@ConfigurationProperties(prefix = "stub")
+public record StubProperties(
+        @DefaultValue("CANNED") Mode mode,
+        @DefaultValue("42") long seed,
+        @DefaultValue Latency latency,
+        @DefaultValue Faults faults,
+        @DefaultValue Streaming streaming,
+        @DefaultValue Tapes tapes
+) {
+
+    public enum Mode {
+        /** Bundled per-use-case answers. */
+        CANNED,
+        /** Answers recorded earlier; see {@link Tapes#onMiss()}. */
+        REPLAY,
+        /** Forward to the real API, save each answer as a tape, and serve it. No latency is injected. */
+        RECORD
+    }
+
+    public enum Distribution { FIXED, UNIFORM, LOGNORMAL }
+
+    /**
+     * @param profile      a preset ({@code fast}, {@code typical}, {@code slow}, {@code degraded}) or
+     *                     {@code custom} to use the values below
+     * @param distribution shape of the custom distribution
+     * @param median       FIXED: the latency; LOGNORMAL: the median
+     * @param p99          LOGNORMAL: the 99th percentile, which sets the tail
+     * @param min          UNIFORM lower bound, and a floor for every distribution
+     * @param max          UNIFORM upper bound, and a ceiling for every distribution
+     */
+    public record Latency(
+            @DefaultValue("typical") String profile,
+            @DefaultValue("LOGNORMAL") Distribution distribution,
+            @DefaultValue("1500ms") Duration median,
+            @DefaultValue("6s") Duration p99,
+            @DefaultValue("0ms") Duration min,
+            @DefaultValue("60s") Duration max
+    ) {
+    }
+
+    /**
+     * Rates are fractions of requests, drawn independently in this order.
+     *
+     * @param timeoutRate   hold the request for {@code hang} before answering, past any sane client timeout
+     * @param hang          how long a "timed out" request is held
+     * @param rateLimitRate answer 429 with {@code Retry-After}
+     * @param errorRate     answer {@code errorStatus}
+     * @param errorStatus   status for injected errors
+     * @param malformedRate answer 200 with content that is not the requested JSON
+     */
+    public record Faults(
+            @DefaultValue("0") double timeoutRate,
+            @DefaultValue("120s") Duration hang,
+            @DefaultValue("0") double rateLimitRate,
+            @DefaultValue("0") double errorRate,
+            @DefaultValue("503") int errorStatus,
+            @DefaultValue("0") double malformedRate
+    ) {
+    }
+
+    /**
+     * @param chunkChars    characters of content per server-sent event
+     * @param tokenInterval pause between events after the first
+     */
+    public record Streaming(
+            @DefaultValue("12") int chunkChars,
+            @DefaultValue("15ms") Duration tokenInterval
+    ) {
+    }
+
+    /**
+     * @param dir           where tapes are written and read
+     * @param onMiss        REPLAY when no tape matches: serve the canned answer, or answer 404
+     * @param upstreamUrl   RECORD: the real API base URL
+     * @param upstreamKey   RECORD: API key for the real API
+     * @param upstreamTimeout RECORD: read timeout for the real API
+     */
+    public record Tapes(
+            @DefaultValue("./tapes") Path dir,
+            @DefaultValue("CANNED") MissPolicy onMiss,
+            @DefaultValue("https://api.tensorx.ai/v1") String upstreamUrl,
+            String upstreamKey,
+            @DefaultValue("120s") Duration upstreamTimeout
+    ) {
+    }
+
+    public enum MissPolicy { CANNED, NOT_FOUND }
+}
@@ -0,0 +1,114 @@
+package com.meditrack.tensorxstub.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meditrack.tensorxstub.completion.ChatRequest;
+import com.meditrack.tensorxstub.completion.TapeStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "stub.mode=REPLAY",
+        "stub.latency.profile=custom",
+        "stub.latency.distribution=FIXED",
+        "stub.latency.median=0ms",
+        "stub.streaming.token-interval=0ms",
+        "stub.streaming.chunk-chars=16"
+})
+@AutoConfigureMockMvc
+class ChatCompletionsControllerTest {
+
+    @TempDir
+    static Path tapes;
+
+    @DynamicPropertySource
+    static void tapesDir(DynamicPropertyRegistry registry) {
+        registry.add("stub.tapes.dir", tapes::toString);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void answersAnUntapedRequestWithTheCannedAnswerForItsUseCase() throws Exception {
+        String body = mockMvc.perform(post("/v1/chat/completions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request("You are a conservative clinical triage assistant.", "headache", false)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Stub-Use-Case", "triage"))
+                .andExpect(header().string("X-Stub-Source", "canned"))
+                .andExpect(jsonPath("$.object").value("chat.completion"))
+                .andExpect(jsonPath("$.usage.total_tokens").isNumber())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode answer = objectMapper.readTree(
+                objectMapper.readTree(body).at("/choices/0/message/content").asText());
+        assertThat(answer.get("urgency").asText()).isIn("ROUTINE", "SOON", "URGENT", "EMERGENCY");
+    }
+
+    @Test
+    void replaysATapeAndStreamsItInChunks() throws Exception {
+        String system = "You suggest ICD-10 codes that are supported by a clinical note.";
+        String tapedContent = "{\"suggestions\":[{\"code\":\"I10\",\"description\":\"Essential hypertension\"}]}";
+        String fingerprint = TapeStore.fingerprint(objectMapper.readValue(
+                request(system, "BP 162/98 on three readings", true),
+                ChatRequest.class));
+        Files.writeString(tapes.resolve(fingerprint + ".json"),
+                "{\"useCase\":\"ICD\",\"content\":" + objectMapper.writeValueAsString(tapedContent)
+                        + ",\"upstreamMillis\":900}");
+
+        String events = mockMvc.perform(post("/chat/completions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request(system, "BP 162/98 on three readings", true)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Stub-Source", "tape"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> data = new ArrayList<>();
+        for (String line : events.split("\n")) {
+            if (line.startsWith("data: ")) {
+                data.add(line.substring("data: ".length()));
+            }
+        }
+        assertThat(data.get(data.size() - 1)).isEqualTo("[DONE]");
+        StringBuilder assembled = new StringBuilder();
+        for (String event : data.subList(0, data.size() - 1)) {
+            assembled.append(objectMapper.readTree(event).at("/choices/0/delta/content").asText(""));
+        }
+        assertThat(assembled).hasToString(tapedContent);
+        assertThat(data.size()).isGreaterThan(tapedContent.length() / 16);
+    }
+
+    private String request(String system, String user, boolean stream) throws Exception {
+        return objectMapper.writeValueAsString(Map.of(
+                "model", "tensorx-med-1",
+                "messages", List.of(Map.of("role", "system", "content", system),
+                        Map.of("role", "user", "content", user)),
+                "temperature", 0.1,
+                "stream", stream));
+    }
+}
@@ -0,0 +1,67 @@
+package com.meditrack.tensorxstub.completion;
+
+import com.meditrack.tensorxstub.config.StubProperties;
+import com.meditrack.tensorxstub.config.StubProperties.Distribution;
+import com.meditrack.tensorxstub.config.StubProperties.Latency;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencySamplerTest {
+
+    @Test
+    void lognormalProfileHitsItsMedianAndP99() {
+        LatencySampler sampler = new LatencySampler(props(new Latency("custom", Distribution.LOGNORMAL,
+                Duration.ofMillis(1000), Duration.ofMillis(5000), Duration.ZERO, Duration.ofMinutes(5)), 7));
+
+        long[] millis = IntStream.range(0, 50_000).mapToLong(i -> sampler.sample().toMillis()).sorted().toArray();
+
+        assertThat((double) millis[millis.length / 2]).isCloseTo(1000, within(50.0));
+        assertThat((double) millis[(int) (millis.length * 0.99)]).isCloseTo(5000, within(400.0));
+    }
+
+    @Test
+    void samplesAreClampedAndRepeatableForASeed() {
+        Latency uniform = new Latency("custom", Distribution.UNIFORM, Duration.ZERO, Duration.ZERO,
+                Duration.ofMillis(100), Duration.ofMillis(200));
+        long[] first = draw(new LatencySampler(props(uniform, 3)));
+        long[] second = draw(new LatencySampler(props(uniform, 3)));
+
+        assertThat(first).isEqualTo(second);
+        assertThat(Arrays.stream(first)).allMatch(ms -> ms >= 100 && ms < 200);
+    }
+
+    @Test
+    void presetsOverrideTheCustomValues() {
+        LatencySampler sampler = new LatencySampler(props(new Latency("FAST", Distribution.FIXED,
+                Duration.ofSeconds(30), Duration.ofSeconds(30), Duration.ZERO, Duration.ofMinutes(1)), 1));
+
+        assertThat(sampler.profile()).isEqualTo(LatencySampler.PRESETS.get("fast"));
+    }
+
+    @Test
+    void rejectsAnUnknownProfile() {
+        assertThatThrownBy(() -> new LatencySampler(props(new Latency("instant", Distribution.FIXED,
+                Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ZERO), 1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("instant");
+    }
+
+    private static long[] draw(LatencySampler sampler) {
+        return IntStream.range(0, 100).mapToLong(i -> sampler.sample().toMillis()).toArray();
+    }
+
+    private static StubProperties props(Latency latency, long seed) {
+        return new StubProperties(StubProperties.Mode.CANNED, seed, latency,
+                new StubProperties.Faults(0, Duration.ZERO, 0, 0, 503, 0),
+                new StubProperties.Streaming(12, Duration.ZERO),
+                new StubProperties.Tapes(null, StubProperties.MissPolicy.CANNED, "http://upstream.invalid", null,
+                        Duration.ofSeconds(1)));
+    }
+}
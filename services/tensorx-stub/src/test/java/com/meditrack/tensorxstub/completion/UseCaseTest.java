@@ -0,0 +1,40 @@
+package com.meditrack.tensorxstub.completion;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UseCaseTest {
+
+    @Test
+    void recognisesEachAiServicePrompt() {
+        assertThat(UseCase.detect("""
+                You screen a proposed prescription for (1) drug-drug interactions""")).isEqualTo(UseCase.ASSESS);
+        assertThat(UseCase.detect("You explain a panel of lab results clearly")).isEqualTo(UseCase.LAB);
+        assertThat(UseCase.detect("You are a conservative clinical triage assistant.")).isEqualTo(UseCase.TRIAGE);
+        assertThat(UseCase.detect("""
+                You restructure a clinician's free-text consultation notes into a SOAP note
+                (Subjective, Objective, Assessment, Plan).""")).isEqualTo(UseCase.SOAP);
+        assertThat(UseCase.detect("You suggest ICD-10 codes that are supported by a clinical note."))
+                .isEqualTo(UseCase.ICD);
+        assertThat(UseCase.detect("You distil a patient's record into a short pre-consultation brief."))
+                .isEqualTo(UseCase.HISTORY);
+    }
+
+    @Test
+    void preSummaryWinsOverTheBriefItFeeds() {
+        assertThat(UseCase.detect("""
+                You condense a patient's older visit notes into a compact running summary that a
+                later pre-consultation brief will rely on""")).isEqualTo(UseCase.PRESUMMARY);
+    }
+
+    @Test
+    void readsOnlyTheSystemMessage() {
+        assertThat(UseCase.detect(List.of(
+                new ChatMessage("user", "Please triage assistant-style"),
+                new ChatMessage("system", "You suggest ICD-10 codes")))).isEqualTo(UseCase.ICD);
+        assertThat(UseCase.detect(List.of(new ChatMessage("user", "hello")))).isEqualTo(UseCase.UNKNOWN);
+    }
+}